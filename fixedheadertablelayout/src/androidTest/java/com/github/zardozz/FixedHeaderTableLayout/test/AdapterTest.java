@@ -0,0 +1,293 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class AdapterTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    // A grid of cells of one View class, counting what it creates and binds
+    private static class CountingAdapter extends FixedHeaderTableAdapter {
+        final Class<? extends View> cellClass;
+        int rowCount;
+        int columnCount;
+        int created = 0;
+        int bound = 0;
+        int wrongCells = 0;
+
+        CountingAdapter(Class<? extends View> cellClass, int rowCount, int columnCount) {
+            this.cellClass = cellClass;
+            this.rowCount = rowCount;
+            this.columnCount = columnCount;
+        }
+
+        @Override
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnCount;
+        }
+
+        @Override
+        public int getColumnWidth(int column) {
+            return 60;
+        }
+
+        @Override
+        public int getRowHeight(int row) {
+            return 40;
+        }
+
+        @NonNull
+        @Override
+        public View onCreateView(@NonNull ViewGroup parent, int viewType) {
+            created++;
+            return cellClass == ImageView.class ? new ImageView(parent.getContext()) : new TextView(parent.getContext());
+        }
+
+        @Override
+        public void onBindView(@NonNull View view, int row, int column) {
+            bound++;
+            if (view.getClass() != cellClass) {
+                wrongCells++;
+            } else if (view instanceof TextView) {
+                ((TextView) view).setText(row + ":" + column);
+            }
+        }
+    }
+
+    // The adapter row of a bound main table row, from the text its first cell was bound with
+    private static int boundRow(FixedHeaderTableRow row) {
+        CharSequence text = ((TextView) row.getChildAt(0)).getText();
+        return Integer.parseInt(text.toString().split(":")[0]);
+    }
+
+    @Test
+    public void testOnlyTheRowsInViewAreBound() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                CountingAdapter adapter = new CountingAdapter(TextView.class, 1000, 8);
+                fixedHeaderTableLayout.setAdapter(adapter);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                // The 10 rows in view and 2 more on each side, not the 999 body rows
+                FixedHeaderSubTableLayout mainTable = fixedHeaderTableLayout.findViewById(R.id.MainTable);
+                assertTrue(mainTable.getChildCount() > 0);
+                assertTrue(mainTable.getChildCount() <= 14);
+                assertEquals(1000 * 40, fixedHeaderTableLayout.getContentHeight());
+                for (int i = 0; i < mainTable.getChildCount(); i++) {
+                    FixedHeaderTableRow row = (FixedHeaderTableRow) mainTable.getChildAt(i);
+                    assertEquals(7, row.getChildCount());
+                    // The first adapter row and column are in the headers
+                    assertEquals(boundRow(row) + ":1", ((TextView) row.getChildAt(0)).getText().toString());
+                    assertTrue(boundRow(row) >= 1 && boundRow(row) <= 14);
+                }
+                assertEquals(adapter.bound, adapter.created);
+                assertEquals(0, adapter.wrongCells);
+            });
+    }
+
+    @Test
+    public void testRowsLeavingTheWindowAreRecycled() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                CountingAdapter adapter = new CountingAdapter(TextView.class, 1000, 8);
+                fixedHeaderTableLayout.setAdapter(adapter);
+                Helpers.layout(fixedHeaderTableLayout);
+                int created = adapter.created;
+                int bound = adapter.bound;
+
+                // Scroll 50 rows down, the new rows reuse the cells of the rows that left
+                fixedHeaderTableLayout.calculatePanScale(0, 50 * 40, 0, 0, 1f);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertEquals(created, adapter.created);
+                assertTrue(adapter.bound > bound);
+
+                FixedHeaderSubTableLayout mainTable = fixedHeaderTableLayout.findViewById(R.id.MainTable);
+                assertTrue(mainTable.getChildCount() <= 14);
+                for (int i = 0; i < mainTable.getChildCount(); i++) {
+                    int row = boundRow((FixedHeaderTableRow) mainTable.getChildAt(i));
+                    assertTrue(row >= 49 && row <= 63);
+                }
+                assertEquals(0, adapter.wrongCells);
+            });
+    }
+
+    @Test
+    public void testPoolKeepsAtMost256ViewsOfEachType() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderRecycledViewPool pool = new FixedHeaderRecycledViewPool();
+                for (int i = 0; i < 300; i++) {
+                    pool.putRecycledView(0, new TextView(context));
+                }
+                pool.putRecycledView(1, new ImageView(context));
+                assertEquals(256, pool.getRecycledViewCount(0));
+                assertEquals(1, pool.getRecycledViewCount(1));
+
+                pool.setMaxRecycledViews(0, 10);
+                assertEquals(10, pool.getRecycledViewCount(0));
+                pool.putRecycledView(0, new TextView(context));
+                assertEquals(10, pool.getRecycledViewCount(0));
+
+                FixedHeaderTableRow row = new FixedHeaderTableRow(context);
+                TextView attached = new TextView(context);
+                row.addView(attached);
+                assertThrows(IllegalStateException.class, () -> pool.putRecycledView(0, attached));
+            });
+    }
+
+    @Test
+    public void testDataSetChangedRebuildsTheTables() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                CountingAdapter adapter = new CountingAdapter(TextView.class, 1000, 8);
+                fixedHeaderTableLayout.setAdapter(adapter);
+                Helpers.layout(fixedHeaderTableLayout);
+                FixedHeaderSubTableLayout oldMainTable = fixedHeaderTableLayout.findViewById(R.id.MainTable);
+                int created = adapter.created;
+
+                adapter.rowCount = 5;
+                adapter.columnCount = 3;
+                adapter.notifyDataSetChanged();
+                Helpers.layout(fixedHeaderTableLayout);
+
+                // New tables are built from the adapter, with the cells of the old tables from the pool
+                FixedHeaderSubTableLayout mainTable = fixedHeaderTableLayout.findViewById(R.id.MainTable);
+                assertNotSame(oldMainTable, mainTable);
+                assertEquals(4, mainTable.getChildCount());
+                assertEquals(2, ((FixedHeaderTableRow) mainTable.getChildAt(0)).getChildCount());
+                assertEquals(5 * 40, fixedHeaderTableLayout.getContentHeight());
+                assertEquals(3 * 60, fixedHeaderTableLayout.getContentWidth());
+                assertEquals(created, adapter.created);
+                assertEquals(0, oldMainTable.getChildCount());
+            });
+    }
+
+    @Test
+    public void testSheetsWithDifferentAdaptersKeepTheirOwnPools() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableContainer container = new FixedHeaderTableContainer(context);
+                FixedHeaderTableLayout textSheet = new FixedHeaderTableLayout(context);
+                FixedHeaderTableLayout imageSheet = new FixedHeaderTableLayout(context);
+                container.addSubTable(textSheet);
+                container.addSubTable(imageSheet);
+                assertNotSame(textSheet.getRecycledViewPool(), imageSheet.getRecycledViewPool());
+
+                CountingAdapter textAdapter = new CountingAdapter(TextView.class, 20, 8);
+                textSheet.setAdapter(textAdapter);
+                Helpers.layout(container);
+                // Both adapters use view type 0, the text cells go back to the pool of their own sheet
+                textSheet.setAdapter(null);
+                assertTrue(textSheet.getRecycledViewPool().getRecycledViewCount(0) > 0);
+
+                CountingAdapter imageAdapter = new CountingAdapter(ImageView.class, 20, 8);
+                imageSheet.setAdapter(imageAdapter);
+                Helpers.layout(container);
+                assertTrue(imageAdapter.bound > 0);
+                assertEquals(imageAdapter.bound, imageAdapter.created);
+                assertEquals(0, imageAdapter.wrongCells);
+            });
+    }
+
+    @Test
+    public void testSharedPoolIsOptIn() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableContainer container = new FixedHeaderTableContainer(context);
+                FixedHeaderTableLayout first = new FixedHeaderTableLayout(context);
+                container.addSubTable(first);
+                FixedHeaderRecycledViewPool pool = new FixedHeaderRecycledViewPool();
+                container.setSharedRecycledViewPool(pool);
+                FixedHeaderTableLayout second = new FixedHeaderTableLayout(context);
+                container.addSubTable(second);
+                assertSame(pool, first.getRecycledViewPool());
+                assertSame(pool, second.getRecycledViewPool());
+
+                // Cells of one sheet are reused by the next through the shared pool
+                CountingAdapter firstAdapter = new CountingAdapter(TextView.class, 20, 8);
+                first.setAdapter(firstAdapter);
+                Helpers.layout(container);
+                first.setAdapter(null);
+                CountingAdapter secondAdapter = new CountingAdapter(TextView.class, 20, 8);
+                second.setAdapter(secondAdapter);
+                Helpers.layout(container);
+                assertTrue(secondAdapter.bound > secondAdapter.created);
+                assertEquals(0, secondAdapter.wrongCells);
+
+                container.setSharedRecycledViewPool(null);
+                assertNotSame(first.getRecycledViewPool(), second.getRecycledViewPool());
+            });
+    }
+}
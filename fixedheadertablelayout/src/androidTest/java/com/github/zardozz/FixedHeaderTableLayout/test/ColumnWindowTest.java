@@ -0,0 +1,97 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Point;
+import android.widget.TextView;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class ColumnWindowTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    private static int[] columnWidths(FixedHeaderTableLayout fixedHeaderTableLayout, int columns) {
+        int[] widths = new int[columns];
+        for (int column = 0; column < columns; column++) {
+            widths[column] = fixedHeaderTableLayout.cellContentBounds(0, column, null).width();
+        }
+        return widths;
+    }
+
+    @Test
+    public void testWindowedRowIsMeasuredAtItsOwnColumns() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(30,10), new Point(30,1), new Point(1,10), new Point(1,1));
+                FixedHeaderTableRow mainRow = (FixedHeaderTableRow) subTables[0].getChildAt(3);
+                TextView wideCell = (TextView) mainRow.getChildAt(20);
+                wideCell.setText("A much wider cell than the others");
+                fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+                fixedHeaderTableLayout.setColumnWindowingEnabled(true);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                // Scroll the window so its first column is well past the first column of the table
+                fixedHeaderTableLayout.calculatePanScale(fixedHeaderTableLayout.cellContentBounds(0, 18, null).left,
+                        0, 0, 0, 1f);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertTrue(mainRow.getChildCount() < 30);
+                assertTrue(mainRow.indexOfChild(wideCell) >= 0);
+                assertTrue(mainRow.indexOfChild(wideCell) < 20);
+                int[] widths = columnWidths(fixedHeaderTableLayout, 30);
+
+                // Measuring the windowed row again gives each attached cell its own column
+                FixedHeaderTableRow headerRow = (FixedHeaderTableRow) subTables[2].getChildAt(3);
+                fixedHeaderTableLayout.removeRows(3, 1);
+                fixedHeaderTableLayout.insertRows(3, Collections.singletonList(mainRow), Collections.singletonList(headerRow));
+                Helpers.layout(fixedHeaderTableLayout);
+                for (int column = 0; column < 30; column++) {
+                    assertEquals(widths[column], fixedHeaderTableLayout.cellContentBounds(0, column, null).width());
+                }
+                assertEquals(widths[20], wideCell.getWidth());
+                assertTrue(widths[20] > widths[19]);
+            });
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Point;
+import android.graphics.RectF;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class ContainerViewportTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    private static class CountingTable extends FixedHeaderTableLayout {
+        int viewportUpdates = 0;
+
+        CountingTable(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void setExternalViewport(float panX, float panY, float scaleFactor) {
+            viewportUpdates++;
+            super.setExternalViewport(panX, panY, scaleFactor);
+        }
+    }
+
+    private static CountingTable[] addTables(Context context, FixedHeaderTableContainer container, int count) {
+        CountingTable[] tables = new CountingTable[count];
+        for (int i = 0; i < count; i++) {
+            tables[i] = new CountingTable(context);
+            FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,20), new Point(5,1), new Point(1,20), new Point(1,1));
+            tables[i].addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+            container.addSubTable(tables[i]);
+        }
+        return tables;
+    }
+
+    private static void touch(View view, int action, float y) {
+        long now = SystemClock.uptimeMillis();
+        MotionEvent event = MotionEvent.obtain(now, now, action, 200, y, 0);
+        view.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    @Test
+    public void testPansAreAppliedOncePerFrame() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableContainer container = new FixedHeaderTableContainer(context);
+                CountingTable[] tables = addTables(context, container, 5);
+                Helpers.layout(container);
+                for (CountingTable table : tables) {
+                    table.viewportUpdates = 0;
+                }
+
+                touch(container, MotionEvent.ACTION_DOWN, 350);
+                for (int y = 330; y >= 230; y -= 20) {
+                    touch(container, MotionEvent.ACTION_MOVE, y);
+                }
+                touch(container, MotionEvent.ACTION_UP, 230);
+                // Nothing is pushed until the frame
+                for (CountingTable table : tables) {
+                    assertEquals(0, table.viewportUpdates);
+                }
+
+                Helpers.layout(container);
+                assertEquals(1, tables[0].viewportUpdates);
+                for (CountingTable table : tables) {
+                    assertTrue(table.viewportUpdates <= 1);
+                }
+            });
+    }
+
+    @Test
+    public void testOnlySheetsInTheViewportAreUpdated() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableContainer container = new FixedHeaderTableContainer(context);
+                CountingTable[] tables = addTables(context, container, 5);
+                Helpers.layout(container);
+                assertTrue(tables[0].getMeasuredHeight() > 400);
+                RectF lastBefore = tables[4].cellBounds(0, 0, null);
+                for (CountingTable table : tables) {
+                    table.viewportUpdates = 0;
+                }
+
+                container.scrollToSheet(4);
+                Helpers.layout(container);
+
+                // The last sheet came into view without moving its layout position and got the viewport
+                assertTrue(tables[4].viewportUpdates > 0);
+                assertNotEquals(lastBefore.top, tables[4].cellBounds(0, 0, null).top, 0f);
+                // The first sheet got the viewport once more as it left, the sheets passed over never did
+                assertEquals(1, tables[0].viewportUpdates);
+                for (int i = 1; i < 4; i++) {
+                    assertEquals(0, tables[i].viewportUpdates);
+                }
+
+                // Once out of view the first sheet is not visited again
+                container.scrollToSheet(3);
+                Helpers.layout(container);
+                assertEquals(1, tables[0].viewportUpdates);
+                assertEquals(0, tables[1].viewportUpdates);
+            });
+    }
+}
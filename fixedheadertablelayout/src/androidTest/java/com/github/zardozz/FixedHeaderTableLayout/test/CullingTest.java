@@ -0,0 +1,180 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Point;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class CullingTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    private static final int ROWS = 200;
+    private static final int COLUMNS = 30;
+
+    private static class CountingTable extends FixedHeaderSubTableLayout {
+        int rowDraws = 0;
+
+        CountingTable(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+            rowDraws++;
+            return super.drawChild(canvas, child, drawingTime);
+        }
+    }
+
+    private static class CountingRow extends FixedHeaderTableRow {
+        static int cellDraws = 0;
+
+        CountingRow(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+            cellDraws++;
+            return super.drawChild(canvas, child, drawingTime);
+        }
+    }
+
+    private static class CountingTextView extends TextView {
+        static int draws = 0;
+
+        CountingTextView(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onDraw(Canvas canvas) {
+            draws++;
+            super.onDraw(canvas);
+        }
+    }
+
+    @Test
+    public void testOnlyTheVisibleRowsAndCellsAreDrawn() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                CountingTable mainTable = new CountingTable(context);
+                for (int i = 0; i < ROWS; i++) {
+                    CountingRow row = new CountingRow(context);
+                    for (int j = 0; j < COLUMNS; j++) {
+                        TextView textView = new TextView(context);
+                        textView.setText(String.format(Locale.ROOT, "D%d:%d", j, i));
+                        row.addView(textView);
+                    }
+                    mainTable.addView(row);
+                }
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(0,0), new Point(COLUMNS,1), new Point(1,ROWS), new Point(1,1));
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                fixedHeaderTableLayout.addViews(mainTable, subTables[1], subTables[2], subTables[3]);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                Canvas canvas = new Canvas(Bitmap.createBitmap(400, 400, Bitmap.Config.ARGB_8888));
+                mainTable.rowDraws = 0;
+                CountingRow.cellDraws = 0;
+                fixedHeaderTableLayout.draw(canvas);
+                int rowHeight = mainTable.getChildAt(0).getHeight();
+                int cellWidth = ((FixedHeaderTableRow) mainTable.getChildAt(0)).getChildAt(0).getWidth();
+                int visibleRows = 400 / rowHeight + 2;
+                int visibleColumns = 400 / cellWidth + 2;
+                assertTrue(mainTable.rowDraws > 0);
+                assertTrue(mainTable.rowDraws <= visibleRows);
+                assertTrue(CountingRow.cellDraws <= visibleRows * visibleColumns);
+
+                // Draw again after panning to the middle, only the new band is visited
+                fixedHeaderTableLayout.calculatePanScale(fixedHeaderTableLayout.getContentWidth() / 2f,
+                        fixedHeaderTableLayout.getContentHeight() / 2f, 0, 0, 1f);
+                mainTable.rowDraws = 0;
+                CountingRow.cellDraws = 0;
+                fixedHeaderTableLayout.draw(canvas);
+                assertTrue(mainTable.rowDraws > 0);
+                assertTrue(mainTable.rowDraws <= visibleRows);
+                assertTrue(CountingRow.cellDraws <= visibleRows * visibleColumns);
+                assertEquals(ROWS, mainTable.getChildCount());
+            });
+    }
+
+    @Test
+    public void testOnlyTheVisibleRowsOfTheStickyColumnAreDrawn() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderSubTableLayout mainTable = new FixedHeaderSubTableLayout(context);
+                for (int i = 0; i < ROWS; i++) {
+                    FixedHeaderTableRow row = new FixedHeaderTableRow(context);
+                    for (int j = 0; j < COLUMNS; j++) {
+                        TextView textView = j == 2 ? new CountingTextView(context) : new TextView(context);
+                        textView.setText(String.format(Locale.ROOT, "D%d:%d", j, i));
+                        row.addView(textView);
+                    }
+                    mainTable.addView(row);
+                }
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(0,0), new Point(COLUMNS,1), new Point(1,ROWS), new Point(1,1));
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                fixedHeaderTableLayout.addViews(mainTable, subTables[1], subTables[2], subTables[3]);
+                fixedHeaderTableLayout.setStickyColumnIndices(0, 2);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                // Column 2 scrolls out of the main table and is drawn as the sticky column
+                fixedHeaderTableLayout.calculatePanScale(fixedHeaderTableLayout.getContentWidth() / 2f,
+                        fixedHeaderTableLayout.getContentHeight() / 2f, 0, 0, 1f);
+                Canvas canvas = new Canvas(Bitmap.createBitmap(400, 400, Bitmap.Config.ARGB_8888));
+                CountingTextView.draws = 0;
+                fixedHeaderTableLayout.draw(canvas);
+                int visibleRows = 400 / mainTable.getChildAt(0).getHeight() + 2;
+                assertTrue(CountingTextView.draws > 0);
+                assertTrue(CountingTextView.draws <= visibleRows);
+            });
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Point;
+import android.os.SystemClock;
+import android.widget.TextView;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class FixedCellSizeTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    private static class CountingLayout extends FixedHeaderTableLayout {
+        int measures = 0;
+
+        CountingLayout(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+            measures++;
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        }
+    }
+
+    // The cells are laid out in place on a frame of the attached Layout
+    private static void waitForFrames() {
+        for (int i = 0; i < 3; i++) {
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+            SystemClock.sleep(50);
+        }
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+    }
+
+    private static TextView cell(FixedHeaderSubTableLayout table, int row, int column) {
+        return (TextView) ((FixedHeaderTableRow) table.getChildAt(row)).getChildAt(column);
+    }
+
+    @Test
+    public void testFixedSizeCellIsNotMeasuredWithTheLayout() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+        final CountingLayout[] layouts = new CountingLayout[1];
+        final int[] width = new int[1];
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                layouts[0] = new CountingLayout(context);
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,10), new Point(5,1), new Point(1,10), new Point(1,1));
+                layouts[0].addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+                layouts[0].setFixedCellSizes(true);
+                activity.setContentView(layouts[0]);
+            });
+        waitForFrames();
+
+        activityScenario.onActivity(
+            activity -> {
+                FixedHeaderSubTableLayout mainTable = layouts[0].findViewById(R.id.MainTable);
+                TextView textView = cell(mainTable, 3, 2);
+                width[0] = textView.getWidth();
+                layouts[0].measures = 0;
+                textView.setText("A much wider cell than the others");
+                // The request stops at the row
+                assertFalse(mainTable.getChildAt(3).isLayoutRequested());
+                assertFalse(layouts[0].isLayoutRequested());
+            });
+        waitForFrames();
+
+        activityScenario.onActivity(
+            activity -> {
+                FixedHeaderSubTableLayout mainTable = layouts[0].findViewById(R.id.MainTable);
+                TextView textView = cell(mainTable, 3, 2);
+                // Laid out in place at the size it had, the Layout was not measured again
+                assertEquals(0, layouts[0].measures);
+                assertFalse(textView.isLayoutRequested());
+                assertEquals(width[0], textView.getWidth());
+                assertEquals(width[0], textView.getMeasuredWidth());
+
+                // Without fixed sizes the request goes up to the Layout
+                layouts[0].setFixedCellSizes(false);
+                textView.setText("Another text");
+                assertTrue(layouts[0].isLayoutRequested());
+            });
+    }
+
+    @Test
+    public void testRedrawCellInvalidatesOnlyItsCell() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,10), new Point(5,1), new Point(1,10), new Point(1,1));
+                fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+                Helpers.layout(fixedHeaderTableLayout);
+                fixedHeaderTableLayout.draw(new Canvas(Bitmap.createBitmap(400, 400, Bitmap.Config.ARGB_8888)));
+
+                // Only the cells that were drawn are clean
+                FixedHeaderSubTableLayout mainTable = subTables[0];
+                boolean[][] clean = new boolean[10][5];
+                for (int row = 0; row < 10; row++) {
+                    for (int column = 0; column < 5; column++) {
+                        clean[row][column] = !cell(mainTable, row, column).isDirty();
+                    }
+                }
+                assertTrue(clean[0][0]);
+
+                fixedHeaderTableLayout.redrawCell(0, 0);
+                assertTrue(cell(mainTable, 0, 0).isDirty());
+                for (int row = 0; row < 10; row++) {
+                    for (int column = 0; column < 5; column++) {
+                        if ((row != 0 || column != 0) && clean[row][column]) {
+                            assertFalse(cell(mainTable, row, column).isDirty());
+                        }
+                    }
+                }
+                assertFalse(fixedHeaderTableLayout.isLayoutRequested());
+            });
+    }
+}
@@ -29,11 +29,35 @@ import com.github.zardozz.FixedHeaderTableLayout.*;
 import android.content.Context;
 import android.graphics.Point;
 import android.view.Gravity;
+import android.view.View;
 import android.widget.TextView;
 
 import java.util.Locale;
 
 public class Helpers {
+    // Measure and lay out at a fixed 400 x 400 so the tables can pan
+    public static void layout(View view) {
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(400, View.MeasureSpec.EXACTLY);
+        view.measure(widthSpec, heightSpec);
+        view.layout(0, 0, 400, 400);
+    }
+
+    public static FixedHeaderSubTableLayout createRenderedTable(Context mContext, CellRenderer renderer, int columns, int rows){
+        FixedHeaderSubTableLayout table = new FixedHeaderSubTableLayout(mContext);
+        table.setCellRenderer(renderer);
+        for (int i = 0; i < rows; i++) {
+            FixedHeaderTableRow row = new FixedHeaderTableRow(mContext);
+            TableCell[] cells = new TableCell[columns];
+            for (int j = 0; j < columns; j++) {
+                cells[j] = new TableCell(i + ":" + j);
+            }
+            row.setCells(cells);
+            table.addView(row);
+        }
+        return table;
+    }
+
     public static FixedHeaderSubTableLayout[] createSubTables(Context mContext, Point mainTableShape, Point columnHeaderTableShape, Point rowHeaderTableShape, Point cornerTableShape){
         FixedHeaderSubTableLayout[] subTableLayouts = new FixedHeaderSubTableLayout[4];
 
@@ -0,0 +1,101 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Point;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class LayoutCacheTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    private static FixedHeaderTableLayout createTable(Context context, int columns, int rows) {
+        FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+        FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(columns, rows),
+                new Point(columns, 1), new Point(1, rows), new Point(1, 1));
+        fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+        Helpers.layout(fixedHeaderTableLayout);
+        return fixedHeaderTableLayout;
+    }
+
+    @Test
+    public void testExportHasNoSideEffects() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = createTable(context, 20, 100);
+                fixedHeaderTableLayout.calculatePanScale(300, 300, 0, 0, 1f);
+                CellRange before = fixedHeaderTableLayout.visibleRange(null);
+                byte[] first = fixedHeaderTableLayout.exportLayout(1);
+                byte[] second = fixedHeaderTableLayout.exportLayout(1);
+                assertArrayEquals(first, second);
+                CellRange after = fixedHeaderTableLayout.visibleRange(null);
+                assertEquals(before.getFirstRow(), after.getFirstRow());
+                assertEquals(before.getFirstColumn(), after.getFirstColumn());
+            });
+    }
+
+    @Test
+    public void testImportedPanIsClampedToTheBounds() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout large = createTable(context, 40, 200);
+                // Pan to the far corner of the large table
+                large.calculatePanScale(large.getContentWidth(), large.getContentHeight(), 0, 0, 1f);
+                byte[] cache = large.exportLayout(1);
+
+                // The same hash on a smaller table, the pan is out of its bounds
+                FixedHeaderTableLayout small = createTable(context, 10, 20);
+                assertTrue(small.importLayout(cache, 1));
+                CellRange range = small.visibleRange(null);
+                // Clamped to the far corner of the small table so the viewport is still full of cells
+                assertEquals(19, range.getLastRow());
+                assertEquals(9, range.getLastColumn());
+                assertTrue(range.getFirstRow() < range.getLastRow());
+                assertTrue(range.getFirstColumn() < range.getLastColumn());
+            });
+    }
+}
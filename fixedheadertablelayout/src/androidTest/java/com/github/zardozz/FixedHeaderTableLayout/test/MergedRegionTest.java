@@ -0,0 +1,144 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Point;
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(AndroidJUnit4.class)
+public class MergedRegionTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    @Test
+    public void testRegionCellCoversItsRowsAndColumns() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,10), new Point(5,1), new Point(1,10), new Point(1,1));
+                FixedHeaderSubTableLayout mainTable = subTables[0];
+                mainTable.mergeCells(2, 1, 3, 2);
+                fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                CellRange region = mainTable.getMergedRegion(4, 2, null);
+                assertNotNull(region);
+                assertEquals(2, region.getFirstRow());
+                assertEquals(1, region.getFirstColumn());
+                assertEquals(4, region.getLastRow());
+                assertEquals(2, region.getLastColumn());
+                assertNull(mainTable.getMergedRegion(5, 2, null));
+
+                // The first cell is as big as the whole region
+                View anchor = ((FixedHeaderTableRow) mainTable.getChildAt(2)).getChildAt(1);
+                Rect first = fixedHeaderTableLayout.cellContentBounds(2, 1, null);
+                Rect last = fixedHeaderTableLayout.cellContentBounds(4, 2, null);
+                assertEquals(last.right - first.left, anchor.getMeasuredWidth());
+                assertEquals(last.bottom - first.top, anchor.getMeasuredHeight());
+
+                // The columns after the region stay in line with the rows it does not cross
+                View covered = ((FixedHeaderTableRow) mainTable.getChildAt(3)).getChildAt(3);
+                View clear = ((FixedHeaderTableRow) mainTable.getChildAt(6)).getChildAt(3);
+                assertEquals(clear.getLeft(), covered.getLeft());
+            });
+    }
+
+    @Test
+    public void testClickInRegionFindsFirstCell() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,10), new Point(5,1), new Point(1,10), new Point(1,1));
+                FixedHeaderSubTableLayout mainTable = subTables[0];
+                mainTable.mergeCells(1, 0, 3, 1);
+                fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                final int[] clicked = new int[] {-1, -1};
+                mainTable.setOnCellClickListener((table, clickedRow, column, cell) -> {
+                    clicked[0] = clickedRow;
+                    clicked[1] = column;
+                });
+
+                // Tap the last row of the region
+                Rect bounds = fixedHeaderTableLayout.cellContentBounds(3, 0, null);
+                float x = mainTable.getLeft() + bounds.centerX();
+                float y = mainTable.getTop() + bounds.centerY();
+                long time = SystemClock.uptimeMillis();
+                MotionEvent down = MotionEvent.obtain(time, time, MotionEvent.ACTION_DOWN, x, y, 0);
+                MotionEvent up = MotionEvent.obtain(time, time + 10, MotionEvent.ACTION_UP, x, y, 0);
+                fixedHeaderTableLayout.dispatchTouchEvent(down);
+                fixedHeaderTableLayout.dispatchTouchEvent(up);
+                down.recycle();
+                up.recycle();
+
+                assertEquals(1, clicked[0]);
+                assertEquals(0, clicked[1]);
+            });
+    }
+
+    @Test
+    public void testRegionsStayInsideTheirTable() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,10), new Point(5,1), new Point(1,10), new Point(1,1));
+                // A column header cell cannot span down into the main table, nor a row header cell across into it
+                assertThrows(IllegalArgumentException.class, () -> subTables[1].mergeCells(0, 0, 2, 1));
+                assertThrows(IllegalArgumentException.class, () -> subTables[2].mergeCells(0, 0, 1, 2));
+                assertThrows(IllegalArgumentException.class, () -> subTables[0].mergeCells(8, 3, 2, 3));
+                subTables[0].mergeCells(8, 3, 2, 2);
+                assertNotNull(subTables[0].getMergedRegion(9, 4, null));
+            });
+    }
+}
@@ -0,0 +1,365 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Point;
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.widget.TextView;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class MutationTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    private static FixedHeaderTableLayout createLayout(Context context) {
+        FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+        FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,10), new Point(5,1), new Point(1,10), new Point(1,1));
+        fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+        Helpers.layout(fixedHeaderTableLayout);
+        return fixedHeaderTableLayout;
+    }
+
+    private static class CountingTextView extends TextView {
+        int measures = 0;
+
+        CountingTextView(Context context) {
+            super(context);
+        }
+
+        @Override
+        protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+            measures++;
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        }
+    }
+
+    private static FixedHeaderTableRow createRow(Context context, int cells) {
+        FixedHeaderTableRow row = new FixedHeaderTableRow(context);
+        for (int i = 0; i < cells; i++) {
+            TextView textView = new TextView(context);
+            textView.setText("N");
+            row.addView(textView);
+        }
+        return row;
+    }
+
+    @Test
+    public void testInsertAndRemoveRows() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = createLayout(context);
+                int contentHeight = fixedHeaderTableLayout.getContentHeight();
+                Rect lastRow = new Rect();
+                fixedHeaderTableLayout.cellContentBounds(9, 0, lastRow);
+
+                FixedHeaderTableRow mainRow = createRow(context, 5);
+                fixedHeaderTableLayout.insertRows(0, Collections.singletonList(mainRow),
+                        Collections.singletonList(createRow(context, 1)));
+                Helpers.layout(fixedHeaderTableLayout);
+
+                Rect movedRow = new Rect();
+                fixedHeaderTableLayout.cellContentBounds(10, 0, movedRow);
+                assertEquals(lastRow.height(), movedRow.height());
+                assertEquals(contentHeight + mainRow.getHeight(), fixedHeaderTableLayout.getContentHeight());
+
+                fixedHeaderTableLayout.removeRows(0, 1);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertEquals(contentHeight, fixedHeaderTableLayout.getContentHeight());
+            });
+    }
+
+    @Test
+    public void testUpdateCellWidensAndShrinksColumn() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                FixedHeaderTableLayout fixedHeaderTableLayout = createLayout(activity.getApplicationContext());
+                Rect before = new Rect();
+                fixedHeaderTableLayout.cellContentBounds(3, 2, before);
+
+                FixedHeaderSubTableLayout mainTable = fixedHeaderTableLayout.findViewById(R.id.MainTable);
+                TextView cell = (TextView) ((FixedHeaderTableRow) mainTable.getChildAt(3)).getChildAt(2);
+                CharSequence text = cell.getText();
+                cell.setText("A much wider cell than the others");
+                fixedHeaderTableLayout.updateCell(3, 2);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                Rect wider = new Rect();
+                fixedHeaderTableLayout.cellContentBounds(3, 2, wider);
+                assertTrue(wider.width() > before.width());
+
+                cell.setText(text);
+                fixedHeaderTableLayout.updateCell(3, 2);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                Rect after = new Rect();
+                fixedHeaderTableLayout.cellContentBounds(3, 2, after);
+                assertEquals(before.width(), after.width());
+            });
+    }
+
+    @Test
+    public void testBatchUpdateFitsColumnsOnce() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                FixedHeaderTableLayout fixedHeaderTableLayout = createLayout(activity.getApplicationContext());
+                Rect before = new Rect();
+                fixedHeaderTableLayout.cellContentBounds(3, 2, before);
+
+                FixedHeaderSubTableLayout mainTable = fixedHeaderTableLayout.findViewById(R.id.MainTable);
+                TextView cell = (TextView) ((FixedHeaderTableRow) mainTable.getChildAt(3)).getChildAt(2);
+                CharSequence text = cell.getText();
+                fixedHeaderTableLayout.runBatch(() -> {
+                    cell.setText("A much wider cell than the others");
+                    fixedHeaderTableLayout.updateCell(3, 2);
+                    assertTrue(fixedHeaderTableLayout.isInBatchUpdate());
+                    assertFalse(fixedHeaderTableLayout.isLayoutRequested());
+                    cell.setText(text);
+                    fixedHeaderTableLayout.updateCell(3, 2);
+                });
+                assertFalse(fixedHeaderTableLayout.isInBatchUpdate());
+                assertTrue(fixedHeaderTableLayout.isLayoutRequested());
+                Helpers.layout(fixedHeaderTableLayout);
+
+                Rect after = new Rect();
+                fixedHeaderTableLayout.cellContentBounds(3, 2, after);
+                assertEquals(before.width(), after.width());
+            });
+    }
+
+    @Test
+    public void testUnchangedCellIsNotMeasuredAgain() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,10), new Point(5,1), new Point(1,10), new Point(1,1));
+                FixedHeaderTableRow row = (FixedHeaderTableRow) subTables[0].getChildAt(3);
+                CountingTextView counted = new CountingTextView(context);
+                counted.setText("D1:4");
+                row.removeViewAt(0);
+                row.addView(counted, 0);
+                fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertTrue(counted.measures > 0);
+
+                // Widen another cell of the same row so the row and its columns are measured again
+                counted.measures = 0;
+                TextView cell = (TextView) row.getChildAt(2);
+                cell.setText("A much wider cell than the others");
+                fixedHeaderTableLayout.updateCell(3, 2);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertEquals(0, counted.measures);
+
+                // A cell that asks for a layout is measured again
+                counted.setText("D1:4 wider");
+                Helpers.layout(fixedHeaderTableLayout);
+                assertTrue(counted.measures > 0);
+            });
+    }
+
+    @Test
+    public void testColumnKeepsItsWidthWhileAnotherCellIsAsWide() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                FixedHeaderTableLayout fixedHeaderTableLayout = createLayout(activity.getApplicationContext());
+                Rect before = fixedHeaderTableLayout.cellContentBounds(3, 2, null);
+
+                FixedHeaderSubTableLayout mainTable = fixedHeaderTableLayout.findViewById(R.id.MainTable);
+                TextView first = (TextView) ((FixedHeaderTableRow) mainTable.getChildAt(3)).getChildAt(2);
+                TextView second = (TextView) ((FixedHeaderTableRow) mainTable.getChildAt(5)).getChildAt(2);
+                CharSequence firstText = first.getText();
+                CharSequence secondText = second.getText();
+                first.setText("A much wider cell than the others");
+                fixedHeaderTableLayout.updateCell(3, 2);
+                second.setText("A much wider cell than the others");
+                fixedHeaderTableLayout.updateCell(5, 2);
+                Helpers.layout(fixedHeaderTableLayout);
+                Rect wide = fixedHeaderTableLayout.cellContentBounds(3, 2, null);
+
+                // The other wide cell keeps the column wide
+                first.setText(firstText);
+                fixedHeaderTableLayout.updateCell(3, 2);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertEquals(wide.width(), fixedHeaderTableLayout.cellContentBounds(3, 2, null).width());
+
+                // The last wide cell shrinking shrinks the column
+                second.setText(secondText);
+                fixedHeaderTableLayout.updateCell(5, 2);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertEquals(before.width(), fixedHeaderTableLayout.cellContentBounds(3, 2, null).width());
+            });
+    }
+
+    @Test
+    public void testRowsOutOfViewAreMeasuredWhenTheyComeIntoView() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,100), new Point(5,1), new Point(1,100), new Point(1,1));
+                FixedHeaderTableRow lastRow = (FixedHeaderTableRow) subTables[0].getChildAt(99);
+                CountingTextView counted = new CountingTextView(context);
+                counted.setText("A1:100");
+                lastRow.removeViewAt(0);
+                lastRow.addView(counted, 0);
+                fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+                Helpers.layout(fixedHeaderTableLayout);
+
+                // Widen the column from the first row, the last row is out of view
+                counted.measures = 0;
+                int tableWidth = subTables[0].getMeasuredWidth();
+                TextView cell = (TextView) ((FixedHeaderTableRow) subTables[0].getChildAt(0)).getChildAt(0);
+                int narrow = cell.getWidth();
+                cell.setText("A much wider cell than the others");
+                fixedHeaderTableLayout.updateCell(0, 0);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertEquals(0, counted.measures);
+                assertTrue(cell.getWidth() > narrow);
+                assertEquals(tableWidth + cell.getWidth() - narrow, subTables[0].getMeasuredWidth());
+
+                // Scrolled into view the last row is measured with the new width
+                fixedHeaderTableLayout.calculatePanScale(0, fixedHeaderTableLayout.getContentHeight(), 0, 0, 1f);
+                Helpers.layout(fixedHeaderTableLayout);
+                assertTrue(counted.measures > 0);
+                assertEquals(cell.getWidth(), counted.getWidth());
+            });
+    }
+
+    @Test
+    public void testInsertRowsOfRenderedCells() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                TextCellRenderer renderer = new TextCellRenderer(context);
+                FixedHeaderSubTableLayout mainTable = Helpers.createRenderedTable(context, renderer, 5, 10);
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                fixedHeaderTableLayout.addViews(mainTable, Helpers.createRenderedTable(context, renderer, 5, 1),
+                        Helpers.createRenderedTable(context, renderer, 1, 10), Helpers.createRenderedTable(context, renderer, 1, 1));
+                Helpers.layout(fixedHeaderTableLayout);
+                Rect before = fixedHeaderTableLayout.cellContentBounds(0, 2, null);
+
+                FixedHeaderTableRow mainRow = new FixedHeaderTableRow(context);
+                TableCell wideCell = new TableCell("A much wider cell than the others");
+                mainRow.setCells(new TableCell("N:0"), new TableCell("N:1"), wideCell, new TableCell("N:3"), new TableCell("N:4"));
+                FixedHeaderTableRow headerRow = new FixedHeaderTableRow(context);
+                headerRow.setCells(new TableCell("N"));
+                fixedHeaderTableLayout.insertRows(3, Collections.singletonList(mainRow), Collections.singletonList(headerRow));
+                Helpers.layout(fixedHeaderTableLayout);
+
+                assertEquals(11, mainTable.getChildCount());
+                assertEquals(mainRow, mainTable.getChildAt(3));
+                Rect wide = fixedHeaderTableLayout.cellContentBounds(3, 2, null);
+                assertEquals(renderer.measureWidth(wideCell), wide.width());
+                assertTrue(wide.width() > before.width());
+            });
+    }
+
+    // A data model is applied on a frame of the attached Layout
+    private static void waitForFrames() {
+        for (int i = 0; i < 3; i++) {
+            InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+            SystemClock.sleep(50);
+        }
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+    }
+
+    private static CharSequence cellText(FixedHeaderSubTableLayout table, int row, int column) {
+        return ((TextView) ((FixedHeaderTableRow) table.getChildAt(row)).getChildAt(column)).getText();
+    }
+
+    @Test
+    public void testDataModelInsertsAndRemovesRows() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+        final FixedHeaderTableLayout[] layouts = new FixedHeaderTableLayout[1];
+        final TableDataModel model = new TableDataModel(10, 5);
+
+        activityScenario.onActivity(
+            activity -> {
+                layouts[0] = createLayout(activity.getApplicationContext());
+                layouts[0].setDataModel(model);
+                activity.setContentView(layouts[0]);
+            });
+        waitForFrames();
+
+        model.beginTransaction().set(8, 1, "moved").insertRows(3, 1).set(3, 0, "new").commit();
+        waitForFrames();
+        activityScenario.onActivity(
+            activity -> {
+                FixedHeaderSubTableLayout mainTable = layouts[0].findViewById(R.id.MainTable);
+                FixedHeaderSubTableLayout rowHeaderTable = layouts[0].findViewById(R.id.RowHeaderTable);
+                assertEquals(11, mainTable.getChildCount());
+                assertEquals(11, rowHeaderTable.getChildCount());
+                assertEquals(5, ((FixedHeaderTableRow) mainTable.getChildAt(3)).getChildCount());
+                assertEquals("new", cellText(mainTable, 3, 0).toString());
+                assertEquals("moved", cellText(mainTable, 9, 1).toString());
+                assertEquals("", cellText(mainTable, 8, 1).toString());
+            });
+
+        model.removeRows(0, 2);
+        waitForFrames();
+        activityScenario.onActivity(
+            activity -> {
+                FixedHeaderSubTableLayout mainTable = layouts[0].findViewById(R.id.MainTable);
+                assertEquals(9, mainTable.getChildCount());
+                assertEquals("new", cellText(mainTable, 1, 0).toString());
+                assertEquals("moved", cellText(mainTable, 7, 1).toString());
+            });
+    }
+}
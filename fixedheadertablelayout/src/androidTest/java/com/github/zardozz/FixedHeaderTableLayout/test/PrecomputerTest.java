@@ -0,0 +1,204 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.Looper;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class PrecomputerTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    private static final CharSequence[][] MAIN = {{"1", "A wide cell"}, {"A multi\nline cell", "2"}, {"3", "4"}};
+    private static final CharSequence[][] COLUMN_HEADER = {{"First", "Second"}};
+    private static final CharSequence[][] ROW_HEADER = {{"Row 1"}, {"Row 2"}, {"Row 3"}};
+    private static final CharSequence[][] CORNER = {{""}};
+
+    private static FixedHeaderTablePrecomputer createPrecomputer(Context context) {
+        TextView example = new TextView(context);
+        example.setTextSize(30f);
+        example.setPadding(5, 5, 5, 5);
+        return FixedHeaderTablePrecomputer.fromTextView(example);
+    }
+
+    private static TextView createCell(Context context, FixedHeaderTablePrecomputer precomputer, CharSequence text) {
+        TextView textView = new TextView(context);
+        precomputer.applyTo(textView, text);
+        int measureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        textView.measure(measureSpec, measureSpec);
+        return textView;
+    }
+
+    private static FixedHeaderSubTableLayout createTable(Context context, FixedHeaderTablePrecomputer precomputer,
+                                                         FixedHeaderTableLayoutSnapshot snapshot, int table) {
+        FixedHeaderSubTableLayout subTable = new FixedHeaderSubTableLayout(context);
+        for (int row = 0; row < snapshot.getRowCount(table); row++) {
+            FixedHeaderTableRow tableRow = new FixedHeaderTableRow(context);
+            for (int column = 0; column < snapshot.getColumnCount(table, row); column++) {
+                TextView textView = new TextView(context);
+                precomputer.applyTo(textView, snapshot.getText(table, row, column));
+                tableRow.addView(textView);
+            }
+            subTable.addView(tableRow);
+        }
+        return subTable;
+    }
+
+    private static FixedHeaderTableLayout createLayout(Context context, FixedHeaderTablePrecomputer precomputer,
+                                                       FixedHeaderTableLayoutSnapshot snapshot, boolean useSnapshot) {
+        FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+        FixedHeaderSubTableLayout mainTable = createTable(context, precomputer, snapshot, FixedHeaderTableLayoutSnapshot.MAIN_TABLE);
+        FixedHeaderSubTableLayout columnHeaderTable = createTable(context, precomputer, snapshot, FixedHeaderTableLayoutSnapshot.COLUMN_HEADER_TABLE);
+        FixedHeaderSubTableLayout rowHeaderTable = createTable(context, precomputer, snapshot, FixedHeaderTableLayoutSnapshot.ROW_HEADER_TABLE);
+        FixedHeaderSubTableLayout cornerTable = createTable(context, precomputer, snapshot, FixedHeaderTableLayoutSnapshot.CORNER_TABLE);
+        if (useSnapshot) {
+            fixedHeaderTableLayout.addViews(mainTable, columnHeaderTable, rowHeaderTable, cornerTable, snapshot);
+        } else {
+            fixedHeaderTableLayout.addViews(mainTable, columnHeaderTable, rowHeaderTable, cornerTable);
+        }
+        Helpers.layout(fixedHeaderTableLayout);
+        return fixedHeaderTableLayout;
+    }
+
+    @Test
+    public void testSnapshotSizesMatchTheCells() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTablePrecomputer precomputer = createPrecomputer(context);
+                FixedHeaderTableLayoutSnapshot snapshot = precomputer.compute(MAIN, COLUMN_HEADER, ROW_HEADER, CORNER);
+
+                assertEquals(3, snapshot.getRowCount(FixedHeaderTableLayoutSnapshot.MAIN_TABLE));
+                assertEquals(2, snapshot.getColumnCount(FixedHeaderTableLayoutSnapshot.MAIN_TABLE, 0));
+                assertEquals("A wide cell", snapshot.getText(FixedHeaderTableLayoutSnapshot.MAIN_TABLE, 0, 1).toString());
+
+                // Each column is as wide as its widest cell in the main and column header tables
+                for (int column = 0; column < 2; column++) {
+                    int widest = createCell(context, precomputer, COLUMN_HEADER[0][column]).getMeasuredWidth();
+                    for (CharSequence[] row : MAIN) {
+                        widest = Math.max(widest, createCell(context, precomputer, row[column]).getMeasuredWidth());
+                    }
+                    assertEquals(widest, snapshot.getColumnWidth(column));
+                }
+
+                // Each row is as tall as its tallest cell in the main and row header tables
+                for (int row = 0; row < MAIN.length; row++) {
+                    int tallest = createCell(context, precomputer, ROW_HEADER[row][0]).getMeasuredHeight();
+                    for (CharSequence text : MAIN[row]) {
+                        tallest = Math.max(tallest, createCell(context, precomputer, text).getMeasuredHeight());
+                    }
+                    assertEquals(tallest, snapshot.getRowHeight(row));
+                }
+                assertTrue(snapshot.getRowHeight(1) > snapshot.getRowHeight(0));
+            });
+    }
+
+    @Test
+    public void testMultiLineTextIsAsWideAsItsWidestLine() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTablePrecomputer precomputer = createPrecomputer(context);
+                CharSequence[][] empty = new CharSequence[0][];
+                FixedHeaderTableLayoutSnapshot multiLine = precomputer.compute(
+                        new CharSequence[][]{{"Short\nA much longer line\nShort"}}, empty, empty, empty);
+                FixedHeaderTableLayoutSnapshot singleLine = precomputer.compute(
+                        new CharSequence[][]{{"A much longer line"}}, empty, empty, empty);
+                assertEquals(singleLine.getColumnWidth(0), multiLine.getColumnWidth(0));
+            });
+    }
+
+    @Test
+    public void testSnapshotGivesTheSameLayoutAsMeasuring() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTablePrecomputer precomputer = createPrecomputer(context);
+                FixedHeaderTableLayoutSnapshot snapshot = precomputer.compute(MAIN, COLUMN_HEADER, ROW_HEADER, CORNER);
+                FixedHeaderTableLayout measured = createLayout(context, precomputer, snapshot, false);
+                FixedHeaderTableLayout precomputed = createLayout(context, precomputer, snapshot, true);
+
+                assertEquals(measured.getContentWidth(), precomputed.getContentWidth());
+                assertEquals(measured.getContentHeight(), precomputed.getContentHeight());
+                for (int row = 0; row < MAIN.length; row++) {
+                    for (int column = 0; column < 2; column++) {
+                        Rect expected = measured.cellContentBounds(row, column, null);
+                        assertEquals(expected, precomputed.cellContentBounds(row, column, null));
+                    }
+                }
+            });
+    }
+
+    @Test
+    public void testComputeAsyncDeliversOnTheMainThread() throws InterruptedException {
+        FixedHeaderTablePrecomputer precomputer = createPrecomputer(
+                InstrumentationRegistry.getInstrumentation().getTargetContext());
+        CountDownLatch delivered = new CountDownLatch(1);
+        AtomicBoolean onMainThread = new AtomicBoolean(false);
+        AtomicReference<FixedHeaderTableLayoutSnapshot> result = new AtomicReference<>();
+        precomputer.computeAsync(MAIN, COLUMN_HEADER, ROW_HEADER, CORNER, Executors.newSingleThreadExecutor(),
+                snapshot -> {
+                    onMainThread.set(Looper.myLooper() == Looper.getMainLooper());
+                    result.set(snapshot);
+                    delivered.countDown();
+                });
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(onMainThread.get());
+        assertNotNull(result.get());
+        assertEquals(3, result.get().getRowCount(FixedHeaderTableLayoutSnapshot.MAIN_TABLE));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Rect;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class RenderedCellTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    @Test
+    public void testRenderedCellsSizeTheColumns() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                TextCellRenderer renderer = new TextCellRenderer(context);
+                FixedHeaderSubTableLayout mainTable = Helpers.createRenderedTable(context, renderer, 5, 10);
+                FixedHeaderTableRow wideRow = (FixedHeaderTableRow) mainTable.getChildAt(4);
+                TableCell wideCell = new TableCell("A much wider cell than the others");
+                wideRow.setCells(new TableCell("4:0"), new TableCell("4:1"), wideCell, new TableCell("4:3"), new TableCell("4:4"));
+
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                fixedHeaderTableLayout.addViews(mainTable, Helpers.createRenderedTable(context, renderer, 5, 1),
+                        Helpers.createRenderedTable(context, renderer, 1, 10), Helpers.createRenderedTable(context, renderer, 1, 1));
+                Helpers.layout(fixedHeaderTableLayout);
+
+                assertEquals(0, wideRow.getChildCount());
+                Rect wide = fixedHeaderTableLayout.cellContentBounds(0, 2, null);
+                Rect narrow = fixedHeaderTableLayout.cellContentBounds(0, 1, null);
+                assertEquals(renderer.measureWidth(wideCell), wide.width());
+                assertTrue(wide.width() > narrow.width());
+                assertEquals(fixedHeaderTableLayout.cellContentBounds(0, 4, null).right, wideRow.getMeasuredWidth());
+            });
+    }
+
+    @Test
+    public void testClickFindsRenderedCell() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                TextCellRenderer renderer = new TextCellRenderer(context);
+                FixedHeaderSubTableLayout mainTable = Helpers.createRenderedTable(context, renderer, 5, 10);
+                FixedHeaderTableRow row = (FixedHeaderTableRow) mainTable.getChildAt(3);
+                row.mergeCells(1, 2);
+
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+                fixedHeaderTableLayout.addViews(mainTable, Helpers.createRenderedTable(context, renderer, 5, 1),
+                        Helpers.createRenderedTable(context, renderer, 1, 10), Helpers.createRenderedTable(context, renderer, 1, 1));
+                Helpers.layout(fixedHeaderTableLayout);
+
+                final int[] clicked = new int[] {-1, -1};
+                final TableCell[] clickedCell = new TableCell[1];
+                mainTable.setOnCellClickListener((table, clickedRow, column, cell) -> {
+                    clicked[0] = clickedRow;
+                    clicked[1] = column;
+                    clickedCell[0] = cell;
+                });
+
+                // Tap the second column of the merged cell
+                Rect bounds = fixedHeaderTableLayout.cellContentBounds(3, 2, null);
+                float x = mainTable.getLeft() + bounds.centerX();
+                float y = mainTable.getTop() + bounds.centerY();
+                long time = SystemClock.uptimeMillis();
+                MotionEvent down = MotionEvent.obtain(time, time, MotionEvent.ACTION_DOWN, x, y, 0);
+                MotionEvent up = MotionEvent.obtain(time, time + 10, MotionEvent.ACTION_UP, x, y, 0);
+                fixedHeaderTableLayout.dispatchTouchEvent(down);
+                fixedHeaderTableLayout.dispatchTouchEvent(up);
+                down.recycle();
+                up.recycle();
+
+                assertEquals(3, clicked[0]);
+                assertEquals(1, clicked[1]);
+                assertSame(row.getCell(1), clickedCell[0]);
+            });
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.content.Context;
+import android.graphics.Point;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(AndroidJUnit4.class)
+public class SheetProviderTest {
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    private static class CountingProvider extends FixedHeaderSheetProvider {
+        int created = 0;
+        int released = 0;
+
+        @Override
+        public int getSheetCount() {
+            return 80;
+        }
+
+        @Override
+        public int getEstimatedSheetHeight(int sheet) {
+            return 300;
+        }
+
+        @NonNull
+        @Override
+        public FixedHeaderTableLayout createSheet(@NonNull Context context, int sheet) {
+            created++;
+            FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(context);
+            FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(context, new Point(5,10), new Point(5,1), new Point(1,10), new Point(1,1));
+            fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+            return fixedHeaderTableLayout;
+        }
+
+        @Override
+        public void releaseSheet(int sheet, @NonNull FixedHeaderTableLayout table) {
+            released++;
+        }
+    }
+
+    @Test
+    public void testOnlySheetsNearTheViewportAreCreated() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableContainer container = new FixedHeaderTableContainer(context);
+                CountingProvider provider = new CountingProvider();
+                container.setSheetProvider(provider);
+                Helpers.layout(container);
+
+                assertTrue(provider.created > 0);
+                assertTrue(provider.created < 80);
+                assertEquals(provider.created, container.getChildCount());
+                assertNotNull(container.getAttachedSheet(0));
+                assertNull(container.getAttachedSheet(79));
+                assertEquals(0, provider.released);
+
+                container.setSheetProvider(null);
+                assertEquals(0, container.getChildCount());
+                assertEquals(provider.created, provider.released);
+            });
+    }
+
+    @Test
+    public void testScrollToSheet() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                Context context = activity.getApplicationContext();
+                FixedHeaderTableContainer container = new FixedHeaderTableContainer(context);
+                container.setSheetProvider(new CountingProvider());
+                Helpers.layout(container);
+                assertEquals(80, container.getSheetCount());
+                assertEquals(0, container.sheetAt(0));
+
+                container.scrollToSheet(40);
+                // The sheet is created and measured on the next layout, which corrects the position
+                Helpers.layout(container);
+                assertNotNull(container.getAttachedSheet(40));
+                assertEquals(40, container.sheetAt(0));
+            });
+    }
+}
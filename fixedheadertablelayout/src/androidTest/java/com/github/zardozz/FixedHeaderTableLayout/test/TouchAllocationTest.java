@@ -0,0 +1,94 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout.test;
+
+import com.github.zardozz.FixedHeaderTableLayout.*;
+
+import android.graphics.Point;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.rules.ActivityScenarioRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(AndroidJUnit4.class)
+public class TouchAllocationTest {
+
+    private static final int WARM_UP_MOVES = 20;
+    private static final int COUNTED_MOVES = 100;
+
+    @Rule
+    public ActivityScenarioRule<TestActivity> rule = new ActivityScenarioRule<>(TestActivity.class);
+
+    @SuppressWarnings("deprecation")
+    @Test
+    public void testMoveEventsDoNotAllocate() {
+        ActivityScenario<TestActivity> activityScenario = rule.getScenario();
+
+        activityScenario.onActivity(
+            activity -> {
+                FixedHeaderTableLayout fixedHeaderTableLayout = new FixedHeaderTableLayout(activity.getApplicationContext());
+                FixedHeaderSubTableLayout[] subTables = Helpers.createSubTables(activity.getApplicationContext(), new Point(25,25), new Point(25,1), new Point(1,25), new Point(1,1));
+                fixedHeaderTableLayout.addViews(subTables[0], subTables[1], subTables[2], subTables[3]);
+
+                // Lay the table out at a fixed size smaller than its content so it can pan
+                Helpers.layout(fixedHeaderTableLayout);
+
+                // Create all the events up front so only the table is counted
+                long downTime = SystemClock.uptimeMillis();
+                int moveCount = WARM_UP_MOVES + COUNTED_MOVES;
+                MotionEvent down = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, 350, 350, 0);
+                MotionEvent[] moves = new MotionEvent[moveCount];
+                for (int i = 0; i < moveCount; i++) {
+                    // Pan back and forth so the table never reaches the edge
+                    float offset = (i % 2 == 0) ? 100 : 120;
+                    moves[i] = MotionEvent.obtain(downTime, downTime + 8L * (i + 1), MotionEvent.ACTION_MOVE, 350 - offset, 350 - offset, 0);
+                }
+
+                fixedHeaderTableLayout.dispatchTouchEvent(down);
+                for (int i = 0; i < WARM_UP_MOVES; i++) {
+                    fixedHeaderTableLayout.dispatchTouchEvent(moves[i]);
+                }
+
+                Debug.resetThreadAllocCount();
+                Debug.startAllocCounting();
+                for (int i = WARM_UP_MOVES; i < moveCount; i++) {
+                    fixedHeaderTableLayout.dispatchTouchEvent(moves[i]);
+                }
+                Debug.stopAllocCounting();
+                int allocations = Debug.getThreadAllocCount();
+
+                assertEquals(0, allocations);
+            });
+    }
+}
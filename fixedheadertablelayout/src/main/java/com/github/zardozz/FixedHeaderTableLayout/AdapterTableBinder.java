@@ -0,0 +1,386 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.content.Context;
+import android.util.SparseArray;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/**
+ * Builds the four sub tables of a {@link FixedHeaderTableLayout} from a {@link FixedHeaderTableAdapter}.
+ * The corner and column header tables are fully bound, the main and row header tables are virtual
+ * and only hold the rows inside the current window, recycling cells through a
+ * {@link FixedHeaderRecycledViewPool}.
+ */
+class AdapterTableBinder {
+
+    // Extra rows bound above and below the viewport so small pans don't need new rows
+    private static final int OVERSCAN_ROWS = 2;
+
+    private final Context context;
+    private final FixedHeaderTableAdapter adapter;
+    private final FixedHeaderRecycledViewPool viewPool;
+
+    private final FixedHeaderSubTableLayout mainTable;
+    private final FixedHeaderSubTableLayout columnHeaderTable;
+    private final FixedHeaderSubTableLayout rowHeaderTable;
+    private final FixedHeaderSubTableLayout cornerTable;
+
+    private int headerRowCount;
+    private int headerColumnCount;
+    private int bodyRowCount;
+    private int bodyColumnCount;
+
+    // Geometry of the main table rows and columns and the row header columns, shared with the Layout
+    private final AxisIndex rowIndex;
+    private final AxisIndex columnIndex;
+    private final AxisIndex headerColumnIndex;
+
+    private final SparseArray<FixedHeaderTableRow> mainRows = new SparseArray<>();
+    private final SparseArray<FixedHeaderTableRow> rowHeaderRows = new SparseArray<>();
+    private final ArrayList<FixedHeaderTableRow> scrapRows = new ArrayList<>();
+    private int firstBoundRow = 0;
+    private int lastBoundRow = -1;
+    // Sticky sources stay bound outside of the window so they can be drawn over the headers
+    private int pinnedRow = -1;
+    private int pinnedColumn = -1;
+
+    // Column window of the main and column header tables
+    private boolean columnWindowing = false;
+    private int firstWindowColumn = 0;
+    private int lastWindowColumn = -1;
+    private final ArrayList<FixedHeaderTableRow> columnHeaderRows = new ArrayList<>();
+    private final FixedHeaderTableRow.CellSource bodyCellSource = new FixedHeaderTableRow.CellSource() {
+        @Override
+        public int getColumnCount(FixedHeaderTableRow row) {
+            return bodyColumnCount;
+        }
+
+        @Override
+        public View obtainCell(FixedHeaderTableRow row, int column) {
+            return obtainBoundCell(row, row.getBoundRow(), headerColumnCount + column);
+        }
+
+        @Override
+        public void releaseCell(FixedHeaderTableRow row, View cell, int column) {
+            recycleCell(cell);
+        }
+    };
+
+    AdapterTableBinder(Context context, FixedHeaderTableAdapter adapter, FixedHeaderRecycledViewPool viewPool,
+                       AxisIndex rowIndex, AxisIndex columnIndex, AxisIndex headerColumnIndex) {
+        this.context = context;
+        this.adapter = adapter;
+        this.viewPool = viewPool;
+        this.rowIndex = rowIndex;
+        this.columnIndex = columnIndex;
+        this.headerColumnIndex = headerColumnIndex;
+        mainTable = new FixedHeaderSubTableLayout(context);
+        columnHeaderTable = new FixedHeaderSubTableLayout(context);
+        rowHeaderTable = new FixedHeaderSubTableLayout(context);
+        cornerTable = new FixedHeaderSubTableLayout(context);
+    }
+
+    FixedHeaderSubTableLayout getMainTable() {
+        return mainTable;
+    }
+
+    FixedHeaderSubTableLayout getColumnHeaderTable() {
+        return columnHeaderTable;
+    }
+
+    FixedHeaderSubTableLayout getRowHeaderTable() {
+        return rowHeaderTable;
+    }
+
+    FixedHeaderSubTableLayout getCornerTable() {
+        return cornerTable;
+    }
+
+    /**
+     * Only attach the cells of the columns in the column window, set before {@link #build}
+     * @param columnWindowing true to window the columns
+     */
+    void setColumnWindowing(boolean columnWindowing) {
+        this.columnWindowing = columnWindowing;
+    }
+
+    /**
+     * Set the main table columns that should have cells attached
+     * @param first the first visible column
+     * @param last the last visible column
+     */
+    void setColumnWindow(int first, int last) {
+        if (!columnWindowing || (first == firstWindowColumn && last == lastWindowColumn)) {
+            return;
+        }
+        firstWindowColumn = first;
+        lastWindowColumn = last;
+        for (int i = 0; i < mainRows.size(); i++) {
+            mainRows.valueAt(i).setColumnWindow(first, last);
+        }
+        for (int i = 0; i < columnHeaderRows.size(); i++) {
+            columnHeaderRows.get(i).setColumnWindow(first, last);
+        }
+    }
+
+    /**
+     * Read the geometry from the adapter and bind the fixed parts of the table
+     * @param fixedHeaderRowCount the number of adapter rows shown in the column header
+     * @param fixedHeaderColumnCount the number of adapter columns shown in the row header
+     */
+    void build(int fixedHeaderRowCount, int fixedHeaderColumnCount) {
+        int rowCount = adapter.getRowCount();
+        int columnCount = adapter.getColumnCount();
+        headerRowCount = Math.min(fixedHeaderRowCount, rowCount);
+        headerColumnCount = Math.min(fixedHeaderColumnCount, columnCount);
+        bodyRowCount = rowCount - headerRowCount;
+        bodyColumnCount = columnCount - headerColumnCount;
+
+        headerColumnIndex.clear();
+        columnIndex.clear();
+        for (int column = 0; column < columnCount; column++) {
+            int width = adapter.getColumnWidth(column);
+            if (column < headerColumnCount) {
+                headerColumnIndex.add(width);
+            } else {
+                columnIndex.add(width);
+            }
+        }
+
+        rowIndex.clear();
+        for (int row = 0; row < bodyRowCount; row++) {
+            rowIndex.add(adapter.getRowHeight(headerRowCount + row));
+        }
+
+        // The header rows are few so they are always bound
+        for (int row = 0; row < headerRowCount; row++) {
+            int height = adapter.getRowHeight(row);
+            cornerTable.addView(bindRow(row, 0, headerColumnIndex, height, false));
+            FixedHeaderTableRow headerRow = bindRow(row, headerColumnCount, columnIndex, height, columnWindowing);
+            columnHeaderTable.addView(headerRow);
+            columnHeaderRows.add(headerRow);
+        }
+
+        mainTable.setVirtualContentSize(columnIndex.getTotal(), rowIndex.getTotal());
+        rowHeaderTable.setVirtualContentSize(headerColumnIndex.getTotal(), rowIndex.getTotal());
+    }
+
+    /**
+     * Bind the body rows that intersect the given range of the main table content
+     * and recycle the rows that have left it
+     * @param top the top of the visible content
+     * @param bottom the bottom of the visible content
+     */
+    void updateWindow(float top, float bottom) {
+        if (bodyRowCount == 0) {
+            return;
+        }
+        int first = Math.max(0, rowIndex.indexAt(top) - OVERSCAN_ROWS);
+        int last = Math.min(bodyRowCount - 1, rowIndex.indexAt(bottom) + OVERSCAN_ROWS);
+        if (first == firstBoundRow && last == lastBoundRow) {
+            return;
+        }
+
+        // Recycle first so the cells can be reused by the new rows
+        for (int row = firstBoundRow; row <= lastBoundRow; row++) {
+            if ((row < first || row > last) && row != pinnedRow) {
+                unbindBodyRow(row);
+            }
+        }
+        for (int row = first; row <= last; row++) {
+            if (mainRows.get(row) == null) {
+                bindBodyRow(row);
+            }
+        }
+        firstBoundRow = first;
+        lastBoundRow = last;
+    }
+
+    /**
+     * Keep a body row bound while it is outside of the row window
+     * @param bodyRow the row of the main table or -1 for none
+     */
+    void setPinnedRow(int bodyRow) {
+        if (bodyRow >= bodyRowCount) {
+            bodyRow = -1;
+        }
+        if (bodyRow == pinnedRow) {
+            return;
+        }
+        int previous = pinnedRow;
+        pinnedRow = bodyRow;
+        if (previous >= 0 && (previous < firstBoundRow || previous > lastBoundRow)) {
+            unbindBodyRow(previous);
+        }
+        if (pinnedRow >= 0 && mainRows.get(pinnedRow) == null) {
+            bindBodyRow(pinnedRow);
+        }
+    }
+
+    /**
+     * Keep the cells of a body column attached while it is outside of the column window
+     * @param bodyColumn the column of the main table or -1 for none
+     */
+    void setPinnedColumn(int bodyColumn) {
+        if (bodyColumn == pinnedColumn) {
+            return;
+        }
+        pinnedColumn = bodyColumn;
+        for (int i = 0; i < mainRows.size(); i++) {
+            mainRows.valueAt(i).setPinnedColumn(bodyColumn);
+        }
+    }
+
+    /**
+     * @param bodyRow the row of the main table
+     * @return the bound main table row or null if it is not bound
+     */
+    FixedHeaderTableRow getMainRow(int bodyRow) {
+        return mainRows.get(bodyRow);
+    }
+
+    /**
+     * Bind the cell again if it is attached, used when its data has changed
+     * @param bodyRow the row of the main table
+     * @param bodyColumn the column of the main table
+     */
+    void rebindCell(int bodyRow, int bodyColumn) {
+        FixedHeaderTableRow mainRow = mainRows.get(bodyRow);
+        if (mainRow == null) {
+            return;
+        }
+        View cell = mainRow.getCellForColumn(bodyColumn);
+        if (cell != null) {
+            adapter.onBindView(cell, headerRowCount + bodyRow, headerColumnCount + bodyColumn);
+        }
+    }
+
+    /**
+     * Return every bound cell to the pool, used before the binder is discarded
+     */
+    void releaseAll() {
+        releaseTable(mainTable);
+        releaseTable(rowHeaderTable);
+        releaseTable(columnHeaderTable);
+        releaseTable(cornerTable);
+        mainRows.clear();
+        rowHeaderRows.clear();
+        columnHeaderRows.clear();
+        scrapRows.clear();
+        firstBoundRow = 0;
+        lastBoundRow = -1;
+        pinnedRow = -1;
+        pinnedColumn = -1;
+    }
+
+    private void releaseTable(FixedHeaderSubTableLayout table) {
+        for (int i = 0; i < table.getChildCount(); i++) {
+            releaseCells((FixedHeaderTableRow) table.getChildAt(i));
+        }
+        table.removeAllViewsInLayout();
+    }
+
+    private void bindBodyRow(int bodyRow) {
+        int adapterRow = headerRowCount + bodyRow;
+        int top = rowIndex.getStart(bodyRow);
+        int height = rowIndex.getSize(bodyRow);
+        FixedHeaderTableRow mainRow = bindRow(adapterRow, headerColumnCount, columnIndex, height, columnWindowing);
+        mainRow.setPinnedColumn(pinnedColumn);
+        mainTable.attachVirtualRow(mainRow, top);
+        mainRows.put(bodyRow, mainRow);
+        if (headerColumnCount > 0) {
+            FixedHeaderTableRow headerRow = bindRow(adapterRow, 0, headerColumnIndex, height, false);
+            rowHeaderTable.attachVirtualRow(headerRow, top);
+            rowHeaderRows.put(bodyRow, headerRow);
+        }
+    }
+
+    private void unbindBodyRow(int bodyRow) {
+        FixedHeaderTableRow mainRow = mainRows.get(bodyRow);
+        if (mainRow != null) {
+            mainTable.detachVirtualRow(mainRow);
+            mainRows.remove(bodyRow);
+            recycleRow(mainRow);
+        }
+        FixedHeaderTableRow headerRow = rowHeaderRows.get(bodyRow);
+        if (headerRow != null) {
+            rowHeaderTable.detachVirtualRow(headerRow);
+            rowHeaderRows.remove(bodyRow);
+            recycleRow(headerRow);
+        }
+    }
+
+    private FixedHeaderTableRow bindRow(int adapterRow, int firstColumn, AxisIndex widths, int height,
+                                        boolean windowed) {
+        FixedHeaderTableRow tableRow = scrapRows.isEmpty()
+                ? new FixedHeaderTableRow(context) : scrapRows.remove(scrapRows.size() - 1);
+        tableRow.setBoundRow(adapterRow);
+        tableRow.setFixedGeometry(widths, height);
+        if (windowed) {
+            // Cells are only obtained for the columns in the window
+            tableRow.enableColumnWindow(bodyCellSource);
+            tableRow.setColumnWindow(firstWindowColumn, lastWindowColumn);
+            return tableRow;
+        }
+        for (int i = 0; i < widths.size(); i++) {
+            tableRow.addCellInLayout(obtainBoundCell(tableRow, adapterRow, firstColumn + i));
+        }
+        return tableRow;
+    }
+
+    private View obtainBoundCell(FixedHeaderTableRow tableRow, int adapterRow, int column) {
+        int viewType = adapter.getItemViewType(adapterRow, column);
+        View cell = viewPool.getRecycledView(viewType);
+        if (cell == null) {
+            cell = adapter.onCreateView(tableRow, viewType);
+            cell.setTag(R.id.CellViewType, viewType);
+        }
+        adapter.onBindView(cell, adapterRow, column);
+        return cell;
+    }
+
+    private void recycleRow(FixedHeaderTableRow tableRow) {
+        releaseCells(tableRow);
+        scrapRows.add(tableRow);
+    }
+
+    private void releaseCells(FixedHeaderTableRow tableRow) {
+        for (int i = tableRow.getChildCount() - 1; i >= 0; i--) {
+            View cell = tableRow.getChildAt(i);
+            tableRow.removeViewInLayout(cell);
+            recycleCell(cell);
+        }
+        tableRow.clearColumnWindow();
+        tableRow.setBoundRow(-1);
+    }
+
+    private void recycleCell(View cell) {
+        Object viewType = cell.getTag(R.id.CellViewType);
+        viewPool.putRecycledView(viewType instanceof Integer ? (Integer) viewType : 0, cell);
+    }
+}
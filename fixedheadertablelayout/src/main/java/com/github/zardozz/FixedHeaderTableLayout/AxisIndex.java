@@ -0,0 +1,191 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import java.util.Arrays;
+
+/**
+ * Sizes and start offsets of the rows or columns along one axis of a table.
+ * The start offsets are kept as a prefix sum in a primitive array so looking up the row or column
+ * at an offset is a binary search. Changing a size only marks the prefix sum dirty from that
+ * index onwards, it is brought up to date on the next query.
+ */
+class AxisIndex {
+
+    private int count = 0;
+    private int[] sizes = new int[16];
+    // starts[i] is the offset of index i, starts[count] is the total
+    private int[] starts = new int[17];
+    // First index whose start offset is out of date
+    private int dirtyFrom = 0;
+
+    int size() {
+        return count;
+    }
+
+    void clear() {
+        count = 0;
+        dirtyFrom = 0;
+    }
+
+    int getSize(int index) {
+        return sizes[index];
+    }
+
+    /**
+     * @param index the row or column
+     * @return the offset of the start of the row or column
+     */
+    int getStart(int index) {
+        ensureStarts();
+        return starts[index];
+    }
+
+    int getEnd(int index) {
+        ensureStarts();
+        return starts[index + 1];
+    }
+
+    /**
+     * @return the sum of all the sizes
+     */
+    int getTotal() {
+        ensureStarts();
+        return starts[count];
+    }
+
+    /**
+     * Replace all the sizes
+     * @param newSizes the sizes to copy
+     * @param newCount the number of sizes to copy
+     */
+    void setSizes(int[] newSizes, int newCount) {
+        ensureCapacity(newCount);
+        System.arraycopy(newSizes, 0, sizes, 0, newCount);
+        count = newCount;
+        dirtyFrom = 0;
+    }
+
+    /**
+     * Set one size, the start offsets after it are only recalculated if the size changed
+     * @param index the row or column, equal to {@link #size()} to add a new one
+     * @param size the new size
+     */
+    void set(int index, int size) {
+        if (index == count) {
+            add(size);
+            return;
+        }
+        if (sizes[index] != size) {
+            sizes[index] = size;
+            dirtyFrom = Math.min(dirtyFrom, index);
+        }
+    }
+
+    /**
+     * Grow one size to at least the given size
+     * @param index the row or column, equal to {@link #size()} to add a new one
+     * @param size the minimum size
+     */
+    void setMax(int index, int size) {
+        if (index == count) {
+            add(size);
+        } else if (size > sizes[index]) {
+            sizes[index] = size;
+            dirtyFrom = Math.min(dirtyFrom, index);
+        }
+    }
+
+    void add(int size) {
+        insert(count, size);
+    }
+
+    void insert(int index, int size) {
+        ensureCapacity(count + 1);
+        System.arraycopy(sizes, index, sizes, index + 1, count - index);
+        sizes[index] = size;
+        count++;
+        dirtyFrom = Math.min(dirtyFrom, index);
+    }
+
+    void remove(int index, int removeCount) {
+        System.arraycopy(sizes, index + removeCount, sizes, index, count - index - removeCount);
+        count -= removeCount;
+        dirtyFrom = Math.min(dirtyFrom, index);
+    }
+
+    /**
+     * Drop sizes after the given count
+     * @param newCount the number of sizes to keep
+     */
+    void truncate(int newCount) {
+        if (newCount < count) {
+            count = newCount;
+            dirtyFrom = Math.min(dirtyFrom, newCount);
+        }
+    }
+
+    /**
+     * Find the row or column containing the offset, offsets before the first or after the last
+     * are clamped to the first or last index
+     * @param offset the offset along the axis
+     * @return the index or -1 if there are no rows or columns
+     */
+    int indexAt(float offset) {
+        if (count == 0) {
+            return -1;
+        }
+        ensureStarts();
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void ensureStarts() {
+        if (dirtyFrom > count) {
+            return;
+        }
+        for (int i = dirtyFrom; i < count; i++) {
+            starts[i + 1] = starts[i] + sizes[i];
+        }
+        dirtyFrom = count + 1;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > sizes.length) {
+            int newLength = Math.max(capacity, sizes.length * 2);
+            sizes = Arrays.copyOf(sizes, newLength);
+            starts = Arrays.copyOf(starts, newLength + 1);
+        }
+    }
+}
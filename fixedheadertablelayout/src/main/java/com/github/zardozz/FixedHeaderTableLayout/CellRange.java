@@ -0,0 +1,86 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import androidx.annotation.NonNull;
+
+/**
+ * An inclusive range of rows and columns of a table.
+ */
+public class CellRange {
+
+    private int firstRow;
+    private int firstColumn;
+    private int lastRow;
+    private int lastColumn;
+
+    public CellRange() {
+        this(0, 0, -1, -1);
+    }
+
+    public CellRange(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+        set(firstRow, firstColumn, lastRow, lastColumn);
+    }
+
+    public void set(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+        this.firstRow = firstRow;
+        this.firstColumn = firstColumn;
+        this.lastRow = lastRow;
+        this.lastColumn = lastColumn;
+    }
+
+    public int getFirstRow() {
+        return firstRow;
+    }
+
+    public int getFirstColumn() {
+        return firstColumn;
+    }
+
+    public int getLastRow() {
+        return lastRow;
+    }
+
+    public int getLastColumn() {
+        return lastColumn;
+    }
+
+    /**
+     * @return true if the range holds no cells
+     */
+    public boolean isEmpty() {
+        return lastRow < firstRow || lastColumn < firstColumn;
+    }
+
+    public boolean contains(int row, int column) {
+        return row >= firstRow && row <= lastRow && column >= firstColumn && column <= lastColumn;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "CellRange(" + firstRow + "," + firstColumn + " - " + lastRow + "," + lastColumn + ")";
+    }
+}
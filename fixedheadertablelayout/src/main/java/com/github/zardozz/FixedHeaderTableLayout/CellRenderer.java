@@ -0,0 +1,63 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.graphics.Canvas;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Measures and draws the {@link TableCell}s of a {@link FixedHeaderSubTableLayout} directly onto
+ * the canvas, so the rows need no child View per cell.
+ * <p>
+ * One renderer is usually shared by all four tables of a {@link FixedHeaderTableLayout} so the
+ * Paints it caches are shared too. Rows ask the renderer for the natural size of each cell and
+ * then draw it at the width of its column, or of all its columns when the cell is merged.
+ */
+public interface CellRenderer {
+
+    /**
+     * @param cell the cell
+     * @return the width in pixels the cell needs to show all of its content
+     */
+    int measureWidth(@NonNull TableCell cell);
+
+    /**
+     * @param cell the cell
+     * @return the height in pixels the cell needs to show all of its content
+     */
+    int measureHeight(@NonNull TableCell cell);
+
+    /**
+     * Draw a cell, the canvas is translated to the top left of the cell and clipped to it.
+     * This is called on every frame the cell is visible so it should not allocate.
+     *
+     * @param canvas the canvas to draw on
+     * @param cell the cell
+     * @param width the width of the cell's column or merged columns
+     * @param height the height of the cell's row
+     */
+    void draw(@NonNull Canvas canvas, @NonNull TableCell cell, int width, int height);
+}
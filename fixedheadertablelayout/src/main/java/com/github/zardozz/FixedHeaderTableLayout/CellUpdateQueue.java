@@ -0,0 +1,283 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Collects cell updates posted from any thread and applies them on the main thread once per frame.
+ * Only the latest value posted for a cell before the frame is applied, the others are merged away.
+ * <p>
+ * Get the queue of a Layout with {@link FixedHeaderTableLayout#getCellUpdateQueue()}. Without a
+ * {@link CellUpdater} the value is set as the text of the main table cell, a {@link TableCell} or a
+ * TextView, and a rendered cell is only redrawn if it is in view.
+ */
+public class CellUpdateQueue {
+
+    /**
+     * Applies an update on the main thread, called inside a batch update of the Layout
+     */
+    public interface CellUpdater {
+        /**
+         * @param layout the Layout of the queue
+         * @param row the main table row
+         * @param column the main table column
+         * @param value the latest value posted for the cell
+         * @param visible true if the cell is in view
+         * @return false if the update could not be applied and was dropped
+         */
+        boolean updateCell(@NonNull FixedHeaderTableLayout layout, int row, int column, @Nullable Object value,
+                           boolean visible);
+    }
+
+    /**
+     * What the queue needs from its Layout, so it can be driven without one
+     */
+    interface Host {
+        void postOnAnimation(Runnable action);
+
+        void visibleRange(CellRange out);
+
+        void beginBatchUpdate();
+
+        void endBatchUpdate();
+
+        boolean setCellValue(int row, int column, @Nullable Object value, boolean visible);
+    }
+
+    private final FixedHeaderTableLayout layout;
+    private final Host host;
+    private final Object lock = new Object();
+    // Latest value of each cell keyed by row and column, swapped with the spare map when drained
+    private CellValueMap pending = new CellValueMap();
+    private CellValueMap spare = new CellValueMap();
+    private boolean scheduled = false;
+    private CellUpdater cellUpdater = null;
+    private final CellRange visibleRange = new CellRange();
+
+    private long postedCount = 0;
+    private long mergedCount = 0;
+    private long appliedCount = 0;
+    private long droppedCount = 0;
+
+    private final Runnable drainRunnable = new Runnable() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    CellUpdateQueue(@NonNull final FixedHeaderTableLayout layout) {
+        this(layout, new Host() {
+            @Override
+            public void postOnAnimation(Runnable action) {
+                layout.postOnAnimation(action);
+            }
+
+            @Override
+            public void visibleRange(CellRange out) {
+                layout.visibleRange(out);
+            }
+
+            @Override
+            public void beginBatchUpdate() {
+                layout.beginBatchUpdate();
+            }
+
+            @Override
+            public void endBatchUpdate() {
+                layout.endBatchUpdate();
+            }
+
+            @Override
+            public boolean setCellValue(int row, int column, @Nullable Object value, boolean visible) {
+                return layout.setCellValue(row, column, value, visible);
+            }
+        });
+    }
+
+    // The layout is only handed to a CellUpdater, it can be null when the host is not a Layout
+    CellUpdateQueue(FixedHeaderTableLayout layout, @NonNull Host host) {
+        this.layout = layout;
+        this.host = host;
+    }
+
+    /**
+     * Apply the updates with a CellUpdater instead of setting the text of the cells,
+     * for example to update the data of an adapter
+     * @param cellUpdater the updater or null to set the text of the cells
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setCellUpdater(@Nullable CellUpdater cellUpdater) {
+        synchronized (lock) {
+            this.cellUpdater = cellUpdater;
+        }
+    }
+
+    /**
+     * Post a new value for a main table cell, safe to call from any thread.
+     * A value posted for the same cell before the next frame replaces this one.
+     * @param row the main table row
+     * @param column the main table column
+     * @param value the new value
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void post(int row, int column, @Nullable Object value) {
+        if (row < 0 || column < 0) {
+            throw new IllegalArgumentException("Row and column must be 0 or greater");
+        }
+        long key = CellValueMap.key(row, column);
+        boolean schedule;
+        synchronized (lock) {
+            postedCount++;
+            if (pending.put(key, value)) {
+                mergedCount++;
+            }
+            schedule = !scheduled;
+            scheduled = true;
+        }
+        if (schedule) {
+            host.postOnAnimation(drainRunnable);
+        }
+    }
+
+    /**
+     * Drop the updates that have not been applied yet, they are counted as dropped
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void clear() {
+        synchronized (lock) {
+            droppedCount += pending.size();
+            pending.clear();
+        }
+    }
+
+    /**
+     * @return the number of updates waiting for the next frame
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * @return the number of updates posted
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long getPostedCount() {
+        synchronized (lock) {
+            return postedCount;
+        }
+    }
+
+    /**
+     * @return the number of updates replaced by a later update of the same cell before they were applied
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long getMergedCount() {
+        synchronized (lock) {
+            return mergedCount;
+        }
+    }
+
+    /**
+     * @return the number of updates applied to a cell
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long getAppliedCount() {
+        synchronized (lock) {
+            return appliedCount;
+        }
+    }
+
+    /**
+     * @return the number of updates not applied, for a cell that does not exist or is not attached,
+     * rejected by the CellUpdater or cleared
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long getDroppedCount() {
+        synchronized (lock) {
+            return droppedCount;
+        }
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void resetCounters() {
+        synchronized (lock) {
+            postedCount = 0;
+            mergedCount = 0;
+            appliedCount = 0;
+            droppedCount = 0;
+        }
+    }
+
+    /**
+     * Apply the pending updates, called on the main thread once per frame
+     */
+    void drain() {
+        CellValueMap updates;
+        CellUpdater updater;
+        synchronized (lock) {
+            // Producers fill the spare map while these updates are applied
+            updates = pending;
+            pending = spare;
+            spare = updates;
+            scheduled = false;
+            updater = cellUpdater;
+        }
+        if (updates.size() == 0) {
+            return;
+        }
+        host.visibleRange(visibleRange);
+        long applied = 0;
+        host.beginBatchUpdate();
+        try {
+            for (int i = 0; i < updates.size(); i++) {
+                long key = updates.keyAt(i);
+                int row = CellValueMap.row(key);
+                int column = CellValueMap.column(key);
+                boolean visible = visibleRange.contains(row, column);
+                boolean done = updater != null
+                        ? updater.updateCell(layout, row, column, updates.valueAt(i), visible)
+                        : host.setCellValue(row, column, updates.valueAt(i), visible);
+                if (done) {
+                    applied++;
+                }
+            }
+        } finally {
+            host.endBatchUpdate();
+            int count = updates.size();
+            // Keep the spare map empty for the next swap
+            updates.clear();
+            synchronized (lock) {
+                appliedCount += applied;
+                droppedCount += count - applied;
+            }
+        }
+    }
+}
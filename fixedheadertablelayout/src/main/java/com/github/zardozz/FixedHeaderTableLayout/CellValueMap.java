@@ -0,0 +1,127 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import java.util.Arrays;
+
+/**
+ * The latest value of each cell keyed by row and column, an open addressing hash map on a long[]
+ * so a put costs the same however many cells are pending. The slots in use are kept in the order
+ * their cells were first put, so the values are visited and cleared without scanning the table.
+ */
+final class CellValueMap {
+
+    // Keys are never negative as rows and columns are not
+    private static final long EMPTY = -1;
+
+    private long[] keys = new long[16];
+    private Object[] values = new Object[16];
+    // Slots in use in the order they were filled
+    private int[] order = new int[8];
+    private int count = 0;
+
+    static long key(int row, int column) {
+        return ((long) row << 32) | column;
+    }
+
+    static int row(long key) {
+        return (int) (key >>> 32);
+    }
+
+    static int column(long key) {
+        return (int) key;
+    }
+
+    CellValueMap() {
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * @return true if the cell already had a value that is replaced
+     */
+    boolean put(long key, Object value) {
+        int slot = findSlot(keys, key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return true;
+        }
+        if ((count + 1) * 2 > keys.length) {
+            grow();
+            slot = findSlot(keys, key);
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (count == order.length) {
+            order = Arrays.copyOf(order, count * 2);
+        }
+        order[count++] = slot;
+        return false;
+    }
+
+    long keyAt(int index) {
+        return keys[order[index]];
+    }
+
+    Object valueAt(int index) {
+        return values[order[index]];
+    }
+
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            keys[order[i]] = EMPTY;
+            values[order[i]] = null;
+        }
+        count = 0;
+    }
+
+    // Slot holding the key or the empty slot where it goes
+    private static int findSlot(long[] keys, long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] newKeys = new long[keys.length * 2];
+        Object[] newValues = new Object[values.length * 2];
+        Arrays.fill(newKeys, EMPTY);
+        for (int i = 0; i < count; i++) {
+            int oldSlot = order[i];
+            int slot = findSlot(newKeys, keys[oldSlot]);
+            newKeys[slot] = keys[oldSlot];
+            newValues[slot] = values[oldSlot];
+            order[i] = slot;
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+}
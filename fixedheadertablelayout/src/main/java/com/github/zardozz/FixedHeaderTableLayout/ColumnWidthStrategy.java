@@ -0,0 +1,208 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * How a {@link FixedHeaderTableLayout} works out its column widths when the views are added.
+ * <p>
+ * By default every cell is measured. For very large tables only a sample of the body rows can be
+ * measured instead, the other rows take the estimated widths and the median height of the samples.
+ * Each row is measured the first time it comes into view, and columns that turn out too narrow for
+ * it widen then, up to the maximum column width if one is set.
+ * <p>
+ * The header rows are always measured.
+ */
+public class ColumnWidthStrategy {
+
+    private static final int SAMPLE_ALL = 0;
+    private static final int SAMPLE_FIRST = 1;
+    private static final int SAMPLE_RANDOM = 2;
+
+    private final int sampleMode;
+    private final int sampleCount;
+    private final long seed;
+    private float percentile = 100f;
+    private int maxColumnWidthPx = 0;
+    private int[] rightMaxTextLengths = null;
+    private int[] leftMaxTextLengths = null;
+
+    private ColumnWidthStrategy(int sampleMode, int sampleCount, long seed) {
+        this.sampleMode = sampleMode;
+        this.sampleCount = sampleCount;
+        this.seed = seed;
+    }
+
+    /**
+     * @return a strategy that measures every cell, the same as having no strategy
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public static ColumnWidthStrategy fullScan() {
+        return new ColumnWidthStrategy(SAMPLE_ALL, 0, 0);
+    }
+
+    /**
+     * @param rowCount the number of rows to measure from the top of the table
+     * @return a strategy that measures the first rows of the table
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public static ColumnWidthStrategy firstRows(int rowCount) {
+        checkRowCount(rowCount);
+        return new ColumnWidthStrategy(SAMPLE_FIRST, rowCount, 0);
+    }
+
+    /**
+     * @param rowCount the number of rows to measure
+     * @param seed the seed rows are picked with, the same seed picks the same rows
+     * @return a strategy that measures rows picked at random from the whole table
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public static ColumnWidthStrategy randomRows(int rowCount, long seed) {
+        checkRowCount(rowCount);
+        return new ColumnWidthStrategy(SAMPLE_RANDOM, rowCount, seed);
+    }
+
+    /**
+     * Work the widths out from the longest text of each column, for example from statistics kept with the data.
+     * The first row is measured for the style and height of the cells, the longest text of a TextView column
+     * is estimated from the width of its digits.
+     * @param rightMaxTextLengths the longest text in each column of the mainTable and columnHeaderTable
+     * @param leftMaxTextLengths the longest text in each column of the rowHeaderTable and cornerTable or null
+     * @return a strategy that uses text lengths instead of measuring the rows
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public static ColumnWidthStrategy fromMaxTextLengths(@Nullable int[] rightMaxTextLengths,
+                                                         @Nullable int[] leftMaxTextLengths) {
+        ColumnWidthStrategy strategy = new ColumnWidthStrategy(SAMPLE_FIRST, 1, 0);
+        strategy.rightMaxTextLengths = rightMaxTextLengths == null ? null : rightMaxTextLengths.clone();
+        strategy.leftMaxTextLengths = leftMaxTextLengths == null ? null : leftMaxTextLengths.clone();
+        return strategy;
+    }
+
+    private static void checkRowCount(int rowCount) {
+        if (rowCount < 1) {
+            throw new IllegalArgumentException("Row count must be 1 or greater");
+        }
+    }
+
+    /**
+     * @param percentile the percentile of the sampled cell widths each column starts at, 100 for the widest
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setPercentile(float percentile) {
+        if (percentile <= 0f || percentile > 100f) {
+            throw new IllegalArgumentException("Percentile must be above 0 and at most 100");
+        }
+        this.percentile = percentile;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public float getPercentile() {
+        return percentile;
+    }
+
+    /**
+     * @param maxColumnWidthPx the widest a column can become from its body cells, 0 for no limit.
+     *                         Cells wider than the limit are clipped
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setMaxColumnWidthPx(int maxColumnWidthPx) {
+        this.maxColumnWidthPx = Math.max(0, maxColumnWidthPx);
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getMaxColumnWidthPx() {
+        return maxColumnWidthPx;
+    }
+
+    /**
+     * @param rowCount the number of body rows
+     * @return true if only some of the rows are measured
+     */
+    boolean isSampling(int rowCount) {
+        return sampleMode != SAMPLE_ALL && rowCount > sampleCount;
+    }
+
+    /**
+     * @param rowCount the number of body rows, more than the sample count
+     * @return the rows to measure in increasing order
+     */
+    int[] sampleRows(int rowCount) {
+        int count = Math.min(sampleCount, rowCount);
+        int[] rows = new int[count];
+        if (sampleMode == SAMPLE_FIRST) {
+            for (int i = 0; i < count; i++) {
+                rows[i] = i;
+            }
+            return rows;
+        }
+        // Selection sampling keeps the rows in order without a set of the picked rows
+        Random random = new Random(seed);
+        int picked = 0;
+        for (int row = 0; row < rowCount && picked < count; row++) {
+            if (random.nextInt(rowCount - row) < count - picked) {
+                rows[picked++] = row;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * @param widths the sampled widths of one column, they are sorted in place
+     * @param count the number of widths
+     * @param maxTextWidth the width of the longest text of the column or 0 if not known
+     * @return the width to start the column at
+     */
+    int estimateWidth(int[] widths, int count, int maxTextWidth) {
+        int width = 0;
+        if (count > 0) {
+            Arrays.sort(widths, 0, count);
+            int index = (int) Math.ceil(percentile / 100f * count) - 1;
+            width = widths[Math.max(0, Math.min(count - 1, index))];
+        }
+        width = Math.max(width, maxTextWidth);
+        return limitWidth(width);
+    }
+
+    /**
+     * @return the width limited to the maximum column width
+     */
+    int limitWidth(int width) {
+        return maxColumnWidthPx > 0 ? Math.min(width, maxColumnWidthPx) : width;
+    }
+
+    /**
+     * @param rightSide true for the columns of the mainTable, false for the rowHeaderTable
+     * @return the longest text of the column or -1 if not known
+     */
+    int getMaxTextLength(boolean rightSide, int column) {
+        int[] lengths = rightSide ? rightMaxTextLengths : leftMaxTextLengths;
+        return lengths != null && column < lengths.length ? lengths[column] : -1;
+    }
+}
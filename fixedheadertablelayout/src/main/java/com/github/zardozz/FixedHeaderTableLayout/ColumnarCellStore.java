@@ -0,0 +1,417 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+
+/**
+ * Table content held by column in primitive arrays instead of as text in cell Views.
+ * <p>
+ * Number columns keep an int, long or double per row and are turned into text by the {@link Formatter}
+ * of the column only when a cell is bound or drawn. String columns keep each distinct string once
+ * in a dictionary and a code per row, one byte per row while there are fewer than 256 distinct
+ * strings, two bytes below 65536 and four above. This suits repeated text such as status or currency codes.
+ * <p>
+ * Show the store with a {@link ColumnarTableAdapter}. The store is not thread safe, change it on the main
+ * thread and call {@link FixedHeaderTableLayout#updateCell(int, int)} with the main table row and column
+ * of each changed cell.
+ */
+public class ColumnarCellStore {
+
+    public static final int TYPE_INT = 0;
+    public static final int TYPE_LONG = 1;
+    public static final int TYPE_DOUBLE = 2;
+    public static final int TYPE_STRING = 3;
+
+    // Estimated sizes of the Java objects behind the columns, for the memory accounting
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int MAP_ENTRY_BYTES = 32;
+
+    /**
+     * Turns the values of a number column into the text of its cells, override the methods for the
+     * types of the columns it is used for
+     */
+    public static class Formatter {
+        /**
+         * @param value the value of an int or long column
+         * @return the text of the cell
+         */
+        @NonNull
+        public CharSequence formatLong(long value) {
+            return Long.toString(value);
+        }
+
+        /**
+         * @param value the value of a double column
+         * @return the text of the cell
+         */
+        @NonNull
+        public CharSequence formatDouble(double value) {
+            return Double.toString(value);
+        }
+    }
+
+    private static final Formatter DEFAULT_FORMATTER = new Formatter();
+
+    private final int rowCount;
+    private final ArrayList<Column> columns = new ArrayList<>();
+
+    /**
+     * @param rowCount the number of rows, every cell starts without a value
+     */
+    public ColumnarCellStore(int rowCount) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("Row count must be 0 or greater");
+        }
+        this.rowCount = rowCount;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    /**
+     * @param name the title of the column
+     * @return the index of the new column
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int addIntColumn(@Nullable String name) {
+        return addColumn(new Column(TYPE_INT, name, rowCount));
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int addLongColumn(@Nullable String name) {
+        return addColumn(new Column(TYPE_LONG, name, rowCount));
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int addDoubleColumn(@Nullable String name) {
+        return addColumn(new Column(TYPE_DOUBLE, name, rowCount));
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int addStringColumn(@Nullable String name) {
+        return addColumn(new Column(TYPE_STRING, name, rowCount));
+    }
+
+    private int addColumn(Column column) {
+        columns.add(column);
+        return columns.size() - 1;
+    }
+
+    /**
+     * @param column the column index
+     * @return one of {@link #TYPE_INT}, {@link #TYPE_LONG}, {@link #TYPE_DOUBLE} or {@link #TYPE_STRING}
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getColumnType(int column) {
+        return getColumn(column).type;
+    }
+
+    @NonNull
+    public String getColumnName(int column) {
+        String name = getColumn(column).name;
+        return name == null ? "" : name;
+    }
+
+    /**
+     * @param column the index of a number column
+     * @param formatter the formatter or null for the plain value
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setFormatter(int column, @Nullable Formatter formatter) {
+        getColumn(column).formatter = formatter == null ? DEFAULT_FORMATTER : formatter;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setInt(int row, int column, int value) {
+        Column values = getColumn(row, column, TYPE_INT);
+        values.ints[row] = value;
+        values.present.set(row);
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setLong(int row, int column, long value) {
+        Column values = getColumn(row, column, TYPE_LONG);
+        values.longs[row] = value;
+        values.present.set(row);
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setDouble(int row, int column, double value) {
+        Column values = getColumn(row, column, TYPE_DOUBLE);
+        values.doubles[row] = value;
+        values.present.set(row);
+    }
+
+    /**
+     * @param value the string, kept once however many cells of the column hold it, or null for no value
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setString(int row, int column, @Nullable String value) {
+        getColumn(row, column, TYPE_STRING).setCode(row, value);
+    }
+
+    /**
+     * Remove the value of a cell, its text becomes empty
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void clear(int row, int column) {
+        Column values = getColumn(row, column, -1);
+        if (values.type == TYPE_STRING) {
+            values.setCode(row, null);
+        } else {
+            values.present.clear(row);
+        }
+    }
+
+    /**
+     * @return true if the cell has a value
+     */
+    public boolean hasValue(int row, int column) {
+        Column values = getColumn(row, column, -1);
+        return values.type == TYPE_STRING ? values.getCode(row) != 0 : values.present.get(row);
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getInt(int row, int column) {
+        return getColumn(row, column, TYPE_INT).ints[row];
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long getLong(int row, int column) {
+        return getColumn(row, column, TYPE_LONG).longs[row];
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public double getDouble(int row, int column) {
+        return getColumn(row, column, TYPE_DOUBLE).doubles[row];
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public String getString(int row, int column) {
+        Column values = getColumn(row, column, TYPE_STRING);
+        int code = values.getCode(row);
+        return code == 0 ? null : values.dictionary.get(code - 1);
+    }
+
+    /**
+     * @return the text of the cell, formatted now from the value, empty if the cell has no value
+     */
+    @NonNull
+    public CharSequence getText(int row, int column) {
+        Column values = getColumn(row, column, -1);
+        switch (values.type) {
+            case TYPE_STRING:
+                int code = values.getCode(row);
+                return code == 0 ? "" : values.dictionary.get(code - 1);
+            case TYPE_INT:
+                return values.present.get(row) ? values.formatter.formatLong(values.ints[row]) : "";
+            case TYPE_LONG:
+                return values.present.get(row) ? values.formatter.formatLong(values.longs[row]) : "";
+            default:
+                return values.present.get(row) ? values.formatter.formatDouble(values.doubles[row]) : "";
+        }
+    }
+
+    /**
+     * @param column the index of a string column
+     * @return the number of distinct strings the column holds, strings no longer in any cell are kept
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getDictionarySize(int column) {
+        Column values = getColumn(column);
+        return values.dictionary == null ? 0 : values.dictionary.size();
+    }
+
+    /**
+     * @param column the column index
+     * @return an estimate in bytes of the memory the values of the column use
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long getColumnMemoryBytes(int column) {
+        return getColumn(column).getMemoryBytes();
+    }
+
+    /**
+     * @return an estimate in bytes of the memory the values of all the columns use
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Column column : columns) {
+            bytes += column.getMemoryBytes();
+        }
+        return bytes;
+    }
+
+    private Column getColumn(int column) {
+        if (column < 0 || column >= columns.size()) {
+            throw new IllegalArgumentException("Column " + column + " is out of range");
+        }
+        return columns.get(column);
+    }
+
+    private Column getColumn(int row, int column, int type) {
+        if (row < 0 || row >= rowCount) {
+            throw new IllegalArgumentException("Row " + row + " is out of range");
+        }
+        Column values = getColumn(column);
+        if (type >= 0 && values.type != type) {
+            throw new IllegalArgumentException("Column " + column + " is not of type " + type);
+        }
+        return values;
+    }
+
+    private static final class Column {
+        final int type;
+        final String name;
+        Formatter formatter = DEFAULT_FORMATTER;
+        // Rows of a number column that have a value
+        BitSet present;
+        int[] ints;
+        long[] longs;
+        double[] doubles;
+        // Dictionary code of each row of a string column, 0 for no value, in the narrowest array that fits
+        byte[] byteCodes;
+        short[] shortCodes;
+        int[] intCodes;
+        ArrayList<String> dictionary;
+        HashMap<String, Integer> codes;
+
+        Column(int type, String name, int rowCount) {
+            this.type = type;
+            this.name = name;
+            switch (type) {
+                case TYPE_INT:
+                    ints = new int[rowCount];
+                    break;
+                case TYPE_LONG:
+                    longs = new long[rowCount];
+                    break;
+                case TYPE_DOUBLE:
+                    doubles = new double[rowCount];
+                    break;
+                default:
+                    byteCodes = new byte[rowCount];
+                    dictionary = new ArrayList<>();
+                    codes = new HashMap<>();
+                    return;
+            }
+            present = new BitSet(rowCount);
+        }
+
+        int getCode(int row) {
+            if (byteCodes != null) {
+                return byteCodes[row] & 0xFF;
+            }
+            if (shortCodes != null) {
+                return shortCodes[row] & 0xFFFF;
+            }
+            return intCodes[row];
+        }
+
+        void setCode(int row, String value) {
+            int code = 0;
+            if (value != null) {
+                Integer known = codes.get(value);
+                if (known == null) {
+                    dictionary.add(value);
+                    code = dictionary.size();
+                    codes.put(value, code);
+                    widenCodes(code);
+                } else {
+                    code = known;
+                }
+            }
+            if (byteCodes != null) {
+                byteCodes[row] = (byte) code;
+            } else if (shortCodes != null) {
+                shortCodes[row] = (short) code;
+            } else {
+                intCodes[row] = code;
+            }
+        }
+
+        // Move the codes to a wider array once the new code does not fit
+        private void widenCodes(int code) {
+            if (byteCodes != null && code > 0xFF) {
+                shortCodes = new short[byteCodes.length];
+                for (int row = 0; row < byteCodes.length; row++) {
+                    shortCodes[row] = (short) (byteCodes[row] & 0xFF);
+                }
+                byteCodes = null;
+            }
+            if (shortCodes != null && code > 0xFFFF) {
+                intCodes = new int[shortCodes.length];
+                for (int row = 0; row < shortCodes.length; row++) {
+                    intCodes[row] = shortCodes[row] & 0xFFFF;
+                }
+                shortCodes = null;
+            }
+        }
+
+        long getMemoryBytes() {
+            switch (type) {
+                case TYPE_INT:
+                    return arrayBytes(ints.length, 4) + bitSetBytes();
+                case TYPE_LONG:
+                    return arrayBytes(longs.length, 8) + bitSetBytes();
+                case TYPE_DOUBLE:
+                    return arrayBytes(doubles.length, 8) + bitSetBytes();
+                default:
+                    long bytes = byteCodes != null ? arrayBytes(byteCodes.length, 1)
+                            : shortCodes != null ? arrayBytes(shortCodes.length, 2) : arrayBytes(intCodes.length, 4);
+                    bytes += arrayBytes(dictionary.size(), REFERENCE_BYTES);
+                    for (String value : dictionary) {
+                        // The string, its characters and its map entry with the boxed code
+                        bytes += OBJECT_HEADER_BYTES + 8 + arrayBytes(value.length(), 2)
+                                + MAP_ENTRY_BYTES + OBJECT_HEADER_BYTES + 4;
+                    }
+                    return bytes;
+            }
+        }
+
+        private long bitSetBytes() {
+            return arrayBytes((present.size() + 63) / 64, 8);
+        }
+
+        private static long arrayBytes(int length, int elementBytes) {
+            return ARRAY_HEADER_BYTES + (long) length * elementBytes;
+        }
+    }
+}
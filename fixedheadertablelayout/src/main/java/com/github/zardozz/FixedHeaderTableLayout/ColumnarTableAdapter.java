@@ -0,0 +1,122 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.graphics.Typeface;
+import android.text.TextUtils;
+import android.util.SparseIntArray;
+import android.view.Gravity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Shows a {@link ColumnarCellStore} in a {@link FixedHeaderTableLayout}. The first row holds the column
+ * names and the other rows the rows of the store, so set one fixed header row. The text of a cell is only
+ * made from the store when its recycled TextView is bound.
+ * <p>
+ * Override {@link #onCreateView(ViewGroup, int)} to style the cells, the views must be TextViews.
+ */
+public class ColumnarTableAdapter extends FixedHeaderTableAdapter {
+
+    public static final int VIEW_TYPE_CELL = 0;
+    public static final int VIEW_TYPE_COLUMN_NAME = 1;
+
+    private final ColumnarCellStore store;
+    private final int columnWidth;
+    private final int rowHeight;
+    private final SparseIntArray columnWidths = new SparseIntArray();
+
+    /**
+     * @param store the values of the table
+     * @param columnWidth the width in pixels of the columns without their own width
+     * @param rowHeight the height in pixels of every row
+     */
+    public ColumnarTableAdapter(@NonNull ColumnarCellStore store, int columnWidth, int rowHeight) {
+        this.store = store;
+        this.columnWidth = columnWidth;
+        this.rowHeight = rowHeight;
+    }
+
+    @NonNull
+    public ColumnarCellStore getStore() {
+        return store;
+    }
+
+    /**
+     * Give a column its own width, call {@link #notifyDataSetChanged()} after changing the widths
+     * @param column the column index
+     * @param width the width in pixels
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setColumnWidth(int column, int width) {
+        columnWidths.put(column, width);
+    }
+
+    @Override
+    public int getRowCount() {
+        return store.getRowCount() + 1;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return store.getColumnCount();
+    }
+
+    @Override
+    public int getColumnWidth(int column) {
+        return columnWidths.get(column, columnWidth);
+    }
+
+    @Override
+    public int getRowHeight(int row) {
+        return rowHeight;
+    }
+
+    @Override
+    public int getItemViewType(int row, int column) {
+        return row == 0 ? VIEW_TYPE_COLUMN_NAME : VIEW_TYPE_CELL;
+    }
+
+    @NonNull
+    @Override
+    public View onCreateView(@NonNull ViewGroup parent, int viewType) {
+        TextView textView = new TextView(parent.getContext());
+        textView.setSingleLine(true);
+        textView.setEllipsize(TextUtils.TruncateAt.END);
+        textView.setGravity(Gravity.CENTER_VERTICAL);
+        if (viewType == VIEW_TYPE_COLUMN_NAME) {
+            textView.setTypeface(Typeface.DEFAULT_BOLD);
+        }
+        return textView;
+    }
+
+    @Override
+    public void onBindView(@NonNull View view, int row, int column) {
+        ((TextView) view).setText(row == 0 ? store.getColumnName(column) : store.getText(row - 1, column));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * Holds detached cell Views keyed by view type so they can be rebound instead of inflated again
+ * when cells scroll into view.
+ */
+public class FixedHeaderRecycledViewPool {
+
+    private static final int DEFAULT_MAX_SCRAP = 256;
+
+    private final SparseArray<ArrayList<View>> mScrap = new SparseArray<>();
+    private final SparseIntArray mMaxScrap = new SparseIntArray();
+
+    /**
+     * Limit the number of detached Views kept for a view type, extra Views are dropped.
+     *
+     * @param viewType the view type
+     * @param max the maximum number of Views to keep
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setMaxRecycledViews(int viewType, int max) {
+        mMaxScrap.put(viewType, max);
+        ArrayList<View> scrap = mScrap.get(viewType);
+        if (scrap != null) {
+            while (scrap.size() > max) {
+                scrap.remove(scrap.size() - 1);
+            }
+        }
+    }
+
+    /**
+     * @param viewType the view type
+     * @return a detached View of the given type or null if there are none
+     */
+    @Nullable
+    public View getRecycledView(int viewType) {
+        ArrayList<View> scrap = mScrap.get(viewType);
+        if (scrap == null || scrap.isEmpty()) {
+            return null;
+        }
+        return scrap.remove(scrap.size() - 1);
+    }
+
+    /**
+     * Store a View for reuse, the View must already be removed from its parent.
+     *
+     * @param viewType the view type
+     * @param view the detached View
+     */
+    public void putRecycledView(int viewType, View view) {
+        if (view.getParent() != null) {
+            throw new IllegalStateException("Recycled views must be removed from their parent");
+        }
+        ArrayList<View> scrap = mScrap.get(viewType);
+        if (scrap == null) {
+            scrap = new ArrayList<>();
+            mScrap.put(viewType, scrap);
+        }
+        if (scrap.size() < mMaxScrap.get(viewType, DEFAULT_MAX_SCRAP)) {
+            scrap.add(view);
+        }
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getRecycledViewCount(int viewType) {
+        ArrayList<View> scrap = mScrap.get(viewType);
+        return scrap == null ? 0 : scrap.size();
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void clear() {
+        mScrap.clear();
+    }
+}
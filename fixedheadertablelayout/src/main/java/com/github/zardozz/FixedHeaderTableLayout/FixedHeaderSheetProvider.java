@@ -0,0 +1,85 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Supplies the sheets of a {@link FixedHeaderTableContainer} on demand.
+ * <p>
+ * The container only knows the estimated size of each sheet until it comes within the prefetch
+ * distance of the viewport, then the sheet is created and its real size replaces the estimate.
+ * Sheets that scroll far away are handed back with {@link #releaseSheet} so they can be dropped,
+ * the container remembers their real size.
+ */
+public abstract class FixedHeaderSheetProvider {
+
+    /**
+     * @return the number of sheets
+     */
+    public abstract int getSheetCount();
+
+    /**
+     * @param sheet the sheet index
+     * @return the estimated unscaled content height of the sheet including its header rows
+     */
+    public abstract int getEstimatedSheetHeight(int sheet);
+
+    /**
+     * @param sheet the sheet index
+     * @return the estimated unscaled content width of the sheet including its header columns
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getEstimatedSheetWidth(int sheet) {
+        return 0;
+    }
+
+    /**
+     * Build a sheet, its tables must already have been added with
+     * {@link FixedHeaderTableLayout#addViews(FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout)}
+     * or be filled from an adapter. When the container has a shared pool, set
+     * {@link FixedHeaderTableContainer#getSharedRecycledViewPool()} on the sheet before its adapter
+     * so it is not bound twice.
+     *
+     * @param context the context of the container
+     * @param sheet the sheet index
+     * @return the sheet
+     */
+    @NonNull
+    public abstract FixedHeaderTableLayout createSheet(@NonNull Context context, int sheet);
+
+    /**
+     * Called when a sheet has scrolled far from the viewport and has been removed from the container.
+     * If the sheet had an adapter it has been removed and its cell Views returned to the container's pool.
+     *
+     * @param sheet the sheet index
+     * @param table the sheet created by {@link #createSheet}
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void releaseSheet(int sheet, @NonNull FixedHeaderTableLayout table) {
+    }
+}
@@ -25,14 +25,17 @@
 package com.github.zardozz.FixedHeaderTableLayout;
 
 import android.content.Context;
+import android.graphics.Canvas;
 import android.graphics.Color;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.util.Log;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.LinearLayout;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 
@@ -40,6 +43,52 @@ public class FixedHeaderSubTableLayout extends LinearLayout {
 
     private static final String LOG_TAG = FixedHeaderSubTableLayout.class.getSimpleName();
 
+    // In virtual mode only some rows are attached, each placed at its own top
+    private boolean virtualRows = false;
+    private int virtualWidth = 0;
+    private int virtualHeight = 0;
+
+    // Visible part of the table in table coordinates, rows and cells outside of it are not drawn
+    private boolean culling = false;
+    private float cullLeft;
+    private float cullTop;
+    private float cullRight;
+    private float cullBottom;
+    // Band of rows drawn by the last draw, the table is only invalidated when the band changes.
+    // Rows added or removed make the band unknown
+    private int drawnFirstRow = 0;
+    private int drawnLastRow = -1;
+    private boolean drawnRowsKnown = false;
+    // Bumped when the shared column widths change, rows measured with an older generation are
+    // measured again when they come into view
+    private int columnGeneration = 0;
+    private boolean staleRows = false;
+
+    // Draws the rows that hold TableCells instead of child views
+    private CellRenderer cellRenderer = null;
+    private OnCellClickListener onCellClickListener = null;
+
+    // Merged regions of cells, the rows are told which of their cells the regions cross before measuring
+    private final MergedRegionIndex mergedRegions = new MergedRegionIndex();
+    private boolean mergedRegionsChanged = false;
+
+    // Cells keep their size when their content changes, their layout requests stay inside their row
+    private boolean fixedCellSizes = false;
+
+    /**
+     * Receives clicks on the cells of the table found by their position,
+     * so rows with rendered cells can be clicked
+     */
+    public interface OnCellClickListener {
+        /**
+         * @param table the table that was clicked
+         * @param row the row index in the table, or the adapter row when the table is filled from an adapter
+         * @param column the column index in the row, the first column of a merged cell
+         * @param cell the rendered cell or null if the row holds child views
+         */
+        void onCellClick(@NonNull FixedHeaderSubTableLayout table, int row, int column, @Nullable TableCell cell);
+    }
+
     public FixedHeaderSubTableLayout(Context context) {
         super(context);
         init();
@@ -98,6 +147,348 @@ public class FixedHeaderSubTableLayout extends LinearLayout {
         }
     }
 
+    /**
+     * Set the renderer for the rows that hold {@link TableCell}s, set it before the table
+     * is added to a {@link FixedHeaderTableLayout} as it decides the size of the cells
+     * @param cellRenderer the renderer, shared with the other tables of the Layout
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setCellRenderer(@NonNull CellRenderer cellRenderer) {
+        this.cellRenderer = cellRenderer;
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * @return the renderer for the rows that hold {@link TableCell}s, a {@link TextCellRenderer} if none was set
+     */
+    @NonNull
+    public CellRenderer getCellRenderer() {
+        if (cellRenderer == null) {
+            cellRenderer = new TextCellRenderer(getContext());
+        }
+        return cellRenderer;
+    }
+
+    /**
+     * Keep the size of the cells fixed when their content changes. A cell that asks for a layout,
+     * for example from setText, is measured again at the size it has and redrawn, its row, this table
+     * and the {@link FixedHeaderTableLayout} are not laid out again. A cell only resizes its column
+     * and row through {@link FixedHeaderTableLayout#updateCell(int, int)}.
+     * @param fixedCellSizes true to keep the cell sizes fixed
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setFixedCellSizes(boolean fixedCellSizes) {
+        this.fixedCellSizes = fixedCellSizes;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public boolean isFixedCellSizes() {
+        return fixedCellSizes;
+    }
+
+    /**
+     * Find the cell under each click by its position instead of relying on clickable cell views,
+     * clicks on cell views that handle them are not reported
+     * @param listener the listener or null to stop finding clicked cells
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setOnCellClickListener(@Nullable OnCellClickListener listener) {
+        this.onCellClickListener = listener;
+    }
+
+    /**
+     * Merge a region of cells into one, the first cell of the region is drawn across all its rows and columns.
+     * The other cells of the region are not drawn and do not size their rows or columns, the first cell
+     * does not size its row when the region spans rows.
+     * A merge replaces the merged regions it overlaps. Merge before the table is added to a
+     * {@link FixedHeaderTableLayout} as it decides the size of the cells, the regions stay on the same
+     * rows when rows are inserted or removed. Tables filled from an adapter do not merge cells.
+     * A region stays inside its table, it cannot span from a header pane into the main table.
+     * @param firstRow the first row of the region
+     * @param firstColumn the first column of the region
+     * @param rowSpan the number of rows of the region
+     * @param columnSpan the number of columns of the region
+     * @throws IllegalArgumentException if the region reaches past the rows or the columns of the table
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void mergeCells(int firstRow, int firstColumn, int rowSpan, int columnSpan) {
+        if (firstRow < 0 || firstColumn < 0) {
+            throw new IllegalArgumentException("Row and column must be 0 or greater");
+        }
+        if (rowSpan < 1 || columnSpan < 1) {
+            throw new IllegalArgumentException("Span must be 1 or greater");
+        }
+        // The panes are separate tables so a region past their edge would be drawn under another pane
+        if (!virtualRows && firstRow + rowSpan > getChildCount()) {
+            throw new IllegalArgumentException("Merged regions cannot reach past the rows of their table");
+        }
+        if (!virtualRows && firstColumn + columnSpan > ((FixedHeaderTableRow) getChildAt(firstRow)).getColumnCount()) {
+            throw new IllegalArgumentException("Merged regions cannot reach past the columns of their table");
+        }
+        mergedRegions.add(firstRow, firstColumn, firstRow + rowSpan - 1, firstColumn + columnSpan - 1);
+        mergedRegionsChanged = true;
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Remove all the merged regions set with {@link #mergeCells(int, int, int, int)}
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void clearMergedCells() {
+        if (mergedRegions.size() == 0) {
+            return;
+        }
+        mergedRegions.clear();
+        mergedRegionsChanged = true;
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * @param row the row of the cell
+     * @param column the column of the cell
+     * @param out the range to set or null to create one
+     * @return the merged region holding the cell or null if the cell is not in a region merged with
+     * {@link #mergeCells(int, int, int, int)}
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public CellRange getMergedRegion(int row, int column, @Nullable CellRange out) {
+        int region = mergedRegions.find(row, column);
+        if (region < 0) {
+            return null;
+        }
+        if (out == null) {
+            out = new CellRange();
+        }
+        out.set(mergedRegions.getFirstRow(region), mergedRegions.getFirstColumn(region),
+                mergedRegions.getLastRow(region), mergedRegions.getLastColumn(region));
+        return out;
+    }
+
+    @Override
+    public void onViewAdded(View child) {
+        super.onViewAdded(child);
+        // A new row is measured with the current column widths
+        ((FixedHeaderTableRow) child).setColumnGeneration(columnGeneration);
+        // The rows have moved under the regions
+        mergedRegionsChanged |= mergedRegions.size() > 0;
+        drawnRowsKnown = false;
+    }
+
+    @Override
+    public void onViewRemoved(View child) {
+        super.onViewRemoved(child);
+        mergedRegionsChanged |= mergedRegions.size() > 0;
+        drawnRowsKnown = false;
+    }
+
+    boolean hasMergedRegions() {
+        return !virtualRows && mergedRegions.size() > 0;
+    }
+
+    /**
+     * Tell every row which of its cells the merged regions cross, done before the rows measure their
+     * cells at their natural size
+     */
+    void applyMergedRegions() {
+        if (!mergedRegionsChanged) {
+            return;
+        }
+        mergedRegionsChanged = false;
+        for (int row = 0; row < getChildCount(); row++) {
+            ((FixedHeaderTableRow) getChildAt(row)).clearRegionCells();
+        }
+        if (virtualRows) {
+            return;
+        }
+        for (int i = 0; i < mergedRegions.size(); i++) {
+            int firstRow = mergedRegions.getFirstRow(i);
+            int lastRow = Math.min(mergedRegions.getLastRow(i), getChildCount() - 1);
+            int firstColumn = mergedRegions.getFirstColumn(i);
+            int columnSpan = mergedRegions.getLastColumn(i) - firstColumn + 1;
+            for (int row = firstRow; row <= lastRow; row++) {
+                int value = row == firstRow ? mergedRegions.getLastRow(i) - firstRow + 1 : firstRow - row;
+                FixedHeaderTableRow tableRow = (FixedHeaderTableRow) getChildAt(row);
+                tableRow.addRegionCells(firstColumn, columnSpan, value);
+                tableRow.forceLayout();
+            }
+        }
+    }
+
+    // Measure the first cell of each merged region to the size of the whole region
+    private void measureMergedRegions() {
+        for (int i = 0; i < mergedRegions.size(); i++) {
+            int firstRow = mergedRegions.getFirstRow(i);
+            int lastRow = Math.min(mergedRegions.getLastRow(i), getChildCount() - 1);
+            if (firstRow > lastRow) {
+                continue;
+            }
+            FixedHeaderTableRow anchorRow = (FixedHeaderTableRow) getChildAt(firstRow);
+            int width = getRegionWidth(anchorRow, i);
+            int height = -anchorRow.getPaddingTop() - getChildAt(lastRow).getPaddingBottom();
+            for (int row = firstRow; row <= lastRow; row++) {
+                height += getChildAt(row).getMeasuredHeight();
+            }
+            if (width > 0 && height > 0) {
+                anchorRow.measureRegionCell(mergedRegions.getFirstColumn(i), width, height);
+            }
+        }
+    }
+
+    private int getRegionWidth(FixedHeaderTableRow anchorRow, int region) {
+        AxisIndex columnWidths = anchorRow.getColumnModel();
+        int firstColumn = mergedRegions.getFirstColumn(region);
+        int lastColumn = Math.min(mergedRegions.getLastColumn(region), columnWidths.size() - 1);
+        if (firstColumn > lastColumn) {
+            return 0;
+        }
+        return columnWidths.getEnd(lastColumn) - columnWidths.getStart(firstColumn);
+    }
+
+    // Draw the first cell of a merged region across the whole region, the canvas is in table coordinates
+    private void drawMergedRegion(Canvas canvas, int region) {
+        int firstRow = mergedRegions.getFirstRow(region);
+        int lastRow = Math.min(mergedRegions.getLastRow(region), getChildCount() - 1);
+        if (firstRow > lastRow) {
+            return;
+        }
+        FixedHeaderTableRow anchorRow = (FixedHeaderTableRow) getChildAt(firstRow);
+        View lastRowView = getChildAt(lastRow);
+        int firstColumn = mergedRegions.getFirstColumn(region);
+        AxisIndex columnWidths = anchorRow.getColumnModel();
+        if (firstColumn >= columnWidths.size()) {
+            return;
+        }
+        int left = anchorRow.getLeft() + anchorRow.getPaddingLeft() + columnWidths.getStart(firstColumn);
+        int top = anchorRow.getTop() + anchorRow.getPaddingTop();
+        int width = getRegionWidth(anchorRow, region);
+        int height = lastRowView.getBottom() - lastRowView.getPaddingBottom() - top;
+        if (culling && (left >= cullRight || left + width <= cullLeft || top >= cullBottom || top + height <= cullTop)) {
+            return;
+        }
+        int save = canvas.save();
+        canvas.translate(left, top);
+        canvas.clipRect(0, 0, width, height);
+        anchorRow.drawRegionCell(canvas, firstColumn, width, height);
+        canvas.restoreToCount(save);
+    }
+
+    /**
+     * Draw the merged regions crossing a row or a column in table coordinates,
+     * used to draw the active sticky row and column
+     * @param canvas the canvas to draw on, the caller clips it to the row or column
+     * @param row the row or -1 to draw the regions crossing the column
+     * @param column the column when the row is -1
+     */
+    void drawMergedRegions(Canvas canvas, int row, int column) {
+        if (!hasMergedRegions()) {
+            return;
+        }
+        if (row >= 0) {
+            int found = mergedRegions.findCrossing(row, row);
+            for (int i = 0; i < found; i++) {
+                drawMergedRegion(canvas, mergedRegions.getCrossing(i));
+            }
+            return;
+        }
+        for (int i = 0; i < mergedRegions.size(); i++) {
+            if (mergedRegions.getFirstColumn(i) <= column && mergedRegions.getLastColumn(i) >= column) {
+                drawMergedRegion(canvas, i);
+            }
+        }
+    }
+
+    /**
+     * @return true if the cell is part of a merged region, so it is drawn by the table
+     */
+    boolean isMergedCell(int row, int column) {
+        return hasMergedRegions() && mergedRegions.find(row, column) >= 0;
+    }
+
+    // Index of the row at the offset in a table that is not virtual, rows are in order
+    private int rowIndexAt(float y) {
+        int low = 0;
+        int high = getChildCount() - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getChildAt(mid).getBottom() <= y) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public void onDescendantInvalidated(@NonNull View child, @NonNull View target) {
+        super.onDescendantInvalidated(child, target);
+        if (hasMergedRegions()) {
+            // The merged cells are drawn by this table outside of their rows
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (onCellClickListener == null) {
+            return super.onTouchEvent(event);
+        }
+        // Moves are not needed as the Layout cancels the touch once it scrolls or scales
+        if (event.getActionMasked() == MotionEvent.ACTION_UP) {
+            performClick();
+            dispatchCellClick(event.getX(), event.getY());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean performClick() {
+        super.performClick();
+        return true;
+    }
+
+    private void dispatchCellClick(float x, float y) {
+        if (!virtualRows) {
+            if (getChildCount() == 0) {
+                return;
+            }
+            int rowIndex = rowIndexAt(y);
+            FixedHeaderTableRow row = (FixedHeaderTableRow) getChildAt(rowIndex);
+            if (y < row.getTop() || y >= row.getBottom()) {
+                return;
+            }
+            int column = row.columnAt(x - row.getLeft());
+            if (column < 0) {
+                return;
+            }
+            int region = mergedRegions.find(rowIndex, column);
+            if (region >= 0) {
+                // A merged region is clicked as its first cell
+                rowIndex = mergedRegions.getFirstRow(region);
+                column = mergedRegions.getFirstColumn(region);
+                row = (FixedHeaderTableRow) getChildAt(rowIndex);
+            }
+            onCellClickListener.onCellClick(this, rowIndex, column, row.getCell(column));
+            return;
+        }
+        for (int i = 0; i < getChildCount(); i++) {
+            FixedHeaderTableRow row = (FixedHeaderTableRow) getChildAt(i);
+            if (y < row.getTop() || y >= row.getBottom()) {
+                continue;
+            }
+            int column = row.columnAt(x - row.getLeft());
+            if (column >= 0) {
+                int rowIndex = row.getBoundRow() >= 0 ? row.getBoundRow() : i;
+                onCellClickListener.onCellClick(this, rowIndex, column, row.getCell(column));
+            }
+            return;
+        }
+    }
+
     /**
      * Measure the Table
      * The Table is always measure at (UNSPECIFIED) so the full table is drawn
@@ -110,6 +501,274 @@ public class FixedHeaderSubTableLayout extends LinearLayout {
         // Log.d(LOG_TAG, "onMeasure: " + Integer.toHexString(System.identityHashCode(this)) );
         // Always measure the tables to full size so pan and Scale works
         int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        if (virtualRows) {
+            // The full size is known, only the attached rows need measuring
+            for (int i = 0; i < getChildCount(); i++) {
+                getChildAt(i).measure(measureSpec, measureSpec);
+            }
+            setMeasuredDimension(virtualWidth + getPaddingLeft() + getPaddingRight(),
+                    virtualHeight + getPaddingTop() + getPaddingBottom());
+            return;
+        }
+        applyMergedRegions();
         super.onMeasure(measureSpec, measureSpec);
+        measureMergedRegions();
+        if (staleRows) {
+            // Rows out of view still have the width of the old columns
+            int width = 0;
+            for (int i = 0; i < getChildCount(); i++) {
+                FixedHeaderTableRow row = (FixedHeaderTableRow) getChildAt(i);
+                width = Math.max(width, row.getColumnGeneration() == columnGeneration
+                        ? row.getMeasuredWidth() : row.getColumnsWidth());
+            }
+            setMeasuredDimension(Math.max(width + getPaddingLeft() + getPaddingRight(), getSuggestedMinimumWidth()),
+                    getMeasuredHeight());
+        }
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        if (!virtualRows) {
+            super.onLayout(changed, l, t, r, b);
+            return;
+        }
+        for (int i = 0; i < getChildCount(); i++) {
+            layoutVirtualRow((FixedHeaderTableRow) getChildAt(i));
+        }
+    }
+
+    /**
+     * Switch the table to virtual mode where it is sized to the whole table
+     * but only holds the rows that are attached with {@link #attachVirtualRow}
+     * @param width the full width of the table content
+     * @param height the full height of the table content
+     */
+    void setVirtualContentSize(int width, int height) {
+        virtualRows = true;
+        virtualWidth = width;
+        virtualHeight = height;
+        requestLayout();
+    }
+
+    boolean isVirtual() {
+        return virtualRows;
+    }
+
+    /**
+     * Only draw the rows and cells that intersect the visible part of the table.
+     * The table or rows are only invalidated when that changes what they draw.
+     * @param left the left of the visible part in table coordinates
+     * @param top the top of the visible part in table coordinates
+     * @param right the right of the visible part in table coordinates
+     * @param bottom the bottom of the visible part in table coordinates
+     */
+    void setCullRect(float left, float top, float right, float bottom) {
+        culling = true;
+        cullLeft = left;
+        cullTop = top;
+        cullRight = right;
+        cullBottom = bottom;
+        int firstRow = firstCullRow();
+        int lastRow = lastCullRow(firstRow);
+        // Attached rows of a virtual table are not in order so any of them may have come into view
+        boolean stale = virtualRows || !drawnRowsKnown || firstRow != drawnFirstRow || lastRow != drawnLastRow;
+        boolean refreshed = false;
+        // Rows outside of the band are given their range and column widths when they come into it
+        for (int i = firstRow; i <= lastRow; i++) {
+            FixedHeaderTableRow row = (FixedHeaderTableRow) getChildAt(i);
+            refreshed |= refreshColumns(row);
+            if (isRowCulled(row)) {
+                row.setCullBounds(left - row.getLeft(), right - row.getLeft());
+            } else {
+                row.setCullRange(left - row.getLeft(), right - row.getLeft());
+            }
+        }
+        if (refreshed) {
+            requestLayout();
+        }
+        if (stale) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Draw every row and cell again, used when the table is drawn into cached tiles
+     */
+    void clearCullRect() {
+        if (!culling) {
+            return;
+        }
+        culling = false;
+        boolean refreshed = false;
+        for (int i = 0; i < getChildCount(); i++) {
+            FixedHeaderTableRow row = (FixedHeaderTableRow) getChildAt(i);
+            row.setCullBounds(0, -1);
+            refreshed |= refreshColumns(row);
+        }
+        staleRows = false;
+        if (refreshed) {
+            requestLayout();
+        }
+        invalidate();
+    }
+
+    /**
+     * The shared column widths changed. The rows in view are measured again with the next layout,
+     * the other rows when they come into view
+     */
+    void invalidateColumns() {
+        columnGeneration++;
+        int firstRow = firstCullRow();
+        int lastRow = lastCullRow(firstRow);
+        staleRows = firstRow > 0 || lastRow < getChildCount() - 1;
+        for (int i = firstRow; i <= lastRow; i++) {
+            refreshColumns((FixedHeaderTableRow) getChildAt(i));
+        }
+        requestLayout();
+    }
+
+    /**
+     * Measure a row with the new column widths with the next layout, for a row drawn while it is out of view
+     * @param row the index of the row
+     */
+    void refreshColumns(int row) {
+        if (row >= 0 && row < getChildCount() && refreshColumns((FixedHeaderTableRow) getChildAt(row))) {
+            requestLayout();
+        }
+    }
+
+    // Returns true if the row was measured with older column widths
+    private boolean refreshColumns(FixedHeaderTableRow row) {
+        if (row.getColumnGeneration() == columnGeneration) {
+            return false;
+        }
+        row.setColumnGeneration(columnGeneration);
+        row.forceLayout();
+        return true;
+    }
+
+    /**
+     * Draw only the rows and cells that intersect a region, used to render a cached tile.
+     * Nothing is invalidated as the table is not culled outside of the call.
+     * @param canvas the canvas to draw the table into
+     * @param left the left of the region in table coordinates
+     * @param top the top of the region in table coordinates
+     * @param right the right of the region in table coordinates
+     * @param bottom the bottom of the region in table coordinates
+     */
+    void drawRegion(Canvas canvas, float left, float top, float right, float bottom) {
+        if (culling) {
+            draw(canvas);
+            return;
+        }
+        culling = true;
+        cullLeft = left;
+        cullTop = top;
+        cullRight = right;
+        cullBottom = bottom;
+        int firstRow = firstCullRow();
+        int lastRow = lastCullRow(firstRow);
+        for (int i = firstRow; i <= lastRow; i++) {
+            View row = getChildAt(i);
+            ((FixedHeaderTableRow) row).setCullBounds(left - row.getLeft(), right - row.getLeft());
+        }
+        draw(canvas);
+        for (int i = firstRow; i <= lastRow; i++) {
+            ((FixedHeaderTableRow) getChildAt(i)).setCullBounds(0, -1);
+        }
+        culling = false;
+        // The band drawn into the tile is not the band drawn on screen
+        drawnRowsKnown = false;
+    }
+
+    private boolean isRowCulled(View row) {
+        return culling && (row.getBottom() <= cullTop || row.getTop() >= cullBottom);
+    }
+
+    // First row of the visible band, the attached rows of a virtual table are not in order
+    private int firstCullRow() {
+        return culling && !virtualRows && getChildCount() > 0 ? rowIndexAt(cullTop) : 0;
+    }
+
+    // Last row of the visible band, before the first row when no row is in view
+    private int lastCullRow(int firstRow) {
+        int last = getChildCount() - 1;
+        if (!culling || virtualRows || last < 0) {
+            return last;
+        }
+        last = rowIndexAt(cullBottom);
+        while (last >= firstRow && isRowCulled(getChildAt(last))) {
+            last--;
+        }
+        return last;
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        int firstRow = firstCullRow();
+        int lastRow = lastCullRow(firstRow);
+        drawnFirstRow = firstRow;
+        drawnLastRow = lastRow;
+        drawnRowsKnown = true;
+        if (culling) {
+            // ViewGroup would visit every row, only the rows of the band are drawn
+            drawRows(canvas, firstRow, lastRow);
+        } else {
+            super.dispatchDraw(canvas);
+        }
+        if (hasMergedRegions() && getChildCount() > 0 && lastRow >= firstRow) {
+            // Regions are drawn over the rows they cross, even when their first row is culled
+            int found = mergedRegions.findCrossing(firstRow, lastRow);
+            for (int i = 0; i < found; i++) {
+                drawMergedRegion(canvas, mergedRegions.getCrossing(i));
+            }
+        }
+    }
+
+    private void drawRows(Canvas canvas, int firstRow, int lastRow) {
+        boolean padded = getPaddingLeft() != 0 || getPaddingTop() != 0 || getPaddingRight() != 0 || getPaddingBottom() != 0;
+        int save = 0;
+        if (padded) {
+            save = canvas.save();
+            canvas.clipRect(getPaddingLeft(), getPaddingTop(), getWidth() - getPaddingRight(), getHeight() - getPaddingBottom());
+        }
+        long drawingTime = getDrawingTime();
+        for (int i = firstRow; i <= lastRow; i++) {
+            View row = getChildAt(i);
+            if (row.getVisibility() == VISIBLE && !isRowCulled(row)) {
+                drawChild(canvas, row, drawingTime);
+            }
+        }
+        if (padded) {
+            canvas.restoreToCount(save);
+        }
+    }
+
+    /**
+     * Attach a row at the given top without a layout pass of the whole table
+     * @param row a row with a fixed geometry
+     * @param top the top of the row in the table content
+     */
+    void attachVirtualRow(FixedHeaderTableRow row, int top) {
+        row.setVirtualTop(top);
+        addViewInLayout(row, -1, generateDefaultLayoutParams(), true);
+        int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        row.measure(measureSpec, measureSpec);
+        layoutVirtualRow(row);
+        if (culling) {
+            row.setCullBounds(cullLeft - row.getLeft(), cullRight - row.getLeft());
+        }
+        invalidate();
+    }
+
+    void detachVirtualRow(FixedHeaderTableRow row) {
+        removeViewInLayout(row);
+        invalidate();
+    }
+
+    private void layoutVirtualRow(FixedHeaderTableRow row) {
+        int left = getPaddingLeft();
+        int top = getPaddingTop() + row.getVirtualTop();
+        row.layout(left, top, left + row.getMeasuredWidth(), top + row.getMeasuredHeight());
     }
 }
@@ -0,0 +1,118 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.database.DataSetObservable;
+import android.database.DataSetObserver;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Supplies the cells of a {@link FixedHeaderTableLayout} on demand instead of requiring every cell
+ * to exist as a View up front.
+ * <p>
+ * The adapter describes the whole grid. The first {@link FixedHeaderTableLayout#getFixedHeaderRowCount()}
+ * rows and {@link FixedHeaderTableLayout#getFixedHeaderColumnCount()} columns are placed in the
+ * fixed header tables, the rest make up the main table. Cell sizes are supplied by the adapter so
+ * the table geometry is known without measuring every cell, which lets the Layout only create and
+ * bind the cells that are on screen.
+ */
+public abstract class FixedHeaderTableAdapter {
+
+    private final DataSetObservable mDataSetObservable = new DataSetObservable();
+
+    /**
+     * @return the total number of rows, including the fixed header rows
+     */
+    public abstract int getRowCount();
+
+    /**
+     * @return the total number of columns, including the fixed header columns
+     */
+    public abstract int getColumnCount();
+
+    /**
+     * @param column the column index
+     * @return the width in pixels of the column
+     */
+    public abstract int getColumnWidth(int column);
+
+    /**
+     * @param row the row index
+     * @return the height in pixels of the row
+     */
+    public abstract int getRowHeight(int row);
+
+    /**
+     * Cells of the same view type can be recycled for each other.
+     *
+     * @param row the row index
+     * @param column the column index
+     * @return the view type of the cell, 0 by default
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getItemViewType(int row, int column) {
+        return 0;
+    }
+
+    /**
+     * Create a new cell View of the given type, it will be bound with {@link #onBindView}
+     * before being shown.
+     *
+     * @param parent the row the cell will be added to
+     * @param viewType the view type from {@link #getItemViewType(int, int)}
+     * @return a new cell View
+     */
+    @NonNull
+    public abstract View onCreateView(@NonNull ViewGroup parent, int viewType);
+
+    /**
+     * Update the contents of a new or recycled cell View to show the given cell.
+     *
+     * @param view the cell View
+     * @param row the row index
+     * @param column the column index
+     */
+    public abstract void onBindView(@NonNull View view, int row, int column);
+
+    public void registerDataSetObserver(DataSetObserver observer) {
+        mDataSetObservable.registerObserver(observer);
+    }
+
+    public void unregisterDataSetObserver(DataSetObserver observer) {
+        mDataSetObservable.unregisterObserver(observer);
+    }
+
+    /**
+     * Notify the attached Layout that the data or the sizes have changed and the table
+     * should be rebuilt.
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void notifyDataSetChanged() {
+        mDataSetObservable.notifyChanged();
+    }
+}
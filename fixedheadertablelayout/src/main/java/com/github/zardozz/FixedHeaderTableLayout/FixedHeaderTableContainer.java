@@ -28,7 +28,9 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.util.AttributeSet;
+import android.view.Choreographer;
 import android.view.GestureDetector;
 import android.view.MotionEvent;
 import android.view.ScaleGestureDetector;
@@ -75,6 +77,40 @@ public class FixedHeaderTableContainer extends ViewGroup {
     private @ColorInt int sheetBackgroundColor = Color.WHITE;
     private final Paint dividerPaint = new Paint();
 
+    // Height of each sheet plus the divider below it, 0 for sheets that are GONE
+    private final AxisIndex sheetIndex = new AxisIndex();
+
+    // Sheets supplied by a provider, only the ones near the viewport are attached
+    private FixedHeaderSheetProvider sheetProvider;
+    private FixedHeaderTableLayout[] sheets = new FixedHeaderTableLayout[0];
+    // Estimated widths until a sheet is measured, then the last measured widths
+    private int[] sheetWidths = new int[0];
+    // Negative means one viewport height
+    private int prefetchDistancePx = -1;
+
+    // When set, cell Views of adapter sheets are recycled across all the sheets
+    private FixedHeaderRecycledViewPool sharedRecycledViewPool = null;
+
+    // Viewport changes are applied to the subtables at most once per frame
+    private boolean viewportUpdatePending = false;
+    private final Choreographer.FrameCallback viewportFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            viewportUpdatePending = false;
+            applyViewportUpdate();
+        }
+    };
+    // Sheets the viewport was last pushed to
+    private int viewportFirstSheet = 0;
+    private int viewportLastSheet = -1;
+
+    // Scroll waiting for its sheet to be laid out, row and column are -1 to scroll to the sheet itself
+    private int pendingScrollSheet = -1;
+    private int pendingScrollRow = -1;
+    private int pendingScrollColumn = -1;
+    private boolean pendingScrollAnimated = false;
+    private final Rect cellRect = new Rect();
+
     private static final float OVERSCROLL_MARGIN = 0f;
 
     public FixedHeaderTableContainer(Context context) {
@@ -101,9 +137,16 @@ public class FixedHeaderTableContainer extends ViewGroup {
      * viewport mode and will be updated whenever the container viewport changes.
      */
     public void addSubTable(@NonNull FixedHeaderTableLayout tableLayout) {
+        if (sheetProvider != null) {
+            throw new IllegalStateException("Sub tables cannot be added while a sheet provider is set");
+        }
         tableLayout.setUseExternalViewport(true);
+        if (sharedRecycledViewPool != null) {
+            tableLayout.setRecycledViewPool(sharedRecycledViewPool);
+        }
         applyViewport(tableLayout);
         subtables.add(tableLayout);
+        sheetIndex.add(dividerHeightPx);
         addView(tableLayout, new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
         updateContentBounds();
         clampPan();
@@ -111,6 +154,202 @@ public class FixedHeaderTableContainer extends ViewGroup {
         requestLayout();
     }
 
+    /**
+     * Supply the sheets from a {@link FixedHeaderSheetProvider} instead of {@link #addSubTable}.
+     * Sheets are only created when they come within the prefetch distance of the viewport and are
+     * released again when they scroll far away, so opening the container only costs about one screen
+     * of sheets. Setting the provider again reloads all the sheets.
+     *
+     * @param provider the provider or null to remove all the sheets
+     */
+    public void setSheetProvider(@Nullable FixedHeaderSheetProvider provider) {
+        if (sheetProvider == null && !subtables.isEmpty()) {
+            throw new IllegalStateException("A sheet provider cannot be used with tables added by addSubTable");
+        }
+        for (int i = 0; i < sheets.length; i++) {
+            if (sheets[i] != null) {
+                detachSheet(i);
+            }
+        }
+        sheetProvider = provider;
+        int count = provider == null ? 0 : provider.getSheetCount();
+        sheets = new FixedHeaderTableLayout[count];
+        sheetWidths = new int[count];
+        sheetIndex.clear();
+        for (int i = 0; i < count; i++) {
+            sheetIndex.add(Math.max(0, provider.getEstimatedSheetHeight(i)) + dividerHeightPx);
+            sheetWidths[i] = Math.max(0, provider.getEstimatedSheetWidth(i));
+        }
+        pendingScrollSheet = -1;
+        updateContentBounds();
+        clampPan();
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Sets how far outside the viewport sheets from a {@link FixedHeaderSheetProvider} are created.
+     * Sheets further than twice this distance are released.
+     *
+     * @param prefetchDistancePx the distance in screen pixels, or a negative value for one viewport height
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setPrefetchDistancePx(int prefetchDistancePx) {
+        this.prefetchDistancePx = prefetchDistancePx;
+        scheduleViewportUpdate();
+    }
+
+    /**
+     * Share one pool between the cell Views of every sheet using a {@link FixedHeaderTableAdapter}
+     * so cells leaving one sheet are reused by the next. The pool only knows view types, so only
+     * share it when the adapters of all the sheets create the same Views for the same view types.
+     * Limit the Views kept per view type with {@link FixedHeaderRecycledViewPool#setMaxRecycledViews(int, int)}.
+     * Without a shared pool, the default, each sheet recycles through its own pool.
+     *
+     * @param pool the pool to share or null for each sheet to keep its own
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setSharedRecycledViewPool(@Nullable FixedHeaderRecycledViewPool pool) {
+        if (pool == sharedRecycledViewPool) {
+            return;
+        }
+        sharedRecycledViewPool = pool;
+        for (int i = 0; i < subtables.size(); i++) {
+            subtables.get(i).setRecycledViewPool(pool != null ? pool : new FixedHeaderRecycledViewPool());
+        }
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public FixedHeaderRecycledViewPool getSharedRecycledViewPool() {
+        return sharedRecycledViewPool;
+    }
+
+    /**
+     * @return the number of sheets, including the ones from a provider that are not attached
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getSheetCount() {
+        return sheetIndex.size();
+    }
+
+    /**
+     * @param sheet the sheet index
+     * @return the sheet if it is currently attached, otherwise null
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public FixedHeaderTableLayout getAttachedSheet(int sheet) {
+        if (sheet < 0 || sheet >= sheetIndex.size()) {
+            return null;
+        }
+        return sheetProvider != null ? sheets[sheet] : subtables.get(sheet);
+    }
+
+    /**
+     * Find the sheet at a point of this View, taking the pan and scale into account.
+     *
+     * @param y the y coordinate in this View
+     * @return the sheet index or -1 if the point is not over a sheet
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int sheetAt(float y) {
+        float offset = (y - globalPanY) / globalScale - getPaddingTop();
+        if (offset < 0 || offset >= getStackHeight()) {
+            return -1;
+        }
+        int sheet = sheetIndex.indexAt(offset);
+        // Over the divider below the sheet
+        if (offset >= sheetIndex.getStart(sheet) + getSheetHeight(sheet)) {
+            return -1;
+        }
+        return sheet;
+    }
+
+    /**
+     * Scroll so the top of a sheet is at the top of the viewport. A provider sheet that has not
+     * been measured yet is scrolled to again once its real position is known.
+     *
+     * @param sheet the sheet index
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void scrollToSheet(int sheet) {
+        scrollToCell(sheet, -1, -1, false);
+    }
+
+    /**
+     * Scroll so a mainTable cell of a sheet is at the top left of the viewport, just below and to
+     * the right of the headers. If the sheet is not laid out yet the sheet is scrolled to first and
+     * the cell once the sheet has been laid out.
+     *
+     * @param sheet the sheet index
+     * @param row the mainTable row of the sheet or -1 for the top of the sheet
+     * @param column the mainTable column of the sheet or -1 to keep the horizontal pan
+     * @param animated true to scroll smoothly
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void scrollToCell(int sheet, int row, int column, boolean animated) {
+        if (sheet < 0 || sheet >= sheetIndex.size()) {
+            return;
+        }
+        FixedHeaderTableLayout table = getAttachedSheet(sheet);
+        boolean measured = table != null && !table.isLayoutRequested();
+        if (!measured) {
+            pendingScrollSheet = sheet;
+            pendingScrollRow = row;
+            pendingScrollColumn = column;
+            pendingScrollAnimated = animated;
+        } else {
+            pendingScrollSheet = -1;
+        }
+        float top = sheetIndex.getStart(sheet);
+        float panX = globalPanX;
+        if (measured && (row >= 0 || column >= 0)
+                && table.cellContentBounds(Math.max(row, 0), Math.max(column, 0), cellRect) != null) {
+            if (row >= 0) {
+                top += cellRect.top;
+            }
+            if (column >= 0) {
+                panX = -cellRect.left * globalScale;
+            }
+        }
+        scrollViewportTo(panX, -top * globalScale, animated);
+    }
+
+    private void scrollViewportTo(float panX, float panY, boolean animated) {
+        scroller.forceFinished(true);
+        if (!animated) {
+            updateViewport(panX, panY, globalScale);
+            return;
+        }
+        int targetX = (int) clampPanX(panX);
+        int targetY = (int) clampPanY(panY);
+        scroller.startScroll((int) globalPanX, (int) globalPanY,
+                targetX - (int) globalPanX, targetY - (int) globalPanY);
+        postInvalidateOnAnimation();
+    }
+
+    private void resolvePendingScroll() {
+        if (pendingScrollSheet >= 0) {
+            FixedHeaderTableLayout table = getAttachedSheet(pendingScrollSheet);
+            if (table != null && !table.isLayoutRequested()) {
+                scrollToCell(pendingScrollSheet, pendingScrollRow, pendingScrollColumn, pendingScrollAnimated);
+            }
+        }
+    }
+
+    private int getSheetHeight(int sheet) {
+        return Math.max(0, sheetIndex.getSize(sheet) - dividerHeightPx);
+    }
+
+    // Height of all the sheets and the dividers between them
+    private int getStackHeight() {
+        if (sheetIndex.size() == 0) {
+            return 0;
+        }
+        return Math.max(0, sheetIndex.getTotal() - dividerHeightPx);
+    }
+
     /**
      * Sets the sheet background color used to fill empty areas around the stacked tables.
      */
@@ -137,6 +376,12 @@ public class FixedHeaderTableContainer extends ViewGroup {
      * Configure the height of the divider placed between stacked tables.
      */
     public void setDividerHeightPx(int dividerHeightPx) {
+        for (int i = 0; i < sheetIndex.size(); i++) {
+            int size = sheetIndex.getSize(i);
+            if (size > 0) {
+                sheetIndex.set(i, size - this.dividerHeightPx + dividerHeightPx);
+            }
+        }
         this.dividerHeightPx = dividerHeightPx;
         requestLayout();
     }
@@ -150,14 +395,16 @@ public class FixedHeaderTableContainer extends ViewGroup {
     @Override
     protected void onDraw(Canvas canvas) {
         canvas.drawColor(sheetBackgroundColor);
-        int top = getPaddingTop();
-        for (int i = 0; i < getChildCount() - 1; i++) {
-            View child = getChildAt(i);
-            if (child.getVisibility() == GONE) continue;
-            top += child.getMeasuredHeight();
-            if (dividerHeightPx > 0) {
-                canvas.drawRect(getPaddingLeft(), top, getWidth() - getPaddingRight(), top + dividerHeightPx, dividerPaint);
-                top += dividerHeightPx;
+        if (dividerHeightPx > 0) {
+            // Dividers below the bottom of this View are not drawn
+            for (int i = 0; i < sheetIndex.size() - 1; i++) {
+                int top = getPaddingTop() + sheetIndex.getStart(i) + getSheetHeight(i);
+                if (top >= getHeight()) {
+                    break;
+                }
+                if (sheetIndex.getSize(i) > 0) {
+                    canvas.drawRect(getPaddingLeft(), top, getWidth() - getPaddingRight(), top + dividerHeightPx, dividerPaint);
+                }
             }
         }
         super.onDraw(canvas);
@@ -165,39 +412,149 @@ public class FixedHeaderTableContainer extends ViewGroup {
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (sheetProvider != null) {
+            measureSheets(widthMeasureSpec, heightMeasureSpec);
+            return;
+        }
         int width = 0;
-        int height = getPaddingTop() + getPaddingBottom();
-        for (int i = 0; i < getChildCount(); i++) {
-            View child = getChildAt(i);
-            if (child.getVisibility() == GONE) continue;
+        for (int i = 0; i < subtables.size(); i++) {
+            View child = subtables.get(i);
+            if (child.getVisibility() == GONE) {
+                sheetIndex.set(i, 0);
+                continue;
+            }
             measureChild(child, widthMeasureSpec, heightMeasureSpec);
             width = Math.max(width, child.getMeasuredWidth());
-            height += child.getMeasuredHeight();
-            if (i < getChildCount() - 1) {
-                height += dividerHeightPx;
-            }
+            sheetIndex.set(i, child.getMeasuredHeight() + dividerHeightPx);
         }
         width += getPaddingLeft() + getPaddingRight();
+        int height = getStackHeight() + getPaddingTop() + getPaddingBottom();
+        setMeasuredDimension(resolveSize(width, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
+    }
+
+    private void measureSheets(int widthMeasureSpec, int heightMeasureSpec) {
+        int viewportHeight = MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.UNSPECIFIED
+                ? getResources().getDisplayMetrics().heightPixels : MeasureSpec.getSize(heightMeasureSpec);
+        // Real sizes replace the estimates and can move more sheets into range, so repeat until none
+        // are added. Sheets are only released outside layout, so this ends after at most one pass per sheet
+        attachNearbySheets(viewportHeight, true);
+        do {
+            for (int i = 0; i < sheets.length; i++) {
+                FixedHeaderTableLayout table = sheets[i];
+                if (table == null) {
+                    continue;
+                }
+                measureChild(table, widthMeasureSpec, heightMeasureSpec);
+                sheetIndex.set(i, table.getMeasuredHeight() + dividerHeightPx);
+                sheetWidths[i] = table.getMeasuredWidth();
+            }
+        } while (attachNearbySheets(viewportHeight, true));
+
+        updateContentBounds();
+        int width = (int) contentWidth + getPaddingLeft() + getPaddingRight();
+        int height = (int) contentHeight + getPaddingTop() + getPaddingBottom();
         setMeasuredDimension(resolveSize(width, widthMeasureSpec), resolveSize(height, heightMeasureSpec));
     }
 
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
-        int top = getPaddingTop();
-        for (int i = 0; i < getChildCount(); i++) {
-            View child = getChildAt(i);
+        if (sheetProvider != null) {
+            layoutSheets();
+            return;
+        }
+        for (int i = 0; i < subtables.size(); i++) {
+            View child = subtables.get(i);
             if (child.getVisibility() == GONE) continue;
-            int childHeight = child.getMeasuredHeight();
-            child.layout(getPaddingLeft(), top, getPaddingLeft() + child.getMeasuredWidth(), top + childHeight);
-            top += childHeight;
-            if (i < getChildCount() - 1) {
-                // add spacing for the divider; the color is painted in onDraw
-                top += dividerHeightPx;
-            }
+            // the spacing for the divider is included in the index, the color is painted in onDraw
+            int top = getPaddingTop() + sheetIndex.getStart(i);
+            child.layout(getPaddingLeft(), top, getPaddingLeft() + child.getMeasuredWidth(), top + child.getMeasuredHeight());
+        }
+        updateContentBounds();
+        clampPan();
+        applyViewportToChildren();
+        resolvePendingScroll();
+    }
+
+    private void layoutSheets() {
+        for (int i = 0; i < subtables.size(); i++) {
+            FixedHeaderTableLayout table = subtables.get(i);
+            int top = getPaddingTop() + sheetIndex.getStart(getSheetIndex(table));
+            table.layout(getPaddingLeft(), top, getPaddingLeft() + table.getMeasuredWidth(), top + table.getMeasuredHeight());
         }
         updateContentBounds();
         clampPan();
         applyViewportToChildren();
+        resolvePendingScroll();
+    }
+
+    private static int getSheetIndex(FixedHeaderTableLayout table) {
+        return (Integer) table.getTag(R.id.ContainerSheet);
+    }
+
+    /**
+     * Create the provider sheets within the prefetch distance of the viewport and, outside of
+     * layout, release the ones beyond twice that distance.
+     *
+     * @return true if a sheet was created
+     */
+    private boolean attachNearbySheets(int viewportHeight, boolean inLayout) {
+        if (sheetProvider == null) {
+            return false;
+        }
+        float prefetch = (prefetchDistancePx >= 0 ? prefetchDistancePx : viewportHeight) / globalScale;
+        float viewportTop = -globalPanY / globalScale - getPaddingTop();
+        float viewportBottom = (viewportHeight - globalPanY) / globalScale - getPaddingTop();
+        if (!inLayout) {
+            for (int i = subtables.size() - 1; i >= 0; i--) {
+                int sheet = getSheetIndex(subtables.get(i));
+                if (sheetIndex.getEnd(sheet) < viewportTop - 2 * prefetch
+                        || sheetIndex.getStart(sheet) > viewportBottom + 2 * prefetch) {
+                    detachSheet(sheet);
+                }
+            }
+        }
+        boolean attached = false;
+        if (sheetIndex.size() == 0) {
+            return false;
+        }
+        for (int i = sheetIndex.indexAt(viewportTop - prefetch);
+             i < sheetIndex.size() && sheetIndex.getStart(i) <= viewportBottom + prefetch; i++) {
+            if (sheets[i] == null && sheetIndex.getEnd(i) >= viewportTop - prefetch) {
+                attachSheet(i, inLayout);
+                attached = true;
+            }
+        }
+        return attached;
+    }
+
+    private void attachSheet(int sheet, boolean inLayout) {
+        FixedHeaderTableLayout table = sheetProvider.createSheet(getContext(), sheet);
+        table.setUseExternalViewport(true);
+        if (sharedRecycledViewPool != null) {
+            table.setRecycledViewPool(sharedRecycledViewPool);
+        }
+        applyViewport(table);
+        table.setTag(R.id.ContainerSheet, sheet);
+        sheets[sheet] = table;
+        subtables.add(table);
+        LayoutParams params = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+        if (inLayout) {
+            addViewInLayout(table, -1, params, true);
+        } else {
+            addView(table, params);
+        }
+    }
+
+    private void detachSheet(int sheet) {
+        FixedHeaderTableLayout table = sheets[sheet];
+        sheets[sheet] = null;
+        subtables.remove(table);
+        removeView(table);
+        if (table.getAdapter() != null) {
+            // Give the cells back to the pool, a shared pool hands them to the sheets still on screen
+            table.setAdapter(null);
+        }
+        sheetProvider.releaseSheet(sheet, table);
     }
 
     @Override
@@ -249,6 +606,8 @@ public class FixedHeaderTableContainer extends ViewGroup {
             float newX = scroller.getCurrX();
             float newY = scroller.getCurrY();
             updateViewport(newX, newY, globalScale);
+            // Already drawing this frame so apply now rather than on the next one
+            flushViewportUpdate();
             postInvalidateOnAnimation();
         }
     }
@@ -262,14 +621,49 @@ public class FixedHeaderTableContainer extends ViewGroup {
         globalPanY = panY;
         globalScale = Math.max(minScale, Math.min(maxScale, scale));
         clampPan();
-        applyViewportToChildren();
+        scheduleViewportUpdate();
         invalidate();
     }
 
+    private void scheduleViewportUpdate() {
+        if (!viewportUpdatePending) {
+            viewportUpdatePending = true;
+            Choreographer.getInstance().postFrameCallback(viewportFrameCallback);
+        }
+    }
+
+    private void flushViewportUpdate() {
+        if (viewportUpdatePending) {
+            Choreographer.getInstance().removeFrameCallback(viewportFrameCallback);
+            viewportUpdatePending = false;
+            applyViewportUpdate();
+        }
+    }
+
+    private void applyViewportUpdate() {
+        attachNearbySheets(getHeight(), false);
+        applyViewportToChildren();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        flushViewportUpdate();
+    }
+
     private void updateContentBounds() {
         float maxWidth = 0f;
         float totalHeight = 0f;
 
+        if (sheetProvider != null) {
+            for (int width : sheetWidths) {
+                maxWidth = Math.max(maxWidth, width);
+            }
+            contentWidth = maxWidth;
+            contentHeight = getStackHeight();
+            return;
+        }
+
         for (int i = 0; i < getChildCount(); i++) {
             View child = getChildAt(i);
             if (!(child instanceof FixedHeaderTableLayout) || child.getVisibility() == GONE) {
@@ -290,31 +684,67 @@ public class FixedHeaderTableContainer extends ViewGroup {
     }
 
     private void clampPan() {
-        float viewWidth = getWidth();
-        float viewHeight = getHeight();
+        globalPanX = clampPanX(globalPanX);
+        globalPanY = clampPanY(globalPanY);
+    }
 
+    private float clampPanX(float panX) {
         float scaledWidth = contentWidth * globalScale;
-        float scaledHeight = contentHeight * globalScale;
-
-        float minPanX = Math.min(0f, viewWidth - scaledWidth) - OVERSCROLL_MARGIN;
+        float minPanX = Math.min(0f, getWidth() - scaledWidth) - OVERSCROLL_MARGIN;
         float maxPanX = OVERSCROLL_MARGIN;
+        return Math.max(minPanX, Math.min(maxPanX, panX));
+    }
 
-        float minPanY = Math.min(0f, viewHeight - scaledHeight) - OVERSCROLL_MARGIN;
+    private float clampPanY(float panY) {
+        float scaledHeight = contentHeight * globalScale;
+        float minPanY = Math.min(0f, getHeight() - scaledHeight) - OVERSCROLL_MARGIN;
         float maxPanY = OVERSCROLL_MARGIN;
-
-        if (globalPanX < minPanX) globalPanX = minPanX;
-        if (globalPanX > maxPanX) globalPanX = maxPanX;
-
-        if (globalPanY < minPanY) globalPanY = minPanY;
-        if (globalPanY > maxPanY) globalPanY = maxPanY;
+        return Math.max(minPanY, Math.min(maxPanY, panY));
     }
 
     private void applyViewport(FixedHeaderTableLayout table) {
         table.setExternalViewport(globalPanX, globalPanY, globalScale);
     }
 
+    // Only the subtables whose sheet overlaps the panned viewport are updated, found from the sheet
+    // offsets. Every viewport update and layout pushes the viewport to the sheets in range and once
+    // more to the sheets that have just left it, so a skipped sheet gets it once it comes back into
+    // view, setExternalViewport ignores a viewport a sheet already has.
     private void applyViewportToChildren() {
-        for (FixedHeaderTableLayout table : subtables) {
+        int count = sheetIndex.size();
+        if (getHeight() == 0 || count == 0) {
+            // Not laid out yet so every sheet gets the viewport
+            for (int i = 0; i < subtables.size(); i++) {
+                FixedHeaderTableLayout table = subtables.get(i);
+                if (table.getVisibility() != GONE) {
+                    applyViewport(table);
+                }
+            }
+            viewportFirstSheet = 0;
+            viewportLastSheet = -1;
+            return;
+        }
+        float viewportTop = -globalPanY / globalScale - getPaddingTop();
+        float viewportBottom = (getHeight() - globalPanY) / globalScale - getPaddingTop();
+        int first = sheetIndex.indexAt(viewportTop);
+        int last = sheetIndex.indexAt(viewportBottom);
+        for (int sheet = first; sheet <= last; sheet++) {
+            if (sheetIndex.getEnd(sheet) > viewportTop && sheetIndex.getStart(sheet) < viewportBottom) {
+                applyViewportToSheet(sheet);
+            }
+        }
+        for (int sheet = viewportFirstSheet; sheet <= viewportLastSheet && sheet < count; sheet++) {
+            if (sheet < first || sheet > last) {
+                applyViewportToSheet(sheet);
+            }
+        }
+        viewportFirstSheet = first;
+        viewportLastSheet = last;
+    }
+
+    private void applyViewportToSheet(int sheet) {
+        FixedHeaderTableLayout table = sheetProvider != null ? sheets[sheet] : subtables.get(sheet);
+        if (table != null && table.getVisibility() != GONE) {
             applyViewport(table);
         }
     }
@@ -26,8 +26,14 @@ package com.github.zardozz.FixedHeaderTableLayout;
 
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.database.DataSetObserver;
 import android.graphics.Canvas;
 import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.os.Parcel;
+import android.os.Parcelable;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.util.TypedValue;
@@ -37,8 +43,10 @@ import android.view.ScaleGestureDetector;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.widget.FrameLayout;
 import android.widget.OverScroller;
+import android.widget.TextView;
 import android.util.SparseIntArray;
 
 import androidx.annotation.NonNull;
@@ -46,6 +54,9 @@ import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureDetector.OnScaleGestureListener{
 
@@ -84,6 +95,17 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
     private final Matrix rowHeaderMatrix = new Matrix();
     private final Matrix mainMatrix = new Matrix();
 
+    // Inverses of the draw matrices, used to map touches back to the tables
+    private final Matrix inverseCornerMatrix = new Matrix();
+    private final Matrix inverseColumnHeaderMatrix = new Matrix();
+    private final Matrix inverseRowHeaderMatrix = new Matrix();
+    private final Matrix inverseMainMatrix = new Matrix();
+    private boolean inverseMatricesDirty = true;
+    // Scratch point so mapping touches does not allocate
+    private final float[] mappingPoint = new float[2];
+    // True once the children have been sent a cancel for the current gesture
+    private boolean childrenCancelled = false;
+
     private float panX = 0;
     private float panY = 0;
 
@@ -96,14 +118,103 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
     private int[] stickyColumnIndices = new int[] {0};
     private int activeStickyRow = 0;
     private int activeStickyColumn = 0;
-    private final ArrayList<Integer> rowTopPositions = new ArrayList<>();
-    private final ArrayList<Integer> columnLeftPositions = new ArrayList<>();
+    // Rows in view when the sticky column is drawn
+    private final CellRange stickyColumnRange = new CellRange();
+    // Heights of the mainTable rows and widths of its columns
+    private final AxisIndex rowIndex = new AxisIndex();
+    private final AxisIndex columnIndex = new AxisIndex();
+    // Column widths of the row header and corner tables
+    private final AxisIndex headerColumnIndex = new AxisIndex();
+    // Tallest cell of each row, shared by the tables on the same side
+    private final AxisIndex bodyRowHeights = new AxisIndex();
+    private final AxisIndex headerRowHeights = new AxisIndex();
 
     private int fixedHeaderRowCount = 1;
     private int fixedHeaderColumnCount = 1;
     private SparseIntArray columnWidthOverrides = new SparseIntArray();
+    // Column measurements shared with other tables that have the same columns
+    private TableSchema tableSchema = null;
+    // How the column widths are worked out in addViews, null to measure every cell
+    private ColumnWidthStrategy columnWidthStrategy = null;
+
+    // Geometry from importLayout, used by the next addViews instead of measuring the cells
+    private TableLayoutCache importedLayout = null;
+    // Hash of the data given to setLayoutDataHash or importLayout, the layout is only saved with the
+    // instance state once the caller has given one
+    private long layoutDataHash = 0;
+    private boolean hasLayoutDataHash = false;
+    // Set when a pan was imported before the bounds or the size of the Layout were known
+    private boolean clampPanOnLayout = false;
+    // Body rows laid out from an imported layout or estimated sizes whose cells have not been measured yet
+    private BitSet unvalidatedRows = null;
+    private boolean headersUnvalidated = false;
+
+    // Nesting depth of batch updates, while above 0 layout requests and mutation follow ups wait for the end
+    private int batchDepth = 0;
+    private boolean layoutRequestedInBatch = false;
+    private boolean mutatedInBatch = false;
+    private boolean columnsChangedInBatch = false;
+    private boolean headerColumnsChangedInBatch = false;
+    // Columns to fit to their widest cell at the end of the batch
+    private BitSet batchRefitColumns = new BitSet();
+    private BitSet batchRefitHeaderColumns = new BitSet();
+    // Cells at the width of each column, a column is only fitted again when the last of them shrinks
+    private final WidestCellCounts widestColumnCells = new WidestCellCounts();
+    private final WidestCellCounts widestHeaderColumnCells = new WidestCellCounts();
+
+    private boolean fixedCellSizes = false;
+    // Created with the Layout so any thread gets the same queue without locking the View
+    private final CellUpdateQueue cellUpdateQueue = new CellUpdateQueue(this);
+
+    // Extra columns attached either side of the viewport when column windowing
+    private static final int OVERSCAN_COLUMNS = 1;
+    private boolean columnWindowing = false;
+
+    // Draws the panes from bitmap tiles when set
+    private PaneTileCache tileCache = null;
+    private long tileCacheMaxBytes = Runtime.getRuntime().maxMemory() / 8;
+    // Region of a pane invalidated by one of its rows or cells
+    private final Rect tileInvalidRect = new Rect();
+    // Scale level of the tiles, held while a pinch is in progress
+    private int tileLevel = 0;
+    private boolean scaling = false;
+
+    private FixedHeaderTableAdapter adapter;
+    private AdapterTableBinder adapterBinder;
+    private FixedHeaderRecycledViewPool recycledViewPool = new FixedHeaderRecycledViewPool();
+    private final DataSetObserver adapterObserver = new DataSetObserver() {
+        @Override
+        public void onChanged() {
+            populateFromAdapter();
+        }
+
+        @Override
+        public void onInvalidated() {
+            populateFromAdapter();
+        }
+    };
+
+    // Values shown by the main table, the snapshot is the version the cells were last updated to
+    private TableDataModel dataModel = null;
+    private TableDataModel.Snapshot dataSnapshot = null;
+    private final AtomicBoolean dataModelApplyScheduled = new AtomicBoolean(false);
+    private final TableDataModel.OnChangeListener dataModelListener = new TableDataModel.OnChangeListener() {
+        @Override
+        public void onModelChanged(@NonNull TableDataModel model, long version) {
+            // Called on the committing thread, the cells are updated on the next frame
+            scheduleDataModelApply();
+        }
+    };
+    private final Runnable dataModelApplyRunnable = new Runnable() {
+        @Override
+        public void run() {
+            applyDataModel();
+        }
+    };
 
     private static final String LOG_TAG = FixedHeaderTableLayout.class.getSimpleName();
+    // Set to true to log the pan and scale calculations, kept off so touch handling does not build strings
+    private static final boolean DEBUG = false;
 
 
     public FixedHeaderTableLayout(Context context) {
@@ -203,6 +314,159 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
         return bottomBound;
     }
 
+    /**
+     * Find the mainTable row at a point of this View, taking the pan and scale into account.
+     *
+     * @param y the y coordinate in this View
+     * @return the row index or -1 if the point is not over a mainTable row
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int rowAt(float y) {
+        float effectiveScale = getEffectiveScale();
+        if (y < getMainTableTop() * effectiveScale) {
+            // Over the column header
+            return -1;
+        }
+        return rowAtContent((y - getEffectivePanY()) / effectiveScale - getMainTableTop());
+    }
+
+    /**
+     * Find the mainTable column at a point of this View, taking the pan and scale into account.
+     *
+     * @param x the x coordinate in this View
+     * @return the column index or -1 if the point is not over a mainTable column
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int columnAt(float x) {
+        float effectiveScale = getEffectiveScale();
+        if (x < getMainTableLeft() * effectiveScale) {
+            // Over the row header
+            return -1;
+        }
+        return columnAtContent((x - getEffectivePanX()) / effectiveScale - getMainTableLeft());
+    }
+
+    /**
+     * @param y the unscaled y offset from the top of the mainTable
+     * @return the row index or -1 if the offset is outside the mainTable
+     */
+    public int rowAtContent(float y) {
+        if (y < 0 || y >= rowIndex.getTotal()) {
+            return -1;
+        }
+        return rowIndex.indexAt(y);
+    }
+
+    /**
+     * @param x the unscaled x offset from the left of the mainTable
+     * @return the column index or -1 if the offset is outside the mainTable
+     */
+    public int columnAtContent(float x) {
+        if (x < 0 || x >= columnIndex.getTotal()) {
+            return -1;
+        }
+        return columnIndex.indexAt(x);
+    }
+
+    /**
+     * Get the bounds of a mainTable cell in the unscaled coordinates of the mainTable.
+     *
+     * @param row the row index
+     * @param column the column index
+     * @param out the Rect to fill or null to allocate one
+     * @return the bounds or null if the cell does not exist
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public Rect cellContentBounds(int row, int column, @Nullable Rect out) {
+        if (row < 0 || row >= rowIndex.size() || column < 0 || column >= columnIndex.size()) {
+            return null;
+        }
+        if (out == null) {
+            out = new Rect();
+        }
+        out.set(columnIndex.getStart(column), rowIndex.getStart(row), columnIndex.getEnd(column), rowIndex.getEnd(row));
+        return out;
+    }
+
+    /**
+     * Get the bounds of a mainTable cell in the coordinates of this View, taking the pan and
+     * scale into account. The cell may be partly or fully hidden by the headers or off screen.
+     *
+     * @param row the row index
+     * @param column the column index
+     * @param out the RectF to fill or null to allocate one
+     * @return the bounds or null if the cell does not exist
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public RectF cellBounds(int row, int column, @Nullable RectF out) {
+        if (row < 0 || row >= rowIndex.size() || column < 0 || column >= columnIndex.size()) {
+            return null;
+        }
+        if (out == null) {
+            out = new RectF();
+        }
+        float effectiveScale = getEffectiveScale();
+        float left = getMainTableLeft();
+        float top = getMainTableTop();
+        out.set((left + columnIndex.getStart(column)) * effectiveScale + getEffectivePanX(),
+                (top + rowIndex.getStart(row)) * effectiveScale + getEffectivePanY(),
+                (left + columnIndex.getEnd(column)) * effectiveScale + getEffectivePanX(),
+                (top + rowIndex.getEnd(row)) * effectiveScale + getEffectivePanY());
+        return out;
+    }
+
+    /**
+     * Get the mainTable rows and columns that are at least partly visible
+     * outside of the headers.
+     *
+     * @param out the CellRange to fill or null to allocate one
+     * @return the visible range, empty if there is nothing visible
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    @NonNull
+    public CellRange visibleRange(@Nullable CellRange out) {
+        if (out == null) {
+            out = new CellRange();
+        }
+        if (rowIndex.size() == 0 || columnIndex.size() == 0) {
+            out.set(0, 0, -1, -1);
+            return out;
+        }
+        float effectiveScale = getEffectiveScale();
+        float left = -getEffectivePanX() / effectiveScale;
+        float top = -getEffectivePanY() / effectiveScale;
+        float right = (getWidth() - getEffectivePanX()) / effectiveScale - getMainTableLeft();
+        float bottom = (getHeight() - getEffectivePanY()) / effectiveScale - getMainTableTop();
+        out.set(rowIndex.indexAt(top), columnIndex.indexAt(left),
+                lastIndexBefore(rowIndex, bottom), lastIndexBefore(columnIndex, right));
+        return out;
+    }
+
+    // The last index that starts before the offset
+    private static int lastIndexBefore(AxisIndex index, float offset) {
+        int last = index.indexAt(offset);
+        if (last > 0 && index.getStart(last) >= offset) {
+            last--;
+        }
+        return last;
+    }
+
+    private int getMainTableLeft() {
+        if (mainTable == null) {
+            return 0;
+        }
+        return getPaddingLeft() + ((MarginLayoutParams) mainTable.getLayoutParams()).leftMargin;
+    }
+
+    private int getMainTableTop() {
+        if (mainTable == null) {
+            return 0;
+        }
+        return getPaddingTop() + ((MarginLayoutParams) mainTable.getLayoutParams()).topMargin;
+    }
+
     /**
      * Enable external viewport control so that this table no longer consumes gestures and instead
      * renders based on coordinates provided via {@link #setExternalViewport(float, float, float)}.
@@ -219,11 +483,15 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
      * {@link #useExternalViewport}.
      */
     public void setExternalViewport(float panX, float panY, float scaleFactor) {
+        if (panX == externalPanX && panY == externalPanY && scaleFactor == externalScaleFactor) {
+            return;
+        }
         this.externalPanX = panX;
         this.externalPanY = panY;
         this.externalScaleFactor = scaleFactor;
         markMatricesDirty();
         updateStickyHeaders();
+        updateVisibleWindow();
         invalidate();
     }
 
@@ -243,185 +511,1816 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
     }
 
     @SuppressWarnings({"UnusedDeclaration"})
-    public int getFixedHeaderColumnCount() {
-        return fixedHeaderColumnCount;
+    public int getFixedHeaderColumnCount() {
+        return fixedHeaderColumnCount;
+    }
+
+    /**
+     * Populate the Layout from an adapter instead of prebuilt sub tables.
+     * Only the rows that intersect the viewport are created in the main and row header tables,
+     * their cell Views are recycled through the {@link FixedHeaderRecycledViewPool} as the table pans.
+     * The first {@link #getFixedHeaderRowCount()} rows and {@link #getFixedHeaderColumnCount()}
+     * columns of the adapter are shown in the fixed headers, so set these before the adapter.
+     *
+     * @param adapter the adapter providing the cells or null to remove the tables
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setAdapter(@Nullable FixedHeaderTableAdapter adapter) {
+        if (this.adapter != null) {
+            this.adapter.unregisterDataSetObserver(adapterObserver);
+        }
+        this.adapter = adapter;
+        if (adapter == null) {
+            releaseAdapterBinder();
+            removeAllViews();
+            mainTable = null;
+            columnHeaderTable = null;
+            rowHeaderTable = null;
+            cornerTable = null;
+            return;
+        }
+        adapter.registerDataSetObserver(adapterObserver);
+        populateFromAdapter();
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public FixedHeaderTableAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Set the pool cell Views are recycled through when using an adapter,
+     * the same pool can be shared by tables that use the same view types.
+     *
+     * @param pool the pool to use
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setRecycledViewPool(@NonNull FixedHeaderRecycledViewPool pool) {
+        if (pool == recycledViewPool) {
+            return;
+        }
+        this.recycledViewPool = pool;
+        if (adapter != null) {
+            populateFromAdapter();
+        }
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public FixedHeaderRecycledViewPool getRecycledViewPool() {
+        return recycledViewPool;
+    }
+
+    /**
+     * Show the values of a model in the main table. Threads commit changes to the model without
+     * waiting for the main thread, once per frame the Layout takes the latest snapshot and updates only the
+     * cells changed since the snapshot it showed before, fitting their rows and columns in one batch update.
+     * <p>
+     * Without an adapter the value becomes the text of the {@link TableCell} or TextView of the cell,
+     * with {@link #setFixedCellSizes(boolean)} the cells keep their size. Rows inserted into or removed from
+     * the model are inserted into or removed from the tables, new rows hold TableCells when the main table
+     * has rendered cells and TextViews otherwise. With an adapter the changed cells are bound again, read
+     * the values in {@link FixedHeaderTableAdapter#onBindView} from {@link #getDataSnapshot()}, and
+     * inserted or removed rows notify the adapter.
+     *
+     * @param dataModel the model with a row and column for each main table cell or null to stop following it
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setDataModel(@Nullable TableDataModel dataModel) {
+        if (this.dataModel != null) {
+            this.dataModel.removeOnChangeListener(dataModelListener);
+        }
+        this.dataModel = dataModel;
+        dataSnapshot = null;
+        if (dataModel != null) {
+            dataModel.addOnChangeListener(dataModelListener);
+            scheduleDataModelApply();
+        }
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public TableDataModel getDataModel() {
+        return dataModel;
+    }
+
+    /**
+     * @return the snapshot of the data model the cells show, the same for every cell bound in a frame,
+     * or null without a data model
+     */
+    @Nullable
+    public TableDataModel.Snapshot getDataSnapshot() {
+        if (dataSnapshot == null && dataModel != null) {
+            // Cells bound before the first update show this version
+            dataSnapshot = dataModel.getSnapshot();
+        }
+        return dataSnapshot;
+    }
+
+    private void scheduleDataModelApply() {
+        if (dataModelApplyScheduled.compareAndSet(false, true)) {
+            postOnAnimation(dataModelApplyRunnable);
+        }
+    }
+
+    // Update the cells that changed between the shown snapshot and the latest one
+    private void applyDataModel() {
+        dataModelApplyScheduled.set(false);
+        if (dataModel == null || mainTable == null) {
+            return;
+        }
+        TableDataModel.Snapshot snapshot = dataModel.getSnapshot();
+        if (dataSnapshot != null && dataSnapshot.getVersion() == snapshot.getVersion()) {
+            return;
+        }
+        TableDataModel.Diff diff = dataSnapshot == null ? null : snapshot.diffSince(dataSnapshot.getVersion());
+        dataSnapshot = snapshot;
+        boolean full = diff == null || diff.isFull();
+        if (adapter != null && (full || diff.getRowChangeCount() > 0)) {
+            adapter.notifyDataSetChanged();
+            return;
+        }
+        beginBatchUpdate();
+        try {
+            if (full) {
+                applyFullDataModel(snapshot);
+            } else {
+                for (int i = 0; i < diff.getRowChangeCount(); i++) {
+                    applyDataModelRows(diff.getRowChangePosition(i), diff.getRowChangeDelta(i), snapshot.getColumnCount());
+                }
+                CellRange visible = visibleRange(null);
+                for (int i = 0; i < diff.getCellCount(); i++) {
+                    applyDataModelCell(snapshot, diff.getRow(i), diff.getColumn(i), visible);
+                }
+            }
+        } finally {
+            endBatchUpdate();
+        }
+    }
+
+    // Show every value of the snapshot. The rows are fitted as they come into view rather than cell by cell
+    private void applyFullDataModel(TableDataModel.Snapshot snapshot) {
+        int rowCount = mainTable.getChildCount();
+        if (snapshot.getRowCount() != rowCount) {
+            applyDataModelRows(Math.min(rowCount, snapshot.getRowCount()), snapshot.getRowCount() - rowCount,
+                    snapshot.getColumnCount());
+        }
+        CellRange visible = visibleRange(null);
+        int rows = Math.min(snapshot.getRowCount(), mainTable.getChildCount());
+        // The cells change without their columns being fitted
+        widestColumnCells.clear();
+        int columns = Math.min(snapshot.getColumnCount(), columnIndex.size());
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                setCellValue(row, column, snapshot.get(row, column), visible.contains(row, column));
+            }
+        }
+        if (!fixedCellSizes && rows > 0) {
+            if (unvalidatedRows == null) {
+                unvalidatedRows = new BitSet(rows);
+            }
+            unvalidatedRows.set(0, rows);
+            requestLayout();
+        }
+    }
+
+    // Insert or remove the rows of the tables the model inserted or removed
+    private void applyDataModelRows(int position, int delta, int columnCount) {
+        int rowCount = mainTable.getChildCount();
+        if (delta < 0) {
+            int count = Math.min(-delta, rowCount - position);
+            if (count > 0) {
+                removeRows(position, count);
+            }
+        } else if (delta > 0 && position <= rowCount) {
+            List<FixedHeaderTableRow> rows = new ArrayList<>(delta);
+            for (int i = 0; i < delta; i++) {
+                rows.add(createDataModelRow(columnCount));
+            }
+            insertRows(position, rows, null);
+        }
+    }
+
+    // An empty row of the same kind of cells as the main table
+    private FixedHeaderTableRow createDataModelRow(int columnCount) {
+        FixedHeaderTableRow row = new FixedHeaderTableRow(getContext());
+        boolean rendered = mainTable.getChildCount() > 0
+                ? ((FixedHeaderTableRow) mainTable.getChildAt(0)).isRendered()
+                : columnHeaderTable.getChildCount() > 0 && ((FixedHeaderTableRow) columnHeaderTable.getChildAt(0)).isRendered();
+        if (rendered) {
+            TableCell[] cells = new TableCell[columnCount];
+            for (int column = 0; column < columnCount; column++) {
+                cells[column] = new TableCell("");
+            }
+            row.setCells(cells);
+        } else {
+            for (int column = 0; column < columnCount; column++) {
+                row.addView(new TextView(getContext()));
+            }
+        }
+        return row;
+    }
+
+    private void applyDataModelCell(TableDataModel.Snapshot snapshot, int row, int column, CellRange visible) {
+        if (adapterBinder != null) {
+            adapterBinder.rebindCell(row, column);
+            return;
+        }
+        if (setCellValue(row, column, snapshot.get(row, column), visible.contains(row, column)) && !fixedCellSizes) {
+            // Fitted with the other changed cells at the end of the batch
+            updateCell(row, column);
+        }
+    }
+
+    private void populateFromAdapter() {
+        releaseAdapterBinder();
+        removeAllViews();
+        // The new tables show the default sticky row and column
+        activeStickyRow = stickyRowIndices[0];
+        activeStickyColumn = stickyColumnIndices[0];
+
+        adapterBinder = new AdapterTableBinder(getContext(), adapter, recycledViewPool, rowIndex, columnIndex,
+                headerColumnIndex);
+        adapterBinder.setColumnWindowing(columnWindowing);
+        adapterBinder.build(fixedHeaderRowCount, fixedHeaderColumnCount);
+
+        // Rows have a fixed geometry so a single measure is enough to size the tables
+        int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        adapterBinder.getMainTable().measure(measureSpec, measureSpec);
+        adapterBinder.getColumnHeaderTable().measure(measureSpec, measureSpec);
+        adapterBinder.getRowHeaderTable().measure(measureSpec, measureSpec);
+        adapterBinder.getCornerTable().measure(measureSpec, measureSpec);
+
+        attachSubTables(adapterBinder.getMainTable(), adapterBinder.getColumnHeaderTable(),
+                adapterBinder.getRowHeaderTable(), adapterBinder.getCornerTable());
+        updateVisibleWindow();
+    }
+
+    private void releaseAdapterBinder() {
+        if (adapterBinder != null) {
+            adapterBinder.releaseAll();
+            adapterBinder = null;
+        }
+    }
+
+    /**
+     * Only attach the cells of the main and column header tables whose columns are inside the
+     * viewport, cells of newly visible columns are attached as the table pans.
+     * This saves measuring and drawing off screen cells of very wide tables.
+     *
+     * @param enabled true to window the columns
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setColumnWindowingEnabled(boolean enabled) {
+        if (columnWindowing == enabled) {
+            return;
+        }
+        columnWindowing = enabled;
+        if (adapter != null) {
+            // Only the visible rows exist so rebinding them is cheap
+            populateFromAdapter();
+            return;
+        }
+        if (enabled) {
+            enableColumnWindows(mainTable);
+            enableColumnWindows(columnHeaderTable);
+            buildColumnLeftPositions();
+            updateVisibleWindow();
+            pinStickySources();
+        } else {
+            disableColumnWindows(mainTable);
+            disableColumnWindows(columnHeaderTable);
+        }
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public boolean isColumnWindowingEnabled() {
+        return columnWindowing;
+    }
+
+    /**
+     * Draw the panes from bitmap tiles rendered at a few fixed scales, so panning and zooming
+     * composites the tiles instead of drawing every visible cell each frame. Tiles are rendered
+     * again when the content of their pane changes or when a pinch ends at a new scale.
+     * The tiles are not used while the Layout is filled from an adapter or column windowing is on,
+     * as then only the cells near the viewport exist.
+     *
+     * @param enabled true to cache the panes in tiles
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setTileCacheEnabled(boolean enabled) {
+        if (enabled == (tileCache != null)) {
+            return;
+        }
+        if (enabled) {
+            tileCache = new PaneTileCache(tileCacheMaxBytes);
+        } else {
+            tileCache.clear();
+            tileCache = null;
+        }
+        updateCullRects();
+        invalidate();
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public boolean isTileCacheEnabled() {
+        return tileCache != null;
+    }
+
+    /**
+     * Set the memory the tiles may use, the least recently drawn tiles are released beyond it.
+     * The tiles needed for a single frame are kept even when they are over the budget.
+     *
+     * @param maxBytes the memory budget in bytes, an eighth of the maximum heap by default
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setTileCacheMaxBytes(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Tile cache size must not be negative");
+        }
+        tileCacheMaxBytes = maxBytes;
+        if (tileCache != null) {
+            tileCache.setMaxBytes(maxBytes);
+        }
+    }
+
+    private boolean isTileCacheActive() {
+        return tileCache != null && adapterBinder == null && !columnWindowing;
+    }
+
+    private int getPaneIndex(View child) {
+        if (child == mainTable) {
+            return 0;
+        } else if (child == columnHeaderTable) {
+            return 1;
+        } else if (child == rowHeaderTable) {
+            return 2;
+        }
+        return 3;
+    }
+
+    @Override
+    public void onDescendantInvalidated(@NonNull View child, @NonNull View target) {
+        super.onDescendantInvalidated(child, target);
+        if (tileCache != null && !tileCache.isRendering()) {
+            if (target == child) {
+                tileCache.invalidatePane(getPaneIndex(child));
+            } else {
+                // Only the tiles under the invalidated row or cell are rendered again
+                tileInvalidRect.set(0, 0, target.getWidth(), target.getHeight());
+                for (View view = target; view != child; view = (View) view.getParent()) {
+                    tileInvalidRect.offset(view.getLeft(), view.getTop());
+                }
+                tileCache.invalidateRegion(getPaneIndex(child), tileInvalidRect);
+            }
+            // The tiles are drawn by this View so it has to draw again, not just the pane
+            invalidate();
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    @Override
+    public ViewParent invalidateChildInParent(int[] location, Rect dirty) {
+        // Before API 26 the dirty region arrives in the coordinates of the pane at the location
+        if (tileCache != null && !tileCache.isRendering()) {
+            boolean found = false;
+            for (int i = 0; i < getChildCount(); i++) {
+                View child = getChildAt(i);
+                if (child.getLeft() == location[0] && child.getTop() == location[1]) {
+                    tileCache.invalidateRegion(getPaneIndex(child), dirty);
+                    found = true;
+                }
+            }
+            if (!found) {
+                tileCache.invalidateAll();
+            }
+        }
+        return super.invalidateChildInParent(location, dirty);
+    }
+
+    @Override
+    protected Parcelable onSaveInstanceState() {
+        Parcelable superState = super.onSaveInstanceState();
+        if (!hasLayoutDataHash || mainTable == null || adapter != null) {
+            return superState;
+        }
+        SavedState savedState = new SavedState(superState);
+        savedState.dataHash = layoutDataHash;
+        savedState.layout = exportLayout(layoutDataHash);
+        return savedState;
+    }
+
+    @Override
+    protected void onRestoreInstanceState(Parcelable state) {
+        if (!(state instanceof SavedState)) {
+            super.onRestoreInstanceState(state);
+            return;
+        }
+        SavedState savedState = (SavedState) state;
+        super.onRestoreInstanceState(savedState.getSuperState());
+        // Tables added after the restore, as when they are built in the background, skip measuring
+        importLayout(savedState.layout, savedState.dataHash);
+    }
+
+    // The exported layout kept across configuration changes once the caller has given a data hash
+    static class SavedState extends BaseSavedState {
+        long dataHash;
+        byte[] layout;
+
+        SavedState(Parcelable superState) {
+            super(superState);
+        }
+
+        private SavedState(Parcel in) {
+            super(in);
+            dataHash = in.readLong();
+            layout = in.createByteArray();
+        }
+
+        @Override
+        public void writeToParcel(Parcel out, int flags) {
+            super.writeToParcel(out, flags);
+            out.writeLong(dataHash);
+            out.writeByteArray(layout);
+        }
+
+        public static final Parcelable.Creator<SavedState> CREATOR = new Parcelable.Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (tileCache != null) {
+            // Rendered again when next drawn
+            tileCache.clear();
+        }
+    }
+
+    private void enableColumnWindows(FixedHeaderSubTableLayout table) {
+        if (table == null) {
+            return;
+        }
+        for (int i = 0; i < table.getChildCount(); i++) {
+            ((FixedHeaderTableRow) table.getChildAt(i)).enableColumnWindow(null);
+        }
+    }
+
+    private void disableColumnWindows(FixedHeaderSubTableLayout table) {
+        if (table == null) {
+            return;
+        }
+        for (int i = 0; i < table.getChildCount(); i++) {
+            ((FixedHeaderTableRow) table.getChildAt(i)).disableColumnWindow();
+        }
+    }
+
+    // Attach the rows and columns that intersect the viewport
+    private void updateVisibleWindow() {
+        if (mainTable == null) {
+            return;
+        }
+        float effectiveScale = getEffectiveScale();
+        if (columnWindowing && columnIndex.size() > 0) {
+            float left = -getEffectivePanX() / effectiveScale;
+            float right = left + getWidth() / effectiveScale;
+            int first = Math.max(0, columnIndex.indexAt(left) - OVERSCAN_COLUMNS);
+            int last = columnIndex.indexAt(right) + OVERSCAN_COLUMNS;
+            if (adapterBinder != null) {
+                adapterBinder.setColumnWindow(first, last);
+            } else {
+                setColumnWindows(mainTable, first, last);
+                setColumnWindows(columnHeaderTable, first, last);
+            }
+        }
+        if (adapterBinder != null) {
+            float top = -getEffectivePanY() / effectiveScale;
+            float bottom = top + getHeight() / effectiveScale;
+            adapterBinder.updateWindow(top, bottom);
+        }
+        if (hasUnvalidatedRowsInView()) {
+            // Imported rows are measured before they are shown
+            requestLayout();
+        }
+        updateCullRects();
+    }
+
+    // Tell each pane which part of it is on screen so it only draws the rows and cells there
+    private void updateCullRects() {
+        if (getWidth() == 0 || getHeight() == 0) {
+            return;
+        }
+        if (isTileCacheActive()) {
+            // Tiles cover more than the screen so the panes draw all of their content into them
+            mainTable.clearCullRect();
+            columnHeaderTable.clearCullRect();
+            rowHeaderTable.clearCullRect();
+            return;
+        }
+        float effectiveScale = getEffectiveScale();
+        float effectivePanX = getEffectivePanX();
+        float effectivePanY = getEffectivePanY();
+        float headerRight = getHeaderRight();
+        float headerBottom = getHeaderBottom();
+        setPaneCullRect(mainTable, headerRight, headerBottom, getWidth(), getHeight(),
+                effectivePanX, effectivePanY, effectiveScale);
+        setPaneCullRect(columnHeaderTable, headerRight, 0, getWidth(), headerBottom,
+                effectivePanX, 0, effectiveScale);
+        setPaneCullRect(rowHeaderTable, 0, headerBottom, headerRight, getHeight(),
+                0, effectivePanY, effectiveScale);
+    }
+
+    // Map a screen region back through the pane matrix into the pane coordinates
+    private static void setPaneCullRect(FixedHeaderSubTableLayout pane, float left, float top, float right, float bottom,
+                                        float panX, float panY, float scale) {
+        pane.setCullRect((left - panX) / scale - pane.getLeft(), (top - panY) / scale - pane.getTop(),
+                (right - panX) / scale - pane.getLeft(), (bottom - panY) / scale - pane.getTop());
+    }
+
+    // Right edge of the row header panes on screen
+    private float getHeaderRight() {
+        return rowHeaderTable.getRight() * getEffectiveScale();
+    }
+
+    // Bottom edge of the column header panes on screen
+    private float getHeaderBottom() {
+        return columnHeaderTable.getBottom() * getEffectiveScale();
+    }
+
+    private void setColumnWindows(FixedHeaderSubTableLayout table, int first, int last) {
+        for (int i = 0; i < table.getChildCount(); i++) {
+            ((FixedHeaderTableRow) table.getChildAt(i)).setColumnWindow(first, last);
+        }
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setColumnWidthOverrides(SparseIntArray columnWidthOverrides) {
+        if (columnWidthOverrides == null) {
+            this.columnWidthOverrides = new SparseIntArray();
+        } else {
+            this.columnWidthOverrides = columnWidthOverrides;
+        }
+    }
+
+    /**
+     * Export the negotiated column widths and row heights, the sticky indices and the viewport so a
+     * later {@link #importLayout(byte[], long)} can skip measuring the cells.
+     *
+     * @param dataHash a hash of the data the tables were built from, chosen by the caller
+     * @return the layout as compact versioned bytes
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    @NonNull
+    public byte[] exportLayout(long dataHash) {
+        return new TableLayoutCache(dataHash, toArray(columnIndex), toArray(headerColumnIndex),
+                toArray(bodyRowHeights), toArray(headerRowHeights),
+                stickyRowIndices.clone(), stickyColumnIndices.clone(),
+                getEffectivePanX(), getEffectivePanY(), getEffectiveScale()).toBytes();
+    }
+
+    /**
+     * Import a layout written by {@link #exportLayout(long)}. The sticky indices and viewport are
+     * applied straight away. Call before
+     * {@link #addViews(FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout)}
+     * and, if the tables have the same number of rows and cells, it uses the imported sizes instead
+     * of measuring every cell. The cells of each row are only measured when the row first comes into
+     * view, a column or row that turns out to be too small then grows.
+     *
+     * @param data the bytes from {@link #exportLayout(long)}
+     * @param dataHash a hash of the data the tables are being built from
+     * @return false if the bytes are from another version of the library, for other data or damaged
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public boolean importLayout(@NonNull byte[] data, long dataHash) {
+        TableLayoutCache cache = TableLayoutCache.fromBytes(data, dataHash);
+        if (cache == null) {
+            return false;
+        }
+        setLayoutDataHash(dataHash);
+        if (mainTable == null) {
+            importedLayout = cache;
+        }
+        setStickyRowIndices(cache.stickyRowIndices);
+        setStickyColumnIndices(cache.stickyColumnIndices);
+        scaleFactor = Math.max(minScale, Math.min(cache.scaleFactor, maxScale));
+        // The bounds at the imported scale, so the pan is clamped to them and not the old scale
+        scaledRightBound = rightBound * scaleFactor;
+        scaledBottomBound = bottomBound * scaleFactor;
+        panX = cache.panX;
+        panY = cache.panY;
+        if (mainTable != null && getWidth() > 0) {
+            calculatePanScale(0, 0, 0, 0, 1f);
+        } else {
+            // The bounds or the size are not known yet, the pan is clamped once laid out
+            clampPanOnLayout = true;
+            markMatricesDirty();
+            updateStickyHeaders();
+            updateVisibleWindow();
+            invalidate();
+        }
+        return true;
+    }
+
+    /**
+     * Keep the layout across configuration changes, exported with the hash of the data the
+     * tables were built from. {@link #importLayout(byte[], long)} sets the hash it is given.
+     *
+     * @param dataHash a hash of the data the tables are built from
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setLayoutDataHash(long dataHash) {
+        layoutDataHash = dataHash;
+        hasLayoutDataHash = true;
+    }
+
+    private static int[] toArray(AxisIndex axis) {
+        int[] sizes = new int[axis.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = axis.getSize(i);
+        }
+        return sizes;
+    }
+
+    /**
+     * Share column measurements with other tables that have the same columns, set before
+     * {@link #addViews(FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout)}.
+     * Cells that cannot widen their column are not measured, see {@link TableSchema}.
+     *
+     * @param tableSchema the schema or null to measure every cell
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setTableSchema(@Nullable TableSchema tableSchema) {
+        this.tableSchema = tableSchema;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public TableSchema getTableSchema() {
+        return tableSchema;
+    }
+
+    /**
+     * Choose how the column widths are worked out, set before
+     * {@link #addViews(FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout)}.
+     * A sampling strategy measures only some of the body rows, see {@link ColumnWidthStrategy}.
+     *
+     * @param columnWidthStrategy the strategy or null to measure every cell
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setColumnWidthStrategy(@Nullable ColumnWidthStrategy columnWidthStrategy) {
+        this.columnWidthStrategy = columnWidthStrategy;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public ColumnWidthStrategy getColumnWidthStrategy() {
+        return columnWidthStrategy;
+    }
+
+    /**
+     * Configure the row indices that should become sticky. The highest index that has scrolled past
+     * the top of the viewport will be used as the active sticky row.
+     */
+    public void setStickyRowIndices(int... indices) {
+        if (indices == null || indices.length == 0) {
+            stickyRowIndices = new int[] {0};
+        } else {
+            Arrays.sort(indices);
+            stickyRowIndices = indices;
+        }
+        updateStickyHeaders();
+        pinStickySources();
+        invalidate();
+    }
+
+    /**
+     * Configure the column indices that should become sticky. The highest index that has scrolled
+     * past the left of the viewport will be used as the active sticky column.
+     */
+    public void setStickyColumnIndices(int... indices) {
+        if (indices == null || indices.length == 0) {
+            stickyColumnIndices = new int[] {0};
+        } else {
+            Arrays.sort(indices);
+            stickyColumnIndices = indices;
+        }
+        updateStickyHeaders();
+        pinStickySources();
+        invalidate();
+    }
+
+    /**
+     * Add the four tables that make up the Layout
+     *
+     * @param mainTable the mainTable
+     * @param columnHeaderTable the columnHeaderTable
+     * @param rowHeaderTable the rowHeaderTable
+     * @param cornerTable the cornerTable
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void addViews(FixedHeaderSubTableLayout mainTable, FixedHeaderSubTableLayout columnHeaderTable,
+                         FixedHeaderSubTableLayout rowHeaderTable, FixedHeaderSubTableLayout cornerTable){
+
+        // The rows need to know their merged cells before any of them are measured
+        mainTable.applyMergedRegions();
+        columnHeaderTable.applyMergedRegions();
+        rowHeaderTable.applyMergedRegions();
+        cornerTable.applyMergedRegions();
+
+        TableLayoutCache cache = importedLayout;
+        importedLayout = null;
+        if (cache != null && fitsTables(cache, mainTable, columnHeaderTable, rowHeaderTable, cornerTable)) {
+            addViewsFromCache(mainTable, columnHeaderTable, rowHeaderTable, cornerTable, cache);
+            return;
+        }
+        unvalidatedRows = null;
+        headersUnvalidated = false;
+
+        if (tableSchema != null) {
+            Utils.setColumnSamples(mainTable, tableSchema.rightColumns);
+            Utils.setColumnSamples(columnHeaderTable, tableSchema.rightColumns);
+            Utils.setColumnSamples(rowHeaderTable, tableSchema.leftColumns);
+            Utils.setColumnSamples(cornerTable, tableSchema.leftColumns);
+        }
+
+        // Need to measure all Tables to full (UNSPECIFIED) size
+        int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        int bodyRowCount = mainTable.getChildCount();
+        int[] rightEstimates = null;
+        int[] leftEstimates = null;
+        if (columnWidthStrategy != null && columnWidthStrategy.isSampling(bodyRowCount)
+                && rowHeaderTable.getChildCount() == bodyRowCount) {
+            // Only the sampled body rows are measured, the others take the estimates
+            int[] sampledRows = columnWidthStrategy.sampleRows(bodyRowCount);
+            rightEstimates = measureSampledRows(mainTable, sampledRows, true);
+            leftEstimates = measureSampledRows(rowHeaderTable, sampledRows, false);
+            int rowHeight = getMedianRowHeight(mainTable, rowHeaderTable, sampledRows);
+            applyEstimatedSizes(mainTable, sampledRows, rightEstimates, rowHeight);
+            applyEstimatedSizes(rowHeaderTable, sampledRows, leftEstimates, rowHeight);
+            // Every row is checked against the estimates when it comes into view
+            unvalidatedRows = new BitSet(bodyRowCount);
+            unvalidatedRows.set(0, bodyRowCount);
+        } else {
+            //Log.d(LOG_TAG, "mainTable:preMeasure");
+            mainTable.measure(measureSpec, measureSpec);
+            //Log.d(LOG_TAG, "rowHeaderTable:preMeasure");
+            rowHeaderTable.measure(measureSpec, measureSpec);
+        }
+        //Log.d(LOG_TAG, "columnHeaderTable:preMeasure");
+        columnHeaderTable.measure(measureSpec, measureSpec);
+        //Log.d(LOG_TAG, "cornerTable:preMeasure");
+        cornerTable.measure(measureSpec, measureSpec);
+
+        if (tableSchema != null) {
+            // Later changes to single cells measure them fully again
+            Utils.setColumnSamples(mainTable, null);
+            Utils.setColumnSamples(columnHeaderTable, null);
+            Utils.setColumnSamples(rowHeaderTable, null);
+            Utils.setColumnSamples(cornerTable, null);
+        }
+
+        // Merge of the widths and height to align all the table rows
+        // The right side columns are shared by mainTable and columnHeaderTable
+        if (rightEstimates != null) {
+            setAxis(columnIndex, rightEstimates);
+        } else {
+            columnIndex.clear();
+            Utils.mergeColumnWidths(columnIndex, mainTable);
+        }
+        Utils.mergeColumnWidths(columnIndex, columnHeaderTable);
+        if (tableSchema != null && tableSchema.isAlignColumns()) {
+            tableSchema.rightColumns.alignColumns(columnIndex);
+        }
+        Utils.applyColumnOverrides(columnWidthOverrides, columnIndex);
+        // The left side columns are shared by rowHeaderTable and cornerTable
+        if (leftEstimates != null) {
+            setAxis(headerColumnIndex, leftEstimates);
+        } else {
+            headerColumnIndex.clear();
+            Utils.mergeColumnWidths(headerColumnIndex, rowHeaderTable);
+        }
+        Utils.mergeColumnWidths(headerColumnIndex, cornerTable);
+        if (tableSchema != null && tableSchema.isAlignColumns()) {
+            tableSchema.leftColumns.alignColumns(headerColumnIndex);
+        }
+        Utils.applyColumnOverrides(columnWidthOverrides, headerColumnIndex);
+        // The bottom side rows are shared by mainTable and rowHeaderTable
+        bodyRowHeights.clear();
+        Utils.mergeRowHeights(bodyRowHeights, mainTable);
+        Utils.mergeRowHeights(bodyRowHeights, rowHeaderTable);
+        // The top side rows are shared by columnHeaderTable and cornerTable
+        headerRowHeights.clear();
+        Utils.mergeRowHeights(headerRowHeights, columnHeaderTable);
+        Utils.mergeRowHeights(headerRowHeights, cornerTable);
+
+        applySizeModelsAndAttach(mainTable, columnHeaderTable, rowHeaderTable, cornerTable);
+    }
+
+    /**
+     * Add the four tables that make up the Layout using sizes precomputed by a
+     * {@link FixedHeaderTablePrecomputer}, none of the cells are measured at their natural size.
+     * <p>
+     * The tables must have the same number of rows and cells as the text the snapshot was computed from.
+     *
+     * @param mainTable the mainTable
+     * @param columnHeaderTable the columnHeaderTable
+     * @param rowHeaderTable the rowHeaderTable
+     * @param cornerTable the cornerTable
+     * @param snapshot the precomputed sizes of the cells
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void addViews(FixedHeaderSubTableLayout mainTable, FixedHeaderSubTableLayout columnHeaderTable,
+                         FixedHeaderSubTableLayout rowHeaderTable, FixedHeaderSubTableLayout cornerTable,
+                         @NonNull FixedHeaderTableLayoutSnapshot snapshot) {
+        applyNaturalSizes(mainTable, snapshot, FixedHeaderTableLayoutSnapshot.MAIN_TABLE);
+        applyNaturalSizes(columnHeaderTable, snapshot, FixedHeaderTableLayoutSnapshot.COLUMN_HEADER_TABLE);
+        applyNaturalSizes(rowHeaderTable, snapshot, FixedHeaderTableLayoutSnapshot.ROW_HEADER_TABLE);
+        applyNaturalSizes(cornerTable, snapshot, FixedHeaderTableLayoutSnapshot.CORNER_TABLE);
+
+        // The negotiation was done with the measuring, only the overrides are left to apply
+        setAxis(columnIndex, snapshot.rightColumnWidths);
+        setAxis(headerColumnIndex, snapshot.leftColumnWidths);
+        if (tableSchema != null && tableSchema.isAlignColumns()) {
+            tableSchema.rightColumns.alignColumns(columnIndex);
+            tableSchema.leftColumns.alignColumns(headerColumnIndex);
+        }
+        Utils.applyColumnOverrides(columnWidthOverrides, columnIndex);
+        Utils.applyColumnOverrides(columnWidthOverrides, headerColumnIndex);
+        setAxis(bodyRowHeights, snapshot.bottomRowHeights);
+        setAxis(headerRowHeights, snapshot.topRowHeights);
+
+        applySizeModelsAndAttach(mainTable, columnHeaderTable, rowHeaderTable, cornerTable);
+    }
+
+    // Use the imported sizes as the natural sizes of the cells, the rows are checked as they come into view
+    private void addViewsFromCache(FixedHeaderSubTableLayout mainTable, FixedHeaderSubTableLayout columnHeaderTable,
+                                   FixedHeaderSubTableLayout rowHeaderTable, FixedHeaderSubTableLayout cornerTable,
+                                   TableLayoutCache cache) {
+        setAxis(columnIndex, cache.rightColumnWidths);
+        Utils.applyColumnOverrides(columnWidthOverrides, columnIndex);
+        setAxis(headerColumnIndex, cache.leftColumnWidths);
+        Utils.applyColumnOverrides(columnWidthOverrides, headerColumnIndex);
+        setAxis(bodyRowHeights, cache.bottomRowHeights);
+        setAxis(headerRowHeights, cache.topRowHeights);
+
+        applyCachedSizes(mainTable, cache.rightColumnWidths, bodyRowHeights);
+        applyCachedSizes(columnHeaderTable, cache.rightColumnWidths, headerRowHeights);
+        applyCachedSizes(rowHeaderTable, cache.leftColumnWidths, bodyRowHeights);
+        applyCachedSizes(cornerTable, cache.leftColumnWidths, headerRowHeights);
+
+        int rowCount = cache.bottomRowHeights.length;
+        unvalidatedRows = new BitSet(rowCount);
+        unvalidatedRows.set(0, rowCount);
+        headersUnvalidated = true;
+
+        applySizeModelsAndAttach(mainTable, columnHeaderTable, rowHeaderTable, cornerTable);
+    }
+
+    /**
+     * Measure the sampled rows of one side of the body at their natural size
+     * @param table the mainTable or rowHeaderTable
+     * @param sampledRows the rows to measure in increasing order
+     * @param rightSide true for the mainTable
+     * @return the estimated width of each column
+     */
+    private int[] measureSampledRows(FixedHeaderSubTableLayout table, int[] sampledRows, boolean rightSide) {
+        int columnCount = 0;
+        for (int row : sampledRows) {
+            FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+            tableRow.remeasureNatural();
+            columnCount = Math.max(columnCount, tableRow.getMeasuredColumnCount());
+        }
+        int[] estimates = new int[columnCount];
+        int[] widths = new int[sampledRows.length];
+        for (int column = 0; column < columnCount; column++) {
+            int count = 0;
+            TextView textCell = null;
+            for (int row : sampledRows) {
+                FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+                if (column < tableRow.getMeasuredColumnCount()) {
+                    widths[count++] = tableRow.getMeasuredColumnWidth(column);
+                }
+                if (textCell == null && column < tableRow.getChildCount() && tableRow.getChildAt(column) instanceof TextView) {
+                    textCell = (TextView) tableRow.getChildAt(column);
+                }
+            }
+            int maxTextLength = columnWidthStrategy.getMaxTextLength(rightSide, column);
+            int maxTextWidth = maxTextLength > 0 && textCell != null ? Utils.measureDigitsWidth(textCell, maxTextLength) : 0;
+            estimates[column] = columnWidthStrategy.estimateWidth(widths, count, maxTextWidth);
+        }
+        return estimates;
+    }
+
+    private static int getMedianRowHeight(FixedHeaderSubTableLayout mainTable, FixedHeaderSubTableLayout rowHeaderTable,
+                                          int[] sampledRows) {
+        int[] heights = new int[sampledRows.length];
+        for (int i = 0; i < sampledRows.length; i++) {
+            heights[i] = Math.max(((FixedHeaderTableRow) mainTable.getChildAt(sampledRows[i])).getMeasuredRowHeight(),
+                    ((FixedHeaderTableRow) rowHeaderTable.getChildAt(sampledRows[i])).getMeasuredRowHeight());
+        }
+        Arrays.sort(heights);
+        return heights[heights.length / 2];
+    }
+
+    // Give the rows that were not sampled the estimated sizes as their natural sizes
+    private static void applyEstimatedSizes(FixedHeaderSubTableLayout table, int[] sampledRows, int[] widths, int rowHeight) {
+        int[] heights = new int[widths.length];
+        Arrays.fill(heights, rowHeight);
+        int nextSample = 0;
+        for (int row = 0; row < table.getChildCount(); row++) {
+            if (nextSample < sampledRows.length && sampledRows[nextSample] == row) {
+                nextSample++;
+                continue;
+            }
+            FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+            int cellCount = tableRow.getCellCount();
+            if (cellCount == widths.length) {
+                tableRow.setNaturalSizes(widths, heights);
+            } else {
+                int[] rowHeights = Arrays.copyOf(heights, cellCount);
+                Arrays.fill(rowHeights, rowHeight);
+                tableRow.setNaturalSizes(Arrays.copyOf(widths, cellCount), rowHeights);
+            }
+        }
+    }
+
+    private static boolean fitsTables(TableLayoutCache cache, FixedHeaderSubTableLayout mainTable,
+                                      FixedHeaderSubTableLayout columnHeaderTable,
+                                      FixedHeaderSubTableLayout rowHeaderTable, FixedHeaderSubTableLayout cornerTable) {
+        return fitsTable(mainTable, cache.bottomRowHeights.length, cache.rightColumnWidths.length)
+                && fitsTable(columnHeaderTable, cache.topRowHeights.length, cache.rightColumnWidths.length)
+                && fitsTable(rowHeaderTable, cache.bottomRowHeights.length, cache.leftColumnWidths.length)
+                && fitsTable(cornerTable, cache.topRowHeights.length, cache.leftColumnWidths.length);
+    }
+
+    private static boolean fitsTable(FixedHeaderSubTableLayout table, int rowCount, int columnCount) {
+        if (table.getChildCount() != rowCount) {
+            return false;
+        }
+        for (int row = 0; row < rowCount; row++) {
+            if (((FixedHeaderTableRow) table.getChildAt(row)).getCellCount() != columnCount) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void applyCachedSizes(FixedHeaderSubTableLayout table, int[] columnWidths, AxisIndex rowHeights) {
+        int[] heights = new int[columnWidths.length];
+        for (int row = 0; row < table.getChildCount(); row++) {
+            Arrays.fill(heights, rowHeights.getSize(row));
+            ((FixedHeaderTableRow) table.getChildAt(row)).setNaturalSizes(columnWidths, heights);
+        }
+    }
+
+    /**
+     * Measure the cells of imported or estimated rows that are about to be shown, grow the columns
+     * that are too narrow for them and fit the rows to their tallest cell
+     * @param viewportHeight the height the Layout is being measured at
+     */
+    private void validateImportedRows(int viewportHeight) {
+        if (columnWindowing) {
+            // Not every cell of a windowed row is attached to be measured
+            unvalidatedRows = null;
+            headersUnvalidated = false;
+            return;
+        }
+        boolean columnsChanged = false;
+        boolean headerColumnsChanged = false;
+        if (headersUnvalidated) {
+            headersUnvalidated = false;
+            for (int row = 0; row < columnHeaderTable.getChildCount(); row++) {
+                FixedHeaderTableRow headerRow = (FixedHeaderTableRow) columnHeaderTable.getChildAt(row);
+                FixedHeaderTableRow cornerRow = (FixedHeaderTableRow) cornerTable.getChildAt(row);
+                columnsChanged |= validateRow(headerRow, columnIndex, 0);
+                headerColumnsChanged |= validateRow(cornerRow, headerColumnIndex, 0);
+                headerRowHeights.set(row, Math.max(headerRow.getMeasuredRowHeight(), cornerRow.getMeasuredRowHeight()));
+                headerRow.setMaxChildHeight(headerRowHeights.getSize(row));
+                cornerRow.setMaxChildHeight(headerRowHeights.getSize(row));
+            }
+            columnHeaderTable.forceLayout();
+            cornerTable.forceLayout();
+        }
+        if (unvalidatedRows != null) {
+            int maxWidth = columnWidthStrategy != null ? columnWidthStrategy.getMaxColumnWidthPx() : 0;
+            float effectiveScale = getEffectiveScale();
+            float top = -getEffectivePanY() / effectiveScale;
+            int last = bodyRowHeights.indexAt(top + viewportHeight / effectiveScale);
+            for (int row = unvalidatedRows.nextSetBit(Math.max(0, bodyRowHeights.indexAt(top)));
+                 row >= 0 && row <= last; row = unvalidatedRows.nextSetBit(row + 1)) {
+                unvalidatedRows.clear(row);
+                FixedHeaderTableRow mainRow = (FixedHeaderTableRow) mainTable.getChildAt(row);
+                FixedHeaderTableRow headerRow = (FixedHeaderTableRow) rowHeaderTable.getChildAt(row);
+                columnsChanged |= validateRow(mainRow, columnIndex, maxWidth);
+                headerColumnsChanged |= validateRow(headerRow, headerColumnIndex, maxWidth);
+                // The row height was imported or estimated, it becomes the height of its tallest cell
+                bodyRowHeights.set(row, Math.max(mainRow.getMeasuredRowHeight(), headerRow.getMeasuredRowHeight()));
+                mainRow.setMaxChildHeight(bodyRowHeights.getSize(row));
+                headerRow.setMaxChildHeight(bodyRowHeights.getSize(row));
+            }
+            if (unvalidatedRows.isEmpty()) {
+                unvalidatedRows = null;
+            }
+            mainTable.forceLayout();
+            rowHeaderTable.forceLayout();
+        }
+        // Every row on the side of a wider column is measured at the new width
+        if (columnsChanged) {
+            forceMeasureRows(mainTable);
+            forceMeasureRows(columnHeaderTable);
+        }
+        if (headerColumnsChanged) {
+            forceMeasureRows(rowHeaderTable);
+            forceMeasureRows(cornerTable);
+        }
+    }
+
+    // Measure a row at its natural size, returns true if one of its columns had to grow
+    private boolean validateRow(FixedHeaderTableRow tableRow, AxisIndex columns, int maxWidth) {
+        tableRow.remeasureNatural();
+        boolean changed = false;
+        for (int column = 0; column < tableRow.getMeasuredColumnCount() && column < columns.size(); column++) {
+            int width = tableRow.getMeasuredColumnWidth(column);
+            if (maxWidth > 0) {
+                width = Math.min(width, maxWidth);
+            }
+            if (getColumnOverride(column) <= 0 && width > columns.getSize(column)) {
+                columns.set(column, width);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // Keep the marks on the rows that have not been measured yet as other rows are inserted
+    private void insertUnvalidatedRows(int position, int count) {
+        if (unvalidatedRows == null) {
+            return;
+        }
+        unvalidatedRows = insertBits(unvalidatedRows, position, count);
+    }
+
+    // Move the set bits at or after position on by count
+    private static BitSet insertBits(BitSet bits, int position, int count) {
+        BitSet shifted = bits.get(0, position);
+        for (int bit = bits.nextSetBit(position); bit >= 0; bit = bits.nextSetBit(bit + 1)) {
+            shifted.set(bit + count);
+        }
+        return shifted;
+    }
+
+    // Keep the marks on the rows that have not been measured yet as other rows are removed
+    private void removeUnvalidatedRows(int position, int count) {
+        if (unvalidatedRows == null) {
+            return;
+        }
+        BitSet shifted = unvalidatedRows.get(0, position);
+        for (int row = unvalidatedRows.nextSetBit(position + count); row >= 0; row = unvalidatedRows.nextSetBit(row + 1)) {
+            shifted.set(row - count);
+        }
+        unvalidatedRows = shifted;
+    }
+
+    private static void forceMeasureRows(FixedHeaderSubTableLayout table) {
+        for (int row = 0; row < table.getChildCount(); row++) {
+            table.getChildAt(row).forceLayout();
+        }
+        table.forceLayout();
+    }
+
+    // True if imported rows that have not been measured yet are in view
+    private boolean hasUnvalidatedRowsInView() {
+        if (unvalidatedRows == null || getHeight() == 0) {
+            return false;
+        }
+        float effectiveScale = getEffectiveScale();
+        float top = -getEffectivePanY() / effectiveScale;
+        int first = unvalidatedRows.nextSetBit(Math.max(0, bodyRowHeights.indexAt(top)));
+        return first >= 0 && first <= bodyRowHeights.indexAt(top + getHeight() / effectiveScale);
+    }
+
+    private static void applyNaturalSizes(FixedHeaderSubTableLayout table, FixedHeaderTableLayoutSnapshot snapshot, int snapshotTable) {
+        int[][] widths = snapshot.cellWidths[snapshotTable];
+        int[][] heights = snapshot.cellHeights[snapshotTable];
+        if (table.getChildCount() != widths.length) {
+            throw new IllegalArgumentException("Table has " + table.getChildCount() + " rows, snapshot has " + widths.length);
+        }
+        for (int row = 0; row < widths.length; row++) {
+            FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+            if (tableRow.getCellCount() != widths[row].length) {
+                throw new IllegalArgumentException("Row " + row + " has " + tableRow.getCellCount()
+                        + " cells, snapshot has " + widths[row].length);
+            }
+            tableRow.setNaturalSizes(widths[row], heights[row]);
+        }
+    }
+
+    private static void setAxis(AxisIndex axis, int[] sizes) {
+        axis.clear();
+        for (int size : sizes) {
+            axis.add(size);
+        }
+    }
+
+    // Share the negotiated sizes with every row, measure them at those sizes and attach the tables
+    private void applySizeModelsAndAttach(FixedHeaderSubTableLayout mainTable, FixedHeaderSubTableLayout columnHeaderTable,
+                                          FixedHeaderSubTableLayout rowHeaderTable, FixedHeaderSubTableLayout cornerTable) {
+        int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+
+        // The widest cells are counted again when a column is next fitted
+        widestColumnCells.clear();
+        widestHeaderColumnCells.clear();
+        // Every row references the shared models rather than holding a copy
+        Utils.applySizeModels(mainTable, columnIndex, bodyRowHeights);
+        Utils.applySizeModels(columnHeaderTable, columnIndex, headerRowHeights);
+        Utils.applySizeModels(rowHeaderTable, headerColumnIndex, bodyRowHeights);
+        Utils.applySizeModels(cornerTable, headerColumnIndex, headerRowHeights);
+
+        // Remeasure Tables using the new set of aligned Heights and widths
+        //Log.d(LOG_TAG, "mainTable:fixedMeasure");
+        mainTable.measure(measureSpec, measureSpec);
+        //Log.d(LOG_TAG, "columnHeaderTable:fixedMeasure");
+        columnHeaderTable.measure(measureSpec, measureSpec);
+        //Log.d(LOG_TAG, "rowHeaderTable:fixedMeasure");
+        rowHeaderTable.measure(measureSpec, measureSpec);
+        //Log.d(LOG_TAG, "cornerTable:fixedMeasure");
+        cornerTable.measure(measureSpec, measureSpec);
+
+        attachSubTables(mainTable, columnHeaderTable, rowHeaderTable, cornerTable);
+    }
+
+    // Position the measured tables and add them as children
+    private void attachSubTables(FixedHeaderSubTableLayout mainTable, FixedHeaderSubTableLayout columnHeaderTable,
+                                 FixedHeaderSubTableLayout rowHeaderTable, FixedHeaderSubTableLayout cornerTable) {
+        // Store instances for later comparison;
+        this.mainTable = mainTable;
+        this.columnHeaderTable = columnHeaderTable;
+        this.rowHeaderTable = rowHeaderTable;
+        this.cornerTable = cornerTable;
+
+        // Set some View Id's if not already set to help with identification
+        if (mainTable.getId() == NO_ID) {
+            mainTable.setId(R.id.MainTable);
+        }
+        if (columnHeaderTable.getId() == NO_ID) {
+            columnHeaderTable.setId(R.id.ColumnHeaderTable);
+        }
+        if (rowHeaderTable.getId() == NO_ID) {
+            rowHeaderTable.setId(R.id.RowHeaderTable);
+        }
+        if (cornerTable.getId() == NO_ID) {
+            cornerTable.setId(R.id.CornerTable);
+        }
+
+        // mainTable margin is on the Top and Left to make space for the over views
+        LayoutParams mainTableLayoutParams = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+        //Log.d(LOG_TAG, "mainTableLayoutParams:leftMargin:" + rowHeaderTable.getMeasuredWidth());
+        //Log.d(LOG_TAG, "mainTableLayoutParams:topMargin:" + columnHeaderTable.getMeasuredHeight());
+        mainTableLayoutParams.leftMargin = rowHeaderTable.getMeasuredWidth();
+        mainTableLayoutParams.topMargin = columnHeaderTable.getMeasuredHeight();
+        mainTable.setLayoutParams(mainTableLayoutParams);
+
+        // columnHeaderTable margin is on the Left to make space for the over views
+        LayoutParams columnHeaderTableLayoutParams = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+        //Log.d(LOG_TAG, "columnHeaderTableLayoutParams:leftMargin:" + cornerTable.getMeasuredWidth());
+        columnHeaderTableLayoutParams.leftMargin = cornerTable.getMeasuredWidth();
+        columnHeaderTable.setLayoutParams(columnHeaderTableLayoutParams);
+
+        // rowHeaderTable margin is on the Top to make space for the over views
+        LayoutParams rowHeaderTableLayoutParams = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+        //Log.d(LOG_TAG, "rowHeaderTableLayoutParams:topMargin:" + cornerTable.getMeasuredHeight());
+        rowHeaderTableLayoutParams.topMargin = cornerTable.getMeasuredHeight();
+        rowHeaderTable.setLayoutParams(rowHeaderTableLayoutParams);
+
+
+        mainTable.setFixedCellSizes(fixedCellSizes);
+        columnHeaderTable.setFixedCellSizes(fixedCellSizes);
+        rowHeaderTable.setFixedCellSizes(fixedCellSizes);
+        cornerTable.setFixedCellSizes(fixedCellSizes);
+        if (dataModel != null && adapterBinder == null) {
+            // The new tables show every value of the latest snapshot
+            dataSnapshot = null;
+            scheduleDataModelApply();
+        }
+
+        // Add the views
+        addView(mainTable);
+        addView(columnHeaderTable);
+        addView(rowHeaderTable);
+        addView(cornerTable);
+
+        // Set Boundaries
+        rightBound = cornerTable.getMeasuredWidth() + columnHeaderTable.getMeasuredWidth();
+        bottomBound = cornerTable.getMeasuredHeight() + rowHeaderTable.getMeasuredHeight();
+        //Log.d(LOG_TAG, "Bounds: = " + rightBound + " , " + bottomBound);
+        scaledRightBound = rightBound * scaleFactor;
+        scaledBottomBound = bottomBound * scaleFactor;
+        //Log.d(LOG_TAG, "Scaled Bounds: = " + scaledRightBound + " , " + scaledBottomBound);
+
+        buildRowTopPositions();
+        buildColumnLeftPositions();
+        if (columnWindowing && adapterBinder == null) {
+            enableColumnWindows(mainTable);
+            enableColumnWindows(columnHeaderTable);
+            updateVisibleWindow();
+        }
+        updateStickyHeaders();
+        pinStickySources();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        if (mainTable != null && (unvalidatedRows != null || headersUnvalidated)) {
+            int viewportHeight = MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.UNSPECIFIED
+                    ? getResources().getDisplayMetrics().heightPixels : MeasureSpec.getSize(heightMeasureSpec);
+            validateImportedRows(viewportHeight);
+        }
+        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        if (mainTable != null && updateSubTableMargins()) {
+            // The header tables changed size after a mutation so the other tables have moved
+            super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        }
+    }
+
+    // Keep the margins and bounds in step with the measured header sizes, returns true if a margin changed
+    private boolean updateSubTableMargins() {
+        boolean changed = false;
+        LayoutParams mainTableLayoutParams = (LayoutParams) mainTable.getLayoutParams();
+        if (mainTableLayoutParams.leftMargin != rowHeaderTable.getMeasuredWidth()
+                || mainTableLayoutParams.topMargin != columnHeaderTable.getMeasuredHeight()) {
+            mainTableLayoutParams.leftMargin = rowHeaderTable.getMeasuredWidth();
+            mainTableLayoutParams.topMargin = columnHeaderTable.getMeasuredHeight();
+            changed = true;
+        }
+        LayoutParams columnHeaderTableLayoutParams = (LayoutParams) columnHeaderTable.getLayoutParams();
+        if (columnHeaderTableLayoutParams.leftMargin != cornerTable.getMeasuredWidth()) {
+            columnHeaderTableLayoutParams.leftMargin = cornerTable.getMeasuredWidth();
+            changed = true;
+        }
+        LayoutParams rowHeaderTableLayoutParams = (LayoutParams) rowHeaderTable.getLayoutParams();
+        if (rowHeaderTableLayoutParams.topMargin != cornerTable.getMeasuredHeight()) {
+            rowHeaderTableLayoutParams.topMargin = cornerTable.getMeasuredHeight();
+            changed = true;
+        }
+        rightBound = cornerTable.getMeasuredWidth() + columnHeaderTable.getMeasuredWidth();
+        bottomBound = cornerTable.getMeasuredHeight() + rowHeaderTable.getMeasuredHeight();
+        scaledRightBound = rightBound * scaleFactor;
+        scaledBottomBound = bottomBound * scaleFactor;
+        return changed;
+    }
+
+    /**
+     * Keep the size of the cells of all four tables fixed when their content changes, see
+     * {@link FixedHeaderSubTableLayout#setFixedCellSizes(boolean)}. Content that changes many times
+     * a second then only costs the redraw of its cell, call {@link #updateCell(int, int)} to let a
+     * cell widen its column or heighten its row.
+     * @param fixedCellSizes true to keep the cell sizes fixed
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setFixedCellSizes(boolean fixedCellSizes) {
+        this.fixedCellSizes = fixedCellSizes;
+        if (mainTable != null) {
+            mainTable.setFixedCellSizes(fixedCellSizes);
+            columnHeaderTable.setFixedCellSizes(fixedCellSizes);
+            rowHeaderTable.setFixedCellSizes(fixedCellSizes);
+            cornerTable.setFixedCellSizes(fixedCellSizes);
+        }
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public boolean isFixedCellSizes() {
+        return fixedCellSizes;
+    }
+
+    /**
+     * Redraw a main table cell whose content changed without measuring it, for a {@link TableCell}
+     * whose new content fits the size it has. Only the part of the Layout showing the cell is redrawn.
+     *
+     * @param row the main table row
+     * @param column the main table column
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void redrawCell(int row, int column) {
+        if (mainTable == null || column < 0 || column >= columnIndex.size()) {
+            return;
+        }
+        FixedHeaderTableRow tableRow = adapterBinder != null
+                ? adapterBinder.getMainRow(row) : (FixedHeaderTableRow) mainTable.getChildAt(row);
+        if (tableRow != null) {
+            tableRow.invalidateColumn(column);
+        }
+    }
+
+    /**
+     * @return the queue that coalesces cell updates posted from any thread and applies them once per frame
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    @NonNull
+    public CellUpdateQueue getCellUpdateQueue() {
+        return cellUpdateQueue;
+    }
+
+    // Set the text of a main table cell from a value of the CellUpdateQueue, returns false if the cell
+    // is not attached or does not hold text
+    boolean setCellValue(int row, int column, @Nullable Object value, boolean visible) {
+        if (mainTable == null || row < 0 || column < 0 || column >= columnIndex.size()) {
+            return false;
+        }
+        FixedHeaderTableRow tableRow = adapterBinder != null
+                ? adapterBinder.getMainRow(row) : (FixedHeaderTableRow) mainTable.getChildAt(row);
+        if (tableRow == null) {
+            return false;
+        }
+        CharSequence text = value == null ? "" : value instanceof CharSequence ? (CharSequence) value : value.toString();
+        if (tableRow.isRendered()) {
+            TableCell cell = tableRow.getCell(column);
+            if (cell == null) {
+                return false;
+            }
+            cell.setText(text);
+            if (visible) {
+                tableRow.invalidateColumn(column);
+            }
+            return true;
+        }
+        View cell = tableRow.getCellForColumn(column);
+        if (!(cell instanceof TextView)) {
+            return false;
+        }
+        ((TextView) cell).setText(text);
+        return true;
+    }
+
+    /**
+     * Start a batch of changes, until the matching {@link #endBatchUpdate()} the Layout does not ask
+     * for a layout and the changes made with {@link #insertRows}, {@link #removeRows}, {@link #moveRow},
+     * {@link #updateCell} and {@link #insertColumns} only record the rows and columns they touched.
+     * Layout requests from the cells, rows and tables, for example from setText or mergeCells, wait
+     * for the end of the batch too. Batches can be nested.
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void beginBatchUpdate() {
+        batchDepth++;
+    }
+
+    /**
+     * End a batch of changes started with {@link #beginBatchUpdate()}, at the end of the outermost batch
+     * the columns that may have shrunk are fitted once and the Layout asks for one layout
+     * @throws IllegalStateException if no batch was started
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void endBatchUpdate() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("endBatchUpdate called without beginBatchUpdate");
+        }
+        batchDepth--;
+        if (batchDepth > 0) {
+            return;
+        }
+        boolean columnsChanged = columnsChangedInBatch;
+        boolean headerColumnsChanged = headerColumnsChangedInBatch;
+        boolean mutated = mutatedInBatch;
+        boolean layoutRequested = layoutRequestedInBatch;
+        columnsChangedInBatch = false;
+        headerColumnsChangedInBatch = false;
+        mutatedInBatch = false;
+        layoutRequestedInBatch = false;
+        if (mainTable != null) {
+            // Each column is fitted once however many of its cells changed
+            for (int column = batchRefitColumns.nextSetBit(0); column >= 0 && column < columnIndex.size();
+                 column = batchRefitColumns.nextSetBit(column + 1)) {
+                columnsChanged |= refitColumn(columnIndex, column, mainTable, columnHeaderTable);
+            }
+            for (int column = batchRefitHeaderColumns.nextSetBit(0); column >= 0 && column < headerColumnIndex.size();
+                 column = batchRefitHeaderColumns.nextSetBit(column + 1)) {
+                headerColumnsChanged |= refitColumn(headerColumnIndex, column, rowHeaderTable, cornerTable);
+            }
+        }
+        batchRefitColumns.clear();
+        batchRefitHeaderColumns.clear();
+        if (mutated && mainTable != null) {
+            finishMutation(columnsChanged, headerColumnsChanged);
+        } else if (layoutRequested) {
+            requestLayout();
+        }
+    }
+
+    /**
+     * Run the changes as one batch, see {@link #beginBatchUpdate()}
+     * @param changes the changes to make to the Layout or its cells
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void runBatch(@NonNull Runnable changes) {
+        beginBatchUpdate();
+        try {
+            changes.run();
+        } finally {
+            endBatchUpdate();
+        }
+    }
+
+    /**
+     * @return true between {@link #beginBatchUpdate()} and the matching {@link #endBatchUpdate()}
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public boolean isInBatchUpdate() {
+        return batchDepth > 0;
+    }
+
+    @Override
+    public void requestLayout() {
+        if (batchDepth > 0) {
+            // Asked for once at the end of the batch
+            layoutRequestedInBatch = true;
+            return;
+        }
+        super.requestLayout();
+    }
+
+    /**
+     * Insert rows into the main and row header tables without rebuilding the Layout.
+     * Only the new rows are measured, a column only widens if a new cell is wider than it.
+     *
+     * @param position the main table row to insert at
+     * @param mainRows the new rows of the main table
+     * @param rowHeaderRows the matching rows of the row header table or null for empty rows
+     * @throws IllegalStateException if the Layout is backed by an adapter
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void insertRows(int position, @NonNull List<FixedHeaderTableRow> mainRows,
+                           @Nullable List<FixedHeaderTableRow> rowHeaderRows) {
+        checkMutable();
+        if (position < 0 || position > mainTable.getChildCount()) {
+            throw new IllegalArgumentException("Row position " + position + " is out of range");
+        }
+        if (rowHeaderRows != null && rowHeaderRows.size() != mainRows.size()) {
+            throw new IllegalArgumentException("The row header needs a row for each main table row");
+        }
+        insertUnvalidatedRows(position, mainRows.size());
+        boolean columnsChanged = false;
+        boolean headerColumnsChanged = false;
+        for (int i = 0; i < mainRows.size(); i++) {
+            FixedHeaderTableRow mainRow = mainRows.get(i);
+            FixedHeaderTableRow headerRow = rowHeaderRows == null
+                    ? new FixedHeaderTableRow(getContext()) : rowHeaderRows.get(i);
+            int row = position + i;
+            // Attached before measuring as rows of rendered cells are measured with the renderer of their table
+            mainTable.addView(mainRow, row);
+            rowHeaderTable.addView(headerRow, row);
+            mainRow.remeasureNatural();
+            headerRow.remeasureNatural();
+            columnsChanged |= growColumns(columnIndex, mainRow);
+            headerColumnsChanged |= growColumns(headerColumnIndex, headerRow);
+
+            int height = Math.max(mainRow.getMeasuredRowHeight(), headerRow.getMeasuredRowHeight());
+            bodyRowHeights.insert(row, height);
+            rowIndex.insert(row, height + mainRow.getPaddingTop() + mainRow.getPaddingBottom());
+            mainRow.setColumnModel(columnIndex);
+            mainRow.setMaxChildHeight(height);
+            headerRow.setColumnModel(headerColumnIndex);
+            headerRow.setMaxChildHeight(height);
+            if (columnWindowing) {
+                mainRow.enableColumnWindow(null);
+            }
+        }
+        finishMutation(columnsChanged, headerColumnsChanged);
     }
 
+    /**
+     * Remove rows from the main and row header tables without rebuilding the Layout.
+     * Only the columns that were sized by a removed cell are fitted again.
+     *
+     * @param position the first main table row to remove
+     * @param count the number of rows to remove
+     * @throws IllegalStateException if the Layout is backed by an adapter
+     */
     @SuppressWarnings({"UnusedDeclaration"})
-    public void setColumnWidthOverrides(SparseIntArray columnWidthOverrides) {
-        if (columnWidthOverrides == null) {
-            this.columnWidthOverrides = new SparseIntArray();
-        } else {
-            this.columnWidthOverrides = columnWidthOverrides;
+    public void removeRows(int position, int count) {
+        checkMutable();
+        checkRowRange(position, count);
+        removeUnvalidatedRows(position, count);
+        FixedHeaderTableRow[] removedMainRows = new FixedHeaderTableRow[count];
+        FixedHeaderTableRow[] removedHeaderRows = new FixedHeaderTableRow[count];
+        for (int i = 0; i < count; i++) {
+            removedMainRows[i] = (FixedHeaderTableRow) mainTable.getChildAt(position + i);
+            removedHeaderRows[i] = (FixedHeaderTableRow) rowHeaderTable.getChildAt(position + i);
         }
+        mainTable.removeViews(position, count);
+        rowHeaderTable.removeViews(position, count);
+        rowIndex.remove(position, count);
+        bodyRowHeights.remove(position, count);
+
+        boolean columnsChanged = shrinkColumns(columnIndex, removedMainRows, mainTable, columnHeaderTable);
+        boolean headerColumnsChanged = shrinkColumns(headerColumnIndex, removedHeaderRows, rowHeaderTable, cornerTable);
+        finishMutation(columnsChanged, headerColumnsChanged);
     }
 
     /**
-     * Configure the row indices that should become sticky. The highest index that has scrolled past
-     * the top of the viewport will be used as the active sticky row.
+     * Move a row of the main and row header tables, no row or column changes size
+     *
+     * @param from the current main table row
+     * @param to the main table row to move it to
+     * @throws IllegalStateException if the Layout is backed by an adapter
      */
-    public void setStickyRowIndices(int... indices) {
-        if (indices == null || indices.length == 0) {
-            stickyRowIndices = new int[] {0};
-        } else {
-            Arrays.sort(indices);
-            stickyRowIndices = indices;
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void moveRow(int from, int to) {
+        checkMutable();
+        checkRowRange(from, 1);
+        checkRowRange(to, 1);
+        if (from == to) {
+            return;
         }
-        updateStickyHeaders();
+        if (unvalidatedRows != null) {
+            boolean unvalidated = unvalidatedRows.get(from);
+            removeUnvalidatedRows(from, 1);
+            insertUnvalidatedRows(to, 1);
+            unvalidatedRows.set(to, unvalidated);
+        }
+        View mainRow = mainTable.getChildAt(from);
+        View headerRow = rowHeaderTable.getChildAt(from);
+        mainTable.removeViewAt(from);
+        rowHeaderTable.removeViewAt(from);
+        mainTable.addView(mainRow, to);
+        rowHeaderTable.addView(headerRow, to);
+
+        int size = rowIndex.getSize(from);
+        rowIndex.remove(from, 1);
+        rowIndex.insert(to, size);
+        int height = bodyRowHeights.getSize(from);
+        bodyRowHeights.remove(from, 1);
+        bodyRowHeights.insert(to, height);
+        finishMutation(false, false);
     }
 
     /**
-     * Configure the column indices that should become sticky. The highest index that has scrolled
-     * past the left of the viewport will be used as the active sticky column.
+     * Tell the Layout the content of a main table cell has changed. Only that cell is measured,
+     * its row and column are only resized if the new content needs it.
+     * With an adapter the cell is bound again if it is attached.
+     *
+     * @param row the main table row
+     * @param column the main table column
      */
-    public void setStickyColumnIndices(int... indices) {
-        if (indices == null || indices.length == 0) {
-            stickyColumnIndices = new int[] {0};
-        } else {
-            Arrays.sort(indices);
-            stickyColumnIndices = indices;
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void updateCell(int row, int column) {
+        if (adapterBinder != null) {
+            adapterBinder.rebindCell(row, column);
+            return;
         }
-        updateStickyHeaders();
+        checkMutable();
+        checkRowRange(row, 1);
+        if (column < 0 || column >= columnIndex.size()) {
+            throw new IllegalArgumentException("Column " + column + " is out of range");
+        }
+        FixedHeaderTableRow mainRow = (FixedHeaderTableRow) mainTable.getChildAt(row);
+        FixedHeaderTableRow headerRow = (FixedHeaderTableRow) rowHeaderTable.getChildAt(row);
+        int oldWidth = mainRow.getMeasuredColumnWidth(column);
+        mainRow.remeasureCell(column);
+        boolean columnsChanged = fitColumn(columnIndex, column, oldWidth, mainRow.getMeasuredColumnWidth(column),
+                mainTable, columnHeaderTable);
+
+        int height = Math.max(mainRow.getMeasuredRowHeight(), headerRow.getMeasuredRowHeight());
+        if (height != bodyRowHeights.getSize(row)) {
+            bodyRowHeights.set(row, height);
+            mainRow.setMaxChildHeight(height);
+            headerRow.setMaxChildHeight(height);
+            mainRow.requestLayout();
+            headerRow.requestLayout();
+        } else if (!columnsChanged) {
+            // Nothing moves so only the cell is measured and laid out again
+            mainRow.relayoutInPlace();
+            return;
+        }
+        finishMutation(columnsChanged, false);
     }
 
     /**
-     * Add the four tables that make up the Layout
+     * Insert columns into the main and column header tables without rebuilding the Layout.
+     * Column width overrides stay with their column index.
      *
-     * @param mainTable the mainTable
-     * @param columnHeaderTable the columnHeaderTable
-     * @param rowHeaderTable the rowHeaderTable
-     * @param cornerTable the cornerTable
+     * @param position the main table column to insert at
+     * @param columnHeaderCells the new cells for each column header row, indexed [row][column]
+     * @param mainCells the new cells for each main table row, indexed [row][column]
+     * @throws IllegalStateException if the Layout is backed by an adapter or a row holds rendered cells
      */
     @SuppressWarnings({"UnusedDeclaration"})
-    public void addViews(FixedHeaderSubTableLayout mainTable, FixedHeaderSubTableLayout columnHeaderTable,
-                         FixedHeaderSubTableLayout rowHeaderTable, FixedHeaderSubTableLayout cornerTable){
-
-        // Store instances for later comparison;
-        this.mainTable = mainTable;
-        this.columnHeaderTable = columnHeaderTable;
-        this.rowHeaderTable = rowHeaderTable;
-        this.cornerTable = cornerTable;
-
-        // Set some View Id's if not already set to help with identification
-        if (mainTable.getId() == NO_ID) {
-            mainTable.setId(R.id.MainTable);
+    public void insertColumns(int position, @NonNull View[][] columnHeaderCells, @NonNull View[][] mainCells) {
+        checkMutable();
+        if (position < 0 || position > columnIndex.size()) {
+            throw new IllegalArgumentException("Column position " + position + " is out of range");
         }
-        if (columnHeaderTable.getId() == NO_ID) {
-            columnHeaderTable.setId(R.id.ColumnHeaderTable);
+        if (columnHeaderCells.length != columnHeaderTable.getChildCount() || mainCells.length != mainTable.getChildCount()) {
+            throw new IllegalArgumentException("Cells are needed for every column header and main table row");
         }
-        if (rowHeaderTable.getId() == NO_ID) {
-            rowHeaderTable.setId(R.id.RowHeaderTable);
+        if (hasRenderedRows(columnHeaderTable) || hasRenderedRows(mainTable)) {
+            throw new IllegalStateException("Columns cannot be inserted into rows of rendered cells");
         }
-        if (cornerTable.getId() == NO_ID) {
-            cornerTable.setId(R.id.CornerTable);
+        if (columnWindowing) {
+            disableColumnWindows(mainTable);
+            disableColumnWindows(columnHeaderTable);
+        }
+        int count = mainCells.length > 0 ? mainCells[0].length
+                : columnHeaderCells.length > 0 ? columnHeaderCells[0].length : 0;
+        insertCells(columnHeaderTable, position, count, columnHeaderCells);
+        insertCells(mainTable, position, count, mainCells);
+
+        if (batchDepth > 0) {
+            // Columns waiting to be fitted move with the inserted columns
+            batchRefitColumns = insertBits(batchRefitColumns, position, count);
         }
+        // Only the new columns need fitting, the others keep their widths
+        widestColumnCells.insert(position, count);
+        for (int i = 0; i < count; i++) {
+            columnIndex.insert(position + i, 0);
+            refitColumn(columnIndex, position + i, mainTable, columnHeaderTable);
+        }
+        if (columnWindowing) {
+            enableColumnWindows(mainTable);
+            enableColumnWindows(columnHeaderTable);
+        }
+        finishMutation(true, false);
+    }
 
-        // Apply any column width overrides before initial measurement so sizing is honoured per subtable
-        Utils.applyColumnOverrides(columnWidthOverrides, mainTable);
-        Utils.applyColumnOverrides(columnWidthOverrides, columnHeaderTable);
-        Utils.applyColumnOverrides(columnWidthOverrides, rowHeaderTable);
-        Utils.applyColumnOverrides(columnWidthOverrides, cornerTable);
+    private static boolean hasRenderedRows(FixedHeaderSubTableLayout table) {
+        for (int row = 0; row < table.getChildCount(); row++) {
+            if (((FixedHeaderTableRow) table.getChildAt(row)).isRendered()) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        // Need to measure all Tables to full (UNSPECIFIED) size
-        int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
-        //Log.d(LOG_TAG, "mainTable:preMeasure");
-        mainTable.measure(measureSpec, measureSpec);
-        //Log.d(LOG_TAG, "columnHeaderTable:preMeasure");
-        columnHeaderTable.measure(measureSpec, measureSpec);
-        //Log.d(LOG_TAG, "rowHeaderTable:preMeasure");
-        rowHeaderTable.measure(measureSpec, measureSpec);
-        //Log.d(LOG_TAG, "cornerTable:preMeasure");
-        cornerTable.measure(measureSpec, measureSpec);
+    private void insertCells(FixedHeaderSubTableLayout table, int position, int count, View[][] cells) {
+        for (int row = 0; row < cells.length; row++) {
+            if (cells[row].length != count) {
+                throw new IllegalArgumentException("Every row needs the same number of new cells");
+            }
+            FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+            for (int i = 0; i < count; i++) {
+                tableRow.addView(cells[row][i], position + i);
+            }
+            tableRow.remeasureNatural();
+        }
+    }
 
-        // Merge of the widths and height to align all the table rows
-        // Get the max column width in mainTable and columnHeaderTable
-        ArrayList<Integer> overallRightSideMaxColumnWidth = new ArrayList<>();
-        overallRightSideMaxColumnWidth = Utils.calculateMaxColumnWidth(overallRightSideMaxColumnWidth, mainTable);
-        overallRightSideMaxColumnWidth = Utils.calculateMaxColumnWidth(overallRightSideMaxColumnWidth, columnHeaderTable);
-        //Log.d(LOG_TAG, "overallRightSideMaxColumnWidth:" + overallRightSideMaxColumnWidth);
-        // Set the new max column width in mainTable and columnHeaderTable
-        Utils.setMaxColumnWidth(overallRightSideMaxColumnWidth, mainTable);
-        Utils.setMaxColumnWidth(overallRightSideMaxColumnWidth, columnHeaderTable);
-        // Get the max column width in cornerTable and rowHeaderTable
-        ArrayList<Integer> overallLeftSideMaxColumnWidth = new ArrayList<>();
-        overallLeftSideMaxColumnWidth = Utils.calculateMaxColumnWidth(overallLeftSideMaxColumnWidth, rowHeaderTable);
-        overallLeftSideMaxColumnWidth = Utils.calculateMaxColumnWidth(overallLeftSideMaxColumnWidth, cornerTable);
-        //Log.d(LOG_TAG, "overallLeftSideMaxColumnWidth:" + overallLeftSideMaxColumnWidth);
-        // Set the new max column width in mainTable and columnHeaderTable
-        Utils.setMaxColumnWidth(overallLeftSideMaxColumnWidth, rowHeaderTable);
-        Utils.setMaxColumnWidth(overallLeftSideMaxColumnWidth, cornerTable);
-
-        // Get the max row height in mainTable and rowHeaderTable
-        ArrayList<Integer> overallBottomSideMaxRowHeights = new ArrayList<>();
-        overallBottomSideMaxRowHeights = Utils.calculateMaxRowHeight(overallBottomSideMaxRowHeights, mainTable);
-        overallBottomSideMaxRowHeights = Utils.calculateMaxRowHeight(overallBottomSideMaxRowHeights, rowHeaderTable);
-        //Log.d(LOG_TAG, "overallBottomSideMaxRowHeights:" + overallBottomSideMaxRowHeights);
-        // Set the max row height in mainTable and rowHeaderTable
-        Utils.setMaxRowHeight(overallBottomSideMaxRowHeights, mainTable);
-        Utils.setMaxRowHeight(overallBottomSideMaxRowHeights, rowHeaderTable);
-
-        // Get the max row height in columnHeaderTable and cornerTable
-        ArrayList<Integer> overallTopSideMaxRowHeights = new ArrayList<>();
-        overallTopSideMaxRowHeights = Utils.calculateMaxRowHeight(overallTopSideMaxRowHeights, columnHeaderTable);
-        overallTopSideMaxRowHeights = Utils.calculateMaxRowHeight(overallTopSideMaxRowHeights, cornerTable);
-        //Log.d(LOG_TAG, "overallTopSideMaxRowHeights:" + overallTopSideMaxRowHeights);
-        // Set the max row height in mainTable and rowHeaderTable
-        Utils.setMaxRowHeight(overallTopSideMaxRowHeights, columnHeaderTable);
-        Utils.setMaxRowHeight(overallTopSideMaxRowHeights, cornerTable);
+    private void checkMutable() {
+        if (adapterBinder != null) {
+            throw new IllegalStateException("Change the data of the adapter and notify it instead");
+        }
+        if (mainTable == null) {
+            throw new IllegalStateException("addViews must be called first");
+        }
+    }
 
+    private void checkRowRange(int position, int count) {
+        if (position < 0 || count < 0 || position + count > mainTable.getChildCount()) {
+            throw new IllegalArgumentException("Rows " + position + " to " + (position + count - 1) + " are out of range");
+        }
+    }
 
-        // Remeasure Tables using the new set of aligned Heights and widths
-        //Log.d(LOG_TAG, "mainTable:fixedMeasure");
-        mainTable.measure(measureSpec, measureSpec);
-        //Log.d(LOG_TAG, "columnHeaderTable:fixedMeasure");
-        columnHeaderTable.measure(measureSpec, measureSpec);
-        //Log.d(LOG_TAG, "rowHeaderTable:fixedMeasure");
-        rowHeaderTable.measure(measureSpec, measureSpec);
-        //Log.d(LOG_TAG, "cornerTable:fixedMeasure");
-        cornerTable.measure(measureSpec, measureSpec);
+    private int getColumnOverride(int column) {
+        return columnWidthOverrides.get(column, -1);
+    }
 
-        // mainTable margin is on the Top and Left to make space for the over views
-        LayoutParams mainTableLayoutParams = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
-        //Log.d(LOG_TAG, "mainTableLayoutParams:leftMargin:" + rowHeaderTable.getMeasuredWidth());
-        //Log.d(LOG_TAG, "mainTableLayoutParams:topMargin:" + columnHeaderTable.getMeasuredHeight());
-        mainTableLayoutParams.leftMargin = rowHeaderTable.getMeasuredWidth();
-        mainTableLayoutParams.topMargin = columnHeaderTable.getMeasuredHeight();
-        mainTable.setLayoutParams(mainTableLayoutParams);
+    private WidestCellCounts getWidestCells(AxisIndex columns) {
+        return columns == columnIndex ? widestColumnCells : widestHeaderColumnCells;
+    }
 
-        // columnHeaderTable margin is on the Left to make space for the over views
-        LayoutParams columnHeaderTableLayoutParams = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
-        //Log.d(LOG_TAG, "columnHeaderTableLayoutParams:leftMargin:" + cornerTable.getMeasuredWidth());
-        columnHeaderTableLayoutParams.leftMargin = cornerTable.getMeasuredWidth();
-        columnHeaderTable.setLayoutParams(columnHeaderTableLayoutParams);
+    // Widen the shared columns to fit the natural widths of the row, returns true if any column changed
+    private boolean growColumns(AxisIndex columns, FixedHeaderTableRow row) {
+        WidestCellCounts widestCells = getWidestCells(columns);
+        boolean changed = false;
+        for (int column = 0; column < row.getMeasuredColumnCount(); column++) {
+            int override = getColumnOverride(column);
+            int width = override > 0 ? override : row.getMeasuredColumnWidth(column);
+            if (column == columns.size() || width > columns.getSize(column)) {
+                columns.setMax(column, width);
+                widestCells.set(column, width, override > 0 ? 0 : 1);
+                changed = true;
+            } else if (width == columns.getSize(column)) {
+                widestCells.add(column, width);
+            }
+        }
+        return changed;
+    }
 
-        // rowHeaderTable margin is on the Top to make space for the over views
-        LayoutParams rowHeaderTableLayoutParams = new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
-        //Log.d(LOG_TAG, "rowHeaderTableLayoutParams:topMargin:" + cornerTable.getMeasuredHeight());
-        rowHeaderTableLayoutParams.topMargin = cornerTable.getMeasuredHeight();
-        rowHeaderTable.setLayoutParams(rowHeaderTableLayoutParams);
+    // Fit the columns that a removed row was sizing, returns true if any column changed
+    private boolean shrinkColumns(AxisIndex columns, FixedHeaderTableRow[] removedRows,
+                                  FixedHeaderSubTableLayout table, FixedHeaderSubTableLayout otherTable) {
+        WidestCellCounts widestCells = getWidestCells(columns);
+        boolean changed = false;
+        for (int column = 0; column < columns.size(); column++) {
+            int width = columns.getSize(column);
+            int removed = 0;
+            for (FixedHeaderTableRow row : removedRows) {
+                if (row.getMeasuredColumnWidth(column) == width) {
+                    removed++;
+                }
+            }
+            // The column only shrinks when no cell as wide as it is left
+            if (removed > 0 && !widestCells.remove(column, width, removed)) {
+                changed |= refitColumn(columns, column, table, otherTable);
+            }
+        }
+        return changed;
+    }
 
+    // Fit a column after one cell changed from oldWidth to newWidth, returns true if the column changed
+    private boolean fitColumn(AxisIndex columns, int column, int oldWidth, int newWidth,
+                              FixedHeaderSubTableLayout table, FixedHeaderSubTableLayout otherTable) {
+        if (getColumnOverride(column) > 0) {
+            return false;
+        }
+        WidestCellCounts widestCells = getWidestCells(columns);
+        int current = columns.getSize(column);
+        if (newWidth > current) {
+            columns.set(column, newWidth);
+            widestCells.set(column, newWidth, 1);
+            return true;
+        }
+        if (newWidth < oldWidth && oldWidth == current) {
+            // The cell was one of the widest, the column may shrink if it was the last of them
+            return !widestCells.remove(column, current, 1) && refitColumn(columns, column, table, otherTable);
+        }
+        if (newWidth == current && oldWidth < current) {
+            widestCells.add(column, current);
+        }
+        return false;
+    }
 
-        // Add the views
-        addView(mainTable);
-        addView(columnHeaderTable);
-        addView(rowHeaderTable);
-        addView(cornerTable);
+    // Set a column to the widest natural width of its cells, returns true if the column changed
+    private boolean refitColumn(AxisIndex columns, int column, FixedHeaderSubTableLayout table,
+                                FixedHeaderSubTableLayout otherTable) {
+        WidestCellCounts widestCells = getWidestCells(columns);
+        if (batchDepth > 0) {
+            // Fitted once at the end of the batch, until then the cells changing in the column cannot be counted
+            (columns == columnIndex ? batchRefitColumns : batchRefitHeaderColumns).set(column);
+            widestCells.forget(column);
+            return false;
+        }
+        int width = getColumnOverride(column);
+        if (width > 0) {
+            widestCells.forget(column);
+        } else {
+            long widest = getWidestCells(otherTable, column, getWidestCells(table, column, 0));
+            width = (int) (widest >>> 32);
+            widestCells.set(column, width, (int) widest);
+        }
+        if (width == columns.getSize(column)) {
+            return false;
+        }
+        columns.set(column, width);
+        return true;
+    }
 
-        // Set Boundaries
-        rightBound = cornerTable.getMeasuredWidth() + columnHeaderTable.getMeasuredWidth();
-        bottomBound = cornerTable.getMeasuredHeight() + rowHeaderTable.getMeasuredHeight();
-        //Log.d(LOG_TAG, "Bounds: = " + rightBound + " , " + bottomBound);
-        scaledRightBound = rightBound * scaleFactor;
-        scaledBottomBound = bottomBound * scaleFactor;
-        //Log.d(LOG_TAG, "Scaled Bounds: = " + scaledRightBound + " , " + scaledBottomBound);
+    // The widest natural width of the cells of a column and how many cells have it, packed as width << 32 | count
+    private static long getWidestCells(FixedHeaderSubTableLayout table, int column, long widest) {
+        int width = (int) (widest >>> 32);
+        int count = (int) widest;
+        for (int row = 0; row < table.getChildCount(); row++) {
+            int cellWidth = ((FixedHeaderTableRow) table.getChildAt(row)).getMeasuredColumnWidth(column);
+            if (cellWidth > width) {
+                width = cellWidth;
+                count = 1;
+            } else if (cellWidth == width) {
+                count++;
+            }
+        }
+        return (long) width << 32 | count;
+    }
 
-        buildRowTopPositions();
-        buildColumnLeftPositions();
+    // Measure the rows again with the changed shared sizes and update what depends on the geometry
+    private void finishMutation(boolean columnsChanged, boolean headerColumnsChanged) {
+        if (batchDepth > 0) {
+            mutatedInBatch = true;
+            columnsChangedInBatch |= columnsChanged;
+            headerColumnsChangedInBatch |= headerColumnsChanged;
+            return;
+        }
+        // Only the rows in view are measured with the new widths now, the others when they come into view
+        if (columnsChanged) {
+            mainTable.invalidateColumns();
+            columnHeaderTable.invalidateColumns();
+        }
+        if (headerColumnsChanged) {
+            rowHeaderTable.invalidateColumns();
+            cornerTable.invalidateColumns();
+        }
+        requestLayout();
+        updateVisibleWindow();
         updateStickyHeaders();
+        pinStickySources();
+        invalidate();
     }
 
-
-
     /**
      * This method pans and scales the bitmaps of the converted TableLayout
      * @param distanceX X distance to pan the drawn TableLayout
@@ -431,45 +2330,37 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
      * @param newScaleFactor new Factor to scale the drawn TableLayout
      */
     public void calculatePanScale(float distanceX, float distanceY, float centerX, float centerY, float newScaleFactor){
-        Log.d(LOG_TAG, "input = " + distanceX + ":" + distanceY + ":" + centerX + ":" + centerY + ":" + newScaleFactor);
-        Log.d(LOG_TAG, "existing = " + panX + ":" + panY + ":" + scaleFactor);
+        if (DEBUG) {
+            Log.d(LOG_TAG, "input = " + distanceX + ":" + distanceY + ":" + centerX + ":" + centerY + ":" + newScaleFactor);
+            Log.d(LOG_TAG, "existing = " + panX + ":" + panY + ":" + scaleFactor);
+        }
         int width = getWidth();
         int height = getHeight();
-        //Log.d(LOG_TAG, "view size = " + width + " x " + height);
 
         // Map the center point from drawn location to laid out location
         // which is the inverse of the laid out location to drawn location matrix
-        Matrix oldMatrix = new Matrix();
-        mainMatrix.invert(oldMatrix);
-
-        float[] mappedCenter = new float[2];
-        mappedCenter[0] = centerX;
-        mappedCenter[1] = centerY;
-        oldMatrix.mapPoints(mappedCenter);
-        Log.d(LOG_TAG, "mappedCenter = " + mappedCenter[0] + ":" + mappedCenter[1]);
-
+        prepareInverseMatrices();
+        mappingPoint[0] = centerX;
+        mappingPoint[1] = centerY;
+        inverseMainMatrix.mapPoints(mappingPoint);
+        float mappedCenterX = mappingPoint[0];
+        float mappedCenterY = mappingPoint[1];
+        if (DEBUG) {
+            Log.d(LOG_TAG, "mappedCenter = " + mappedCenterX + ":" + mappedCenterY);
+        }
 
         scaleFactor *= newScaleFactor;
         // Don't let the object get too small or too large.
         scaleFactor = Math.max(minScale, Math.min(scaleFactor, maxScale));
-        Log.d(LOG_TAG, "calculatePanScale: scale factor = " + scaleFactor);
-
-        mainMatrix.setScale(scaleFactor, scaleFactor);
-        columnHeaderMatrix.setScale(scaleFactor, scaleFactor);
-        rowHeaderMatrix.setScale(scaleFactor, scaleFactor);
-        cornerMatrix.setScale(scaleFactor, scaleFactor);
+        if (DEBUG) {
+            Log.d(LOG_TAG, "calculatePanScale: scale factor = " + scaleFactor);
+        }
 
         if (scaleFactor < maxScale && scaleFactor > minScale  && newScaleFactor != 1.0f) {
 
-            // Map the mappedCenter to the new drawn location using the updated mainMatrix
-            float[] centerPoint = new float[2];
-            centerPoint[0] = mappedCenter[0] * scaleFactor;
-            centerPoint[1] = mappedCenter[1] * scaleFactor;
-            //mainMatrix.mapPoints(centerPoint);
-            //Log.d(LOG_TAG, "centerPoint = " + centerPoint[0] + ":" + centerPoint[1]);
-
-            float adjustDiffX = (centerPoint[0] - mappedCenter[0]);
-            float adjustDiffY = (centerPoint[1] - mappedCenter[1]);
+            // Map the mappedCenter to the new drawn location using the updated scale
+            float adjustDiffX = (mappedCenterX * scaleFactor - mappedCenterX);
+            float adjustDiffY = (mappedCenterY * scaleFactor - mappedCenterY);
             //Log.d(LOG_TAG, "adjustDiff = " + adjustDiffX + "," + adjustDiffY);
 
             distanceX = distanceX + (adjustDiffX * scaleFactor);
@@ -487,18 +2378,14 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
 
         panX = Math.min(0, Math.max(maxPanX,(panX - distanceX)));
         panY = Math.min(0, Math.max(maxPanY,(panY - distanceY)));
-        Log.d(LOG_TAG, "calculatePanScale: Pan " + panX + ":" + panY);
-
-        float scaledPanX = panX * scaleFactor;
-        float scaledPanY = panY * scaleFactor;
-
-
-        mainMatrix.postTranslate(panX, panY);
-        columnHeaderMatrix.postTranslate(panX, 0);
-        rowHeaderMatrix.postTranslate(0, panY);
+        if (DEBUG) {
+            Log.d(LOG_TAG, "calculatePanScale: Pan " + panX + ":" + panY);
+        }
 
+        // The matrices are rebuilt from the new pan and scale before the next draw or touch
         markMatricesDirty();
         updateStickyHeaders();
+        updateVisibleWindow();
         invalidate();
     }
 
@@ -519,25 +2406,54 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
         int save = canvas.save();
         //Log.d(LOG_TAG, "drawChild:" + Integer.toHexString(System.identityHashCode(child)));
         prepareMatricesForDrawing();
+        // Each pane is clipped to its own screen region so nothing is drawn under the other panes
         if (child == mainTable) {
             //Log.d(LOG_TAG, "drawChild:mainTable");
+            canvas.clipRect(getHeaderRight(), getHeaderBottom(), getWidth(), getHeight());
             canvas.concat(mainMatrix);
         } else if (child == columnHeaderTable) {
             //Log.d(LOG_TAG, "drawChild:columnHeaderTable");
+            canvas.clipRect(getHeaderRight(), 0, getWidth(), getHeaderBottom());
             canvas.concat(columnHeaderMatrix);
         } else if (child == rowHeaderTable) {
             //Log.d(LOG_TAG, "drawChild:rowHeaderTable");
+            canvas.clipRect(0, getHeaderBottom(), getHeaderRight(), getHeight());
             canvas.concat(rowHeaderMatrix);
         } else if (child == cornerTable) {
             //Log.d(LOG_TAG, "drawChild:cornerTable");
             canvas.concat(cornerMatrix);
         }
 
-        result = super.drawChild(canvas, child, drawingTime);
+        if (isTileCacheActive()) {
+            tileCache.drawPane(canvas, (FixedHeaderSubTableLayout) child, getPaneIndex(child), tileLevel);
+            result = false;
+        } else {
+            result = super.drawChild(canvas, child, drawingTime);
+        }
+        // Sticky sources are drawn from the main table so crossing a boundary creates no views
+        if (child == columnHeaderTable && activeStickyRow != stickyRowIndices[0]) {
+            drawStickyRow(canvas);
+        } else if (child == rowHeaderTable && activeStickyColumn != stickyColumnIndices[0]) {
+            drawStickyColumn(canvas);
+        }
         canvas.restoreToCount(save);
         return result;
     }
 
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        if (isTileCacheActive()) {
+            if (!scaling) {
+                tileLevel = PaneTileCache.levelFor(getEffectiveScale());
+            }
+            tileCache.beginFrame();
+            super.dispatchDraw(canvas);
+            tileCache.trim();
+            return;
+        }
+        super.dispatchDraw(canvas);
+    }
+
     private void prepareMatricesForDrawing() {
         if (!matricesDirty) {
             return;
@@ -561,6 +2477,32 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
         rowHeaderMatrix.postTranslate(0, effectivePanY);
 
         matricesDirty = false;
+        inverseMatricesDirty = true;
+    }
+
+    // The inverses are only recalculated after the matrices have changed
+    private void prepareInverseMatrices() {
+        prepareMatricesForDrawing();
+        if (!inverseMatricesDirty) {
+            return;
+        }
+        cornerMatrix.invert(inverseCornerMatrix);
+        columnHeaderMatrix.invert(inverseColumnHeaderMatrix);
+        rowHeaderMatrix.invert(inverseRowHeaderMatrix);
+        mainMatrix.invert(inverseMainMatrix);
+        inverseMatricesDirty = false;
+    }
+
+    // Send a single cancel to the children when a scroll or scale takes over the gesture
+    private void cancelChildrenTouch(MotionEvent ev) {
+        if (childrenCancelled) {
+            return;
+        }
+        childrenCancelled = true;
+        int action = ev.getAction();
+        ev.setAction(MotionEvent.ACTION_CANCEL);
+        super.dispatchTouchEvent(ev);
+        ev.setAction(action);
     }
 
     @Override
@@ -580,10 +2522,7 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
 
         if (gestureScale.isInProgress()) {
             // Need to cancel anything we have sent to the children
-            MotionEvent transformEvent = MotionEvent.obtain(ev);
-            transformEvent.setAction(MotionEvent.ACTION_CANCEL);
-            super.dispatchTouchEvent(transformEvent);
-            transformEvent.recycle();
+            cancelChildrenTouch(ev);
             return true;
         }
 
@@ -602,12 +2541,11 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
                 mFirstTouchX = x;
                 mFirstTouchY = y;
                 mActivePointerId = ev.getPointerId(0);
+                childrenCancelled = false;
 
                 // Need to send this to our children but mapped for scale and pan;
                 //Log.d(LOG_TAG, "dispatchTouchEvent Down Action");
-                MotionEvent event = mapMotionEvent(ev);
-                super.dispatchTouchEvent(event);
-                event.recycle();
+                dispatchMappedTouchEvent(ev);
                 break;
             }
 
@@ -637,20 +2575,14 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
                         //Log.d(LOG_TAG, "dispatchTouchEvent scrolling = " + dx + ":" + dy);
                         awakenScrollBars();
                         calculatePanScale(dx, dy, 0, 0, 1);
-                        
+
                         // Need to cancel anything we have sent to the children
-                        MotionEvent transformEvent = MotionEvent.obtain(ev);
-                        transformEvent.setAction(MotionEvent.ACTION_CANCEL);
-                        super.dispatchTouchEvent(transformEvent);
-                        transformEvent.recycle();
+                        cancelChildrenTouch(ev);
                     }
                 } else {
                     // Doing scale so
                     // Need to cancel anything we have sent to the children
-                    MotionEvent transformEvent = MotionEvent.obtain(ev);
-                    transformEvent.setAction(MotionEvent.ACTION_CANCEL);
-                    super.dispatchTouchEvent(transformEvent);
-                    transformEvent.recycle();
+                    cancelChildrenTouch(ev);
                 }
 
                 mLastTouchX = x;
@@ -668,9 +2600,9 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
                 isScrolling = false;
                 // Need to send this to our children but mapped for scale and pan;
                 //Log.d(LOG_TAG, "dispatchTouchEvent Cancel Action");
-                MotionEvent event = mapMotionEvent(ev);
-                super.dispatchTouchEvent(event);
-                event.recycle();
+                if (!childrenCancelled) {
+                    dispatchMappedTouchEvent(ev);
+                }
                 break;
             }
 
@@ -695,54 +2627,61 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
         return true;
     }
 
-    private MotionEvent mapMotionEvent(MotionEvent ev){
-        Matrix mappingMatrix = new Matrix();
-
+    // Dispatch the event to the children mapped for scale and pan, the event is restored afterwards
+    private void dispatchMappedTouchEvent(MotionEvent ev){
         // May be we have not generated the cornerTable Yet so nothing to map event with
         if (cornerTable == null || cornerTable.getWidth() == 0 || cornerTable.getHeight() == 0) {
-            // Return the original transformed new event
-            return MotionEvent.obtain(ev);
+            super.dispatchTouchEvent(ev);
+            return;
+        }
+        Matrix mappingMatrix = getMappingMatrix(ev);
+        ev.transform(mappingMatrix);
+        //Log.d(LOG_TAG, "mappedEvent = " + ev.getX() + ":" + ev.getY());
+        super.dispatchTouchEvent(ev);
+        // Undo the mapping with the draw matrix as the event still belongs to our caller
+        ev.transform(getDrawMatrix(mappingMatrix));
+    }
+
+    private Matrix getDrawMatrix(Matrix inverseMatrix) {
+        if (inverseMatrix == inverseCornerMatrix) {
+            return cornerMatrix;
+        } else if (inverseMatrix == inverseColumnHeaderMatrix) {
+            return columnHeaderMatrix;
+        } else if (inverseMatrix == inverseRowHeaderMatrix) {
+            return rowHeaderMatrix;
         }
+        return mainMatrix;
+    }
+
+    private Matrix getMappingMatrix(MotionEvent ev){
+        prepareInverseMatrices();
 
         // Work out which matrix to use to map the click
         // Find the corner point
-        float[] cornerPoint = new float[2];
-        cornerPoint[0] = cornerTable.getWidth();
-        cornerPoint[1] = cornerTable.getHeight();
-        //Log.d(LOG_TAG, "cornerPoint = " + cornerPoint[0] + ":" + cornerPoint[1]);
-        cornerMatrix.mapPoints(cornerPoint);
-        //Log.d(LOG_TAG, "Mapped cornerPoint = " + cornerPoint[0] + ":" + cornerPoint[1]);
-        if (ev.getY() <= cornerPoint[1]) {
+        mappingPoint[0] = cornerTable.getWidth();
+        mappingPoint[1] = cornerTable.getHeight();
+        //Log.d(LOG_TAG, "cornerPoint = " + mappingPoint[0] + ":" + mappingPoint[1]);
+        cornerMatrix.mapPoints(mappingPoint);
+        //Log.d(LOG_TAG, "Mapped cornerPoint = " + mappingPoint[0] + ":" + mappingPoint[1]);
+        if (ev.getY() <= mappingPoint[1]) {
             // If event Y is less than mapped cornerPoint height it is either corner or column header matrix
-            if (ev.getX() <= cornerPoint[0]){
+            if (ev.getX() <= mappingPoint[0]){
                 // It's corner matrix
-                //Log.d(LOG_TAG, "corner Matrix");
-                cornerMatrix.invert(mappingMatrix);
+                return inverseCornerMatrix;
             } else {
                 // It's column header matrix
-                //Log.d(LOG_TAG, "column header Matrix");
-                columnHeaderMatrix.invert(mappingMatrix);
+                return inverseColumnHeaderMatrix;
             }
         } else {
             // It is either row header or main matrix
-            if (ev.getX() <= cornerPoint[0]){
+            if (ev.getX() <= mappingPoint[0]){
                 // It's row header matrix
-                //Log.d(LOG_TAG, "row header Matrix");
-                rowHeaderMatrix.invert(mappingMatrix);
+                return inverseRowHeaderMatrix;
             } else {
                 // It's main matrix
-                //Log.d(LOG_TAG, "main Matrix");
-                mainMatrix.invert(mappingMatrix);
+                return inverseMainMatrix;
             }
         }
-
-        MotionEvent transformEvent = MotionEvent.obtain(ev);
-        prepareMatricesForDrawing();
-        transformEvent.transform(mappingMatrix);
-
-        //Log.d(LOG_TAG, "mappedEvent = " + transformEvent.getX() + ":" + transformEvent.getY());
-
-        return transformEvent;
     }
 
     @Override
@@ -756,12 +2695,18 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
     @Override
     public boolean onScaleBegin(ScaleGestureDetector detector) {
         //Log.d(LOG_TAG, "scale begin");
+        // Keep compositing the tiles of the current scale until the pinch ends
+        scaling = true;
         return true;
     }
 
     @Override
     public void onScaleEnd(ScaleGestureDetector detector) {
         //Log.d(LOG_TAG, "scale end");
+        scaling = false;
+        if (tileCache != null) {
+            invalidate();
+        }
     }
 
     @Override
@@ -792,73 +2737,85 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
         return (int) -getEffectivePanY();
     }
 
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateVisibleWindow();
+    }
+
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
         super.onLayout(changed, left, top, right, bottom);
         buildRowTopPositions();
         buildColumnLeftPositions();
         updateStickyHeaders();
+        if (mainTable != null && clampPanOnLayout) {
+            clampPanOnLayout = false;
+            calculatePanScale(0, 0, 0, 0, 1f);
+        }
+        if (mainTable != null) {
+            // The panes have moved so their visible parts have too
+            updateCullRects();
+        }
     }
 
+    // Only the sizes that changed are written so the index is patched rather than rebuilt
     private void buildRowTopPositions() {
-        rowTopPositions.clear();
         if (mainTable == null) {
+            rowIndex.clear();
             return;
         }
-        int top = 0;
-        for (int i = 0; i < mainTable.getChildCount(); i++) {
-            View row = mainTable.getChildAt(i);
-            rowTopPositions.add(top);
-            top += row.getMeasuredHeight();
+        if (adapterBinder != null) {
+            // The adapter geometry is already in the index, only the visible rows exist
+            return;
+        }
+        int count = mainTable.getChildCount();
+        for (int i = 0; i < count; i++) {
+            rowIndex.set(i, mainTable.getChildAt(i).getMeasuredHeight());
         }
+        rowIndex.truncate(count);
     }
 
     private void buildColumnLeftPositions() {
-        columnLeftPositions.clear();
+        if (adapterBinder != null) {
+            return;
+        }
         if (mainTable == null || mainTable.getChildCount() == 0) {
+            columnIndex.clear();
             return;
         }
         View firstRow = mainTable.getChildAt(0);
         if (!(firstRow instanceof FixedHeaderTableRow)) {
+            columnIndex.clear();
             return;
         }
         FixedHeaderTableRow row = (FixedHeaderTableRow) firstRow;
-        int left = 0;
-        for (int i = 0; i < row.getChildCount(); i++) {
-            View cell = row.getChildAt(i);
-            columnLeftPositions.add(left);
-            left += cell.getMeasuredWidth();
+        if (row.getColumnModel() == columnIndex) {
+            // The rows share the column widths that were negotiated in addViews
+            return;
+        }
+        if (row.isColumnWindowed()) {
+            // Not all the cells are attached so use the column widths
+            AxisIndex widths = row.getColumnModel();
+            for (int i = 0; i < widths.size(); i++) {
+                columnIndex.set(i, widths.getSize(i));
+            }
+            columnIndex.truncate(widths.size());
+            return;
         }
+        int count = row.getChildCount();
+        for (int i = 0; i < count; i++) {
+            columnIndex.set(i, row.getChildAt(i).getMeasuredWidth());
+        }
+        columnIndex.truncate(count);
     }
 
     private int getFirstVisibleRowIndex(float effectivePanY, float effectiveScale) {
-        if (rowTopPositions.isEmpty()) return 0;
-        float contentOffsetY = -effectivePanY / effectiveScale;
-        int index = 0;
-        for (int i = 0; i < rowTopPositions.size(); i++) {
-            int top = rowTopPositions.get(i);
-            if (top <= contentOffsetY) {
-                index = i;
-            } else {
-                break;
-            }
-        }
-        return index;
+        return Math.max(0, rowIndex.indexAt(-effectivePanY / effectiveScale));
     }
 
     private int getFirstVisibleColumnIndex(float effectivePanX, float effectiveScale) {
-        if (columnLeftPositions.isEmpty()) return 0;
-        float contentOffsetX = -effectivePanX / effectiveScale;
-        int index = 0;
-        for (int i = 0; i < columnLeftPositions.size(); i++) {
-            int left = columnLeftPositions.get(i);
-            if (left <= contentOffsetX) {
-                index = i;
-            } else {
-                break;
-            }
-        }
-        return index;
+        return Math.max(0, columnIndex.indexAt(-effectivePanX / effectiveScale));
     }
 
     private void updateStickyHeaders() {
@@ -882,7 +2839,8 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
         }
         if (candidate != activeStickyRow) {
             activeStickyRow = candidate;
-            rebuildRowHeaderForActiveStickyRow();
+            pinStickySources();
+            invalidate();
         }
     }
 
@@ -898,72 +2856,118 @@ public class FixedHeaderTableLayout extends FrameLayout implements ScaleGestureD
         }
         if (candidate != activeStickyColumn) {
             activeStickyColumn = candidate;
-            rebuildColumnHeaderForActiveStickyColumn();
+            pinStickySources();
+            invalidate();
         }
     }
 
-    private void rebuildRowHeaderForActiveStickyRow() {
-        if (rowHeaderTable == null || mainTable == null) {
+    // Keep the sources of the active sticky row and column attached so they can be drawn
+    private void pinStickySources() {
+        if (mainTable == null) {
             return;
         }
-        if (activeStickyRow >= mainTable.getChildCount()) {
+        boolean rowActive = activeStickyRow != stickyRowIndices[0];
+        boolean columnActive = activeStickyColumn != stickyColumnIndices[0];
+        if (adapterBinder != null) {
+            adapterBinder.setPinnedRow(rowActive ? activeStickyRow : -1);
+            adapterBinder.setPinnedColumn(columnActive ? activeStickyColumn : -1);
             return;
         }
-        rowHeaderTable.removeAllViews();
-        View sourceRow = mainTable.getChildAt(activeStickyRow);
-        if (sourceRow instanceof FixedHeaderTableRow) {
-            rowHeaderTable.addView(cloneRow((FixedHeaderTableRow) sourceRow));
+        for (int i = 0; i < mainTable.getChildCount(); i++) {
+            ((FixedHeaderTableRow) mainTable.getChildAt(i)).setPinnedColumn(columnActive ? activeStickyColumn : -1);
+        }
+        if (rowActive) {
+            // The sticky row is drawn while its row is out of view
+            mainTable.refreshColumns(activeStickyRow);
         }
     }
 
-    private void rebuildColumnHeaderForActiveStickyColumn() {
-        if (columnHeaderTable == null || mainTable == null) {
-            return;
+    @Nullable
+    private FixedHeaderTableRow getStickySourceRow() {
+        if (adapterBinder != null) {
+            return adapterBinder.getMainRow(activeStickyRow);
         }
-        if (mainTable.getChildCount() == 0) {
+        if (activeStickyRow >= mainTable.getChildCount()) {
+            return null;
+        }
+        return (FixedHeaderTableRow) mainTable.getChildAt(activeStickyRow);
+    }
+
+    // Draw the active sticky row of the main table in place of the column header, the canvas has the column header matrix
+    private void drawStickyRow(Canvas canvas) {
+        FixedHeaderTableRow sourceRow = getStickySourceRow();
+        if (sourceRow == null) {
             return;
         }
-        columnHeaderTable.removeAllViews();
-        FixedHeaderTableRow headerRow = new FixedHeaderTableRow(getContext());
-        FixedHeaderTableRow sourceRow = (FixedHeaderTableRow) mainTable.getChildAt(0);
-        int columnCount = sourceRow.getChildCount();
-        for (int i = activeStickyColumn; i < columnCount; i++) {
-            headerRow.addView(cloneCell(sourceRow.getChildAt(i)));
+        canvas.clipRect(columnHeaderTable.getLeft(), columnHeaderTable.getTop(),
+                columnHeaderTable.getRight(), columnHeaderTable.getBottom());
+        canvas.translate(columnHeaderTable.getLeft(), columnHeaderTable.getTop());
+        drawPaneBackground(canvas, columnHeaderTable);
+        canvas.translate(sourceRow.getLeft(), 0);
+        sourceRow.draw(canvas);
+        if (mainTable.hasMergedRegions()) {
+            // The part of each merged region crossing the row, the regions are drawn in table coordinates
+            canvas.clipRect(0, 0, sourceRow.getWidth(), sourceRow.getHeight());
+            canvas.translate(-sourceRow.getLeft(), -sourceRow.getTop());
+            mainTable.drawMergedRegions(canvas, activeStickyRow, -1);
         }
-        columnHeaderTable.addView(headerRow);
     }
 
-    private FixedHeaderTableRow cloneRow(FixedHeaderTableRow source) {
-        FixedHeaderTableRow clone = new FixedHeaderTableRow(getContext());
-        clone.setExplicitColumnWidths(new ArrayList<>(source.getExplicitColumnWidths()));
-        for (int i = 0; i < source.getChildCount(); i++) {
-            clone.addView(cloneCell(source.getChildAt(i)));
+    // Draw the active sticky column of the main table in place of the row header, the canvas has the row header matrix
+    private void drawStickyColumn(Canvas canvas) {
+        canvas.clipRect(rowHeaderTable.getLeft(), rowHeaderTable.getTop(),
+                rowHeaderTable.getRight(), rowHeaderTable.getBottom());
+        canvas.translate(rowHeaderTable.getLeft(), rowHeaderTable.getTop());
+        drawPaneBackground(canvas, rowHeaderTable);
+        boolean merged = mainTable.hasMergedRegions();
+        int firstRow = 0;
+        int lastRow = mainTable.getChildCount() - 1;
+        if (adapterBinder == null && rowIndex.size() == mainTable.getChildCount()) {
+            // The rows are in order so only the ones in view are drawn, an adapter only attaches those
+            visibleRange(stickyColumnRange);
+            firstRow = Math.max(0, stickyColumnRange.getFirstRow());
+            lastRow = Math.min(lastRow, stickyColumnRange.getLastRow());
+        }
+        for (int i = firstRow; i <= lastRow; i++) {
+            FixedHeaderTableRow row = (FixedHeaderTableRow) mainTable.getChildAt(i);
+            if (merged && mainTable.isMergedCell(i, activeStickyColumn)) {
+                continue;
+            }
+            if (row.isRendered()) {
+                int save = canvas.save();
+                canvas.translate(0, row.getTop() + row.getPaddingTop());
+                row.drawRenderedCell(canvas, activeStickyColumn);
+                canvas.restoreToCount(save);
+                continue;
+            }
+            View cell = row.getCellForColumn(activeStickyColumn);
+            if (cell == null || cell.getVisibility() != VISIBLE) {
+                continue;
+            }
+            int save = canvas.save();
+            canvas.translate(0, row.getTop() + cell.getTop());
+            cell.draw(canvas);
+            canvas.restoreToCount(save);
+        }
+        if (merged && mainTable.getChildCount() > 0) {
+            // The part of each merged region crossing the column, the regions are drawn in table coordinates
+            FixedHeaderTableRow firstRow = (FixedHeaderTableRow) mainTable.getChildAt(0);
+            AxisIndex columnWidths = firstRow.getColumnModel();
+            if (activeStickyColumn < columnWidths.size()) {
+                int columnLeft = firstRow.getLeft() + firstRow.getPaddingLeft() + columnWidths.getStart(activeStickyColumn);
+                canvas.clipRect(0, 0, columnWidths.getSize(activeStickyColumn), mainTable.getHeight());
+                canvas.translate(-columnLeft, 0);
+                mainTable.drawMergedRegions(canvas, -1, activeStickyColumn);
+            }
         }
-        return clone;
     }
 
-    private View cloneCell(View original) {
-        View copy;
-        if (original instanceof android.widget.TextView) {
-            android.widget.TextView text = (android.widget.TextView) original;
-            android.widget.TextView clone = new android.widget.TextView(getContext());
-            clone.setText(text.getText());
-            clone.setTextSize(android.util.TypedValue.COMPLEX_UNIT_PX, text.getTextSize());
-            clone.setTextColor(text.getCurrentTextColor());
-            clone.setPadding(text.getPaddingLeft(), text.getPaddingTop(), text.getPaddingRight(), text.getPaddingBottom());
-            clone.setGravity(text.getGravity());
-            clone.setTypeface(text.getTypeface());
-            clone.setBackground(text.getBackground());
-            copy = clone;
-        } else {
-            copy = new View(getContext());
-            copy.setBackground(original.getBackground());
-        }
-        ViewGroup.LayoutParams params = original.getLayoutParams();
-        if (params != null) {
-            copy.setLayoutParams(new ViewGroup.LayoutParams(params.width, params.height));
+    private void drawPaneBackground(Canvas canvas, View pane) {
+        Drawable background = pane.getBackground();
+        if (background != null) {
+            background.setBounds(0, 0, pane.getWidth(), pane.getHeight());
+            background.draw(canvas);
         }
-        return copy;
     }
 
     @Override
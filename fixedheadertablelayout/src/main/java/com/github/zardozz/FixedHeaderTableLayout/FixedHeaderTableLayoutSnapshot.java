@@ -0,0 +1,118 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+/**
+ * The measured geometry of the four tables of a {@link FixedHeaderTableLayout}, computed away from
+ * the main thread by {@link FixedHeaderTablePrecomputer}.
+ * <p>
+ * Passing a snapshot to
+ * {@link FixedHeaderTableLayout#addViews(FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderSubTableLayout, FixedHeaderTableLayoutSnapshot)}
+ * skips measuring every cell at its natural size and negotiating the column widths and row heights
+ * on the main thread.
+ */
+public final class FixedHeaderTableLayoutSnapshot {
+
+    public static final int MAIN_TABLE = 0;
+    public static final int COLUMN_HEADER_TABLE = 1;
+    public static final int ROW_HEADER_TABLE = 2;
+    public static final int CORNER_TABLE = 3;
+
+    // Text of each cell, precomputed where the platform supports it, indexed [table][row][column]
+    final CharSequence[][][] texts;
+    // Natural size of each cell indexed [table][row][column]
+    final int[][][] cellWidths;
+    final int[][][] cellHeights;
+
+    // Negotiated sizes shared by the tables on the same side
+    final int[] rightColumnWidths;
+    final int[] leftColumnWidths;
+    final int[] bottomRowHeights;
+    final int[] topRowHeights;
+
+    FixedHeaderTableLayoutSnapshot(CharSequence[][][] texts, int[][][] cellWidths, int[][][] cellHeights,
+                                   int[] rightColumnWidths, int[] leftColumnWidths,
+                                   int[] bottomRowHeights, int[] topRowHeights) {
+        this.texts = texts;
+        this.cellWidths = cellWidths;
+        this.cellHeights = cellHeights;
+        this.rightColumnWidths = rightColumnWidths;
+        this.leftColumnWidths = leftColumnWidths;
+        this.bottomRowHeights = bottomRowHeights;
+        this.topRowHeights = topRowHeights;
+    }
+
+    /**
+     * @param table one of {@link #MAIN_TABLE}, {@link #COLUMN_HEADER_TABLE}, {@link #ROW_HEADER_TABLE} or {@link #CORNER_TABLE}
+     * @return the number of rows of the table
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getRowCount(int table) {
+        return texts[table].length;
+    }
+
+    /**
+     * @param table one of {@link #MAIN_TABLE}, {@link #COLUMN_HEADER_TABLE}, {@link #ROW_HEADER_TABLE} or {@link #CORNER_TABLE}
+     * @param row the row of the table
+     * @return the number of cells in the row
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getColumnCount(int table, int row) {
+        return texts[table][row].length;
+    }
+
+    /**
+     * The text to show in a cell, on API 28 and above this is a {@link android.text.PrecomputedText}
+     * so setting it on a TextView configured by {@link FixedHeaderTablePrecomputer#applyTo} does not
+     * measure the text again.
+     *
+     * @param table one of {@link #MAIN_TABLE}, {@link #COLUMN_HEADER_TABLE}, {@link #ROW_HEADER_TABLE} or {@link #CORNER_TABLE}
+     * @param row the row of the table
+     * @param column the column of the table
+     * @return the text of the cell
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public CharSequence getText(int table, int row, int column) {
+        return texts[table][row][column];
+    }
+
+    /**
+     * @param column the column of the main and column header tables
+     * @return the width of the column
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getColumnWidth(int column) {
+        return rightColumnWidths[column];
+    }
+
+    /**
+     * @param row the row of the main and row header tables
+     * @return the height of the row
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getRowHeight(int row) {
+        return bottomRowHeights[row];
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.graphics.Paint;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Layout;
+import android.text.PrecomputedText;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.TypedValue;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Measures the text of every cell and negotiates the column widths and row heights of a
+ * {@link FixedHeaderTableLayout} away from the main thread, producing a
+ * {@link FixedHeaderTableLayoutSnapshot} the Layout can apply without measuring any cell itself.
+ * <p>
+ * All cells are assumed to be TextViews styled like the Paint and padding given here,
+ * use {@link #applyTo(TextView, CharSequence)} to style them to match.
+ */
+public class FixedHeaderTablePrecomputer {
+
+    /**
+     * Receives the snapshot on the main thread
+     */
+    public interface Callback {
+        void onSnapshotReady(@NonNull FixedHeaderTableLayoutSnapshot snapshot);
+    }
+
+    private final TextPaint textPaint;
+    private final int paddingLeft;
+    private final int paddingTop;
+    private final int paddingRight;
+    private final int paddingBottom;
+    // PrecomputedText.Params on API 28 and above
+    private final Object textMetricsParams;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * @param textPaint the Paint the cells draw their text with, it is copied
+     * @param paddingLeft the left padding of each cell
+     * @param paddingTop the top padding of each cell
+     * @param paddingRight the right padding of each cell
+     * @param paddingBottom the bottom padding of each cell
+     */
+    public FixedHeaderTablePrecomputer(@NonNull TextPaint textPaint, int paddingLeft, int paddingTop,
+                                       int paddingRight, int paddingBottom) {
+        this(textPaint, paddingLeft, paddingTop, paddingRight, paddingBottom, null);
+    }
+
+    private FixedHeaderTablePrecomputer(TextPaint textPaint, int paddingLeft, int paddingTop,
+                                        int paddingRight, int paddingBottom, @Nullable Object textMetricsParams) {
+        this.textPaint = new TextPaint(textPaint);
+        this.paddingLeft = paddingLeft;
+        this.paddingTop = paddingTop;
+        this.paddingRight = paddingRight;
+        this.paddingBottom = paddingBottom;
+        if (textMetricsParams == null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            textMetricsParams = new PrecomputedText.Params.Builder(this.textPaint).build();
+        }
+        this.textMetricsParams = textMetricsParams;
+    }
+
+    /**
+     * Create a precomputer matching the text style and padding of an example cell
+     * @param textView a TextView styled like the cells
+     * @return the precomputer
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public static FixedHeaderTablePrecomputer fromTextView(@NonNull TextView textView) {
+        Object textMetricsParams = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            textMetricsParams = textView.getTextMetricsParams();
+        }
+        return new FixedHeaderTablePrecomputer(textView.getPaint(), textView.getPaddingLeft(), textView.getPaddingTop(),
+                textView.getPaddingRight(), textView.getPaddingBottom(), textMetricsParams);
+    }
+
+    /**
+     * Style a cell to match the measurements and set its text
+     * @param textView the cell
+     * @param text the text from {@link FixedHeaderTableLayoutSnapshot#getText(int, int, int)}
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void applyTo(@NonNull TextView textView, CharSequence text) {
+        textView.setTextSize(TypedValue.COMPLEX_UNIT_PX, textPaint.getTextSize());
+        textView.setTypeface(textPaint.getTypeface());
+        textView.setPadding(paddingLeft, paddingTop, paddingRight, paddingBottom);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            textView.setTextMetricsParams((PrecomputedText.Params) textMetricsParams);
+        }
+        textView.setText(text);
+    }
+
+    /**
+     * Measure the cells on the executor and deliver the snapshot on the main thread
+     * @param mainCells the text of the main table cells indexed [row][column]
+     * @param columnHeaderCells the text of the column header table cells indexed [row][column]
+     * @param rowHeaderCells the text of the row header table cells indexed [row][column]
+     * @param cornerCells the text of the corner table cells indexed [row][column]
+     * @param executor the background executor to measure on
+     * @param callback receives the snapshot on the main thread
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void computeAsync(@NonNull final CharSequence[][] mainCells, @NonNull final CharSequence[][] columnHeaderCells,
+                             @NonNull final CharSequence[][] rowHeaderCells, @NonNull final CharSequence[][] cornerCells,
+                             @NonNull Executor executor, @NonNull final Callback callback) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final FixedHeaderTableLayoutSnapshot snapshot = compute(mainCells, columnHeaderCells, rowHeaderCells, cornerCells);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onSnapshotReady(snapshot);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Measure the cells on the calling thread, which should not be the main thread
+     * @param mainCells the text of the main table cells indexed [row][column]
+     * @param columnHeaderCells the text of the column header table cells indexed [row][column]
+     * @param rowHeaderCells the text of the row header table cells indexed [row][column]
+     * @param cornerCells the text of the corner table cells indexed [row][column]
+     * @return the snapshot
+     */
+    @WorkerThread
+    @NonNull
+    public FixedHeaderTableLayoutSnapshot compute(@NonNull CharSequence[][] mainCells, @NonNull CharSequence[][] columnHeaderCells,
+                                                  @NonNull CharSequence[][] rowHeaderCells, @NonNull CharSequence[][] cornerCells) {
+        // Each computation gets its own Paint, and PrecomputedText params built on it, so computations can run in parallel
+        TextPaint paint = new TextPaint(textPaint);
+        Object params = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            PrecomputedText.Params shared = (PrecomputedText.Params) textMetricsParams;
+            params = new PrecomputedText.Params.Builder(paint)
+                    .setBreakStrategy(shared.getBreakStrategy())
+                    .setHyphenationFrequency(shared.getHyphenationFrequency())
+                    .setTextDirection(shared.getTextDirection())
+                    .build();
+        }
+        Paint.FontMetricsInt fontMetrics = paint.getFontMetricsInt();
+        int lineHeight = fontMetrics.bottom - fontMetrics.top;
+
+        CharSequence[][][] texts = new CharSequence[4][][];
+        int[][][] cellWidths = new int[4][][];
+        int[][][] cellHeights = new int[4][][];
+        measureTable(FixedHeaderTableLayoutSnapshot.MAIN_TABLE, mainCells, paint, params, lineHeight, texts, cellWidths, cellHeights);
+        measureTable(FixedHeaderTableLayoutSnapshot.COLUMN_HEADER_TABLE, columnHeaderCells, paint, params, lineHeight, texts, cellWidths, cellHeights);
+        measureTable(FixedHeaderTableLayoutSnapshot.ROW_HEADER_TABLE, rowHeaderCells, paint, params, lineHeight, texts, cellWidths, cellHeights);
+        measureTable(FixedHeaderTableLayoutSnapshot.CORNER_TABLE, cornerCells, paint, params, lineHeight, texts, cellWidths, cellHeights);
+
+        // The same negotiation addViews does, a side of the table shares its widths or heights
+        int[] rightColumnWidths = maxColumnWidths(cellWidths[FixedHeaderTableLayoutSnapshot.MAIN_TABLE],
+                cellWidths[FixedHeaderTableLayoutSnapshot.COLUMN_HEADER_TABLE]);
+        int[] leftColumnWidths = maxColumnWidths(cellWidths[FixedHeaderTableLayoutSnapshot.ROW_HEADER_TABLE],
+                cellWidths[FixedHeaderTableLayoutSnapshot.CORNER_TABLE]);
+        int[] bottomRowHeights = maxRowHeights(cellHeights[FixedHeaderTableLayoutSnapshot.MAIN_TABLE],
+                cellHeights[FixedHeaderTableLayoutSnapshot.ROW_HEADER_TABLE]);
+        int[] topRowHeights = maxRowHeights(cellHeights[FixedHeaderTableLayoutSnapshot.COLUMN_HEADER_TABLE],
+                cellHeights[FixedHeaderTableLayoutSnapshot.CORNER_TABLE]);
+
+        return new FixedHeaderTableLayoutSnapshot(texts, cellWidths, cellHeights,
+                rightColumnWidths, leftColumnWidths, bottomRowHeights, topRowHeights);
+    }
+
+    private void measureTable(int table, CharSequence[][] cells, TextPaint paint, Object params, int lineHeight,
+                              CharSequence[][][] texts, int[][][] cellWidths, int[][][] cellHeights) {
+        texts[table] = new CharSequence[cells.length][];
+        cellWidths[table] = new int[cells.length][];
+        cellHeights[table] = new int[cells.length][];
+        for (int row = 0; row < cells.length; row++) {
+            int columnCount = cells[row].length;
+            texts[table][row] = new CharSequence[columnCount];
+            cellWidths[table][row] = new int[columnCount];
+            cellHeights[table][row] = new int[columnCount];
+            for (int column = 0; column < columnCount; column++) {
+                CharSequence text = cells[row][column] == null ? "" : cells[row][column];
+                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+                    text = PrecomputedText.create(text, (PrecomputedText.Params) params);
+                }
+                int width = (int) Math.ceil(getTextWidth(text, paint));
+                int height = lineHeight;
+                if (TextUtils.indexOf(text, '\n') >= 0) {
+                    // Only multi line text needs a full layout to find its height
+                    @SuppressWarnings("deprecation")
+                    StaticLayout layout = new StaticLayout(text, paint, width, Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true);
+                    height = layout.getHeight();
+                }
+                texts[table][row][column] = text;
+                cellWidths[table][row][column] = width + paddingLeft + paddingRight;
+                cellHeights[table][row][column] = height + paddingTop + paddingBottom;
+            }
+        }
+    }
+
+    // The width of the widest paragraph, taken from the measurements of a PrecomputedText where the platform exposes them
+    private static float getTextWidth(CharSequence text, TextPaint paint) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && text instanceof PrecomputedText) {
+            PrecomputedText precomputed = (PrecomputedText) text;
+            float width = 0;
+            for (int paragraph = 0; paragraph < precomputed.getParagraphCount(); paragraph++) {
+                int start = precomputed.getParagraphStart(paragraph);
+                int end = precomputed.getParagraphEnd(paragraph);
+                if (end > start && precomputed.charAt(end - 1) == '\n') {
+                    // The line break is not drawn
+                    end--;
+                }
+                if (end > start) {
+                    width = Math.max(width, precomputed.getWidth(start, end));
+                }
+            }
+            return width;
+        }
+        return Layout.getDesiredWidth(text, paint);
+    }
+
+    private static int[] maxColumnWidths(int[][] first, int[][] second) {
+        int columnCount = 0;
+        for (int[] row : first) {
+            columnCount = Math.max(columnCount, row.length);
+        }
+        for (int[] row : second) {
+            columnCount = Math.max(columnCount, row.length);
+        }
+        int[] widths = new int[columnCount];
+        foldColumnWidths(widths, first);
+        foldColumnWidths(widths, second);
+        return widths;
+    }
+
+    private static void foldColumnWidths(int[] widths, int[][] rows) {
+        for (int[] row : rows) {
+            for (int column = 0; column < row.length; column++) {
+                widths[column] = Math.max(widths[column], row[column]);
+            }
+        }
+    }
+
+    private static int[] maxRowHeights(int[][] first, int[][] second) {
+        int[] heights = new int[Math.max(first.length, second.length)];
+        foldRowHeights(heights, first);
+        foldRowHeights(heights, second);
+        return heights;
+    }
+
+    private static void foldRowHeights(int[] heights, int[][] rows) {
+        for (int row = 0; row < rows.length; row++) {
+            for (int height : rows[row]) {
+                heights[row] = Math.max(heights[row], height);
+            }
+        }
+    }
+}
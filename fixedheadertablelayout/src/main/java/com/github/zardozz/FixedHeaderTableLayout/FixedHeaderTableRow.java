@@ -25,26 +25,85 @@
 package com.github.zardozz.FixedHeaderTableLayout;
 
 import android.content.Context;
+import android.graphics.Canvas;
 import android.os.Build;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.view.View;
+import android.view.ViewGroup;
 import android.widget.LinearLayout;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RequiresApi;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 public class FixedHeaderTableRow extends LinearLayout {
 
-    private ArrayList<Integer> mColumnWidths = new ArrayList<>();
-    private ArrayList<Integer> mExplicitColumnWidths = new ArrayList<>();
-    private ArrayList<CellSpan> mColumnSpans = new ArrayList<>();
+    private static final int[] NO_VALUES = new int[0];
+    private static final View[] NO_VIEWS = new View[0];
+
+    // Column widths, usually the model shared by every row on the same side of the table
+    private AxisIndex mColumnWidths = null;
+    // Widths of this row alone, only created when the row is not given a shared model
+    private AxisIndex mOwnColumnWidths = null;
+    // Explicit width of each column or 0 to use the measured width
+    private int[] mExplicitColumnWidths = NO_VALUES;
+    // Merged cells of this row
+    private final SpanIndex mColumnSpans = new SpanIndex();
+    // Columns of the merged regions of the table that cross this row. The value is the row span of the
+    // region in its first row and minus the offset of the row inside the region in the rows below it
+    private final SpanIndex mRegionCells = new SpanIndex();
+    // Size each column and the row asked for in the last preMeasure, before the widths were shared
+    private int[] mNaturalWidths = NO_VALUES;
+    private int[] mNaturalHeights = NO_VALUES;
+    // Cell each column was last measured from at its natural size and the size it measured, a cell that
+    // has not asked for a layout since is not measured again
+    private View[] mMeasuredCells = NO_VIEWS;
+    private int[] mMeasuredCellWidths = NO_VALUES;
+    private int[] mMeasuredCellHeights = NO_VALUES;
+    private int mNaturalColumnCount = 0;
+    private int mNaturalHeight = 0;
     private int myWidth = 0;
     private int myHeight = 0;
     private int maxChildHeight = 0;
     private boolean preMeasured = false;
+    // Top of the row inside a virtual FixedHeaderSubTableLayout
+    private int virtualTop = 0;
+    // Column widths of the table the row was last measured with, see FixedHeaderSubTableLayout.invalidateColumns
+    private int columnGeneration = 0;
+    // Adapter row bound to this row or -1
+    private int boundRow = -1;
+
+    // Column window, when set only the cells of windowFirstColumn..windowLastColumn are attached
+    private CellSource cellSource = null;
+    private int windowFirstColumn = 0;
+    private int windowLastColumn = -1;
+    // Column kept attached outside of the window, its cell is the last child
+    private int pinnedColumn = -1;
+    private View pinnedCell = null;
+    // Horizontal range to draw in row coordinates, culling is off while cullRight < cullLeft
+    private float cullLeft = 0;
+    private float cullRight = -1;
+    // First and last cell drawn by the last dispatchDraw
+    private long drawnCells = -1;
+    // Cells drawn by the CellRenderer of the table, null when the cells are child views
+    private TableCell[] renderedCells = null;
+    // Samples of a TableSchema, cells that cannot widen their column skip the preMeasure
+    private TableSchema.ColumnSamples columnSamples = null;
+    // Number of children at the last layout, a request after one was removed is not kept inside the row
+    private int laidOutChildCount = -1;
+    // Cells that asked for a layout inside a row with fixed cell sizes are laid out on the next frame
+    private boolean cellLayoutPending = false;
+    private final Runnable cellLayoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            cellLayoutPending = false;
+            layoutRequestedCells();
+        }
+    };
 
     private static final String LOG_TAG = FixedHeaderTableRow.class.getSimpleName();
 
@@ -76,44 +135,161 @@ public class FixedHeaderTableRow extends LinearLayout {
         super.setOrientation(HORIZONTAL);
     }
 
+    /**
+     * @return a copy of the column widths used by this row
+     */
     @SuppressWarnings({"UnusedDeclaration"})
     public ArrayList<Integer> getColumnWidths() {
-        return mColumnWidths;
+        AxisIndex columnWidths = getColumnModel();
+        ArrayList<Integer> widths = new ArrayList<>(columnWidths.size());
+        for (int column = 0; column < columnWidths.size(); column++) {
+            widths.add(columnWidths.getSize(column));
+        }
+        return widths;
     }
 
+    /**
+     * Give this row its own column widths, rows of a {@link FixedHeaderTableLayout}
+     * share the column widths of the Layout instead
+     * @param mColumnWidths the width of each column
+     */
     @SuppressWarnings({"UnusedDeclaration"})
     public void setColumnWidths(ArrayList<Integer> mColumnWidths) {
-        this.mColumnWidths = mColumnWidths;
+        if (mOwnColumnWidths == null) {
+            mOwnColumnWidths = new AxisIndex();
+        }
+        mOwnColumnWidths.clear();
+        for (int column = 0; column < mColumnWidths.size(); column++) {
+            mOwnColumnWidths.add(mColumnWidths.get(column));
+        }
+        this.mColumnWidths = mOwnColumnWidths;
     }
 
     @SuppressWarnings({"UnusedDeclaration"})
     public void setExplicitColumnWidths(@Nullable ArrayList<Integer> explicitColumnWidths) {
         if (explicitColumnWidths == null) {
-            this.mExplicitColumnWidths.clear();
-        } else {
-            this.mExplicitColumnWidths = explicitColumnWidths;
+            setExplicitColumnWidths(NO_VALUES);
+            return;
         }
-        requestLayout();
+        int[] widths = new int[explicitColumnWidths.size()];
+        for (int column = 0; column < widths.length; column++) {
+            Integer width = explicitColumnWidths.get(column);
+            widths[column] = width == null ? 0 : width;
+        }
+        setExplicitColumnWidths(widths);
+    }
+
+    // Only asks for a layout when a width changed
+    void setExplicitColumnWidths(int[] explicitColumnWidths) {
+        if (Arrays.equals(mExplicitColumnWidths, explicitColumnWidths)) {
+            return;
+        }
+        this.mExplicitColumnWidths = explicitColumnWidths;
+        requestRowLayout();
     }
 
+    int getExplicitColumnWidth(int column) {
+        return column < mExplicitColumnWidths.length ? mExplicitColumnWidths[column] : 0;
+    }
+
+    /**
+     * @return a copy of the explicit column widths of this row
+     */
     @SuppressWarnings({"UnusedDeclaration"})
     public ArrayList<Integer> getExplicitColumnWidths() {
-        return mExplicitColumnWidths;
+        ArrayList<Integer> widths = new ArrayList<>(mExplicitColumnWidths.length);
+        for (int width : mExplicitColumnWidths) {
+            widths.add(width);
+        }
+        return widths;
     }
 
     @SuppressWarnings({"UnusedDeclaration"})
     public void clearMergedCells() {
         mColumnSpans.clear();
-        requestLayout();
+        requestRowLayout();
     }
 
+    /**
+     * Merge cells of this row, the first cell is drawn across all the columns.
+     * A merge replaces the merged cells it overlaps.
+     * To merge cells across rows use {@link FixedHeaderSubTableLayout#mergeCells(int, int, int, int)}
+     * @param startColumn the first column
+     * @param span the number of columns
+     */
     @SuppressWarnings({"UnusedDeclaration"})
     public void mergeCells(int startColumn, int span) {
         if (span < 1) {
             throw new IllegalArgumentException("Span must be 1 or greater");
         }
-        mColumnSpans.add(new CellSpan(startColumn, span));
-        requestLayout();
+        mColumnSpans.add(startColumn, span, 0);
+        requestRowLayout();
+    }
+
+    void clearRegionCells() {
+        mRegionCells.clear();
+    }
+
+    /**
+     * Mark the columns of a merged region of the table crossing this row
+     * @param firstColumn the first column of the region
+     * @param columnSpan the number of columns of the region
+     * @param value the row span of the region in its first row, minus the offset of this row in the region otherwise
+     */
+    void addRegionCells(int firstColumn, int columnSpan, int value) {
+        mRegionCells.add(firstColumn, columnSpan, value);
+    }
+
+    /**
+     * Measure the first cell of a merged region of the table to the size of the whole region
+     * @param column the first column of the region
+     * @param width the width of the region
+     * @param height the height of the region
+     */
+    void measureRegionCell(int column, int width, int height) {
+        View cell = getCellForColumn(column);
+        if (cell == null || cell.getVisibility() == View.GONE) {
+            return;
+        }
+        measureChildWithMargins(cell, MeasureSpec.makeMeasureSpec(width, MeasureSpec.EXACTLY), 0,
+                MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY), 0);
+    }
+
+    /**
+     * Draw the first cell of a merged region of the table with its top left at the origin of the canvas,
+     * the row does not draw the cells of merged regions itself
+     * @param canvas the canvas to draw on
+     * @param column the first column of the region
+     * @param width the width of the region
+     * @param height the height of the region
+     */
+    void drawRegionCell(Canvas canvas, int column, int width, int height) {
+        if (renderedCells != null) {
+            if (column < renderedCells.length && renderedCells[column] != null) {
+                getCellRenderer().draw(canvas, renderedCells[column], width, height);
+            }
+            return;
+        }
+        View cell = getCellForColumn(column);
+        if (cell != null && cell.getVisibility() == View.VISIBLE) {
+            cell.draw(canvas);
+        }
+    }
+
+    // Cells covered by a merged region of the table do not size their column or row,
+    // the first cell of a region spanning rows does not size its row
+    private void excludeRegionSize(int column) {
+        int region = mRegionCells.indexOf(column);
+        if (region < 0) {
+            return;
+        }
+        int value = mRegionCells.getValue(region);
+        if (value < 0 || mRegionCells.getStart(region) != column) {
+            mNaturalWidths[column] = 0;
+        }
+        if (value != 1) {
+            mNaturalHeights[column] = 0;
+        }
     }
 
     @SuppressWarnings({"UnusedDeclaration"})
@@ -123,7 +299,616 @@ public class FixedHeaderTableRow extends LinearLayout {
 
     @SuppressWarnings({"UnusedDeclaration"})
     public void setMaxChildHeight(int maxChildHeight) {
-        this.maxChildHeight = maxChildHeight;
+        if (this.maxChildHeight != maxChildHeight) {
+            this.maxChildHeight = maxChildHeight;
+            // The row changed size so a later request is not kept inside the row
+            forceLayout();
+        }
+    }
+
+    /**
+     * Give the row a known geometry so it skips measuring its content,
+     * used when the cells are bound from a {@link FixedHeaderTableAdapter}
+     * @param columnWidths the width of each column
+     * @param rowHeight the height of the row
+     */
+    void setFixedGeometry(AxisIndex columnWidths, int rowHeight) {
+        mColumnWidths = columnWidths;
+        maxChildHeight = rowHeight;
+        preMeasured = true;
+    }
+
+    /**
+     * Give the row the natural size of its cells measured elsewhere so it skips the preMeasure,
+     * used when the sizes come from a {@link FixedHeaderTableLayoutSnapshot}
+     * @param widths the natural width of each cell
+     * @param heights the natural height of each cell
+     */
+    void setNaturalSizes(int[] widths, int[] heights) {
+        final int count = widths.length;
+        if (mNaturalWidths.length < count) {
+            mNaturalWidths = new int[count];
+            mNaturalHeights = new int[count];
+        }
+        System.arraycopy(widths, 0, mNaturalWidths, 0, count);
+        System.arraycopy(heights, 0, mNaturalHeights, 0, count);
+        mNaturalColumnCount = count;
+        mNaturalHeight = 0;
+        for (int i = 0; i < count; i++) {
+            mNaturalHeight = Math.max(mNaturalHeight, heights[i]);
+        }
+        if (mColumnWidths == mOwnColumnWidths) {
+            mColumnWidths = null;
+        }
+        maxChildHeight = mNaturalHeight;
+        preMeasured = true;
+    }
+
+    /**
+     * Use the samples of a {@link TableSchema} in the next preMeasure
+     * @param columnSamples the samples of the columns on the side of the table this row is on or null
+     */
+    void setColumnSamples(@Nullable TableSchema.ColumnSamples columnSamples) {
+        this.columnSamples = columnSamples;
+    }
+
+    /**
+     * Share a column width model with the other rows on the same side of the table
+     * @param columnWidths the width of each column
+     */
+    void setColumnModel(AxisIndex columnWidths) {
+        if (mColumnWidths != columnWidths) {
+            mColumnWidths = columnWidths;
+            forceLayout();
+        }
+    }
+
+    /**
+     * @return the column widths used by this row, built from its own cells if it has no shared model
+     */
+    AxisIndex getColumnModel() {
+        if (mColumnWidths == null) {
+            if (mOwnColumnWidths == null) {
+                mOwnColumnWidths = new AxisIndex();
+            }
+            mOwnColumnWidths.clear();
+            for (int column = 0; column < getCellCount(); column++) {
+                mOwnColumnWidths.add(getMeasuredColumnWidth(column));
+            }
+            mColumnWidths = mOwnColumnWidths;
+        }
+        return mColumnWidths;
+    }
+
+    /**
+     * @param column the column index
+     * @return the width the cell of the column asked for in the last preMeasure
+     */
+    int getMeasuredColumnWidth(int column) {
+        return column < mNaturalColumnCount ? mNaturalWidths[column] : 0;
+    }
+
+    int getMeasuredColumnCount() {
+        return mNaturalColumnCount;
+    }
+
+    /**
+     * @return the height of the tallest cell in the last preMeasure
+     */
+    int getMeasuredRowHeight() {
+        return mNaturalHeight;
+    }
+
+    /**
+     * Measure the cells again at their natural size, used when the content of the row has
+     * changed. The next layout pass measures the row with its shared widths and height again.
+     */
+    void remeasureNatural() {
+        preMeasured = false;
+        forceLayout();
+        int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        measure(measureSpec, measureSpec);
+    }
+
+    /**
+     * Measure the cell of one column again at its natural size, the other cells keep the
+     * natural size of the last preMeasure
+     * @param column the column whose content has changed
+     */
+    void remeasureCell(int column) {
+        if (renderedCells != null) {
+            if (column < mNaturalColumnCount) {
+                measureRenderedCell(getCellRenderer(), column);
+                excludeRegionSize(column);
+                updateNaturalHeight();
+                forceLayout();
+            }
+            return;
+        }
+        View cell = getCellForColumn(column);
+        if (cell == null || column >= mNaturalColumnCount) {
+            return;
+        }
+        ensureMeasuredCells(column + 1);
+        // The content changed even if the cell did not ask for a layout
+        mMeasuredCells[column] = null;
+        measureNaturalCell(cell, column);
+        boolean gone = cell.getVisibility() == View.GONE;
+        mNaturalWidths[column] = gone ? 0 : resolveColumnWidth(column, mMeasuredCellWidths[column]);
+        mNaturalHeights[column] = gone ? 0 : mMeasuredCellHeights[column];
+        excludeRegionSize(column);
+        updateNaturalHeight();
+        // The next measure sizes the cell to its column again
+        forceLayout();
+    }
+
+    private void updateNaturalHeight() {
+        mNaturalHeight = 0;
+        for (int i = 0; i < mNaturalColumnCount; i++) {
+            mNaturalHeight = Math.max(mNaturalHeight, mNaturalHeights[i]);
+        }
+    }
+
+    /**
+     * Hold the cells as data drawn by the {@link CellRenderer} of the table instead of as child views.
+     * The row must not have any child views.
+     * @param cells the cells of the row, one per column
+     * @throws IllegalStateException if the row already has child views
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setCells(@NonNull TableCell... cells) {
+        if (getChildCount() > 0) {
+            throw new IllegalStateException("A row with child views cannot hold rendered cells");
+        }
+        renderedCells = cells.clone();
+        preMeasured = false;
+        requestRowLayout();
+        invalidate();
+    }
+
+    /**
+     * @param column the column index
+     * @return the rendered cell of the column or null if the row has no rendered cell there
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    @Nullable
+    public TableCell getCell(int column) {
+        if (renderedCells == null || column < 0 || column >= renderedCells.length) {
+            return null;
+        }
+        return renderedCells[column];
+    }
+
+    boolean isRendered() {
+        return renderedCells != null;
+    }
+
+    // The number of cells of the row, whether they are views or rendered
+    int getCellCount() {
+        return renderedCells != null ? renderedCells.length : getChildCount();
+    }
+
+    // The number of columns of the row, including the columns outside of its column window
+    int getColumnCount() {
+        return cellSource != null ? cellSource.getColumnCount(this) : getCellCount();
+    }
+
+    // The width of the row at the current column widths without measuring its cells
+    int getColumnsWidth() {
+        AxisIndex columnWidths = getColumnModel();
+        int width = columnWidths.getStart(Math.min(getColumnCount(), columnWidths.size()));
+        return Math.max(width + getPaddingLeft() + getPaddingRight(), getSuggestedMinimumWidth());
+    }
+
+    int getColumnGeneration() {
+        return columnGeneration;
+    }
+
+    void setColumnGeneration(int columnGeneration) {
+        this.columnGeneration = columnGeneration;
+    }
+
+    private CellRenderer getCellRenderer() {
+        if (!(getParent() instanceof FixedHeaderSubTableLayout)) {
+            throw new IllegalStateException("A row with rendered cells must be in a FixedHeaderSubTableLayout");
+        }
+        return ((FixedHeaderSubTableLayout) getParent()).getCellRenderer();
+    }
+
+    /**
+     * Find the column at an offset, a merged cell is found at its first column
+     * @param x the x offset in row coordinates
+     * @return the column or -1 if the offset is outside the columns of the row
+     */
+    int columnAt(float x) {
+        AxisIndex columnWidths = getColumnModel();
+        float offset = x - getPaddingLeft();
+        int count = Math.min(getColumnCount(), columnWidths.size());
+        if (offset < 0 || count == 0 || offset >= columnWidths.getStart(count)) {
+            return -1;
+        }
+        return findSpanStartForColumn(columnWidths.indexAt(offset));
+    }
+
+    /**
+     * Draw one rendered cell with its top left at the origin of the canvas,
+     * used to draw a sticky column from its source row
+     * @param canvas the canvas to draw on
+     * @param column the column of the cell
+     */
+    void drawRenderedCell(Canvas canvas, int column) {
+        AxisIndex columnWidths = getColumnModel();
+        if (renderedCells == null || column >= renderedCells.length || column >= columnWidths.size()
+                || renderedCells[column] == null) {
+            return;
+        }
+        int save = canvas.save();
+        canvas.clipRect(0, 0, columnWidths.getSize(column), maxChildHeight);
+        getCellRenderer().draw(canvas, renderedCells[column], columnWidths.getSize(column), maxChildHeight);
+        canvas.restoreToCount(save);
+    }
+
+    // Draw the rendered cells inside the cull range, a merged cell is drawn across all its columns
+    private void drawRenderedCells(Canvas canvas) {
+        if (drawnCells < 0) {
+            return;
+        }
+        CellRenderer renderer = getCellRenderer();
+        AxisIndex columnWidths = getColumnModel();
+        int count = Math.min(renderedCells.length, columnWidths.size());
+        int last = (int) drawnCells;
+        int column = findSpanStartForColumn((int) (drawnCells >> 32));
+        int top = getPaddingTop();
+        while (column <= last && column < count) {
+            int region = mRegionCells.indexOf(column);
+            if (region >= 0) {
+                // Drawn by the table across the whole region
+                column = mRegionCells.getStart(region) + mRegionCells.getLength(region);
+                continue;
+            }
+            int span = findSpanForColumn(column);
+            int end = Math.min(column + span, count);
+            TableCell cell = renderedCells[column];
+            if (cell != null) {
+                int left = getPaddingLeft() + columnWidths.getStart(column);
+                int width = columnWidths.getStart(end) - columnWidths.getStart(column);
+                int save = canvas.save();
+                canvas.translate(left, top);
+                canvas.clipRect(0, 0, width, maxChildHeight);
+                renderer.draw(canvas, cell, width, maxChildHeight);
+                canvas.restoreToCount(save);
+            }
+            column = end;
+        }
+    }
+
+    private void measureRenderedCell(CellRenderer renderer, int column) {
+        TableCell cell = renderedCells[column];
+        if (cell == null) {
+            mNaturalWidths[column] = 0;
+            mNaturalHeights[column] = 0;
+            return;
+        }
+        if (mExplicitColumnWidths.length > column && mExplicitColumnWidths[column] > 0) {
+            mNaturalWidths[column] = mExplicitColumnWidths[column];
+        } else {
+            mNaturalWidths[column] = renderer.measureWidth(cell);
+        }
+        mNaturalHeights[column] = renderer.measureHeight(cell);
+    }
+
+    int getBoundRow() {
+        return boundRow;
+    }
+
+    void setBoundRow(int boundRow) {
+        this.boundRow = boundRow;
+    }
+
+    int getVirtualTop() {
+        return virtualTop;
+    }
+
+    void setVirtualTop(int virtualTop) {
+        this.virtualTop = virtualTop;
+    }
+
+    /**
+     * Only draw the cells that intersect the given horizontal range,
+     * the row is invalidated when that changes the cells to draw
+     * @param left the left of the range in row coordinates
+     * @param right the right of the range in row coordinates
+     */
+    void setCullRange(float left, float right) {
+        setCullBounds(left, right);
+        if (findCellsInCull() != drawnCells) {
+            invalidate();
+        }
+    }
+
+    // Set the range without checking the drawn cells, used while the row itself is not drawn
+    void setCullBounds(float left, float right) {
+        cullLeft = left;
+        cullRight = right;
+    }
+
+    // Pack the first and last column inside the cull range, cells sit at the positions of their columns
+    private long findCellsInCull() {
+        AxisIndex columnWidths = getColumnModel();
+        int count = renderedCells != null ? Math.min(renderedCells.length, columnWidths.size()) : columnWidths.size();
+        if (count == 0) {
+            return -1;
+        }
+        int first = 0;
+        int last = count - 1;
+        if (cullRight >= cullLeft) {
+            float left = cullLeft - getPaddingLeft();
+            float right = cullRight - getPaddingLeft();
+            if (right <= 0 || left >= columnWidths.getStart(count)) {
+                return -1;
+            }
+            first = Math.max(0, columnWidths.indexAt(left));
+            last = Math.min(count - 1, columnWidths.indexAt(right));
+            if (last > first && columnWidths.getStart(last) >= right) {
+                last--;
+            }
+        }
+        return ((long) first << 32) | (last & 0xffffffffL);
+    }
+
+    private boolean isCellCulled(View cell) {
+        return cullRight >= cullLeft && (cell.getRight() <= cullLeft || cell.getLeft() >= cullRight);
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        drawnCells = findCellsInCull();
+        if (renderedCells != null) {
+            drawRenderedCells(canvas);
+        }
+        if (cullRight >= cullLeft) {
+            // ViewGroup would visit every cell, only the cells in the cull range are drawn
+            drawCellViewsInCull(canvas);
+        } else {
+            super.dispatchDraw(canvas);
+        }
+    }
+
+    private void drawCellViewsInCull(Canvas canvas) {
+        long drawingTime = getDrawingTime();
+        // The window cells are attached in column order, the pinned cell after them
+        int count = Math.min(getWindowCellCount(), getChildCount());
+        for (int i = cellIndexAt(cullLeft, count); i < count; i++) {
+            View child = getChildAt(i);
+            if (child.getLeft() >= cullRight) {
+                break;
+            }
+            if (child.getVisibility() == VISIBLE) {
+                drawChild(canvas, child, drawingTime);
+            }
+        }
+        if (pinnedCell != null && pinnedCell.getVisibility() == VISIBLE) {
+            drawChild(canvas, pinnedCell, drawingTime);
+        }
+    }
+
+    // Index of the first of the cells in column order that ends after the offset
+    private int cellIndexAt(float x, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (getChildAt(mid).getRight() <= x) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+        if (isCellCulled(child)) {
+            return false;
+        }
+        if (mRegionCells.size() > 0
+                && mRegionCells.indexOf(getColumnModel().indexAt(child.getLeft() - getPaddingLeft())) >= 0) {
+            // Drawn by the table across the whole region
+            return false;
+        }
+        return super.drawChild(canvas, child, drawingTime);
+    }
+
+    // Add a cell without requesting a layout, the caller measures and lays out the row
+    void addCellInLayout(View cell) {
+        addViewInLayout(cell, -1, generateDefaultLayoutParams(), true);
+    }
+
+    /**
+     * Switch the row to column window mode where only the cells of the columns
+     * set with {@link #setColumnWindow} are attached. The row must already have its column widths.
+     * @param source provides and takes back the cells, or null for the row to detach and
+     *               reattach its current cells
+     */
+    void enableColumnWindow(@Nullable CellSource source) {
+        if (cellSource != null || renderedCells != null) {
+            // Rendered cells have no views to detach, culling already limits what they draw
+            return;
+        }
+        if (source == null) {
+            final View[] cells = new View[getChildCount()];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = getChildAt(i);
+            }
+            source = new CellSource() {
+                @Override
+                public int getColumnCount(FixedHeaderTableRow row) {
+                    return cells.length;
+                }
+
+                @Override
+                public View obtainCell(FixedHeaderTableRow row, int column) {
+                    return cells[column];
+                }
+
+                @Override
+                public void releaseCell(FixedHeaderTableRow row, View cell, int column) {
+                    // The row keeps hold of its own cells
+                }
+            };
+            windowFirstColumn = 0;
+            windowLastColumn = cells.length - 1;
+        } else {
+            windowFirstColumn = 0;
+            windowLastColumn = -1;
+        }
+        cellSource = source;
+    }
+
+    /**
+     * Reattach every cell and leave column window mode
+     */
+    void disableColumnWindow() {
+        if (cellSource == null) {
+            return;
+        }
+        pinnedColumn = -1;
+        setColumnWindow(0, cellSource.getColumnCount(this) - 1);
+        cellSource = null;
+    }
+
+    /**
+     * Leave column window mode without reattaching cells, used when the row is recycled
+     */
+    void clearColumnWindow() {
+        cellSource = null;
+        windowFirstColumn = 0;
+        windowLastColumn = -1;
+        pinnedColumn = -1;
+        pinnedCell = null;
+    }
+
+    boolean isColumnWindowed() {
+        return cellSource != null;
+    }
+
+    /**
+     * Attach only the cells of the given columns, cells leaving the window are given back
+     * to the {@link CellSource} and cells entering it are obtained from it
+     * @param first the first visible column
+     * @param last the last visible column
+     */
+    void setColumnWindow(int first, int last) {
+        if (cellSource == null) {
+            return;
+        }
+        // A merged cell is drawn by its first column so keep that attached
+        first = Math.max(0, findSpanStartForColumn(first));
+        last = Math.min(cellSource.getColumnCount(this) - 1, last);
+        if (first > last) {
+            first = 0;
+            last = -1;
+        }
+        if (first == windowFirstColumn && last == windowLastColumn) {
+            return;
+        }
+
+        // The pinned cell may be part of the new window
+        detachPinnedCell();
+
+        // Release the cells that have left the window
+        while (windowFirstColumn <= windowLastColumn && windowFirstColumn < first) {
+            View cell = getChildAt(0);
+            removeViewInLayout(cell);
+            cellSource.releaseCell(this, cell, windowFirstColumn);
+            windowFirstColumn++;
+        }
+        while (windowLastColumn >= windowFirstColumn && windowLastColumn > last) {
+            View cell = getChildAt(getChildCount() - 1);
+            removeViewInLayout(cell);
+            cellSource.releaseCell(this, cell, windowLastColumn);
+            windowLastColumn--;
+        }
+        if (windowFirstColumn > windowLastColumn) {
+            // Nothing left attached so start again from the new first column
+            windowFirstColumn = first;
+            windowLastColumn = first - 1;
+        }
+
+        // Obtain the cells that have entered the window
+        while (windowFirstColumn > first) {
+            windowFirstColumn--;
+            addViewInLayout(cellSource.obtainCell(this, windowFirstColumn), 0, generateDefaultLayoutParams(), true);
+        }
+        while (windowLastColumn < last) {
+            windowLastColumn++;
+            addViewInLayout(cellSource.obtainCell(this, windowLastColumn), -1, generateDefaultLayoutParams(), true);
+        }
+
+        attachPinnedCell();
+        relayoutInPlace();
+    }
+
+    /**
+     * Keep the cell of a column attached even when it is outside of the column window,
+     * used so a sticky column can be drawn from its source cells
+     * @param column the column to keep attached or -1 for none
+     */
+    void setPinnedColumn(int column) {
+        if (cellSource == null || column == pinnedColumn) {
+            return;
+        }
+        detachPinnedCell();
+        pinnedColumn = column;
+        attachPinnedCell();
+        relayoutInPlace();
+    }
+
+    /**
+     * @param column the column index
+     * @return the attached cell of the column or null if it is not attached
+     */
+    @Nullable
+    View getCellForColumn(int column) {
+        if (cellSource == null) {
+            return getChildAt(column);
+        }
+        if (column >= windowFirstColumn && column <= windowLastColumn) {
+            return getChildAt(column - windowFirstColumn);
+        }
+        return column == pinnedColumn ? pinnedCell : null;
+    }
+
+    private void detachPinnedCell() {
+        if (pinnedCell != null) {
+            removeViewInLayout(pinnedCell);
+            cellSource.releaseCell(this, pinnedCell, pinnedColumn);
+            pinnedCell = null;
+        }
+    }
+
+    private void attachPinnedCell() {
+        if (pinnedColumn < 0 || pinnedColumn >= cellSource.getColumnCount(this)
+                || (pinnedColumn >= windowFirstColumn && pinnedColumn <= windowLastColumn)) {
+            return;
+        }
+        pinnedCell = cellSource.obtainCell(this, pinnedColumn);
+        addViewInLayout(pinnedCell, -1, generateDefaultLayoutParams(), true);
+    }
+
+    private int getWindowCellCount() {
+        return cellSource == null ? getChildCount() : windowLastColumn - windowFirstColumn + 1;
+    }
+
+    void relayoutInPlace() {
+        if (getParent() != null) {
+            // Measure and layout only this row, its size does not change
+            int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+            measure(measureSpec, measureSpec);
+            layout(getLeft(), getTop(), getLeft() + getMeasuredWidth(), getTop() + getMeasuredHeight());
+            invalidate();
+        }
     }
 
     /**
@@ -146,7 +931,7 @@ public class FixedHeaderTableRow extends LinearLayout {
      */
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        // The cells are measured here and not by LinearLayout so an unchanged cell is not measured twice
         if (preMeasured) {
             //Log.d(LOG_TAG, "fixedMeasure: " + Integer.toHexString(System.identityHashCode(this)) );
             fixedMeasure();
@@ -158,35 +943,224 @@ public class FixedHeaderTableRow extends LinearLayout {
 
     }
 
-    private int resolveColumnWidth(int columnIndex, View columnChild) {
-        if (mExplicitColumnWidths.size() > columnIndex && mExplicitColumnWidths.get(columnIndex) > 0) {
-            return mExplicitColumnWidths.get(columnIndex);
+    private int resolveColumnWidth(int columnIndex, int measuredWidth) {
+        if (mExplicitColumnWidths.length > columnIndex && mExplicitColumnWidths[columnIndex] > 0) {
+            return mExplicitColumnWidths[columnIndex];
         }
-        return columnChild.getMeasuredWidth();
+        return measuredWidth;
     }
 
-    private int findSpanForColumn(int columnIndex) {
-        for (CellSpan span : mColumnSpans) {
-            if (span.startColumn == columnIndex) {
-                return span.spanLength;
+    // Measure a cell at its natural size unless it is the cell last measured for the column
+    // and it has not asked for a layout since
+    private void measureNaturalCell(View cell, int column) {
+        if (mMeasuredCells[column] == cell && !cell.isLayoutRequested()) {
+            return;
+        }
+        int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+        measureChildWithMargins(cell, measureSpec, 0, measureSpec, 0);
+        mMeasuredCells[column] = cell;
+        mMeasuredCellWidths[column] = cell.getMeasuredWidth();
+        mMeasuredCellHeights[column] = cell.getMeasuredHeight();
+    }
+
+    private void ensureMeasuredCells(int count) {
+        if (mMeasuredCells.length < count) {
+            mMeasuredCells = Arrays.copyOf(mMeasuredCells, count);
+            mMeasuredCellWidths = Arrays.copyOf(mMeasuredCellWidths, count);
+            mMeasuredCellHeights = Arrays.copyOf(mMeasuredCellHeights, count);
+        }
+    }
+
+    // Cells fill their whole column and row, params that do not are replaced once rather than on every measure
+    private static void fillCell(View cell) {
+        ViewGroup.LayoutParams params = cell.getLayoutParams();
+        if (params instanceof LayoutParams && params.width == LayoutParams.MATCH_PARENT
+                && params.height == LayoutParams.MATCH_PARENT) {
+            LayoutParams cellParams = (LayoutParams) params;
+            if (cellParams.leftMargin == 0 && cellParams.topMargin == 0
+                    && cellParams.rightMargin == 0 && cellParams.bottomMargin == 0) {
+                return;
+            }
+        }
+        cell.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+    }
+
+    @Override
+    public void onViewRemoved(View child) {
+        super.onViewRemoved(child);
+        // Do not hold on to a removed cell
+        forgetMeasuredCell(child);
+    }
+
+    private void forgetMeasuredCell(View cell) {
+        for (int i = 0; i < mMeasuredCells.length; i++) {
+            if (mMeasuredCells[i] == cell) {
+                mMeasuredCells[i] = null;
+            }
+        }
+    }
+
+    @Override
+    public void addView(View child, int index, ViewGroup.LayoutParams params) {
+        // A new cell changes the row so its layout request goes to the table
+        forceLayout();
+        super.addView(child, index, params);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        if (cellLayoutPending) {
+            // Laid out in full when attached again
+            removeCallbacks(cellLayoutRunnable);
+            cellLayoutPending = false;
+            forceLayout();
+        }
+    }
+
+    /**
+     * Redraw the cell of a column without measuring it
+     * @param column the column of the cell
+     */
+    void invalidateColumn(int column) {
+        View cell = getCellForColumn(column);
+        if (cell != null) {
+            cell.invalidate();
+            return;
+        }
+        AxisIndex columnWidths = getColumnModel();
+        if (renderedCells != null && column < columnWidths.size()) {
+            int start = findSpanStartForColumn(column);
+            int end = Math.min(start + findSpanForColumn(start), columnWidths.size());
+            int left = getPaddingLeft() + columnWidths.getStart(start);
+            int right = getPaddingLeft() + columnWidths.getStart(end);
+            invalidate(left, getPaddingTop(), right, getPaddingTop() + maxChildHeight);
+        }
+    }
+
+    // Ask for a layout of the row itself, the row changed so the request goes to the table
+    private void requestRowLayout() {
+        forceLayout();
+        requestLayout();
+    }
+
+    @Override
+    public void requestLayout() {
+        if (isCellLayoutIsolated()) {
+            // A cell asked for a layout but its size is fixed, lay out only the cells on the next frame
+            // and redraw them, the row, its table and the Layout are not measured again
+            for (int i = 0; i < getChildCount(); i++) {
+                View cell = getChildAt(i);
+                if (cell.isLayoutRequested()) {
+                    cell.invalidate();
+                }
             }
+            if (!cellLayoutPending) {
+                cellLayoutPending = true;
+                postOnAnimation(cellLayoutRunnable);
+            }
+            return;
         }
-        return 1;
+        super.requestLayout();
+    }
+
+    // True when layout requests can be kept inside this row, the row is laid out, has not changed
+    // since and its table keeps the sizes of its cells fixed
+    private boolean isCellLayoutIsolated() {
+        if (!(getParent() instanceof FixedHeaderSubTableLayout)
+                || !((FixedHeaderSubTableLayout) getParent()).isFixedCellSizes()) {
+            return false;
+        }
+        return getWindowToken() != null && !isLayoutRequested() && laidOutChildCount == getChildCount();
+    }
+
+    // Measure the cells that asked for a layout at the size they already have and lay them out in place
+    private void layoutRequestedCells() {
+        if (isLayoutRequested()) {
+            // The whole row is laid out anyway
+            return;
+        }
+        for (int i = 0; i < getChildCount(); i++) {
+            View cell = getChildAt(i);
+            if (!cell.isLayoutRequested() || cell.getVisibility() == View.GONE) {
+                continue;
+            }
+            // The content changed so a later natural measure must measure it again
+            forgetMeasuredCell(cell);
+            cell.measure(MeasureSpec.makeMeasureSpec(cell.getWidth(), MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(cell.getHeight(), MeasureSpec.EXACTLY));
+            cell.layout(cell.getLeft(), cell.getTop(), cell.getRight(), cell.getBottom());
+            cell.invalidate();
+        }
+    }
+
+    @Override
+    protected LayoutParams generateDefaultLayoutParams() {
+        // Cells added without params already fill their cell so measuring never replaces them
+        return new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+    }
+
+    private int findSpanStartForColumn(int columnIndex) {
+        int region = mRegionCells.indexOf(columnIndex);
+        if (region >= 0) {
+            return mRegionCells.getStart(region);
+        }
+        return mColumnSpans.getSpanStart(columnIndex);
+    }
+
+    // A merged region is one cell in its first row, in the rows below the covered cells keep their columns
+    private int findSpanForColumn(int columnIndex) {
+        int region = mRegionCells.indexOf(columnIndex);
+        if (region >= 0 && mRegionCells.getValue(region) > 0 && mRegionCells.getStart(region) == columnIndex) {
+            return mRegionCells.getLength(region);
+        }
+        return mColumnSpans.getSpan(columnIndex);
     }
 
     private void preMeasure(){
         // Reset stored size as we are measuring again
         myWidth = 0;
         myHeight = 0;
-        // Measure UNSPECIFIED
-        int measureSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
-        mColumnWidths.clear();
+        if (mColumnWidths == mOwnColumnWidths) {
+            // Rebuilt from the new measured widths when next needed
+            mColumnWidths = null;
+        }
         maxChildHeight = 0;
 
-        final int count = getChildCount();
-        int columnIndex = 0;
-        while (columnIndex < count) {
-            final View child = getChildAt(columnIndex);
+        final int count = getColumnCount();
+        // In column window mode the children start at the first column of the window,
+        // the columns outside of it keep the natural size they were last measured at
+        final int firstColumn = cellSource == null ? 0 : windowFirstColumn;
+        final int endColumn = firstColumn + getWindowCellCount();
+        if (mNaturalWidths.length < count) {
+            mNaturalWidths = Arrays.copyOf(mNaturalWidths, count);
+            mNaturalHeights = Arrays.copyOf(mNaturalHeights, count);
+        }
+        if (cellSource == null) {
+            Arrays.fill(mNaturalWidths, 0, count, 0);
+            Arrays.fill(mNaturalHeights, 0, count, 0);
+        } else {
+            Arrays.fill(mNaturalWidths, Math.min(mNaturalColumnCount, count), count, 0);
+            Arrays.fill(mNaturalHeights, Math.min(mNaturalColumnCount, count), count, 0);
+            Arrays.fill(mNaturalWidths, firstColumn, endColumn, 0);
+            Arrays.fill(mNaturalHeights, firstColumn, endColumn, 0);
+        }
+        mNaturalColumnCount = count;
+        if (renderedCells == null) {
+            ensureMeasuredCells(count);
+        }
+        if (renderedCells != null) {
+            CellRenderer renderer = getCellRenderer();
+            for (int column = 0; column < count; column++) {
+                measureRenderedCell(renderer, column);
+                excludeRegionSize(column);
+                myWidth += mNaturalWidths[column];
+                maxChildHeight = Math.max(maxChildHeight, mNaturalHeights[column]);
+            }
+        }
+        int columnIndex = renderedCells != null ? count : firstColumn;
+        while (columnIndex < endColumn) {
+            final View child = getChildAt(columnIndex - firstColumn);
             if (child == null || child.getVisibility() == View.GONE) {
                 columnIndex++;
                 continue;
@@ -195,22 +1169,48 @@ public class FixedHeaderTableRow extends LinearLayout {
             int span = findSpanForColumn(columnIndex);
             int spanWidth = 0;
 
-            for (int offset = 0; offset < span && (columnIndex + offset) < count; offset++) {
-                final View spanChild = getChildAt(columnIndex + offset);
+            for (int offset = 0; offset < span && (columnIndex + offset) < endColumn; offset++) {
+                final View spanChild = getChildAt(columnIndex + offset - firstColumn);
                 if (spanChild == null || spanChild.getVisibility() == View.GONE) {
                     continue;
                 }
-                measureChildWithMargins(spanChild, measureSpec, 0, measureSpec, 0);
-                int childWidth = resolveColumnWidth(columnIndex + offset, spanChild);
-                mColumnWidths.add(childWidth);
-                spanWidth += childWidth;
-                maxChildHeight = Math.max(maxChildHeight, spanChild.getMeasuredHeight());
+                int childWidth;
+                int childHeight;
+                if (span == 1 && columnSamples != null && columnSamples.canSkip(columnIndex, spanChild)) {
+                    // No wider than a cell already measured in this column
+                    childWidth = mExplicitColumnWidths.length > columnIndex && mExplicitColumnWidths[columnIndex] > 0
+                            ? mExplicitColumnWidths[columnIndex] : columnSamples.getWidth(columnIndex);
+                    childHeight = columnSamples.getHeight(columnIndex);
+                } else {
+                    // Measured UNSPECIFIED
+                    measureNaturalCell(spanChild, columnIndex + offset);
+                    childWidth = resolveColumnWidth(columnIndex + offset, mMeasuredCellWidths[columnIndex + offset]);
+                    childHeight = mMeasuredCellHeights[columnIndex + offset];
+                    if (span == 1 && columnSamples != null) {
+                        columnSamples.record(columnIndex, spanChild, mMeasuredCellWidths[columnIndex], childHeight);
+                    }
+                }
+                mNaturalWidths[columnIndex + offset] = childWidth;
+                mNaturalHeights[columnIndex + offset] = childHeight;
+                excludeRegionSize(columnIndex + offset);
+                spanWidth += mNaturalWidths[columnIndex + offset];
+                maxChildHeight = Math.max(maxChildHeight, mNaturalHeights[columnIndex + offset]);
             }
 
             myWidth += spanWidth;
             columnIndex += span;
         }
 
+        if (cellSource != null) {
+            // The row is still as wide and as tall as all of its columns
+            myWidth = 0;
+            for (int column = 0; column < count; column++) {
+                myWidth += mNaturalWidths[column];
+                maxChildHeight = Math.max(maxChildHeight, mNaturalHeights[column]);
+            }
+        }
+        mNaturalHeight = maxChildHeight;
+
         // Add my padding
         myWidth = myWidth + getPaddingLeft() + getPaddingRight();
         myHeight = maxChildHeight + getPaddingTop() + getPaddingBottom();
@@ -232,23 +1232,24 @@ public class FixedHeaderTableRow extends LinearLayout {
         // Measure EXACTLY
         //Log.d(LOG_TAG, "fixed:Height of Row: " + maxChildHeight);
         int heightMeasureSpec = MeasureSpec.makeMeasureSpec(maxChildHeight, MeasureSpec.EXACTLY);
+        AxisIndex columnWidths = getColumnModel();
 
-        final int count = getChildCount();
-        int columnIndex = 0;
+        // In column window mode the children start at the first column of the window
+        final int firstColumn = cellSource == null ? 0 : windowFirstColumn;
+        final int count = firstColumn + getWindowCellCount();
+        int columnIndex = firstColumn;
         while (columnIndex < count) {
             int span = findSpanForColumn(columnIndex);
             int spanWidth = 0;
-            for (int offset = 0; offset < span && (columnIndex + offset) < mColumnWidths.size(); offset++) {
-                spanWidth += mColumnWidths.get(columnIndex + offset);
+            for (int offset = 0; offset < span && (columnIndex + offset) < columnWidths.size(); offset++) {
+                spanWidth += columnWidths.getSize(columnIndex + offset);
             }
 
             int widthMeasureSpec = MeasureSpec.makeMeasureSpec(spanWidth, MeasureSpec.EXACTLY);
-            View child = getChildAt(columnIndex);
+            View child = getChildAt(columnIndex - firstColumn);
             if (child != null && child.getVisibility() != View.GONE) {
                 // Ask the child to match the parent so it fills out the whole cell
-                LinearLayout.LayoutParams childLayoutParams = new LinearLayout.LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
-                child.setLayoutParams(childLayoutParams);
-
+                fillCell(child);
                 measureChildWithMargins(child, widthMeasureSpec, 0, heightMeasureSpec, 0);
             }
 
@@ -257,6 +1258,19 @@ public class FixedHeaderTableRow extends LinearLayout {
             columnIndex += span;
         }
 
+        if (pinnedCell != null && pinnedColumn < columnWidths.size() && pinnedCell.getVisibility() != View.GONE) {
+            int widthMeasureSpec = MeasureSpec.makeMeasureSpec(columnWidths.getSize(pinnedColumn), MeasureSpec.EXACTLY);
+            measureChildWithMargins(pinnedCell, widthMeasureSpec, 0, heightMeasureSpec, 0);
+        }
+
+        if (cellSource != null) {
+            // The row is still as wide as all of its columns
+            myWidth = columnWidths.getStart(Math.min(cellSource.getColumnCount(this), columnWidths.size()));
+        } else if (renderedCells != null) {
+            // Rendered cells are drawn at their column widths without being measured
+            myWidth = columnWidths.getStart(Math.min(renderedCells.length, columnWidths.size()));
+        }
+
         // Add my padding
         myWidth = myWidth + getPaddingLeft() + getPaddingRight();
         myHeight = maxChildHeight + getPaddingTop() + getPaddingBottom();
@@ -269,13 +1283,49 @@ public class FixedHeaderTableRow extends LinearLayout {
         //Log.d(LOG_TAG, "fixedMeasure:setMeasuredDimension:" + myWidth + "x" + myHeight);
     }
 
-    private static class CellSpan {
-        private final int startColumn;
-        private final int spanLength;
-
-        private CellSpan(int startColumn, int spanLength) {
-            this.startColumn = startColumn;
-            this.spanLength = spanLength;
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        laidOutChildCount = getChildCount();
+        if (cellSource == null && mRegionCells.size() == 0) {
+            // Cells sit side by side at their measured widths, LinearLayout has not measured them to lay them out
+            int left = getPaddingLeft();
+            int top = getPaddingTop();
+            for (int i = 0; i < getChildCount(); i++) {
+                View child = getChildAt(i);
+                if (child.getVisibility() != View.GONE) {
+                    child.layout(left, top, left + child.getMeasuredWidth(), top + child.getMeasuredHeight());
+                    left += child.getMeasuredWidth();
+                }
+            }
+            return;
+        }
+        // Place each attached cell at the left of its column, cells covered by a merged region keep their column
+        AxisIndex columnWidths = getColumnModel();
+        int left = getPaddingLeft() + columnWidths.getStart(Math.min(windowFirstColumn, columnWidths.size()));
+        int top = getPaddingTop();
+        int windowCount = getWindowCellCount();
+        for (int i = 0; i < windowCount; i++) {
+            View child = getChildAt(i);
+            if (child.getVisibility() != View.GONE) {
+                child.layout(left, top, left + child.getMeasuredWidth(), top + child.getMeasuredHeight());
+            }
+            int column = windowFirstColumn + i;
+            left += column < columnWidths.size() ? columnWidths.getSize(column) : child.getMeasuredWidth();
         }
+        if (pinnedCell != null && pinnedCell.getVisibility() != View.GONE) {
+            int pinnedLeft = getPaddingLeft() + columnWidths.getStart(Math.min(pinnedColumn, columnWidths.size()));
+            pinnedCell.layout(pinnedLeft, top, pinnedLeft + pinnedCell.getMeasuredWidth(), top + pinnedCell.getMeasuredHeight());
+        }
+    }
+
+    /**
+     * Provides the cells of a row in column window mode
+     */
+    interface CellSource {
+        int getColumnCount(FixedHeaderTableRow row);
+
+        View obtainCell(FixedHeaderTableRow row, int column);
+
+        void releaseCell(FixedHeaderTableRow row, View cell, int column);
     }
 }
@@ -0,0 +1,198 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import java.util.Arrays;
+
+/**
+ * Merged regions of a table, each a rectangle of rows and columns. The table rows are split into
+ * blocks of 64 rows and every block lists the regions crossing it, so the regions crossing a row
+ * are found by scanning one short list however tall the regions before it are. Regions never
+ * overlap, adding a region removes the regions it overlaps.
+ */
+class MergedRegionIndex {
+
+    private static final int BLOCK_SHIFT = 6;
+
+    private int count = 0;
+    private int[] firstRows = new int[4];
+    private int[] firstColumns = new int[4];
+    private int[] lastRows = new int[4];
+    private int[] lastColumns = new int[4];
+    // The regions crossing each block of rows
+    private int[][] blocks = new int[0][];
+    private int[] blockSizes = new int[0];
+    // Regions found by the last findCrossing
+    private int[] crossing = new int[4];
+
+    int size() {
+        return count;
+    }
+
+    void clear() {
+        Arrays.fill(blockSizes, 0);
+        count = 0;
+    }
+
+    int getFirstRow(int index) {
+        return firstRows[index];
+    }
+
+    int getFirstColumn(int index) {
+        return firstColumns[index];
+    }
+
+    int getLastRow(int index) {
+        return lastRows[index];
+    }
+
+    int getLastColumn(int index) {
+        return lastColumns[index];
+    }
+
+    void add(int firstRow, int firstColumn, int lastRow, int lastColumn) {
+        // Only the regions crossing the blocks of the new region can overlap it
+        for (int block = firstRow >> BLOCK_SHIFT; block <= lastRow >> BLOCK_SHIFT && block < blocks.length; block++) {
+            for (int i = blockSizes[block] - 1; i >= 0; i--) {
+                if (i >= blockSizes[block]) {
+                    continue;
+                }
+                int region = blocks[block][i];
+                if (firstRows[region] <= lastRow && lastRows[region] >= firstRow
+                        && firstColumns[region] <= lastColumn && lastColumns[region] >= firstColumn) {
+                    removeAt(region);
+                }
+            }
+        }
+        if (count == firstRows.length) {
+            int newLength = count * 2;
+            firstRows = Arrays.copyOf(firstRows, newLength);
+            firstColumns = Arrays.copyOf(firstColumns, newLength);
+            lastRows = Arrays.copyOf(lastRows, newLength);
+            lastColumns = Arrays.copyOf(lastColumns, newLength);
+        }
+        int index = count++;
+        firstRows[index] = firstRow;
+        firstColumns[index] = firstColumn;
+        lastRows[index] = lastRow;
+        lastColumns[index] = lastColumn;
+        int lastBlock = lastRow >> BLOCK_SHIFT;
+        if (lastBlock >= blocks.length) {
+            int newLength = Math.max(lastBlock + 1, blocks.length * 2);
+            blocks = Arrays.copyOf(blocks, newLength);
+            blockSizes = Arrays.copyOf(blockSizes, newLength);
+        }
+        for (int block = firstRow >> BLOCK_SHIFT; block <= lastBlock; block++) {
+            if (blocks[block] == null) {
+                blocks[block] = new int[4];
+            } else if (blockSizes[block] == blocks[block].length) {
+                blocks[block] = Arrays.copyOf(blocks[block], blockSizes[block] * 2);
+            }
+            blocks[block][blockSizes[block]++] = index;
+        }
+    }
+
+    // Remove a region, the last region takes its index
+    private void removeAt(int index) {
+        for (int block = firstRows[index] >> BLOCK_SHIFT; block <= lastRows[index] >> BLOCK_SHIFT; block++) {
+            int[] regions = blocks[block];
+            for (int i = 0; i < blockSizes[block]; i++) {
+                if (regions[i] == index) {
+                    regions[i] = regions[--blockSizes[block]];
+                    break;
+                }
+            }
+        }
+        int last = --count;
+        if (index == last) {
+            return;
+        }
+        for (int block = firstRows[last] >> BLOCK_SHIFT; block <= lastRows[last] >> BLOCK_SHIFT; block++) {
+            int[] regions = blocks[block];
+            for (int i = 0; i < blockSizes[block]; i++) {
+                if (regions[i] == last) {
+                    regions[i] = index;
+                    break;
+                }
+            }
+        }
+        firstRows[index] = firstRows[last];
+        firstColumns[index] = firstColumns[last];
+        lastRows[index] = lastRows[last];
+        lastColumns[index] = lastColumns[last];
+    }
+
+    /**
+     * List the regions crossing any of the rows, each region once
+     * @param firstRow the first row
+     * @param lastRow the last row
+     * @return the number of regions found, read them with {@link #getCrossing(int)}
+     */
+    int findCrossing(int firstRow, int lastRow) {
+        int found = 0;
+        int firstBlock = firstRow >> BLOCK_SHIFT;
+        for (int block = firstBlock; block <= lastRow >> BLOCK_SHIFT && block < blocks.length; block++) {
+            for (int i = 0; i < blockSizes[block]; i++) {
+                int region = blocks[block][i];
+                // A region crossing several blocks is listed from the first of them in the rows
+                if (firstRows[region] <= lastRow && lastRows[region] >= firstRow
+                        && Math.max(firstRows[region] >> BLOCK_SHIFT, firstBlock) == block) {
+                    if (found == crossing.length) {
+                        crossing = Arrays.copyOf(crossing, found * 2);
+                    }
+                    crossing[found++] = region;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param index the index in the regions found by the last {@link #findCrossing(int, int)}
+     * @return the region
+     */
+    int getCrossing(int index) {
+        return crossing[index];
+    }
+
+    /**
+     * @return the region holding the cell or -1 if it is not merged
+     */
+    int find(int row, int column) {
+        int block = row >> BLOCK_SHIFT;
+        if (row < 0 || block >= blocks.length) {
+            return -1;
+        }
+        int[] regions = blocks[block];
+        for (int i = 0; i < blockSizes[block]; i++) {
+            int region = regions[i];
+            if (firstRows[region] <= row && lastRows[region] >= row
+                    && firstColumns[region] <= column && lastColumns[region] >= column) {
+                return region;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import com.github.zardozz.FixedHeaderTableLayout.TileTable.Tile;
+
+import static com.github.zardozz.FixedHeaderTableLayout.TileTable.TILE_SIZE;
+
+/**
+ * Bitmap tiles of the panes of a {@link FixedHeaderTableLayout} rendered at a few quantized scales.
+ * Panning and zooming draws the tiles instead of the cells, a tile is only rendered again when the
+ * content of its pane under it has changed. The least recently used tiles are evicted to stay inside
+ * the memory budget, tiles drawn in the current frame are never evicted so a frame always completes.
+ */
+final class PaneTileCache {
+
+    static final int PANE_COUNT = 4;
+    // Scale levels are powers of the square root of two
+    private static final double LEVEL_BASE_LOG = Math.log(Math.sqrt(2));
+
+    private final TileTable tiles;
+    private final int[] paneVersions = new int[PANE_COUNT];
+    private final Canvas tileCanvas = new Canvas();
+    private final Paint tilePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Rect clipBounds = new Rect();
+    // Set while a tile is rendered so the pane invalidating itself does not mark the tile stale
+    private boolean rendering = false;
+
+    PaneTileCache(long maxBytes) {
+        tiles = new TileTable(maxBytes);
+    }
+
+    /**
+     * @param scale the scale the panes are drawn at
+     * @return the smallest level whose scale is at least the given scale, so tiles are only scaled down
+     */
+    static int levelFor(float scale) {
+        int level = (int) Math.ceil(Math.log(scale) / LEVEL_BASE_LOG - 0.001);
+        return Math.max(TileTable.MIN_LEVEL, Math.min(TileTable.MAX_LEVEL, level));
+    }
+
+    static float levelScale(int level) {
+        return (float) Math.exp(level * LEVEL_BASE_LOG);
+    }
+
+    void setMaxBytes(long maxBytes) {
+        tiles.setMaxBytes(maxBytes);
+        trim();
+    }
+
+    boolean isRendering() {
+        return rendering;
+    }
+
+    /**
+     * Mark the tiles of a pane stale, they are rendered again the next time they are drawn
+     * @param pane the pane index
+     */
+    void invalidatePane(int pane) {
+        paneVersions[pane]++;
+    }
+
+    /**
+     * Mark the tiles of a pane that intersect a region stale
+     * @param pane the pane index
+     * @param dirty the region in pane coordinates
+     */
+    void invalidateRegion(int pane, Rect dirty) {
+        tiles.invalidate(pane, dirty.left, dirty.top, dirty.right, dirty.bottom);
+    }
+
+    void invalidateAll() {
+        for (int pane = 0; pane < PANE_COUNT; pane++) {
+            paneVersions[pane]++;
+        }
+    }
+
+    void beginFrame() {
+        tiles.beginFrame();
+    }
+
+    /**
+     * Draw a pane from its tiles, the canvas has the pane matrix applied
+     * @param canvas the canvas of the Layout
+     * @param pane the pane
+     * @param paneIndex the pane index
+     * @param level the scale level of the tiles to draw
+     */
+    void drawPane(Canvas canvas, FixedHeaderSubTableLayout pane, int paneIndex, int level) {
+        if (pane.getWidth() == 0 || pane.getHeight() == 0) {
+            return;
+        }
+        float levelScale = levelScale(level);
+        int save = canvas.save();
+        canvas.translate(pane.getLeft(), pane.getTop());
+        canvas.clipRect(0, 0, pane.getWidth(), pane.getHeight());
+        canvas.scale(1 / levelScale, 1 / levelScale);
+        // The clip is now in the pixels of the tiles
+        if (canvas.getClipBounds(clipBounds)) {
+            int lastX = (int) Math.ceil(pane.getWidth() * levelScale) - 1;
+            int lastY = (int) Math.ceil(pane.getHeight() * levelScale) - 1;
+            int firstTileX = Math.max(0, clipBounds.left / TILE_SIZE);
+            int firstTileY = Math.max(0, clipBounds.top / TILE_SIZE);
+            int lastTileX = Math.min(lastX, clipBounds.right - 1) / TILE_SIZE;
+            int lastTileY = Math.min(lastY, clipBounds.bottom - 1) / TILE_SIZE;
+            for (int tileY = firstTileY; tileY <= lastTileY; tileY++) {
+                for (int tileX = firstTileX; tileX <= lastTileX; tileX++) {
+                    Tile tile = obtainTile(pane, paneIndex, level, levelScale, tileX, tileY);
+                    canvas.drawBitmap(tile.bitmap, tileX * TILE_SIZE, tileY * TILE_SIZE, tilePaint);
+                }
+            }
+        }
+        canvas.restoreToCount(save);
+    }
+
+    private Tile obtainTile(FixedHeaderSubTableLayout pane, int paneIndex, int level, float levelScale,
+                            int tileX, int tileY) {
+        long key = TileTable.key(paneIndex, level, tileX, tileY);
+        Tile tile = tiles.get(key);
+        if (tile == null) {
+            // Reuse the oldest tile when over budget, otherwise allocate a new one
+            tile = tiles.reuseOldest();
+            if (tile == null) {
+                tile = new Tile();
+                tile.bitmap = Bitmap.createBitmap(TILE_SIZE, TILE_SIZE, Bitmap.Config.ARGB_8888);
+            }
+            tile.key = key;
+            // Never rendered so always stale
+            tile.stale = true;
+            tiles.put(tile);
+        } else {
+            tiles.touch(tile);
+        }
+        if (tile.stale || tile.version != paneVersions[paneIndex]) {
+            renderTile(tile, pane, levelScale, tileX, tileY);
+            tile.version = paneVersions[paneIndex];
+            tile.stale = false;
+        }
+        return tile;
+    }
+
+    private void renderTile(Tile tile, FixedHeaderSubTableLayout pane, float levelScale, int tileX, int tileY) {
+        rendering = true;
+        tile.bitmap.eraseColor(Color.TRANSPARENT);
+        tileCanvas.setBitmap(tile.bitmap);
+        int save = tileCanvas.save();
+        tileCanvas.clipRect(0, 0, TILE_SIZE, TILE_SIZE);
+        tileCanvas.translate(-tileX * TILE_SIZE, -tileY * TILE_SIZE);
+        tileCanvas.scale(levelScale, levelScale);
+        // Only the rows and cells under the tile are drawn
+        float size = TILE_SIZE / levelScale;
+        pane.drawRegion(tileCanvas, tileX * size, tileY * size, (tileX + 1) * size, (tileY + 1) * size);
+        tileCanvas.restoreToCount(save);
+        tileCanvas.setBitmap(null);
+        rendering = false;
+    }
+
+    /**
+     * Evict the least recently used tiles not drawn in the current frame until inside the budget
+     */
+    void trim() {
+        Tile tile;
+        while ((tile = tiles.evictOldest()) != null) {
+            tile.bitmap.recycle();
+        }
+    }
+
+    /**
+     * Release every tile
+     */
+    void clear() {
+        for (Tile tile = tiles.newest(); tile != null; tile = tile.older) {
+            tile.bitmap.recycle();
+        }
+        tiles.clear();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import java.util.Arrays;
+
+/**
+ * Merged column ranges of a row kept sorted by their first column in primitive arrays,
+ * so finding the range a column is part of is a binary search. Ranges never overlap,
+ * adding a range removes the ranges it overlaps. Each range carries an int value.
+ */
+class SpanIndex {
+
+    private int count = 0;
+    private int[] starts = new int[4];
+    private int[] lengths = new int[4];
+    private int[] values = new int[4];
+
+    int size() {
+        return count;
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    int getStart(int index) {
+        return starts[index];
+    }
+
+    int getLength(int index) {
+        return lengths[index];
+    }
+
+    int getValue(int index) {
+        return values[index];
+    }
+
+    /**
+     * @param start the first column of the range
+     * @param length the number of columns, 1 or more
+     * @param value the value of the range
+     */
+    void add(int start, int length, int value) {
+        // Drop the ranges the new one overlaps
+        int first = indexAtOrAfter(start);
+        if (first > 0 && starts[first - 1] + lengths[first - 1] > start) {
+            first--;
+        }
+        int last = first;
+        while (last < count && starts[last] < start + length) {
+            last++;
+        }
+        int removed = last - first;
+        if (removed != 1) {
+            ensureCapacity(count - removed + 1);
+            int tail = count - last;
+            System.arraycopy(starts, last, starts, first + 1, tail);
+            System.arraycopy(lengths, last, lengths, first + 1, tail);
+            System.arraycopy(values, last, values, first + 1, tail);
+            count = count - removed + 1;
+        }
+        starts[first] = start;
+        lengths[first] = length;
+        values[first] = value;
+    }
+
+    /**
+     * @param column the column
+     * @return the index of the range the column is part of or -1 if it is not merged
+     */
+    int indexOf(int column) {
+        int index = indexAtOrAfter(column + 1) - 1;
+        if (index >= 0 && column < starts[index] + lengths[index]) {
+            return index;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of columns of the range starting at the column, 1 if none starts there
+     */
+    int getSpan(int column) {
+        int index = indexOf(column);
+        return index >= 0 && starts[index] == column ? lengths[index] : 1;
+    }
+
+    /**
+     * @return the first column of the range the column is part of, or the column itself if it is not merged
+     */
+    int getSpanStart(int column) {
+        int index = indexOf(column);
+        return index >= 0 ? starts[index] : column;
+    }
+
+    // Index of the first range starting at or after the column
+    private int indexAtOrAfter(int column) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] < column) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > starts.length) {
+            int newLength = Math.max(capacity, starts.length * 2);
+            starts = Arrays.copyOf(starts, newLength);
+            lengths = Arrays.copyOf(lengths, newLength);
+            values = Arrays.copyOf(values, newLength);
+        }
+    }
+}
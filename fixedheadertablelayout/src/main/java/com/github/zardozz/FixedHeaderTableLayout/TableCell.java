@@ -0,0 +1,100 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.text.Layout;
+import android.text.TextPaint;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A cell held as plain data and drawn by the {@link CellRenderer} of its table instead of being a View.
+ * <p>
+ * Cells are added to a row with {@link FixedHeaderTableRow#setCells(TableCell...)}. After changing a
+ * cell that is already in a {@link FixedHeaderTableLayout} call
+ * {@link FixedHeaderTableLayout#updateCell(int, int)} so its column and row are fitted to it again.
+ */
+public class TableCell {
+
+    private CharSequence text;
+    private int styleId;
+    private int backgroundId;
+
+    // Text measurements cached by TextCellRenderer, cleared when the cell changes
+    TextPaint cachedPaint = null;
+    float cachedTextWidth = 0;
+    Layout cachedLayout = null;
+
+    public TableCell(@Nullable CharSequence text) {
+        this(text, 0, 0);
+    }
+
+    /**
+     * @param text the text of the cell
+     * @param styleId the text style of the cell, interpreted by the {@link CellRenderer}
+     * @param backgroundId the background of the cell, interpreted by the {@link CellRenderer}
+     */
+    public TableCell(@Nullable CharSequence text, int styleId, int backgroundId) {
+        this.text = text == null ? "" : text;
+        this.styleId = styleId;
+        this.backgroundId = backgroundId;
+    }
+
+    @NonNull
+    public CharSequence getText() {
+        return text;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setText(@Nullable CharSequence text) {
+        this.text = text == null ? "" : text;
+        clearCache();
+    }
+
+    public int getStyleId() {
+        return styleId;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setStyleId(int styleId) {
+        this.styleId = styleId;
+        clearCache();
+    }
+
+    public int getBackgroundId() {
+        return backgroundId;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setBackgroundId(int backgroundId) {
+        this.backgroundId = backgroundId;
+    }
+
+    private void clearCache() {
+        cachedPaint = null;
+        cachedLayout = null;
+    }
+}
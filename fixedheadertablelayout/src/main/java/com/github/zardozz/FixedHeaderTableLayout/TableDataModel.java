@@ -0,0 +1,549 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Values of the main table cells that any thread can change while the Layout reads them.
+ * <p>
+ * Every change is committed as a new immutable {@link Snapshot} with a version one higher than the last.
+ * Readers take the current snapshot without locking and see the same values for as long as they hold it.
+ * Writers only wait for each other. Rows are stored copy on write in chunks, a commit copies the rows it
+ * changes and the chunks that hold them, the other rows are shared with the previous snapshot.
+ * <p>
+ * {@link Snapshot#diffSince(long)} lists the rows inserted or removed and the cells changed between two
+ * versions so a {@link FixedHeaderTableLayout} given the model with
+ * {@link FixedHeaderTableLayout#setDataModel(TableDataModel)} only updates and fits the changed rows, cells
+ * and columns. The column count is fixed.
+ */
+public class TableDataModel {
+
+    private static final int CHUNK_SHIFT = 8;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    // Number of commits whose changes are kept for diffs, older diffs are full
+    private static final int CHANGE_LOG_SIZE = 64;
+
+    private static final int OP_SET = 0;
+    private static final int OP_INSERT_ROWS = 1;
+    private static final int OP_REMOVE_ROWS = 2;
+
+    /**
+     * Told about every commit on the thread that made it, so it should not block
+     */
+    public interface OnChangeListener {
+        void onModelChanged(@NonNull TableDataModel model, long version);
+    }
+
+    private final int columnCount;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+    private final CopyOnWriteArrayList<OnChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param rowCount the number of rows, all the values start as null
+     * @param columnCount the number of columns
+     */
+    public TableDataModel(int rowCount, int columnCount) {
+        if (rowCount < 0 || columnCount < 0) {
+            throw new IllegalArgumentException("Row and column counts must be 0 or greater");
+        }
+        this.columnCount = columnCount;
+        this.snapshot = new Snapshot(toChunks(new Object[rowCount][]), rowCount, columnCount, 0, null);
+    }
+
+    /**
+     * @return the latest committed values, never changed by later commits
+     */
+    @NonNull
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long getVersion() {
+        return snapshot.version;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void addOnChangeListener(@NonNull OnChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void removeOnChangeListener(@NonNull OnChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return a new transaction, its changes are committed together as one version
+     */
+    @NonNull
+    public Transaction beginTransaction() {
+        return new Transaction();
+    }
+
+    /**
+     * Set one value and commit it
+     * @return the new version
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long set(int row, int column, @Nullable Object value) {
+        return beginTransaction().set(row, column, value).commit();
+    }
+
+    /**
+     * Insert empty rows and commit them
+     * @return the new version
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long insertRows(int position, int count) {
+        return beginTransaction().insertRows(position, count).commit();
+    }
+
+    /**
+     * Remove rows and commit the removal
+     * @return the new version
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public long removeRows(int position, int count) {
+        return beginTransaction().removeRows(position, count).commit();
+    }
+
+    /**
+     * Changes recorded on one thread and committed together, the model is not changed before {@link #commit()}
+     */
+    public final class Transaction {
+
+        private int opCount = 0;
+        // Type, row and column or count of each change
+        private int[] ops = new int[3 * 8];
+        private Object[] values = new Object[8];
+        private boolean committed = false;
+
+        private Transaction() {
+        }
+
+        @NonNull
+        public Transaction set(int row, int column, @Nullable Object value) {
+            if (column < 0 || column >= columnCount) {
+                throw new IllegalArgumentException("Column " + column + " is out of range");
+            }
+            return add(OP_SET, row, column, value);
+        }
+
+        @NonNull
+        public Transaction insertRows(int position, int count) {
+            return add(OP_INSERT_ROWS, position, count, null);
+        }
+
+        @NonNull
+        public Transaction removeRows(int position, int count) {
+            return add(OP_REMOVE_ROWS, position, count, null);
+        }
+
+        private Transaction add(int type, int a, int b, Object value) {
+            if (committed) {
+                throw new IllegalStateException("The transaction is already committed");
+            }
+            if (opCount == values.length) {
+                ops = Arrays.copyOf(ops, ops.length * 2);
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            ops[3 * opCount] = type;
+            ops[3 * opCount + 1] = a;
+            ops[3 * opCount + 2] = b;
+            values[opCount] = value;
+            opCount++;
+            return this;
+        }
+
+        /**
+         * Publish the changes as a new snapshot, readers are not blocked
+         * @return the new version, or the current version if there were no changes
+         * @throws IllegalArgumentException if a row is out of range, none of the changes are published
+         */
+        public long commit() {
+            if (committed) {
+                throw new IllegalStateException("The transaction is already committed");
+            }
+            committed = true;
+            if (opCount == 0) {
+                return snapshot.version;
+            }
+            Snapshot committedSnapshot;
+            synchronized (writeLock) {
+                committedSnapshot = apply(snapshot);
+                snapshot = committedSnapshot;
+            }
+            for (OnChangeListener listener : listeners) {
+                listener.onModelChanged(TableDataModel.this, committedSnapshot.version);
+            }
+            return committedSnapshot.version;
+        }
+
+        private Snapshot apply(Snapshot base) {
+            Object[][][] chunks = base.chunks;
+            int rowCount = base.rowCount;
+            // Arrays already copied by this commit can be written to
+            boolean topCopied = false;
+            BitSet chunkCopied = new BitSet();
+            BitSet rowCopied = new BitSet();
+            long[] cells = new long[opCount];
+            int cellCount = 0;
+            int[] rowChanges = new int[0];
+            for (int op = 0; op < opCount; op++) {
+                int type = ops[3 * op];
+                int a = ops[3 * op + 1];
+                int b = ops[3 * op + 2];
+                if (type == OP_SET) {
+                    if (a < 0 || a >= rowCount) {
+                        throw new IllegalArgumentException("Row " + a + " is out of range");
+                    }
+                    if (!topCopied) {
+                        chunks = chunks.clone();
+                        topCopied = true;
+                    }
+                    int chunk = a >> CHUNK_SHIFT;
+                    if (!chunkCopied.get(chunk)) {
+                        chunks[chunk] = chunks[chunk].clone();
+                        chunkCopied.set(chunk);
+                    }
+                    Object[][] rows = chunks[chunk];
+                    if (!rowCopied.get(a)) {
+                        Object[] row = rows[a & CHUNK_MASK];
+                        rows[a & CHUNK_MASK] = row == null ? new Object[columnCount] : row.clone();
+                        rowCopied.set(a);
+                    }
+                    rows[a & CHUNK_MASK][b] = values[op];
+                    cells[cellCount++] = ((long) a << 32) | b;
+                } else {
+                    Object[][] flat = flatten(chunks, rowCount);
+                    int delta;
+                    if (type == OP_INSERT_ROWS) {
+                        if (a < 0 || a > rowCount || b < 0) {
+                            throw new IllegalArgumentException("Cannot insert " + b + " rows at " + a);
+                        }
+                        Object[][] inserted = new Object[rowCount + b][];
+                        System.arraycopy(flat, 0, inserted, 0, a);
+                        System.arraycopy(flat, a, inserted, a + b, rowCount - a);
+                        flat = inserted;
+                        rowCount += b;
+                        delta = b;
+                    } else {
+                        if (a < 0 || b < 0 || a + b > rowCount) {
+                            throw new IllegalArgumentException("Rows " + a + " to " + (a + b - 1) + " are out of range");
+                        }
+                        Object[][] removed = new Object[rowCount - b][];
+                        System.arraycopy(flat, 0, removed, 0, a);
+                        System.arraycopy(flat, a + b, removed, a, rowCount - a - b);
+                        flat = removed;
+                        rowCount -= b;
+                        delta = -b;
+                    }
+                    // Cells set earlier in the commit move with their rows
+                    cellCount = moveCells(cells, cellCount, a, delta);
+                    rowChanges = Arrays.copyOf(rowChanges, rowChanges.length + 2);
+                    rowChanges[rowChanges.length - 2] = a;
+                    rowChanges[rowChanges.length - 1] = delta;
+                    chunks = toChunks(flat);
+                    // The chunks are new but the rows are still shared
+                    topCopied = true;
+                    chunkCopied.set(0, chunks.length);
+                    rowCopied.clear();
+                }
+            }
+            ChangeNode changes = ChangeNode.append(base.changes, base.version + 1,
+                    Arrays.copyOf(cells, cellCount), rowChanges);
+            return new Snapshot(chunks, rowCount, columnCount, base.version + 1, changes);
+        }
+    }
+
+    // Move cells to the rows they are in once rows are inserted or removed at the position,
+    // the cells of removed rows are dropped. Returns the number of cells kept
+    static int moveCells(long[] cells, int count, int position, int delta) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int row = (int) (cells[i] >>> 32);
+            if (row >= position) {
+                if (delta < 0 && row < position - delta) {
+                    continue;
+                }
+                row += delta;
+            }
+            cells[kept++] = ((long) row << 32) | (cells[i] & 0xffffffffL);
+        }
+        return kept;
+    }
+
+    private static Object[][] flatten(Object[][][] chunks, int rowCount) {
+        Object[][] flat = new Object[rowCount][];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            int start = chunk << CHUNK_SHIFT;
+            System.arraycopy(chunks[chunk], 0, flat, start, Math.min(CHUNK_SIZE, rowCount - start));
+        }
+        return flat;
+    }
+
+    private static Object[][][] toChunks(Object[][] flat) {
+        Object[][][] chunks = new Object[(flat.length + CHUNK_MASK) >> CHUNK_SHIFT][][];
+        for (int chunk = 0; chunk < chunks.length; chunk++) {
+            int start = chunk << CHUNK_SHIFT;
+            chunks[chunk] = new Object[CHUNK_SIZE][];
+            System.arraycopy(flat, start, chunks[chunk], 0, Math.min(CHUNK_SIZE, flat.length - start));
+        }
+        return chunks;
+    }
+
+    /**
+     * The rows inserted or removed and the cells changed by one commit, linked to the commits before it
+     * up to the size of the change log
+     */
+    static final class ChangeNode {
+        final long version;
+        // Rows of the cells after the whole commit
+        final long[] cells;
+        // Position and signed row count of each insertion or removal in commit order
+        final int[] rowChanges;
+        final int depth;
+        final ChangeNode previous;
+
+        private ChangeNode(long version, long[] cells, int[] rowChanges, ChangeNode previous) {
+            this.version = version;
+            this.cells = cells;
+            this.rowChanges = rowChanges;
+            this.previous = previous;
+            this.depth = previous == null ? 1 : previous.depth + 1;
+        }
+
+        static ChangeNode append(@Nullable ChangeNode last, long version, long[] cells, int[] rowChanges) {
+            if (last != null && last.depth >= 2 * CHANGE_LOG_SIZE) {
+                // Keep the newest commits, copying them now and then rather than on every commit
+                last = copy(last, CHANGE_LOG_SIZE - 1);
+            }
+            return new ChangeNode(version, cells, rowChanges, last);
+        }
+
+        private static ChangeNode copy(ChangeNode node, int count) {
+            if (node == null || count == 0) {
+                return null;
+            }
+            return new ChangeNode(node.version, node.cells, node.rowChanges, copy(node.previous, count - 1));
+        }
+    }
+
+    /**
+     * The values of the model at one version, safe to read from any thread
+     */
+    public static final class Snapshot {
+
+        final Object[][][] chunks;
+        private final int rowCount;
+        private final int columnCount;
+        final long version;
+        final ChangeNode changes;
+
+        Snapshot(Object[][][] chunks, int rowCount, int columnCount, long version, ChangeNode changes) {
+            this.chunks = chunks;
+            this.rowCount = rowCount;
+            this.columnCount = columnCount;
+            this.version = version;
+            this.changes = changes;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        public int getColumnCount() {
+            return columnCount;
+        }
+
+        /**
+         * @return the value of the cell, null if it was never set
+         */
+        @Nullable
+        public Object get(int row, int column) {
+            if (row < 0 || row >= rowCount || column < 0 || column >= columnCount) {
+                throw new IllegalArgumentException("Cell " + row + "," + column + " is out of range");
+            }
+            Object[] values = chunks[row >> CHUNK_SHIFT][row & CHUNK_MASK];
+            return values == null ? null : values[column];
+        }
+
+        /**
+         * @param version an earlier version of the same model
+         * @return the rows inserted or removed and the cells changed since the version, full if the version
+         * is too old to be in the change log
+         */
+        @NonNull
+        public Diff diffSince(long version) {
+            if (version == this.version) {
+                return new Diff(false, new long[0], new int[0]);
+            }
+            if (version > this.version || version < 0) {
+                return new Diff(true, null, null);
+            }
+            int nodeCount = 0;
+            int cellCount = 0;
+            int rowChangeCount = 0;
+            ChangeNode oldest = null;
+            for (ChangeNode node = changes; node != null && node.version > version; node = node.previous) {
+                nodeCount++;
+                cellCount += node.cells.length;
+                rowChangeCount += node.rowChanges.length;
+                oldest = node;
+            }
+            if (oldest == null || oldest.version != version + 1) {
+                // The commits after the version are no longer in the change log
+                return new Diff(true, null, null);
+            }
+            ChangeNode[] nodes = new ChangeNode[nodeCount];
+            for (ChangeNode node = changes; node != null && node.version > version; node = node.previous) {
+                nodes[--nodeCount] = node;
+            }
+            // Replay the commits from the oldest, the cells of each commit move with the rows of the later ones
+            long[] cells = new long[cellCount];
+            int[] rowChanges = new int[rowChangeCount];
+            cellCount = 0;
+            rowChangeCount = 0;
+            for (ChangeNode node : nodes) {
+                for (int i = 0; i < node.rowChanges.length; i += 2) {
+                    cellCount = moveCells(cells, cellCount, node.rowChanges[i], node.rowChanges[i + 1]);
+                }
+                System.arraycopy(node.rowChanges, 0, rowChanges, rowChangeCount, node.rowChanges.length);
+                rowChangeCount += node.rowChanges.length;
+                System.arraycopy(node.cells, 0, cells, cellCount, node.cells.length);
+                cellCount += node.cells.length;
+            }
+            return new Diff(false, Arrays.copyOf(cells, cellCount), rowChanges);
+        }
+    }
+
+    /**
+     * The rows inserted or removed and the cells changed between two versions of a model. Apply the row
+     * changes in order first, the cells are at their rows after all of them.
+     */
+    public static final class Diff {
+
+        private final boolean full;
+        // Position and signed row count of each insertion or removal in order
+        private final int[] rowChanges;
+        // Row in the high and column in the low bits, sorted without duplicates
+        private final long[] cells;
+        private final BitSet rows = new BitSet();
+        private final BitSet columns = new BitSet();
+
+        Diff(boolean full, @Nullable long[] cells, @Nullable int[] rowChanges) {
+            this.full = full;
+            this.rowChanges = rowChanges == null ? new int[0] : rowChanges;
+            if (cells == null) {
+                this.cells = new long[0];
+                return;
+            }
+            Arrays.sort(cells);
+            int count = 0;
+            for (int i = 0; i < cells.length; i++) {
+                if (i == 0 || cells[i] != cells[i - 1]) {
+                    cells[count++] = cells[i];
+                    rows.set((int) (cells[i] >>> 32));
+                    columns.set((int) cells[i]);
+                }
+            }
+            this.cells = Arrays.copyOf(cells, count);
+        }
+
+        /**
+         * @return true if the changes are not known cell by cell and everything should be read again
+         */
+        public boolean isFull() {
+            return full;
+        }
+
+        public boolean isEmpty() {
+            return !full && cells.length == 0 && rowChanges.length == 0;
+        }
+
+        /**
+         * @return the number of row insertions and removals
+         */
+        public int getRowChangeCount() {
+            return rowChanges.length / 2;
+        }
+
+        /**
+         * @param index the insertion or removal, in the order they were made
+         * @return the first row inserted or removed
+         */
+        public int getRowChangePosition(int index) {
+            return rowChanges[2 * index];
+        }
+
+        /**
+         * @param index the insertion or removal, in the order they were made
+         * @return the number of rows inserted, or minus the number of rows removed
+         */
+        public int getRowChangeDelta(int index) {
+            return rowChanges[2 * index + 1];
+        }
+
+        public int getCellCount() {
+            return cells.length;
+        }
+
+        public int getRow(int index) {
+            return (int) (cells[index] >>> 32);
+        }
+
+        public int getColumn(int index) {
+            return (int) cells[index];
+        }
+
+        @SuppressWarnings({"UnusedDeclaration"})
+        public boolean isRowChanged(int row) {
+            return full || rows.get(row);
+        }
+
+        @SuppressWarnings({"UnusedDeclaration"})
+        public boolean isColumnChanged(int column) {
+            return full || columns.get(column);
+        }
+    }
+}
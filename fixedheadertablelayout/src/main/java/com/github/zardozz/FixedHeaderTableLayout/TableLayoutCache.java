@@ -0,0 +1,171 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * The negotiated geometry, sticky indices and viewport of a {@link FixedHeaderTableLayout} in the
+ * binary form written by {@link FixedHeaderTableLayout#exportLayout(long)}.
+ * <p>
+ * The bytes start with a magic number and a format version, then the hash of the data the layout was
+ * measured from, so a cache written by another version or for other data is never applied.
+ * Sizes are written as variable length integers as most of them fit in one or two bytes.
+ */
+final class TableLayoutCache {
+
+    private static final int MAGIC = 0x46485443;
+    static final int VERSION = 1;
+
+    final long dataHash;
+    // Sizes shared by the tables on the same side, as in FixedHeaderTableLayoutSnapshot
+    final int[] rightColumnWidths;
+    final int[] leftColumnWidths;
+    final int[] bottomRowHeights;
+    final int[] topRowHeights;
+    final int[] stickyRowIndices;
+    final int[] stickyColumnIndices;
+    final float panX;
+    final float panY;
+    final float scaleFactor;
+
+    TableLayoutCache(long dataHash, int[] rightColumnWidths, int[] leftColumnWidths,
+                     int[] bottomRowHeights, int[] topRowHeights,
+                     int[] stickyRowIndices, int[] stickyColumnIndices,
+                     float panX, float panY, float scaleFactor) {
+        this.dataHash = dataHash;
+        this.rightColumnWidths = rightColumnWidths;
+        this.leftColumnWidths = leftColumnWidths;
+        this.bottomRowHeights = bottomRowHeights;
+        this.topRowHeights = topRowHeights;
+        this.stickyRowIndices = stickyRowIndices;
+        this.stickyColumnIndices = stickyColumnIndices;
+        this.panX = panX;
+        this.panY = panY;
+        this.scaleFactor = scaleFactor;
+    }
+
+    byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                64 + 2 * (rightColumnWidths.length + leftColumnWidths.length + bottomRowHeights.length + topRowHeights.length));
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(dataHash);
+            writeArray(out, rightColumnWidths);
+            writeArray(out, leftColumnWidths);
+            writeArray(out, bottomRowHeights);
+            writeArray(out, topRowHeights);
+            writeArray(out, stickyRowIndices);
+            writeArray(out, stickyColumnIndices);
+            out.writeFloat(panX);
+            out.writeFloat(panY);
+            out.writeFloat(scaleFactor);
+            out.flush();
+        } catch (IOException e) {
+            // Writing to memory does not fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param data the bytes written by {@link #toBytes()}
+     * @param dataHash the hash of the data the table is being built from
+     * @return the cache or null if the bytes are from another version, for other data or damaged
+     */
+    @Nullable
+    static TableLayoutCache fromBytes(byte[] data, long dataHash) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != dataHash) {
+                return null;
+            }
+            int[] rightColumnWidths = readArray(in);
+            int[] leftColumnWidths = readArray(in);
+            int[] bottomRowHeights = readArray(in);
+            int[] topRowHeights = readArray(in);
+            int[] stickyRowIndices = readArray(in);
+            int[] stickyColumnIndices = readArray(in);
+            float panX = in.readFloat();
+            float panY = in.readFloat();
+            float scaleFactor = in.readFloat();
+            if (in.available() != 0) {
+                return null;
+            }
+            return new TableLayoutCache(dataHash, rightColumnWidths, leftColumnWidths, bottomRowHeights,
+                    topRowHeights, stickyRowIndices, stickyColumnIndices, panX, panY, scaleFactor);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void writeArray(DataOutputStream out, int[] values) throws IOException {
+        writeVarInt(out, values.length);
+        for (int value : values) {
+            writeVarInt(out, value);
+        }
+    }
+
+    private static int[] readArray(DataInputStream in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Bad array length " + length);
+        }
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = readVarInt(in);
+        }
+        return values;
+    }
+
+    // Seven bits per byte, the high bit is set on every byte but the last
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Bad variable length integer");
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.view.View;
+import android.widget.TextView;
+
+import java.util.Arrays;
+
+/**
+ * Column measurements shared by the {@link FixedHeaderTableLayout}s of a
+ * {@link FixedHeaderTableContainer} whose sheets have the same columns.
+ * <p>
+ * Each column remembers the longest text it has measured, and the width and height that text needed.
+ * When a table registered with {@link FixedHeaderTableLayout#setTableSchema(TableSchema)} is added,
+ * single line TextView cells styled like the sample whose text is no longer than the longest sample
+ * are not measured, they take the width and height of the sample instead. Only cells that could
+ * widen their column are measured, which works well for numbers and short labels but can clip text
+ * made of wider characters than the sample.
+ * <p>
+ * With {@link #setAlignColumns(boolean)} every table also starts from the widest column widths seen
+ * so far, so the columns of later sheets line up with the earlier ones.
+ */
+public class TableSchema {
+
+    private boolean alignColumns = true;
+    // Columns of the mainTable and columnHeaderTable
+    final ColumnSamples rightColumns = new ColumnSamples();
+    // Columns of the rowHeaderTable and cornerTable
+    final ColumnSamples leftColumns = new ColumnSamples();
+
+    /**
+     * @param alignColumns true to give every table registered with this schema at least the column
+     *                     widths of the tables added before it
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setAlignColumns(boolean alignColumns) {
+        this.alignColumns = alignColumns;
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public boolean isAlignColumns() {
+        return alignColumns;
+    }
+
+    /**
+     * Forget all the samples and widths, for example after the text style of the cells changed
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void clear() {
+        rightColumns.clear();
+        leftColumns.clear();
+    }
+
+    /**
+     * The longest text measured in each column of one side of the table, with the style it was measured in
+     */
+    static class ColumnSamples {
+
+        private int count = 0;
+        private int[] maxLengths = new int[16];
+        private int[] widths = new int[16];
+        private int[] heights = new int[16];
+        private int[] paddings = new int[16];
+        private float[] textSizes = new float[16];
+        // Widest width of each column negotiated by the tables so far
+        final AxisIndex columnWidths = new AxisIndex();
+
+        void clear() {
+            count = 0;
+            columnWidths.clear();
+        }
+
+        /**
+         * @return true if the cell does not need measuring as it cannot be wider than the sample
+         */
+        boolean canSkip(int column, View cell) {
+            if (!(cell instanceof TextView)) {
+                return false;
+            }
+            TextView textView = (TextView) cell;
+            return canSkip(column, textView.getText(), textView.getTextSize(),
+                    textView.getCompoundPaddingLeft() + textView.getCompoundPaddingRight());
+        }
+
+        boolean canSkip(int column, CharSequence text, float textSize, int padding) {
+            return column < count && maxLengths[column] >= 0 && text.length() <= maxLengths[column]
+                    && textSizes[column] == textSize && paddings[column] == padding && isSingleLine(text);
+        }
+
+        /**
+         * Remember the size of a measured cell if it is the longest single line text of its column
+         */
+        void record(int column, View cell, int width, int height) {
+            if (!(cell instanceof TextView)) {
+                return;
+            }
+            TextView textView = (TextView) cell;
+            record(column, textView.getText(), textView.getTextSize(),
+                    textView.getCompoundPaddingLeft() + textView.getCompoundPaddingRight(), width, height);
+        }
+
+        void record(int column, CharSequence text, float textSize, int padding, int width, int height) {
+            if (!isSingleLine(text)) {
+                return;
+            }
+            ensureCount(column + 1);
+            if (maxLengths[column] < 0) {
+                // First sample sets the style the column is sampled in
+                textSizes[column] = textSize;
+                paddings[column] = padding;
+            } else if (textSizes[column] != textSize || paddings[column] != padding) {
+                return;
+            }
+            maxLengths[column] = Math.max(maxLengths[column], text.length());
+            widths[column] = Math.max(widths[column], width);
+            heights[column] = Math.max(heights[column], height);
+        }
+
+        int getWidth(int column) {
+            return widths[column];
+        }
+
+        int getHeight(int column) {
+            return heights[column];
+        }
+
+        /**
+         * Grow the widths of a table and the widths of the schema to the wider of the two
+         * @param tableWidths the natural column widths of a table
+         */
+        void alignColumns(AxisIndex tableWidths) {
+            for (int column = 0; column < columnWidths.size() && column < tableWidths.size(); column++) {
+                tableWidths.setMax(column, columnWidths.getSize(column));
+            }
+            for (int column = 0; column < tableWidths.size(); column++) {
+                columnWidths.setMax(column, tableWidths.getSize(column));
+            }
+        }
+
+        private void ensureCount(int newCount) {
+            if (newCount > maxLengths.length) {
+                int newLength = Math.max(newCount, maxLengths.length * 2);
+                maxLengths = Arrays.copyOf(maxLengths, newLength);
+                widths = Arrays.copyOf(widths, newLength);
+                heights = Arrays.copyOf(heights, newLength);
+                paddings = Arrays.copyOf(paddings, newLength);
+                textSizes = Arrays.copyOf(textSizes, newLength);
+            }
+            for (int column = count; column < newCount; column++) {
+                // No sample yet
+                maxLengths[column] = -1;
+                widths[column] = 0;
+                heights[column] = 0;
+            }
+            count = Math.max(count, newCount);
+        }
+
+        private static boolean isSingleLine(CharSequence text) {
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '\n') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.os.Build;
+import android.text.Layout;
+import android.text.Spanned;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.SparseArray;
+import android.util.TypedValue;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+/**
+ * The default {@link CellRenderer}, draws the text of each cell on an optional background colour.
+ * <p>
+ * The style id of a cell selects a TextPaint set with {@link #setTextStyle(int, TextPaint)}, its
+ * text align decides whether the text is drawn at the start, centre or end of the cell. The
+ * background id selects a colour set with {@link #setBackgroundColor(int, int)}, cells with an
+ * unknown background id are not filled. Single line plain text is drawn directly, other text is
+ * laid out once and the layout is kept on the cell until its text or width changes.
+ */
+public class TextCellRenderer implements CellRenderer {
+
+    public static final int DEFAULT_STYLE = 0;
+
+    private static final float DEFAULT_TEXT_SIZE_SP = 14;
+    private static final float DEFAULT_PADDING_DP = 4;
+
+    private final SparseArray<TextPaint> textPaints = new SparseArray<>();
+    // Copies of the text paints aligned left as a Layout does its own alignment
+    private final SparseArray<TextPaint> layoutPaints = new SparseArray<>();
+    private final SparseArray<Paint.FontMetricsInt> fontMetrics = new SparseArray<>();
+    private final SparseArray<Paint> backgroundPaints = new SparseArray<>();
+    private int paddingLeft;
+    private int paddingTop;
+    private int paddingRight;
+    private int paddingBottom;
+
+    public TextCellRenderer(@NonNull Context context) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setColor(Color.BLACK);
+        paint.setTextSize(TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, DEFAULT_TEXT_SIZE_SP,
+                context.getResources().getDisplayMetrics()));
+        setTextStyle(DEFAULT_STYLE, paint);
+        int padding = (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DEFAULT_PADDING_DP,
+                context.getResources().getDisplayMetrics());
+        setPadding(padding, padding, padding, padding);
+    }
+
+    /**
+     * Set the Paint used for the text of cells with the given style id, cells with a style id that
+     * has not been set use {@link #DEFAULT_STYLE}
+     * @param styleId the style id
+     * @param paint the Paint to draw the text with, it is copied
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setTextStyle(int styleId, @NonNull TextPaint paint) {
+        TextPaint textPaint = new TextPaint(paint);
+        textPaints.put(styleId, textPaint);
+        TextPaint layoutPaint = new TextPaint(paint);
+        layoutPaint.setTextAlign(Paint.Align.LEFT);
+        layoutPaints.put(styleId, layoutPaint);
+        fontMetrics.put(styleId, textPaint.getFontMetricsInt());
+    }
+
+    /**
+     * Set the colour filling cells with the given background id
+     * @param backgroundId the background id
+     * @param color the colour
+     */
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setBackgroundColor(int backgroundId, @ColorInt int color) {
+        Paint paint = new Paint();
+        paint.setStyle(Paint.Style.FILL);
+        paint.setColor(color);
+        backgroundPaints.put(backgroundId, paint);
+    }
+
+    @SuppressWarnings({"UnusedDeclaration"})
+    public void setPadding(int left, int top, int right, int bottom) {
+        paddingLeft = left;
+        paddingTop = top;
+        paddingRight = right;
+        paddingBottom = bottom;
+    }
+
+    @Override
+    public int measureWidth(@NonNull TableCell cell) {
+        TextPaint paint = getTextPaint(cell.getStyleId());
+        return (int) Math.ceil(getTextWidth(cell, paint)) + paddingLeft + paddingRight;
+    }
+
+    @Override
+    public int measureHeight(@NonNull TableCell cell) {
+        TextPaint paint = getTextPaint(cell.getStyleId());
+        int height;
+        if (needsLayout(cell.getText())) {
+            height = getLayout(cell, paint, (int) Math.ceil(getTextWidth(cell, paint))).getHeight();
+        } else {
+            Paint.FontMetricsInt metrics = getFontMetrics(cell.getStyleId());
+            height = metrics.bottom - metrics.top;
+        }
+        return height + paddingTop + paddingBottom;
+    }
+
+    @Override
+    public void draw(@NonNull Canvas canvas, @NonNull TableCell cell, int width, int height) {
+        Paint background = backgroundPaints.get(cell.getBackgroundId());
+        if (background != null) {
+            canvas.drawRect(0, 0, width, height, background);
+        }
+        CharSequence text = cell.getText();
+        if (text.length() == 0) {
+            return;
+        }
+        TextPaint paint = getTextPaint(cell.getStyleId());
+        int textWidth = Math.max(0, width - paddingLeft - paddingRight);
+        if (needsLayout(text)) {
+            Layout layout = getLayout(cell, paint, textWidth);
+            canvas.save();
+            canvas.translate(paddingLeft, paddingTop + Math.max(0, (height - paddingTop - paddingBottom - layout.getHeight()) / 2));
+            layout.draw(canvas);
+            canvas.restore();
+            return;
+        }
+        float x;
+        switch (paint.getTextAlign()) {
+            case CENTER:
+                x = paddingLeft + textWidth / 2f;
+                break;
+            case RIGHT:
+                x = paddingLeft + textWidth;
+                break;
+            default:
+                x = paddingLeft;
+                break;
+        }
+        // Centre the line vertically
+        Paint.FontMetricsInt metrics = getFontMetrics(cell.getStyleId());
+        float y = paddingTop + (height - paddingTop - paddingBottom - (metrics.bottom - metrics.top)) / 2f - metrics.top;
+        canvas.drawText(text, 0, text.length(), x, y, paint);
+    }
+
+    private TextPaint getTextPaint(int styleId) {
+        TextPaint paint = textPaints.get(styleId);
+        return paint == null ? textPaints.get(DEFAULT_STYLE) : paint;
+    }
+
+    private Paint.FontMetricsInt getFontMetrics(int styleId) {
+        Paint.FontMetricsInt metrics = fontMetrics.get(styleId);
+        return metrics == null ? fontMetrics.get(DEFAULT_STYLE) : metrics;
+    }
+
+    private static boolean needsLayout(CharSequence text) {
+        return text instanceof Spanned || TextUtils.indexOf(text, '\n') >= 0;
+    }
+
+    private static float getTextWidth(TableCell cell, TextPaint paint) {
+        if (cell.cachedPaint != paint) {
+            // The cell or its style has changed since it was last measured
+            cell.cachedPaint = paint;
+            cell.cachedLayout = null;
+            cell.cachedTextWidth = Layout.getDesiredWidth(cell.getText(), paint);
+        }
+        return cell.cachedTextWidth;
+    }
+
+    private Layout getLayout(TableCell cell, TextPaint paint, int width) {
+        getTextWidth(cell, paint);
+        if (cell.cachedLayout == null || cell.cachedLayout.getWidth() != width) {
+            Layout.Alignment alignment = paint.getTextAlign() == Paint.Align.CENTER ? Layout.Alignment.ALIGN_CENTER
+                    : paint.getTextAlign() == Paint.Align.RIGHT ? Layout.Alignment.ALIGN_OPPOSITE
+                    : Layout.Alignment.ALIGN_NORMAL;
+            TextPaint layoutPaint = layoutPaints.get(cell.getStyleId());
+            if (layoutPaint == null) {
+                layoutPaint = layoutPaints.get(DEFAULT_STYLE);
+            }
+            cell.cachedLayout = buildLayout(cell.getText(), layoutPaint, width, alignment);
+        }
+        return cell.cachedLayout;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Layout buildLayout(CharSequence text, TextPaint paint, int width, Layout.Alignment alignment) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                    .setAlignment(alignment)
+                    .setIncludePad(true)
+                    .build();
+        }
+        return new StaticLayout(text, paint, width, alignment, 1f, 0f, true);
+    }
+}
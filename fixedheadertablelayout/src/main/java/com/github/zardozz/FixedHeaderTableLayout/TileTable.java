@@ -0,0 +1,263 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import android.graphics.Bitmap;
+
+/**
+ * The tiles of a {@link PaneTileCache} keyed by pane, scale level and tile position, an open
+ * addressing hash map that also links the tiles from the most to the least recently drawn.
+ * The table keeps the count of tiles inside a byte budget, the least recently drawn tiles are
+ * evicted first and the tiles drawn in the current frame never are.
+ */
+final class TileTable {
+
+    static final int TILE_SIZE = 256;
+    static final long TILE_BYTES = TILE_SIZE * TILE_SIZE * 4;
+    static final int MIN_LEVEL = -8;
+    static final int MAX_LEVEL = 8;
+    // Tile positions are packed in 28 bits
+    static final int MAX_TILE = 0xfffffff;
+
+    static final class Tile {
+        long key;
+        Bitmap bitmap;
+        // Version of the pane content the tile was rendered from
+        int version;
+        // Set when part of the tile changed since it was rendered
+        boolean stale;
+        // Last frame the tile was drawn in
+        int frame;
+        Tile newer;
+        Tile older;
+    }
+
+    private Tile[] slots = new Tile[16];
+    private int count = 0;
+    // Most and least recently drawn tiles
+    private Tile newest = null;
+    private Tile oldest = null;
+    private long maxBytes;
+    private int frame = 0;
+
+    TileTable(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    static long key(int pane, int level, int tileX, int tileY) {
+        if (tileX < 0 || tileX > MAX_TILE || tileY < 0 || tileY > MAX_TILE) {
+            throw new IllegalArgumentException("Tile position out of range");
+        }
+        return ((long) pane << 62) | ((long) (level - MIN_LEVEL) << 56)
+                | ((long) tileX << 28) | tileY;
+    }
+
+    static int pane(long key) {
+        return (int) (key >>> 62);
+    }
+
+    static int level(long key) {
+        return (int) ((key >>> 56) & 0x3f) + MIN_LEVEL;
+    }
+
+    static int tileX(long key) {
+        return (int) ((key >>> 28) & MAX_TILE);
+    }
+
+    static int tileY(long key) {
+        return (int) (key & MAX_TILE);
+    }
+
+    void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    long getUsedBytes() {
+        return count * TILE_BYTES;
+    }
+
+    int size() {
+        return count;
+    }
+
+    void beginFrame() {
+        frame++;
+    }
+
+    Tile get(long key) {
+        Tile tile = slots[findSlot(slots, key)];
+        return tile != null && tile.key == key ? tile : null;
+    }
+
+    /**
+     * Add a tile as the most recently drawn one, its key must not be in the table
+     */
+    void put(Tile tile) {
+        if ((count + 1) * 2 > slots.length) {
+            grow();
+        }
+        slots[findSlot(slots, tile.key)] = tile;
+        count++;
+        linkNewest(tile);
+        tile.frame = frame;
+    }
+
+    /**
+     * Make a tile the most recently drawn one
+     */
+    void touch(Tile tile) {
+        unlink(tile);
+        linkNewest(tile);
+        tile.frame = frame;
+    }
+
+    /**
+     * Take the least recently drawn tile out of the table when one more tile would be over the
+     * budget, so its bitmap is reused for a new tile
+     * @return the removed tile or null when a new tile fits or every tile is drawn in this frame
+     */
+    Tile reuseOldest() {
+        if ((count + 1) * TILE_BYTES > maxBytes && oldest != null && oldest.frame != frame) {
+            Tile tile = oldest;
+            remove(tile);
+            return tile;
+        }
+        return null;
+    }
+
+    /**
+     * Take the least recently drawn tile out of the table while over the budget
+     * @return the removed tile or null when inside the budget or every tile is drawn in this frame
+     */
+    Tile evictOldest() {
+        if (count * TILE_BYTES > maxBytes && oldest != null && oldest.frame != frame) {
+            Tile tile = oldest;
+            remove(tile);
+            return tile;
+        }
+        return null;
+    }
+
+    /**
+     * Mark the tiles of a pane that intersect a region stale
+     * @param pane the pane index
+     * @param left the left of the region in pane coordinates
+     * @param top the top of the region in pane coordinates
+     * @param right the right of the region in pane coordinates
+     * @param bottom the bottom of the region in pane coordinates
+     */
+    void invalidate(int pane, float left, float top, float right, float bottom) {
+        for (Tile tile = newest; tile != null; tile = tile.older) {
+            if (pane(tile.key) != pane || tile.stale) {
+                continue;
+            }
+            // Size of a tile in pane coordinates at the level of the tile
+            float size = TILE_SIZE / PaneTileCache.levelScale(level(tile.key));
+            float tileLeft = tileX(tile.key) * size;
+            float tileTop = tileY(tile.key) * size;
+            if (left < tileLeft + size && right > tileLeft && top < tileTop + size && bottom > tileTop) {
+                tile.stale = true;
+            }
+        }
+    }
+
+    Tile newest() {
+        return newest;
+    }
+
+    Tile oldest() {
+        return oldest;
+    }
+
+    void clear() {
+        for (Tile tile = newest; tile != null; tile = tile.older) {
+            slots[findSlot(slots, tile.key)] = null;
+        }
+        count = 0;
+        newest = null;
+        oldest = null;
+    }
+
+    private void remove(Tile tile) {
+        unlink(tile);
+        int mask = slots.length - 1;
+        int slot = findSlot(slots, tile.key);
+        slots[slot] = null;
+        count--;
+        // Move back the tiles probed past the freed slot so they are still found
+        int next = (slot + 1) & mask;
+        while (slots[next] != null) {
+            Tile moved = slots[next];
+            slots[next] = null;
+            slots[findSlot(slots, moved.key)] = moved;
+            next = (next + 1) & mask;
+        }
+    }
+
+    // Slot holding the key or the empty slot where it goes
+    private static int findSlot(Tile[] slots, long key) {
+        int mask = slots.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (slots[slot] != null && slots[slot].key != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        Tile[] newSlots = new Tile[slots.length * 2];
+        for (Tile tile = newest; tile != null; tile = tile.older) {
+            newSlots[findSlot(newSlots, tile.key)] = tile;
+        }
+        slots = newSlots;
+    }
+
+    private void linkNewest(Tile tile) {
+        tile.newer = null;
+        tile.older = newest;
+        if (newest != null) {
+            newest.newer = tile;
+        }
+        newest = tile;
+        if (oldest == null) {
+            oldest = tile;
+        }
+    }
+
+    private void unlink(Tile tile) {
+        if (tile.newer != null) {
+            tile.newer.older = tile.older;
+        } else {
+            newest = tile.older;
+        }
+        if (tile.older != null) {
+            tile.older.newer = tile.newer;
+        } else {
+            oldest = tile.newer;
+        }
+        tile.newer = null;
+        tile.older = null;
+    }
+}
@@ -25,8 +25,9 @@
 package com.github.zardozz.FixedHeaderTableLayout;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import android.util.SparseIntArray;
+import android.widget.TextView;
 
 public class Utils {
 
@@ -54,14 +55,14 @@ public class Utils {
     public static ArrayList<Integer> calculateMaxColumnWidth(ArrayList<Integer> existWidths, FixedHeaderSubTableLayout table) {
         for (int row = 0; row < table.getChildCount(); row++) {
             FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
-            ArrayList<Integer> rowColumnWidth = tableRow.getColumnWidths();
+            AxisIndex rowColumnWidth = tableRow.getColumnModel();
             for (int column = 0; column < rowColumnWidth.size(); column++) {
                 if (existWidths.size() <= column) {
                     // Not seen this column number before so add
-                    existWidths.add(rowColumnWidth.get(column));
+                    existWidths.add(rowColumnWidth.getSize(column));
                 } else {
                     // Take the max of existing value and new value
-                    existWidths.set(column, Math.max(existWidths.get(column), rowColumnWidth.get(column)));
+                    existWidths.set(column, Math.max(existWidths.get(column), rowColumnWidth.getSize(column)));
                 }
             }
         }
@@ -69,9 +70,88 @@ public class Utils {
     }
 
     public static void setMaxColumnWidth(ArrayList<Integer> newWidths, FixedHeaderSubTableLayout table){
+        // All the rows share one copy of the widths
+        AxisIndex columnWidths = new AxisIndex();
+        for (int column = 0; column < newWidths.size(); column++) {
+            columnWidths.add(newWidths.get(column));
+        }
+        for (int row = 0; row < table.getChildCount(); row++) {
+            FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+            tableRow.setColumnModel(columnWidths);
+        }
+    }
+
+    /**
+     * Grow the shared column widths to fit the measured cells of every row of the table
+     * @param columnWidths the column widths shared by the rows on one side of the table
+     * @param table the table whose rows have been measured
+     */
+    static void mergeColumnWidths(AxisIndex columnWidths, FixedHeaderSubTableLayout table) {
+        for (int row = 0; row < table.getChildCount(); row++) {
+            FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+            for (int column = 0; column < tableRow.getMeasuredColumnCount(); column++) {
+                columnWidths.setMax(column, tableRow.getMeasuredColumnWidth(column));
+            }
+        }
+    }
+
+    /**
+     * Grow the shared row heights to fit the tallest cell of every row of the table
+     * @param rowHeights the row heights shared by the tables on one side of the table
+     * @param table the table whose rows have been measured
+     */
+    static void mergeRowHeights(AxisIndex rowHeights, FixedHeaderSubTableLayout table) {
+        for (int row = 0; row < table.getChildCount(); row++) {
+            FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+            rowHeights.setMax(row, tableRow.getMeasuredRowHeight());
+        }
+    }
+
+    /**
+     * Point every row of the table at the samples of a {@link TableSchema} for their next preMeasure
+     * @param table the table
+     * @param columnSamples the samples of the side of the table or null to stop sampling
+     */
+    static void setColumnSamples(FixedHeaderSubTableLayout table, TableSchema.ColumnSamples columnSamples) {
+        for (int row = 0; row < table.getChildCount(); row++) {
+            ((FixedHeaderTableRow) table.getChildAt(row)).setColumnSamples(columnSamples);
+        }
+    }
+
+    /**
+     * Estimate the width of a TextView cell holding a number of digits without measuring the cell
+     * @param textView a cell styled like the others of its column
+     * @param length the number of characters
+     * @return the width of the text with the padding of the cell
+     */
+    static int measureDigitsWidth(TextView textView, int length) {
+        char[] digits = new char[length];
+        Arrays.fill(digits, '0');
+        return (int) Math.ceil(textView.getPaint().measureText(digits, 0, length))
+                + textView.getCompoundPaddingLeft() + textView.getCompoundPaddingRight();
+    }
+
+    static void applyColumnOverrides(SparseIntArray overrides, AxisIndex columnWidths) {
+        for (int i = 0; i < overrides.size(); i++) {
+            int column = overrides.keyAt(i);
+            int override = overrides.valueAt(i);
+            if (override > 0 && column < columnWidths.size()) {
+                columnWidths.set(column, override);
+            }
+        }
+    }
+
+    /**
+     * Point every row of the table at the shared column widths and give it its shared height
+     * @param table the table
+     * @param columnWidths the column widths shared by the rows on one side of the table
+     * @param rowHeights the row heights shared by the tables on one side of the table
+     */
+    static void applySizeModels(FixedHeaderSubTableLayout table, AxisIndex columnWidths, AxisIndex rowHeights) {
         for (int row = 0; row < table.getChildCount(); row++) {
             FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
-            tableRow.setColumnWidths(newWidths);
+            tableRow.setColumnModel(columnWidths);
+            tableRow.setMaxChildHeight(rowHeights.getSize(row));
         }
     }
 
@@ -81,21 +161,21 @@ public class Utils {
         }
         for (int row = 0; row < table.getChildCount(); row++) {
             FixedHeaderTableRow tableRow = (FixedHeaderTableRow) table.getChildAt(row);
+            AxisIndex columnWidths = tableRow.getColumnModel();
             int columnCount = tableRow.getChildCount();
-            List<Integer> explicitWidths = new ArrayList<>(columnCount);
+            int[] explicitWidths = new int[columnCount];
             for (int column = 0; column < columnCount; column++) {
                 int override = overrides.get(column, -1);
                 if (override > 0) {
-                    explicitWidths.add(override);
-                } else if (tableRow.getExplicitColumnWidths().size() > column && tableRow.getExplicitColumnWidths().get(column) > 0) {
-                    explicitWidths.add(tableRow.getExplicitColumnWidths().get(column));
-                } else if (tableRow.getColumnWidths().size() > column) {
-                    explicitWidths.add(tableRow.getColumnWidths().get(column));
-                } else {
-                    explicitWidths.add(0);
+                    explicitWidths[column] = override;
+                } else if (tableRow.getExplicitColumnWidth(column) > 0) {
+                    explicitWidths[column] = tableRow.getExplicitColumnWidth(column);
+                } else if (columnWidths.size() > column) {
+                    explicitWidths[column] = columnWidths.getSize(column);
                 }
             }
-            tableRow.setExplicitColumnWidths(new ArrayList<>(explicitWidths));
+            // Rows whose widths do not change are not laid out again
+            tableRow.setExplicitColumnWidths(explicitWidths);
         }
     }
 }
@@ -0,0 +1,106 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import java.util.Arrays;
+
+/**
+ * How many cells of each column are as wide as the column, so a column whose cell shrinks or goes
+ * only visits all of its cells again when that was the last of its widest cells.
+ * A count is only known while the column has the width it was counted at, 0 means not known.
+ */
+class WidestCellCounts {
+
+    private int[] widths = new int[0];
+    private int[] counts = new int[0];
+
+    void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    // The column was fitted to width and count of its cells are that wide
+    void set(int column, int width, int count) {
+        ensureCapacity(column + 1);
+        widths[column] = width;
+        counts[column] = count;
+    }
+
+    void forget(int column) {
+        if (column < counts.length) {
+            counts[column] = 0;
+        }
+    }
+
+    /**
+     * @return the number of cells of the column that are width wide, 0 if not known
+     */
+    int get(int column, int width) {
+        return column < counts.length && widths[column] == width ? counts[column] : 0;
+    }
+
+    // Another cell of the column became width wide
+    void add(int column, int width) {
+        if (get(column, width) > 0) {
+            counts[column]++;
+        }
+    }
+
+    /**
+     * Cells of the column that were width wide shrank or went
+     * @return true if other cells are still width wide, false if the column has to be fitted again
+     */
+    boolean remove(int column, int width, int count) {
+        int known = get(column, width);
+        if (known <= count) {
+            forget(column);
+            return false;
+        }
+        counts[column] = known - count;
+        return true;
+    }
+
+    // Columns were inserted before column, their counts are not known
+    void insert(int column, int count) {
+        if (column >= counts.length) {
+            return;
+        }
+        int[] newWidths = new int[counts.length + count];
+        int[] newCounts = new int[counts.length + count];
+        System.arraycopy(widths, 0, newWidths, 0, column);
+        System.arraycopy(counts, 0, newCounts, 0, column);
+        System.arraycopy(widths, column, newWidths, column + count, counts.length - column);
+        System.arraycopy(counts, column, newCounts, column + count, counts.length - column);
+        widths = newWidths;
+        counts = newCounts;
+    }
+
+    private void ensureCapacity(int size) {
+        if (size > counts.length) {
+            int capacity = Math.max(size, counts.length * 2);
+            widths = Arrays.copyOf(widths, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+        }
+    }
+}
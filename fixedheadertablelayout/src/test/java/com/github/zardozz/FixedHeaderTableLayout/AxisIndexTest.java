@@ -0,0 +1,110 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class AxisIndexTest {
+
+    private static AxisIndex createIndex(int... sizes) {
+        AxisIndex index = new AxisIndex();
+        index.setSizes(sizes, sizes.length);
+        return index;
+    }
+
+    @Test
+    public void startsArePrefixSums() {
+        AxisIndex index = createIndex(10, 20, 30);
+        assertEquals(0, index.getStart(0));
+        assertEquals(10, index.getStart(1));
+        assertEquals(30, index.getStart(2));
+        assertEquals(60, index.getEnd(2));
+        assertEquals(60, index.getTotal());
+    }
+
+    @Test
+    public void indexAtFindsContainingIndex() {
+        AxisIndex index = createIndex(10, 20, 30);
+        assertEquals(0, index.indexAt(0));
+        assertEquals(0, index.indexAt(9.5f));
+        assertEquals(1, index.indexAt(10));
+        assertEquals(2, index.indexAt(59));
+        // Clamped outside of the axis
+        assertEquals(0, index.indexAt(-5));
+        assertEquals(2, index.indexAt(100));
+        assertEquals(-1, new AxisIndex().indexAt(0));
+    }
+
+    @Test
+    public void setOnlyUpdatesFollowingStarts() {
+        AxisIndex index = createIndex(10, 20, 30);
+        index.set(1, 5);
+        assertEquals(10, index.getStart(1));
+        assertEquals(15, index.getStart(2));
+        assertEquals(45, index.getTotal());
+        // Setting the size at the end adds a new index
+        index.set(3, 5);
+        assertEquals(4, index.size());
+        assertEquals(50, index.getTotal());
+    }
+
+    @Test
+    public void insertAndRemoveShiftStarts() {
+        AxisIndex index = createIndex(10, 20, 30);
+        index.insert(0, 5);
+        assertEquals(5, index.getStart(1));
+        assertEquals(65, index.getTotal());
+        index.remove(1, 2);
+        assertEquals(2, index.size());
+        assertEquals(5, index.getStart(1));
+        assertEquals(35, index.getTotal());
+        index.truncate(1);
+        assertEquals(5, index.getTotal());
+    }
+
+    @Test
+    public void setMaxOnlyGrowsSizes() {
+        AxisIndex index = createIndex(10, 20);
+        index.setMax(0, 5);
+        index.setMax(1, 25);
+        index.setMax(2, 7);
+        assertEquals(10, index.getSize(0));
+        assertEquals(25, index.getSize(1));
+        assertEquals(3, index.size());
+        assertEquals(42, index.getTotal());
+    }
+
+    @Test
+    public void growsPastInitialCapacity() {
+        AxisIndex index = new AxisIndex();
+        for (int i = 0; i < 1000; i++) {
+            index.add(3);
+        }
+        assertEquals(3000, index.getTotal());
+        assertEquals(500, index.indexAt(1500));
+    }
+}
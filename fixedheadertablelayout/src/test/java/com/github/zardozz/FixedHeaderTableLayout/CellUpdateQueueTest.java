@@ -0,0 +1,244 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CellUpdateQueueTest {
+
+    // Stands in for the Layout, the posted frame callbacks run when the test says so
+    private static class FakeHost implements CellUpdateQueue.Host {
+        final List<Runnable> frames = new ArrayList<>();
+        final Map<Long, Object> cells = new HashMap<>();
+        final Map<Long, Boolean> visible = new HashMap<>();
+        final CellRange visibleRange = new CellRange(0, 0, 9, 9);
+        int rowCount = 100;
+        int batches = 0;
+        int batchDepth = 0;
+
+        @Override
+        public synchronized void postOnAnimation(Runnable action) {
+            frames.add(action);
+        }
+
+        synchronized int runFrames() {
+            int count = frames.size();
+            for (Runnable frame : frames) {
+                frame.run();
+            }
+            frames.clear();
+            return count;
+        }
+
+        @Override
+        public void visibleRange(CellRange out) {
+            out.set(visibleRange.getFirstRow(), visibleRange.getFirstColumn(),
+                    visibleRange.getLastRow(), visibleRange.getLastColumn());
+        }
+
+        @Override
+        public void beginBatchUpdate() {
+            batches++;
+            batchDepth++;
+        }
+
+        @Override
+        public void endBatchUpdate() {
+            batchDepth--;
+        }
+
+        @Override
+        public boolean setCellValue(int row, int column, Object value, boolean visible) {
+            assertEquals(1, batchDepth);
+            if (row >= rowCount) {
+                return false;
+            }
+            cells.put(CellValueMap.key(row, column), value);
+            this.visible.put(CellValueMap.key(row, column), visible);
+            return true;
+        }
+    }
+
+    @Test
+    public void updatesOfACellAreMerged() {
+        FakeHost host = new FakeHost();
+        CellUpdateQueue queue = new CellUpdateQueue(null, host);
+        queue.post(1, 1, "a");
+        queue.post(1, 1, "b");
+        queue.post(2, 3, "c");
+        queue.post(1, 1, "d");
+        assertEquals(2, queue.getPendingCount());
+        assertEquals(4, queue.getPostedCount());
+        assertEquals(2, queue.getMergedCount());
+        assertTrue(host.cells.isEmpty());
+
+        // One frame callback for all of them
+        assertEquals(1, host.runFrames());
+        assertEquals(1, host.batches);
+        assertEquals("d", host.cells.get(CellValueMap.key(1, 1)));
+        assertEquals("c", host.cells.get(CellValueMap.key(2, 3)));
+        assertEquals(2, queue.getAppliedCount());
+        assertEquals(0, queue.getDroppedCount());
+        assertEquals(0, queue.getPendingCount());
+
+        // The next update schedules another frame
+        queue.post(1, 1, "e");
+        assertEquals(1, host.runFrames());
+        assertEquals("e", host.cells.get(CellValueMap.key(1, 1)));
+        assertEquals(3, queue.getAppliedCount());
+    }
+
+    @Test
+    public void updatesThatCannotBeAppliedAreDropped() {
+        FakeHost host = new FakeHost();
+        host.rowCount = 10;
+        CellUpdateQueue queue = new CellUpdateQueue(null, host);
+        queue.post(5, 0, "a");
+        queue.post(50, 0, "b");
+        host.runFrames();
+        assertEquals(1, queue.getAppliedCount());
+        assertEquals(1, queue.getDroppedCount());
+
+        queue.post(6, 0, "c");
+        queue.post(7, 0, "d");
+        queue.clear();
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(3, queue.getDroppedCount());
+        host.runFrames();
+        assertEquals(1, queue.getAppliedCount());
+        assertFalse(host.cells.containsKey(CellValueMap.key(6, 0)));
+
+        queue.resetCounters();
+        assertEquals(0, queue.getPostedCount());
+        assertEquals(0, queue.getDroppedCount());
+    }
+
+    @Test
+    public void updatesKnowIfTheirCellIsVisible() {
+        FakeHost host = new FakeHost();
+        CellUpdateQueue queue = new CellUpdateQueue(null, host);
+        queue.post(9, 9, "a");
+        queue.post(10, 9, "b");
+        host.runFrames();
+        assertTrue(host.visible.get(CellValueMap.key(9, 9)));
+        assertFalse(host.visible.get(CellValueMap.key(10, 9)));
+    }
+
+    @Test
+    public void updaterReplacesSettingTheCells() {
+        FakeHost host = new FakeHost();
+        CellUpdateQueue queue = new CellUpdateQueue(null, host);
+        final List<Object> updated = new ArrayList<>();
+        queue.setCellUpdater(new CellUpdateQueue.CellUpdater() {
+            @Override
+            public boolean updateCell(FixedHeaderTableLayout layout, int row, int column, Object value, boolean visible) {
+                updated.add(value);
+                return row == 0;
+            }
+        });
+        queue.post(0, 0, "a");
+        queue.post(1, 0, "b");
+        host.runFrames();
+        assertEquals(2, updated.size());
+        assertTrue(host.cells.isEmpty());
+        assertEquals(1, queue.getAppliedCount());
+        assertEquals(1, queue.getDroppedCount());
+    }
+
+    @Test
+    public void postsFromOtherThreadsAreAllAccountedFor() throws InterruptedException {
+        final FakeHost host = new FakeHost();
+        final CellUpdateQueue queue = new CellUpdateQueue(null, host);
+        final int threadCount = 4;
+        final int postsPerThread = 20000;
+        final int cellsPerThread = 50;
+        Thread[] threads = new Thread[threadCount];
+        for (int t = 0; t < threadCount; t++) {
+            final int row = t;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < postsPerThread; i++) {
+                        queue.post(row, i % cellsPerThread, i);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        // Drain on this thread while the others post, the maps are swapped under them
+        boolean running = true;
+        while (running) {
+            running = false;
+            for (Thread thread : threads) {
+                running |= thread.isAlive();
+            }
+            host.runFrames();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        host.runFrames();
+
+        assertEquals(0, queue.getPendingCount());
+        assertEquals(threadCount * postsPerThread, queue.getPostedCount());
+        assertEquals(queue.getPostedCount(), queue.getAppliedCount() + queue.getMergedCount());
+        assertEquals(0, queue.getDroppedCount());
+        // Every cell ends with the last value posted for it
+        for (int t = 0; t < threadCount; t++) {
+            for (int column = 0; column < cellsPerThread; column++) {
+                assertEquals(postsPerThread - cellsPerThread + column, host.cells.get(CellValueMap.key(t, column)));
+            }
+        }
+    }
+
+    @Test
+    public void manyCellsArePending() {
+        FakeHost host = new FakeHost();
+        host.rowCount = 1000;
+        CellUpdateQueue queue = new CellUpdateQueue(null, host);
+        for (int row = 0; row < 1000; row++) {
+            for (int column = 0; column < 20; column++) {
+                queue.post(row, column, row * 20 + column);
+            }
+        }
+        queue.post(999, 19, "last");
+        assertEquals(20000, queue.getPendingCount());
+        assertEquals(1, queue.getMergedCount());
+        host.runFrames();
+        assertEquals(20000, queue.getAppliedCount());
+        assertEquals(0, host.cells.get(CellValueMap.key(0, 0)));
+        assertEquals(512 * 20 + 7, host.cells.get(CellValueMap.key(512, 7)));
+        assertEquals("last", host.cells.get(CellValueMap.key(999, 19)));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnWidthStrategyTest {
+
+    @Test
+    public void fullScanDoesNotSample() {
+        assertFalse(ColumnWidthStrategy.fullScan().isSampling(100000));
+        assertFalse(ColumnWidthStrategy.firstRows(50).isSampling(50));
+        assertTrue(ColumnWidthStrategy.firstRows(50).isSampling(51));
+    }
+
+    @Test
+    public void firstRowsAreSampledFromTheTop() {
+        assertArrayEquals(new int[] {0, 1, 2}, ColumnWidthStrategy.firstRows(3).sampleRows(1000));
+    }
+
+    @Test
+    public void randomRowsAreDistinctAndInOrder() {
+        int[] rows = ColumnWidthStrategy.randomRows(200, 7L).sampleRows(100000);
+        assertEquals(200, rows.length);
+        for (int i = 1; i < rows.length; i++) {
+            assertTrue(rows[i] > rows[i - 1]);
+        }
+        assertTrue(rows[rows.length - 1] < 100000);
+        assertArrayEquals(rows, ColumnWidthStrategy.randomRows(200, 7L).sampleRows(100000));
+    }
+
+    @Test
+    public void percentileIgnoresTheWidestCells() {
+        ColumnWidthStrategy strategy = ColumnWidthStrategy.firstRows(10);
+        int[] widths = {50, 10, 20, 30, 40, 60, 70, 80, 90, 1000};
+        assertEquals(1000, strategy.estimateWidth(widths.clone(), widths.length, 0));
+        strategy.setPercentile(90f);
+        assertEquals(90, strategy.estimateWidth(widths.clone(), widths.length, 0));
+        strategy.setPercentile(50f);
+        assertEquals(50, strategy.estimateWidth(widths.clone(), widths.length, 0));
+    }
+
+    @Test
+    public void widthsAreCapped() {
+        ColumnWidthStrategy strategy = ColumnWidthStrategy.firstRows(10);
+        strategy.setMaxColumnWidthPx(300);
+        assertEquals(300, strategy.estimateWidth(new int[] {1000}, 1, 0));
+        assertEquals(120, strategy.estimateWidth(new int[] {100}, 1, 120));
+        assertEquals(300, strategy.limitWidth(400));
+    }
+
+    @Test
+    public void maxTextLengthsAreKeptPerSide() {
+        ColumnWidthStrategy strategy = ColumnWidthStrategy.fromMaxTextLengths(new int[] {4, 12}, null);
+        assertTrue(strategy.isSampling(2));
+        assertEquals(12, strategy.getMaxTextLength(true, 1));
+        assertEquals(-1, strategy.getMaxTextLength(true, 2));
+        assertEquals(-1, strategy.getMaxTextLength(false, 0));
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarCellStoreTest {
+
+    @Test
+    public void numberColumnsAreFormattedWhenRead() {
+        ColumnarCellStore store = new ColumnarCellStore(4);
+        int quantity = store.addIntColumn("Qty");
+        int price = store.addDoubleColumn("Price");
+        store.setFormatter(price, new ColumnarCellStore.Formatter() {
+            @Override
+            public CharSequence formatDouble(double value) {
+                return String.format(java.util.Locale.US, "%.2f", value);
+            }
+        });
+        store.setInt(1, quantity, 250);
+        store.setDouble(1, price, 12.5);
+        assertEquals("250", store.getText(1, quantity).toString());
+        assertEquals("12.50", store.getText(1, price).toString());
+        assertEquals("", store.getText(0, price).toString());
+        assertFalse(store.hasValue(0, quantity));
+        store.clear(1, quantity);
+        assertFalse(store.hasValue(1, quantity));
+        assertEquals("Price", store.getColumnName(price));
+    }
+
+    @Test
+    public void stringColumnsKeepEachStringOnce() {
+        ColumnarCellStore store = new ColumnarCellStore(1000);
+        int currency = store.addStringColumn("Ccy");
+        for (int row = 0; row < 1000; row++) {
+            store.setString(row, currency, row % 2 == 0 ? "USD" : "EUR");
+        }
+        assertEquals(2, store.getDictionarySize(currency));
+        assertEquals("EUR", store.getString(999, currency));
+        long bytes = store.getColumnMemoryBytes(currency);
+        // One byte per row while there are few strings
+        assertTrue(bytes < 2 * 1000);
+
+        for (int row = 0; row < 300; row++) {
+            store.setString(row, currency, "C" + row);
+        }
+        assertEquals("C299", store.getString(299, currency));
+        assertEquals("EUR", store.getString(301, currency));
+        assertTrue(store.getColumnMemoryBytes(currency) > bytes + 1000);
+        store.setString(5, currency, null);
+        assertNull(store.getString(5, currency));
+    }
+
+    @Test
+    public void settingTheWrongTypeFails() {
+        ColumnarCellStore store = new ColumnarCellStore(1);
+        int name = store.addStringColumn("Name");
+        boolean failed = false;
+        try {
+            store.setInt(0, name, 1);
+        } catch (IllegalArgumentException e) {
+            failed = true;
+        }
+        assertTrue(failed);
+    }
+}
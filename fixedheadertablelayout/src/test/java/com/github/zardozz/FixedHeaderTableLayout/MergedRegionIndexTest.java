@@ -0,0 +1,104 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MergedRegionIndexTest {
+
+    @Test
+    public void findsTheRegionOfACell() {
+        MergedRegionIndex regions = new MergedRegionIndex();
+        regions.add(0, 0, 9, 0);
+        regions.add(2, 3, 3, 5);
+        regions.add(12, 1, 12, 2);
+        assertEquals(0, regions.find(5, 0));
+        assertEquals(1, regions.find(3, 4));
+        assertEquals(-1, regions.find(4, 4));
+        assertEquals(2, regions.find(12, 2));
+        assertEquals(-1, regions.find(11, 1));
+    }
+
+    @Test
+    public void aTallRegionIsFoundFromRowsBelowItsStart() {
+        MergedRegionIndex regions = new MergedRegionIndex();
+        regions.add(0, 0, 100000, 0);
+        for (int row = 1; row < 50000; row++) {
+            regions.add(row, 1, row, 2);
+        }
+        assertEquals(0, regions.find(80000, 0));
+        assertEquals(-1, regions.find(80000, 1));
+        assertEquals(-1, regions.find(100001, 0));
+        // Rows far below the start of the tall region only see the regions near them
+        assertEquals(2, regions.findCrossing(40000, 40000));
+        assertEquals(1, regions.findCrossing(60000, 70000));
+        assertEquals(0, regions.getCrossing(0));
+    }
+
+    @Test
+    public void regionsCrossingSeveralBlocksAreListedOnce() {
+        MergedRegionIndex regions = new MergedRegionIndex();
+        regions.add(10, 0, 300, 0);
+        regions.add(100, 1, 100, 1);
+        regions.add(500, 0, 600, 3);
+        assertEquals(2, regions.findCrossing(50, 400));
+        assertEquals(3, regions.findCrossing(0, 1000));
+        assertEquals(0, regions.findCrossing(301, 499));
+        assertEquals(1, regions.findCrossing(600, 2000));
+        assertEquals(2, regions.getCrossing(0));
+    }
+
+    @Test
+    public void removedRegionsAreNoLongerFound() {
+        MergedRegionIndex regions = new MergedRegionIndex();
+        for (int row = 0; row < 200; row += 2) {
+            regions.add(row, 0, row + 1, 0);
+        }
+        // Replaces the regions of rows 60 to 139, the other regions move to new indices
+        regions.add(60, 0, 139, 0);
+        assertEquals(61, regions.size());
+        for (int row = 0; row < 200; row++) {
+            int region = regions.find(row, 0);
+            assertEquals(row < 60 || row >= 140 ? row & ~1 : 60, regions.getFirstRow(region));
+        }
+        regions.clear();
+        assertEquals(-1, regions.find(0, 0));
+        assertEquals(0, regions.findCrossing(0, 200));
+    }
+
+    @Test
+    public void addingReplacesOverlappingRegions() {
+        MergedRegionIndex regions = new MergedRegionIndex();
+        regions.add(0, 0, 1, 1);
+        regions.add(5, 0, 6, 1);
+        regions.add(1, 1, 5, 1);
+        assertEquals(1, regions.size());
+        assertEquals(1, regions.getFirstRow(0));
+        assertEquals(5, regions.getLastRow(0));
+        assertEquals(-1, regions.find(0, 0));
+    }
+}
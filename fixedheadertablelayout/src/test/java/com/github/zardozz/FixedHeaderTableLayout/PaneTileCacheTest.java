@@ -0,0 +1,166 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class PaneTileCacheTest {
+
+    @Test
+    public void levelsAreQuantized() {
+        assertEquals(0, PaneTileCache.levelFor(1f));
+        assertEquals(2, PaneTileCache.levelFor(2f));
+        assertEquals(-2, PaneTileCache.levelFor(0.5f));
+        assertEquals(PaneTileCache.levelFor(1.1f), PaneTileCache.levelFor(1.4f));
+    }
+
+    @Test
+    public void tilesAreOnlyScaledDown() {
+        for (float scale = 0.3f; scale < 3f; scale += 0.01f) {
+            float levelScale = PaneTileCache.levelScale(PaneTileCache.levelFor(scale));
+            assertTrue(levelScale >= scale * 0.999f);
+            assertTrue(levelScale < scale * 1.42f);
+        }
+    }
+
+    private static TileTable.Tile put(TileTable table, int tileX) {
+        TileTable.Tile tile = new TileTable.Tile();
+        tile.key = TileTable.key(0, 0, tileX, 0);
+        table.put(tile);
+        return tile;
+    }
+
+    @Test
+    public void keysPackEveryField() {
+        int[][] fields = {
+                {0, TileTable.MIN_LEVEL, 0, 0},
+                {3, TileTable.MAX_LEVEL, TileTable.MAX_TILE, TileTable.MAX_TILE},
+                {2, -1, 1, TileTable.MAX_TILE},
+                {1, 1, TileTable.MAX_TILE, 1}};
+        for (int[] field : fields) {
+            long key = TileTable.key(field[0], field[1], field[2], field[3]);
+            assertEquals(field[0], TileTable.pane(key));
+            assertEquals(field[1], TileTable.level(key));
+            assertEquals(field[2], TileTable.tileX(key));
+            assertEquals(field[3], TileTable.tileY(key));
+        }
+        assertTrue(TileTable.key(0, 0, 1, 0) != TileTable.key(0, 0, 0, 1));
+        assertTrue(TileTable.key(0, 1, 0, 0) != TileTable.key(1, 0, 0, 0));
+    }
+
+    @Test
+    public void tilePositionsOutOfRangeAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> TileTable.key(0, 0, TileTable.MAX_TILE + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> TileTable.key(0, 0, 0, -1));
+    }
+
+    @Test
+    public void tilesAreOrderedByLastUse() {
+        TileTable table = new TileTable(Long.MAX_VALUE);
+        TileTable.Tile first = put(table, 0);
+        TileTable.Tile second = put(table, 1);
+        TileTable.Tile third = put(table, 2);
+        assertSame(third, table.newest());
+        assertSame(first, table.oldest());
+        table.touch(first);
+        assertSame(first, table.newest());
+        assertSame(second, table.oldest());
+        assertSame(third, first.older);
+        assertSame(first, table.get(TileTable.key(0, 0, 0, 0)));
+        assertNull(table.get(TileTable.key(0, 0, 3, 0)));
+    }
+
+    @Test
+    public void leastRecentlyUsedTilesAreEvictedOverBudget() {
+        TileTable table = new TileTable(2 * TileTable.TILE_BYTES);
+        TileTable.Tile first = put(table, 0);
+        TileTable.Tile second = put(table, 1);
+        table.beginFrame();
+        table.touch(first);
+        // A third tile is over the budget so the least recently used tile is reused
+        assertSame(second, table.reuseOldest());
+        assertNull(table.get(second.key));
+        assertEquals(TileTable.TILE_BYTES, table.getUsedBytes());
+        put(table, 2);
+        put(table, 3);
+        assertEquals(3 * TileTable.TILE_BYTES, table.getUsedBytes());
+        // Tiles drawn in the current frame are kept even when over budget
+        assertNull(table.evictOldest());
+        table.beginFrame();
+        assertSame(first, table.evictOldest());
+        assertNull(table.evictOldest());
+        assertEquals(2, table.size());
+        table.setMaxBytes(0);
+        assertTrue(table.evictOldest() != null);
+        assertTrue(table.evictOldest() != null);
+        assertEquals(0, table.getUsedBytes());
+    }
+
+    @Test
+    public void tilesAreFoundAfterOthersAreRemoved() {
+        TileTable table = new TileTable(Long.MAX_VALUE);
+        for (int tileX = 0; tileX < 100; tileX++) {
+            put(table, tileX);
+        }
+        table.setMaxBytes(50 * TileTable.TILE_BYTES);
+        table.beginFrame();
+        while (table.evictOldest() != null) {
+            // Evict the 50 oldest tiles
+        }
+        for (int tileX = 0; tileX < 100; tileX++) {
+            TileTable.Tile tile = table.get(TileTable.key(0, 0, tileX, 0));
+            assertEquals(tileX >= 50, tile != null);
+        }
+    }
+
+    @Test
+    public void onlyTilesUnderTheRegionAreInvalidated() {
+        TileTable table = new TileTable(Long.MAX_VALUE);
+        TileTable.Tile left = put(table, 0);
+        TileTable.Tile right = put(table, 1);
+        TileTable.Tile otherPane = new TileTable.Tile();
+        otherPane.key = TileTable.key(1, 0, 0, 0);
+        table.put(otherPane);
+        // Tiles at level 2 cover half as much of the pane
+        TileTable.Tile zoomed = new TileTable.Tile();
+        zoomed.key = TileTable.key(0, 2, 1, 0);
+        table.put(zoomed);
+        table.invalidate(0, 10, 10, 20, 20);
+        assertTrue(left.stale);
+        assertFalse(right.stale);
+        assertFalse(otherPane.stale);
+        assertFalse(zoomed.stale);
+        table.invalidate(0, TileTable.TILE_SIZE - 1, 0, TileTable.TILE_SIZE + 1, 1);
+        assertTrue(right.stale);
+        assertTrue(zoomed.stale);
+    }
+}
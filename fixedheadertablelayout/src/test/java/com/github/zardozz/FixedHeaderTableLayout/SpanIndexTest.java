@@ -0,0 +1,78 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpanIndexTest {
+
+    @Test
+    public void findsTheRangeOfAColumn() {
+        SpanIndex spans = new SpanIndex();
+        spans.add(10, 3, 0);
+        spans.add(2, 2, 0);
+        spans.add(20, 1, 0);
+        assertEquals(3, spans.size());
+        assertEquals(2, spans.getSpan(2));
+        assertEquals(1, spans.getSpan(3));
+        assertEquals(3, spans.getSpan(10));
+        assertEquals(10, spans.getSpanStart(12));
+        assertEquals(13, spans.getSpanStart(13));
+        assertEquals(-1, spans.indexOf(0));
+        assertEquals(0, spans.indexOf(3));
+        assertEquals(1, spans.indexOf(11));
+        assertEquals(2, spans.indexOf(20));
+    }
+
+    @Test
+    public void addingReplacesOverlappingRanges() {
+        SpanIndex spans = new SpanIndex();
+        spans.add(0, 2, 0);
+        spans.add(4, 2, 0);
+        spans.add(8, 2, 0);
+        spans.add(1, 4, 7);
+        assertEquals(2, spans.size());
+        assertEquals(1, spans.getStart(0));
+        assertEquals(4, spans.getLength(0));
+        assertEquals(7, spans.getValue(0));
+        assertEquals(8, spans.getStart(1));
+        assertEquals(1, spans.getSpan(0));
+    }
+
+    @Test
+    public void growsPastItsInitialCapacity() {
+        SpanIndex spans = new SpanIndex();
+        for (int i = 99; i >= 0; i--) {
+            spans.add(i * 3, 2, i);
+        }
+        assertEquals(100, spans.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, spans.getValue(spans.indexOf(i * 3 + 1)));
+            assertEquals(-1, spans.indexOf(i * 3 + 2));
+        }
+    }
+}
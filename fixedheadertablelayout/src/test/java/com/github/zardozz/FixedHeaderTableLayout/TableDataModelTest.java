@@ -0,0 +1,103 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TableDataModelTest {
+
+    @Test
+    public void snapshotsDoNotSeeLaterCommits() {
+        TableDataModel model = new TableDataModel(600, 3);
+        model.set(1, 2, "a");
+        TableDataModel.Snapshot before = model.getSnapshot();
+        model.beginTransaction().set(1, 2, "b").set(599, 0, 5).commit();
+        TableDataModel.Snapshot after = model.getSnapshot();
+        assertEquals("a", before.get(1, 2));
+        assertNull(before.get(599, 0));
+        assertEquals("b", after.get(1, 2));
+        assertEquals(5, after.get(599, 0));
+        assertEquals(before.getVersion() + 1, after.getVersion());
+    }
+
+    @Test
+    public void diffListsTheChangedCellsOnce() {
+        TableDataModel model = new TableDataModel(10, 4);
+        long version = model.getVersion();
+        model.set(3, 1, "x");
+        model.set(3, 1, "y");
+        model.set(7, 2, "z");
+        TableDataModel.Diff diff = model.getSnapshot().diffSince(version);
+        assertFalse(diff.isFull());
+        assertEquals(2, diff.getCellCount());
+        assertEquals(3, diff.getRow(0));
+        assertEquals(1, diff.getColumn(0));
+        assertEquals(7, diff.getRow(1));
+        assertTrue(diff.isColumnChanged(2));
+        assertFalse(diff.isRowChanged(4));
+        assertTrue(model.getSnapshot().diffSince(model.getVersion()).isEmpty());
+    }
+
+    @Test
+    public void rowChangesAreListedAndMoveTheChangedCells() {
+        TableDataModel model = new TableDataModel(300, 2);
+        model.set(299, 1, "last");
+        long version = model.getVersion();
+        model.beginTransaction().set(10, 0, "moved").insertRows(0, 2).set(0, 1, "new").commit();
+        assertEquals("last", model.getSnapshot().get(301, 1));
+        model.beginTransaction().set(5, 0, "removed").removeRows(4, 3).commit();
+
+        TableDataModel.Diff diff = model.getSnapshot().diffSince(version);
+        assertFalse(diff.isFull());
+        assertEquals(2, diff.getRowChangeCount());
+        assertEquals(0, diff.getRowChangePosition(0));
+        assertEquals(2, diff.getRowChangeDelta(0));
+        assertEquals(4, diff.getRowChangePosition(1));
+        assertEquals(-3, diff.getRowChangeDelta(1));
+        // Row 10 moved to 12 then 9, the cell set in a removed row is gone
+        assertEquals(2, diff.getCellCount());
+        assertEquals(0, diff.getRow(0));
+        assertEquals(1, diff.getColumn(0));
+        assertEquals(9, diff.getRow(1));
+        assertEquals(0, diff.getColumn(1));
+        assertEquals("moved", model.getSnapshot().get(9, 0));
+    }
+
+    @Test
+    public void oldVersionsGiveFullDiffs() {
+        TableDataModel model = new TableDataModel(300, 2);
+        long version = model.getVersion();
+        for (int i = 0; i < 200; i++) {
+            model.set(i, 0, i);
+        }
+        assertTrue(model.getSnapshot().diffSince(version).isFull());
+        assertEquals(50, model.getSnapshot().diffSince(model.getVersion() - 50).getCellCount());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TableLayoutCacheTest {
+
+    private static TableLayoutCache createCache(long dataHash) {
+        return new TableLayoutCache(dataHash, new int[] {120, 80, 100000}, new int[] {64},
+                new int[] {48, 48, 96}, new int[] {56}, new int[] {0, 2}, new int[] {0},
+                -10.5f, -200f, 1.5f);
+    }
+
+    @Test
+    public void roundTrip() {
+        byte[] data = createCache(42L).toBytes();
+        TableLayoutCache cache = TableLayoutCache.fromBytes(data, 42L);
+        assertNotNull(cache);
+        assertArrayEquals(new int[] {120, 80, 100000}, cache.rightColumnWidths);
+        assertArrayEquals(new int[] {64}, cache.leftColumnWidths);
+        assertArrayEquals(new int[] {48, 48, 96}, cache.bottomRowHeights);
+        assertArrayEquals(new int[] {56}, cache.topRowHeights);
+        assertArrayEquals(new int[] {0, 2}, cache.stickyRowIndices);
+        assertArrayEquals(new int[] {0}, cache.stickyColumnIndices);
+        assertEquals(-10.5f, cache.panX, 0f);
+        assertEquals(-200f, cache.panY, 0f);
+        assertEquals(1.5f, cache.scaleFactor, 0f);
+    }
+
+    @Test
+    public void otherDataIsRejected() {
+        byte[] data = createCache(42L).toBytes();
+        assertNull(TableLayoutCache.fromBytes(data, 43L));
+    }
+
+    @Test
+    public void damagedBytesAreRejected() {
+        byte[] data = createCache(42L).toBytes();
+        byte[] truncated = new byte[data.length - 3];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+        assertNull(TableLayoutCache.fromBytes(truncated, 42L));
+        assertNull(TableLayoutCache.fromBytes(new byte[0], 42L));
+
+        byte[] otherVersion = data.clone();
+        otherVersion[7]++;
+        assertNull(TableLayoutCache.fromBytes(otherVersion, 42L));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  MIT License
+ *
+ * Copyright (c) 2026 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TableSchemaTest {
+
+    @Test
+    public void shorterTextInTheSameStyleIsSkipped() {
+        TableSchema.ColumnSamples samples = new TableSchema.ColumnSamples();
+        assertFalse(samples.canSkip(0, "12.5", 14f, 8));
+
+        samples.record(0, "123.45", 14f, 8, 60, 20);
+        assertTrue(samples.canSkip(0, "12.5", 14f, 8));
+        assertTrue(samples.canSkip(0, "999.99", 14f, 8));
+        assertEquals(60, samples.getWidth(0));
+        assertEquals(20, samples.getHeight(0));
+
+        // Longer text, another style or another line could be wider or taller
+        assertFalse(samples.canSkip(0, "1234.56", 14f, 8));
+        assertFalse(samples.canSkip(0, "12.5", 16f, 8));
+        assertFalse(samples.canSkip(0, "12.5", 14f, 0));
+        assertFalse(samples.canSkip(0, "1\n2", 14f, 8));
+        assertFalse(samples.canSkip(1, "1", 14f, 8));
+    }
+
+    @Test
+    public void otherStylesAreNotSampled() {
+        TableSchema.ColumnSamples samples = new TableSchema.ColumnSamples();
+        samples.record(2, "Total", 14f, 8, 50, 20);
+        samples.record(2, "A much longer label", 20f, 8, 200, 30);
+        assertFalse(samples.canSkip(2, "A much longer", 14f, 8));
+        assertEquals(50, samples.getWidth(2));
+        // Columns before the first sample have none
+        assertFalse(samples.canSkip(0, "", 14f, 8));
+    }
+
+    @Test
+    public void alignColumnsWidensBothSides() {
+        TableSchema.ColumnSamples samples = new TableSchema.ColumnSamples();
+        AxisIndex first = new AxisIndex();
+        first.setSizes(new int[] {10, 40}, 2);
+        samples.alignColumns(first);
+
+        AxisIndex second = new AxisIndex();
+        second.setSizes(new int[] {30, 20, 5}, 3);
+        samples.alignColumns(second);
+        assertEquals(30, second.getSize(0));
+        assertEquals(40, second.getSize(1));
+        assertEquals(5, second.getSize(2));
+        assertEquals(30, samples.columnWidths.getSize(0));
+        assertEquals(3, samples.columnWidths.size());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ *  MIT License
+ *  
+ * Copyright (c) 2021 Andrew Beck
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.zardozz.FixedHeaderTableLayout;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WidestCellCountsTest {
+
+    @Test
+    public void countsAreOnlyKnownAtTheirWidth() {
+        WidestCellCounts counts = new WidestCellCounts();
+        counts.set(2, 40, 3);
+        assertEquals(3, counts.get(2, 40));
+        assertEquals(0, counts.get(2, 50));
+        assertEquals(0, counts.get(1, 40));
+        assertEquals(0, counts.get(7, 40));
+    }
+
+    @Test
+    public void columnIsFittedWhenTheLastWidestCellGoes() {
+        WidestCellCounts counts = new WidestCellCounts();
+        counts.set(0, 40, 1);
+        counts.add(0, 40);
+        counts.add(0, 40);
+        assertTrue(counts.remove(0, 40, 2));
+        assertEquals(1, counts.get(0, 40));
+        assertFalse(counts.remove(0, 40, 1));
+        assertEquals(0, counts.get(0, 40));
+    }
+
+    @Test
+    public void unknownCountsStayUnknown() {
+        WidestCellCounts counts = new WidestCellCounts();
+        counts.add(0, 40);
+        assertEquals(0, counts.get(0, 40));
+        assertFalse(counts.remove(0, 40, 1));
+        counts.set(0, 40, 2);
+        counts.forget(0);
+        assertFalse(counts.remove(0, 40, 1));
+        counts.set(0, 40, 2);
+        counts.clear();
+        assertEquals(0, counts.get(0, 40));
+    }
+
+    @Test
+    public void insertedColumnsMoveTheCounts() {
+        WidestCellCounts counts = new WidestCellCounts();
+        counts.set(0, 10, 1);
+        counts.set(1, 20, 2);
+        counts.insert(1, 2);
+        assertEquals(1, counts.get(0, 10));
+        assertEquals(0, counts.get(1, 20));
+        assertEquals(2, counts.get(3, 20));
+    }
+}